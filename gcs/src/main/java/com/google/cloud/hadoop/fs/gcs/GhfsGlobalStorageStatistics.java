@@ -178,6 +178,16 @@ public class GhfsGlobalStorageStatistics extends StorageStatistics {
     threadLocalStatistics.increment(op, count);
   }
 
+  /**
+   * Set the value of a gauge.
+   *
+   * @param op gauge
+   * @param value new value
+   */
+  void setGauge(GoogleCloudStorageStatistics op, long value) {
+    opsCount.get(op.getSymbol()).set(value);
+  }
+
   @Override
   public void reset() {
     resetLongMetrics(opsCount);
@@ -85,6 +85,8 @@ public enum GhfsStatistic {
   INVOCATION_HSYNC(StoreStatisticNames.OP_HSYNC, "Calls of hsync()", TYPE_DURATION_TOTAL, true),
   INVOCATION_LIST_STATUS(
       StoreStatisticNames.OP_LIST_STATUS, "Calls of listStatus()", TYPE_DURATION_TOTAL, true),
+  INVOCATION_LIST_STATUS_ITERATOR(
+      "op_list_status_iterator", "Calls of listStatusIterator()", TYPE_DURATION_TOTAL, true),
   INVOCATION_MKDIRS(StoreStatisticNames.OP_MKDIRS, "Calls of mkdirs()", TYPE_DURATION_TOTAL, true),
   INVOCATION_OPEN(StoreStatisticNames.OP_OPEN, "Calls of open()", TYPE_DURATION_TOTAL, true),
   INVOCATION_RENAME(StoreStatisticNames.OP_RENAME, "Calls of rename()", TYPE_DURATION_TOTAL, true),
@@ -106,8 +108,10 @@ public enum GhfsStatistic {
   INVOCATION_LIST_LOCATED_STATUS(
       StoreStatisticNames.OP_LIST_LOCATED_STATUS,
       "Calls of listLocatedStatus()",
-      TYPE_COUNTER,
+      TYPE_DURATION_TOTAL,
       true),
+  INVOCATION_LIST_FILES(
+      StoreStatisticNames.OP_LIST_FILES, "Calls of recursive listFiles()", TYPE_COUNTER, true),
 
   /** Stream reads */
   STREAM_READ_BYTES(
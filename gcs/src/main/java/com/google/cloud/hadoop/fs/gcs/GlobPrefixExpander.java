@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.fs.gcs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
+
+/**
+ * Expands brace alternations and character classes of a glob pattern into literal prefixes that
+ * cover all paths matching the pattern.
+ *
+ * <p>For example, {@code gs://b/t/dt={2024-01-01,2024-02-01}/*} pattern is expanded into {@code
+ * gs://b/t/dt=2024-01-01/} and {@code gs://b/t/dt=2024-02-01/} prefixes, and each prefix is
+ * truncated at the first wildcard that could not be expanded ({@code *}, {@code ?} or a negated
+ * character class).
+ */
+final class GlobPrefixExpander {
+
+  /** Characters that should be escaped to be matched literally in a glob pattern. */
+  private static final String SPECIAL_CHARS = "\\*?[]{},";
+
+  private GlobPrefixExpander() {}
+
+  /**
+   * Returns sorted literal prefixes of all paths that match the glob pattern, none of returned
+   * prefixes is a prefix of another one.
+   *
+   * @param glob glob pattern to expand.
+   * @param maxPrefixes maximum number of prefixes the pattern could be expanded into.
+   * @return prefixes, or {@code null} if the pattern expands into more than {@code maxPrefixes}
+   *     prefixes.
+   */
+  @Nullable
+  static List<String> expand(String glob, int maxPrefixes) {
+    List<String> expanded = new ArrayList<>();
+    if (!expand(glob, maxPrefixes, expanded)) {
+      return null;
+    }
+    List<String> prefixes = new ArrayList<>();
+    for (String prefix : new TreeSet<>(expanded)) {
+      if (prefixes.isEmpty() || !prefix.startsWith(prefixes.get(prefixes.size() - 1))) {
+        prefixes.add(prefix);
+      }
+    }
+    return prefixes;
+  }
+
+  /**
+   * Adds prefixes of the glob pattern to the {@code prefixes} list, returns {@code false} if the
+   * number of prefixes in the list exceeds {@code maxPrefixes}.
+   */
+  private static boolean expand(String glob, int maxPrefixes, List<String> prefixes) {
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      switch (c) {
+        case '\\':
+          if (i + 1 < glob.length()) {
+            literal.append(glob.charAt(++i));
+          }
+          break;
+        case '*':
+        case '?':
+          return addPrefix(literal, maxPrefixes, prefixes);
+        case '{':
+          {
+            int end = findClosingBrace(glob, i);
+            if (end < 0) {
+              return addPrefix(literal, maxPrefixes, prefixes);
+            }
+            String head = glob.substring(0, i);
+            String tail = glob.substring(end + 1);
+            for (String alternative : splitAlternatives(glob.substring(i + 1, end))) {
+              if (!expand(head + alternative + tail, maxPrefixes, prefixes)) {
+                return false;
+              }
+            }
+            return true;
+          }
+        case '[':
+          {
+            List<Character> chars = parseCharacterClass(glob, i, maxPrefixes);
+            if (chars == null) {
+              return addPrefix(literal, maxPrefixes, prefixes);
+            }
+            String head = glob.substring(0, i);
+            String tail = glob.substring(glob.indexOf(']', i + 1) + 1);
+            for (char ch : chars) {
+              String escaped = SPECIAL_CHARS.indexOf(ch) >= 0 ? "\\" + ch : String.valueOf(ch);
+              if (!expand(head + escaped + tail, maxPrefixes, prefixes)) {
+                return false;
+              }
+            }
+            return true;
+          }
+        default:
+          literal.append(c);
+      }
+    }
+    return addPrefix(literal, maxPrefixes, prefixes);
+  }
+
+  private static boolean addPrefix(CharSequence prefix, int maxPrefixes, List<String> prefixes) {
+    prefixes.add(prefix.toString());
+    return prefixes.size() <= maxPrefixes;
+  }
+
+  /** Returns index of the brace that closes the brace at {@code start}, or -1 if none. */
+  private static int findClosingBrace(String glob, int start) {
+    int depth = 0;
+    for (int i = start; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '[') {
+        int end = glob.indexOf(']', i + 1);
+        if (end < 0) {
+          return -1;
+        }
+        i = end;
+      } else if (c == '{') {
+        depth++;
+      } else if (c == '}' && --depth == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Splits content of a brace alternation on top-level commas. */
+  private static List<String> splitAlternatives(String alternation) {
+    List<String> alternatives = new ArrayList<>();
+    int depth = 0;
+    int start = 0;
+    for (int i = 0; i < alternation.length(); i++) {
+      char c = alternation.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '[') {
+        i = alternation.indexOf(']', i + 1);
+      } else if (c == '{') {
+        depth++;
+      } else if (c == '}') {
+        depth--;
+      } else if (c == ',' && depth == 0) {
+        alternatives.add(alternation.substring(start, i));
+        start = i + 1;
+      }
+    }
+    alternatives.add(alternation.substring(start));
+    return alternatives;
+  }
+
+  /**
+   * Returns characters matched by the character class at {@code start}, or {@code null} if the
+   * class is negated, malformed, contains escapes or matches more than {@code maxChars} characters.
+   */
+  @Nullable
+  private static List<Character> parseCharacterClass(String glob, int start, int maxChars) {
+    int end = glob.indexOf(']', start + 1);
+    if (end < 0 || end == start + 1) {
+      return null;
+    }
+    String set = glob.substring(start + 1, end);
+    if (set.charAt(0) == '^' || set.charAt(0) == '!' || set.indexOf('\\') >= 0) {
+      return null;
+    }
+    List<Character> chars = new ArrayList<>();
+    for (int i = 0; i < set.length(); i++) {
+      char from = set.charAt(i);
+      char to = from;
+      if (i + 2 < set.length() && set.charAt(i + 1) == '-') {
+        to = set.charAt(i + 2);
+        i += 2;
+      }
+      if (to < from || chars.size() + (to - from) + 1 > maxChars) {
+        return null;
+      }
+      for (int c = from; c <= to; c++) {
+        chars.add((char) c);
+      }
+    }
+    return chars;
+  }
+}
@@ -25,6 +25,7 @@ import com.google.cloud.hadoop.util.GcsJsonApiEvent;
 import com.google.cloud.hadoop.util.GcsJsonApiEvent.EventType;
 import com.google.cloud.hadoop.util.GcsJsonApiEvent.RequestType;
 import com.google.cloud.hadoop.util.GcsRequestExecutionEvent;
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
 import com.google.cloud.hadoop.util.IGcsJsonApiEvent;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.Subscribe;
@@ -114,6 +115,24 @@ public class GoogleCloudStorageEventSubscriber {
     }
   }
 
+  @Subscribe
+  private void subscriberOnStatisticUpdate(@Nonnull GcsStatisticUpdateEvent event) {
+    GoogleCloudStorageStatistics statistic =
+        GoogleCloudStorageStatistics.fromSymbol(event.getSymbol());
+    if (statistic == null) {
+      // Not expected. If this happens some of the statistics may not be tracked.
+      logger.atSevere().atMostEvery(1, TimeUnit.MINUTES).log(
+          "Unexpected statistic update %s", event);
+      return;
+    }
+
+    if (event.getUpdateType() == GcsStatisticUpdateEvent.UpdateType.SET) {
+      storageStatistics.setGauge(statistic, event.getValue());
+    } else {
+      storageStatistics.incrementCounter(statistic, event.getValue());
+    }
+  }
+
   private void updateMetric(GhfsStatistic stat, long duration, Object eventContext) {
     storageStatistics.incrementCounter(stat, 1);
 
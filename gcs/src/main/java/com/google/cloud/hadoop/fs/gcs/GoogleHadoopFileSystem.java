@@ -21,8 +21,15 @@ import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_CONFIG_PREFIX;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_FILE_CHECKSUM_TYPE;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_GLOB_ALGORITHM;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_GLOB_FLAT_MAX_PREFIXES;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_LAZY_INITIALIZATION_ENABLE;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OPERATION_TRACE_LOG_ENABLE;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_ASYNC_CLOSE_ENABLE;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_ASYNC_CLOSE_MAX_PENDING;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_GZIP_COMPRESSION_BLOCK_SIZE;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_GZIP_COMPRESSION_ENABLE;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_GZIP_COMPRESSION_LEVEL;
+import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_GZIP_COMPRESSION_THREADS;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_OUTPUT_STREAM_SYNC_MIN_INTERVAL;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_WORKING_DIRECTORY;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.PERMISSIONS_TO_REPORT;
@@ -33,6 +40,8 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.flogger.LazyArgs.lazy;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.auth.oauth2.GoogleCredentials;
@@ -52,6 +61,7 @@ import com.google.cloud.hadoop.gcsio.UriPaths;
 import com.google.cloud.hadoop.util.AccessTokenProvider;
 import com.google.cloud.hadoop.util.AccessTokenProvider.AccessTokenType;
 import com.google.cloud.hadoop.util.ApiErrorExtractor;
+import com.google.cloud.hadoop.util.CheckedFunction;
 import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
 import com.google.cloud.hadoop.util.HadoopCredentialsConfiguration;
 import com.google.cloud.hadoop.util.HadoopCredentialsConfiguration.AccessTokenProviderCredentials;
@@ -63,7 +73,6 @@ import com.google.common.base.Ascii;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.flogger.GoogleLogger;
 import com.google.common.io.BaseEncoding;
@@ -72,6 +81,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.nio.file.DirectoryNotEmptyException;
 import java.util.ArrayList;
@@ -85,16 +95,23 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.CommonPathCapabilities;
 import org.apache.hadoop.fs.ContentSummary;
@@ -197,6 +214,8 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
 
   @VisibleForTesting GlobAlgorithm globAlgorithm = GCS_GLOB_ALGORITHM.getDefault();
 
+  @VisibleForTesting int globFlatMaxPrefixes = GCS_GLOB_FLAT_MAX_PREFIXES.getDefault();
+
   // The bucket the file system is rooted in used for default values of:
   // -- working directory
   // -- user home directories (only for Hadoop purposes).
@@ -210,6 +229,11 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
   // Thread-pool used for background tasks.
   private ExecutorService backgroundTasksThreadPool =
       Executors.newCachedThreadPool(DAEMON_THREAD_FACTORY);
+  // Output stream closes that are completed in background, see awaitPendingWrites().
+  private final Set<Future<Void>> pendingWrites = ConcurrentHashMap.newKeySet();
+  private final Queue<IOException> pendingWriteFailures = new ConcurrentLinkedQueue<>();
+  // Limits number of pending writes, null if the number of pending writes is not limited.
+  @Nullable private Semaphore pendingWritesLimit;
   private GcsFileChecksumType checksumType = GCS_FILE_CHECKSUM_TYPE.getDefault();
   /** Underlying GCS file system object. */
   private Supplier<GoogleCloudStorageFileSystem> gcsFsSupplier;
@@ -295,7 +319,10 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
     setConf(config);
 
     globAlgorithm = GCS_GLOB_ALGORITHM.get(config, config::getEnum);
+    globFlatMaxPrefixes = GCS_GLOB_FLAT_MAX_PREFIXES.get(config, config::getInt);
     checksumType = GCS_FILE_CHECKSUM_TYPE.get(config, config::getEnum);
+    int maxPendingWrites = GCS_OUTPUT_STREAM_ASYNC_CLOSE_MAX_PENDING.get(config, config::getInt);
+    pendingWritesLimit = maxPendingWrites > 0 ? new Semaphore(maxPendingWrites) : null;
     defaultBlockSize = BLOCK_SIZE.get(config, config::getLong);
     reportedPermissions = new FsPermission(PERMISSIONS_TO_REPORT.get(config, config::get));
 
@@ -671,6 +698,22 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
                                   : CreateFileOptions.WriteMode.CREATE_NEW)
                           .setMinSyncInterval(
                               GCS_OUTPUT_STREAM_SYNC_MIN_INTERVAL.getTimeDuration(getConf()))
+                          .setAsyncCloseEnabled(
+                              GCS_OUTPUT_STREAM_ASYNC_CLOSE_ENABLE.get(
+                                  getConf(), getConf()::getBoolean))
+                          .setGzipCompressionEnabled(
+                              GCS_OUTPUT_STREAM_GZIP_COMPRESSION_ENABLE.get(
+                                  getConf(), getConf()::getBoolean))
+                          .setGzipCompressionLevel(
+                              GCS_OUTPUT_STREAM_GZIP_COMPRESSION_LEVEL.get(
+                                  getConf(), getConf()::getInt))
+                          .setGzipCompressionBlockSize(
+                              toIntExact(
+                                  GCS_OUTPUT_STREAM_GZIP_COMPRESSION_BLOCK_SIZE.get(
+                                      getConf(), getConf()::getLongBytes)))
+                          .setGzipCompressionThreads(
+                              GCS_OUTPUT_STREAM_GZIP_COMPRESSION_THREADS.get(
+                                  getConf(), getConf()::getInt))
                           .build(),
                       statistics),
                   statistics);
@@ -1057,9 +1100,109 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
   }
 
   @Override
-  public RemoteIterator<LocatedFileStatus> listLocatedStatus(Path f) throws IOException {
-    incrementStatistic(GhfsStatistic.INVOCATION_LIST_LOCATED_STATUS);
-    return super.listLocatedStatus(f);
+  public RemoteIterator<FileStatus> listStatusIterator(Path hadoopPath) throws IOException {
+    return trackDurationWithTracing(
+        instrumentation,
+        globalStorageStatistics,
+        GhfsStatistic.INVOCATION_LIST_STATUS_ITERATOR,
+        hadoopPath,
+        traceFactory,
+        () -> listStatusIteratorInternal(hadoopPath, status -> status));
+  }
+
+  @Override
+  public RemoteIterator<LocatedFileStatus> listLocatedStatus(Path hadoopPath) throws IOException {
+    return trackDurationWithTracing(
+        instrumentation,
+        globalStorageStatistics,
+        GhfsStatistic.INVOCATION_LIST_LOCATED_STATUS,
+        hadoopPath,
+        traceFactory,
+        () -> listStatusIteratorInternal(hadoopPath, this::toLocatedFileStatus));
+  }
+
+  /**
+   * Lists files in the directory tree using a flat (without delimiter) prefix listing instead of a
+   * listing per directory, because directories are not listed in the result and should not be
+   * inferred.
+   */
+  @Override
+  public RemoteIterator<LocatedFileStatus> listFiles(Path hadoopPath, boolean recursive)
+      throws IOException {
+    if (!recursive) {
+      return super.listFiles(hadoopPath, /* recursive= */ false);
+    }
+    incrementStatistic(GhfsStatistic.INVOCATION_LIST_FILES);
+
+    checkArgument(hadoopPath != null, "hadoopPath must not be null");
+
+    checkOpen();
+
+    logger.atFiner().log("listFiles(hadoopPath: %s, recursive: true)", hadoopPath);
+
+    URI gcsPath = getGcsPath(hadoopPath);
+    URI dirPath = UriPaths.toDirectory(gcsPath);
+    String userName = getUgiUserName();
+    PagedFileStatusIterator<LocatedFileStatus> files =
+        new PagedFileStatusIterator<>(
+            pageToken -> getGcsFs().listFileInfoForPrefixPage(dirPath, LIST_OPTIONS, pageToken),
+            fileInfo -> !fileInfo.isDirectory(),
+            fileInfo -> toLocatedFileStatus(getGoogleHadoopFileStatus(fileInfo, userName)),
+            backgroundTasksThreadPool);
+    if (files.hasNext()) {
+      return files;
+    }
+
+    // Nothing is listed if the path is a file, an empty directory or does not exist.
+    FileInfo fileInfo = getGcsFs().getFileInfo(gcsPath);
+    if (!fileInfo.exists()) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw new FileNotFoundException(
+          String.format("listFiles(hadoopPath: %s): '%s' does not exist.", hadoopPath, gcsPath));
+    }
+    return fileInfo.isDirectory()
+        ? files
+        : new PagedFileStatusIterator<>(
+            pageToken ->
+                new GoogleCloudStorage.ListPage<>(
+                    ImmutableList.of(fileInfo), /* nextPageToken= */ null),
+            info -> toLocatedFileStatus(getGoogleHadoopFileStatus(info, userName)),
+            backgroundTasksThreadPool);
+  }
+
+  private LocatedFileStatus toLocatedFileStatus(FileStatus status) throws IOException {
+    return new LocatedFileStatus(
+        status, status.isFile() ? getFileBlockLocations(status, 0, status.getLen()) : null);
+  }
+
+  /**
+   * Returns iterator over statuses of the directory children that lists them page by page, so
+   * memory usage does not depend on the number of children.
+   */
+  private <T extends FileStatus> RemoteIterator<T> listStatusIteratorInternal(
+      Path hadoopPath, CheckedFunction<FileStatus, T, IOException> converter) throws IOException {
+    checkArgument(hadoopPath != null, "hadoopPath must not be null");
+
+    checkOpen();
+
+    logger.atFiner().log("listStatusIterator(hadoopPath: %s)", hadoopPath);
+
+    URI gcsPath = getGcsPath(hadoopPath);
+    String userName = getUgiUserName();
+    try {
+      return new PagedFileStatusIterator<>(
+          pageToken -> getGcsFs().listFileInfoPage(gcsPath, LIST_OPTIONS, pageToken),
+          fileInfo -> converter.apply(getGoogleHadoopFileStatus(fileInfo, userName)),
+          backgroundTasksThreadPool);
+    } catch (FileNotFoundException fnfe) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw (FileNotFoundException)
+          new FileNotFoundException(
+                  String.format(
+                      "listStatusIterator(hadoopPath: %s): '%s' does not exist.",
+                      hadoopPath, gcsPath))
+              .initCause(fnfe);
+    }
   }
 
   @Override
@@ -1373,6 +1516,8 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
             CreateFileOptions.builder()
                 .setWriteMode(CreateFileOptions.WriteMode.APPEND)
                 .setMinSyncInterval(GCS_OUTPUT_STREAM_SYNC_MIN_INTERVAL.getTimeDuration(getConf()))
+                .setAsyncCloseEnabled(
+                    GCS_OUTPUT_STREAM_ASYNC_CLOSE_ENABLE.get(getConf(), getConf()::getBoolean))
                 .build(),
             statistics),
         statistics);
@@ -1396,17 +1541,14 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
 
     checkArgument(!srcPaths.contains(tgtPath), "target must not be contained in sources");
 
-    List<List<URI>> partitions =
-        Lists.partition(srcPaths, GoogleCloudStorage.MAX_COMPOSE_OBJECTS - 1);
-    logger.atFiner().log("concat(tgt: %s, %d partitions: %s)", tgt, partitions.size(), partitions);
-    for (List<URI> partition : partitions) {
-      // We need to include the target in the list of sources to compose since
-      // the GCS FS compose operation will overwrite the target, whereas the Hadoop
-      // concat operation appends to the target.
-      List<URI> sources = Lists.newArrayList(tgtPath);
-      sources.addAll(partition);
-      getGcsFs().compose(sources, tgtPath, CreateFileOptions.DEFAULT.getContentType());
-    }
+    // We need to include the target in the list of sources to compose since
+    // the GCS FS compose operation will overwrite the target, whereas the Hadoop
+    // concat operation appends to the target. If there are too many sources to compose them in a
+    // single request, they are composed as a tree of intermediate objects in parallel.
+    List<URI> sources = new ArrayList<>(srcPaths.size() + 1);
+    sources.add(tgtPath);
+    sources.addAll(srcPaths);
+    getGcsFs().compose(sources, tgtPath, CreateFileOptions.DEFAULT.getContentType());
   }
 
   /**
@@ -1563,7 +1705,98 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
 
   private FileStatus[] flatGlobInternal(Path fixedPath, PathFilter filter) throws IOException {
     String pathString = fixedPath.toString();
-    String prefixString = trimToPrefixWithoutGlob(pathString);
+    // Expand brace alternations and character classes into literal prefixes to not list
+    // everything under the common non-glob prefix, unless there are too many of them.
+    List<String> prefixStrings = GlobPrefixExpander.expand(pathString, globFlatMaxPrefixes);
+    if (prefixStrings == null) {
+      logger.atFiner().log(
+          "'%s' expands into more than %d prefixes, using non-glob prefix",
+          pathString, globFlatMaxPrefixes);
+      prefixStrings = ImmutableList.of(trimToPrefixWithoutGlob(pathString));
+    }
+
+    List<FileStatus> matchedStatuses =
+        prefixStrings.size() == 1
+            ? flatGlobPrefix(fixedPath, filter, prefixStrings.get(0))
+            : flatGlobPrefixesInParallel(fixedPath, filter, prefixStrings);
+
+    if (matchedStatuses == null || matchedStatuses.isEmpty()) {
+      return matchedStatuses == null ? null : new FileStatus[0];
+    }
+
+    matchedStatuses.sort(
+        Comparator.<FileStatus>naturalOrder()
+            // Place duplicate implicit directories after real directory
+            .thenComparingInt((FileStatus f) -> isImplicitDirectory(f) ? 1 : 0));
+
+    // Remove duplicate file statuses that could be in the matchedStatuses
+    // because of pagination and implicit directories
+    List<FileStatus> filteredStatuses = new ArrayList<>(matchedStatuses.size());
+    FileStatus lastAdded = null;
+    for (FileStatus fileStatus : matchedStatuses) {
+      if (lastAdded == null || lastAdded.compareTo(fileStatus) != 0) {
+        filteredStatuses.add(fileStatus);
+        lastAdded = fileStatus;
+      }
+    }
+
+    return filteredStatuses.toArray(new FileStatus[0]);
+  }
+
+  /**
+   * Lists each prefix concurrently and returns statuses that match the glob pattern, or {@code
+   * null} if the pattern matched no prefix listing. The number of parallel prefix listings is
+   * bounded by the number of batch threads.
+   */
+  @Nullable
+  private List<FileStatus> flatGlobPrefixesInParallel(
+      Path fixedPath, PathFilter filter, List<String> prefixStrings) throws IOException {
+    Semaphore permits =
+        new Semaphore(max(1, getGcsFs().getOptions().getCloudStorageOptions().getBatchThreads()));
+    List<Future<List<FileStatus>>> prefixFutures = new ArrayList<>(prefixStrings.size());
+    try {
+      for (String prefixString : prefixStrings) {
+        permits.acquire();
+        prefixFutures.add(
+            backgroundTasksThreadPool.submit(
+                () -> {
+                  try {
+                    return flatGlobPrefix(fixedPath, filter, prefixString);
+                  } finally {
+                    permits.release();
+                  }
+                }));
+      }
+      List<FileStatus> matchedStatuses = null;
+      for (Future<List<FileStatus>> prefixFuture : prefixFutures) {
+        List<FileStatus> prefixStatuses = prefixFuture.get();
+        if (prefixStatuses != null) {
+          matchedStatuses = matchedStatuses == null ? new ArrayList<>() : matchedStatuses;
+          matchedStatuses.addAll(prefixStatuses);
+        }
+      }
+      return matchedStatuses;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException)
+          new InterruptedIOException("Interrupted while listing glob prefixes").initCause(e);
+    } catch (ExecutionException e) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw e.getCause() instanceof IOException
+          ? (IOException) e.getCause()
+          : new IOException("Failed to list glob prefixes of " + fixedPath, e.getCause());
+    } finally {
+      prefixFutures.forEach(f -> f.cancel(/* mayInterruptIfRunning= */ true));
+    }
+  }
+
+  /**
+   * Lists everything with the prefix page by page and returns statuses that match the glob pattern,
+   * or {@code null} if the pattern matched no page.
+   */
+  @Nullable
+  private List<FileStatus> flatGlobPrefix(Path fixedPath, PathFilter filter, String prefixString)
+      throws IOException {
     Path prefixPath = new Path(prefixString);
     URI prefixUri = getGcsPath(prefixPath);
 
@@ -1598,27 +1831,7 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
       pageToken = infoPage.getNextPageToken();
     } while (pageToken != null);
 
-    if (matchedStatuses == null || matchedStatuses.isEmpty()) {
-      return matchedStatuses == null ? null : new FileStatus[0];
-    }
-
-    matchedStatuses.sort(
-        Comparator.<FileStatus>naturalOrder()
-            // Place duplicate implicit directories after real directory
-            .thenComparingInt((FileStatus f) -> isImplicitDirectory(f) ? 1 : 0));
-
-    // Remove duplicate file statuses that could be in the matchedStatuses
-    // because of pagination and implicit directories
-    List<FileStatus> filteredStatuses = new ArrayList<>(matchedStatuses.size());
-    FileStatus lastAdded = null;
-    for (FileStatus fileStatus : matchedStatuses) {
-      if (lastAdded == null || lastAdded.compareTo(fileStatus) != 0) {
-        filteredStatuses.add(fileStatus);
-        lastAdded = fileStatus;
-      }
-    }
-
-    return filteredStatuses.toArray(new FileStatus[0]);
+    return matchedStatuses;
   }
 
   /** Helper method that converts {@link FileInfo} collection to {@link FileStatus} collection. */
@@ -1730,13 +1943,126 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
     super.processDeleteOnExit();
   }
 
+  /**
+   * Computes content summary using flat listings of subdirectory trees in parallel instead of
+   * recursive {@code listStatus} calls for each directory.
+   */
   @Override
-  public ContentSummary getContentSummary(Path f) throws IOException {
-    ContentSummary result = super.getContentSummary(f);
-    logger.atFiner().log("getContentSummary(path: %s): %b", f, result);
+  public ContentSummary getContentSummary(Path hadoopPath) throws IOException {
+    checkArgument(hadoopPath != null, "hadoopPath must not be null");
+
+    checkOpen();
+
+    URI gcsPath = getGcsPath(hadoopPath);
+    FileInfo fileInfo = getGcsFs().getFileInfo(gcsPath);
+    if (!fileInfo.exists()) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw new FileNotFoundException(
+          String.format(
+              "getContentSummary(hadoopPath: %s): '%s' does not exist.", hadoopPath, gcsPath));
+    }
+    long[] summary =
+        fileInfo.isDirectory()
+            ? getDirectoryContentSummary(fileInfo.getPath())
+            : new long[] {fileInfo.getSize(), 1, 0};
+    ContentSummary result =
+        new ContentSummary.Builder()
+            .length(summary[0])
+            .fileCount(summary[1])
+            .directoryCount(summary[2])
+            .spaceConsumed(summary[0])
+            .build();
+    logger.atFiner().log("getContentSummary(path: %s): %s", hadoopPath, result);
     return result;
   }
 
+  /**
+   * Returns length, file count and directory count of the directory tree. Direct children of the
+   * directory are listed page by page and each subdirectory tree is summarized in parallel, the
+   * number of parallel subdirectory listings is bounded by the number of batch threads.
+   */
+  private long[] getDirectoryContentSummary(URI dirPath) throws IOException {
+    Semaphore permits =
+        new Semaphore(max(1, getGcsFs().getOptions().getCloudStorageOptions().getBatchThreads()));
+    List<Future<long[]>> subdirSummaries = new ArrayList<>();
+    long[] summary = {0, 0, 1};
+    try {
+      String pageToken = null;
+      do {
+        GoogleCloudStorage.ListPage<FileInfo> page =
+            getGcsFs().listFileInfoPage(dirPath, LIST_OPTIONS, pageToken);
+        for (FileInfo child : page.getItems()) {
+          if (!child.isDirectory()) {
+            summary[0] += child.getSize();
+            summary[1]++;
+            continue;
+          }
+          permits.acquire();
+          subdirSummaries.add(
+              backgroundTasksThreadPool.submit(
+                  () -> {
+                    try {
+                      return getTreeContentSummary(child.getPath());
+                    } finally {
+                      permits.release();
+                    }
+                  }));
+        }
+        pageToken = page.getNextPageToken();
+      } while (pageToken != null);
+
+      for (Future<long[]> subdirSummary : subdirSummaries) {
+        long[] s = subdirSummary.get();
+        for (int i = 0; i < summary.length; i++) {
+          summary[i] += s[i];
+        }
+      }
+      return summary;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException)
+          new InterruptedIOException("Interrupted while computing content summary").initCause(e);
+    } catch (ExecutionException e) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw e.getCause() instanceof IOException
+          ? (IOException) e.getCause()
+          : new IOException("Failed to compute content summary of " + dirPath, e.getCause());
+    } finally {
+      subdirSummaries.forEach(f -> f.cancel(/* mayInterruptIfRunning= */ true));
+    }
+  }
+
+  /**
+   * Returns length, file count and directory count of the directory tree, including the directory
+   * itself, using a flat listing of the directory prefix. Implicit directories are counted from
+   * object names, so only directory paths are held in memory and listed objects are not.
+   */
+  private long[] getTreeContentSummary(URI dirPath) throws IOException {
+    String root = dirPath.toString();
+    Set<String> dirs = new HashSet<>();
+    long length = 0;
+    long fileCount = 0;
+    String pageToken = null;
+    do {
+      GoogleCloudStorage.ListPage<FileInfo> page =
+          getGcsFs().listFileInfoForPrefixPage(dirPath, LIST_OPTIONS, pageToken);
+      for (FileInfo fileInfo : page.getItems()) {
+        String path = fileInfo.getPath().toString();
+        if (!fileInfo.isDirectory()) {
+          length += fileInfo.getSize();
+          fileCount++;
+          path = path.substring(0, path.lastIndexOf('/') + 1);
+        }
+        // Add the directory and its parents, parents of already added directory are added too.
+        while (path.length() > root.length() && dirs.add(path)) {
+          path = path.substring(0, path.lastIndexOf('/', path.length() - 2) + 1);
+        }
+      }
+      pageToken = page.getNextPageToken();
+    } while (pageToken != null);
+    return new long[] {length, fileCount, 1 + dirs.size()};
+  }
+
   @Override
   public void copyToLocalFile(boolean delSrc, Path src, Path dst) throws IOException {
     logger.atFiner().log("copyToLocalFile(delSrc: %b, src: %s, dst: %s)", delSrc, src, dst);
@@ -1759,9 +2085,103 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
     super.completeLocalOutput(fsOutputFile, tmpLocalFile);
   }
 
+  /**
+   * Waits for all output streams closed in background (see {@link
+   * GoogleHadoopFileSystemConfiguration#GCS_OUTPUT_STREAM_ASYNC_CLOSE_ENABLE}) to finalize their
+   * uploads.
+   *
+   * @throws IOException if any of the uploads failed since the last call to this method, additional
+   *     failures are attached as suppressed exceptions.
+   */
+  public void awaitPendingWrites() throws IOException {
+    logger.atFiner().log("awaitPendingWrites(): %d pending writes", pendingWrites.size());
+    for (Future<Void> pendingWrite : ImmutableList.copyOf(pendingWrites)) {
+      try {
+        pendingWrite.get();
+      } catch (ExecutionException e) {
+        // Failures are collected by the task itself in the pendingWriteFailures queue.
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw (IOException)
+            new InterruptedIOException("Interrupted while awaiting pending writes").initCause(e);
+      }
+    }
+
+    IOException failure = null;
+    for (IOException e = pendingWriteFailures.poll(); e != null; e = pendingWriteFailures.poll()) {
+      if (failure == null) {
+        failure = e;
+      } else {
+        failure.addSuppressed(e);
+      }
+    }
+    if (failure != null) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw failure;
+    }
+  }
+
+  /**
+   * Runs the {@code operation} that finalizes write to the {@code gcsPath} in background, failure
+   * is reported by the next {@link #awaitPendingWrites()} call.
+   *
+   * <p>Blocks while there are {@link
+   * GoogleHadoopFileSystemConfiguration#GCS_OUTPUT_STREAM_ASYNC_CLOSE_MAX_PENDING} pending writes.
+   */
+  void submitPendingWrite(URI gcsPath, CallableRaisingIOE<Void> operation) throws IOException {
+    checkOpen();
+    Semaphore limit = pendingWritesLimit;
+    if (limit != null) {
+      try {
+        limit.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw (IOException)
+            new InterruptedIOException(
+                    String.format("Interrupted while waiting to finalize write to '%s'", gcsPath))
+                .initCause(e);
+      }
+    }
+    FutureTask<Void> pendingWrite =
+        new FutureTask<Void>(
+            () -> {
+              try {
+                return operation.apply();
+              } catch (IOException | RuntimeException e) {
+                pendingWriteFailures.add(
+                    new IOException(String.format("Failed to finalize write to '%s'", gcsPath), e));
+                throw e;
+              }
+            }) {
+          @Override
+          protected void done() {
+            pendingWrites.remove(this);
+            if (limit != null) {
+              limit.release();
+            }
+          }
+        };
+    pendingWrites.add(pendingWrite);
+    try {
+      backgroundTasksThreadPool.execute(pendingWrite);
+    } catch (RuntimeException e) {
+      pendingWrite.cancel(/* mayInterruptIfRunning= */ false);
+      throw e;
+    }
+  }
+
   @Override
   public void close() throws IOException {
     logger.atFiner().log("close()");
+    IOException pendingWritesFailure = null;
+    if (backgroundTasksThreadPool != null) {
+      try {
+        awaitPendingWrites();
+      } catch (IOException e) {
+        pendingWritesFailure = e;
+      }
+    }
+
     super.close();
 
     // NB: We must *first* have the superclass close() before we close the underlying gcsFsSupplier
@@ -1798,6 +2218,10 @@ public class GoogleHadoopFileSystem extends FileSystem implements IOStatisticsSo
 
     backgroundTasksThreadPool.shutdown();
     backgroundTasksThreadPool = null;
+
+    if (pendingWritesFailure != null) {
+      throw pendingWritesFailure;
+    }
   }
 
   @Override
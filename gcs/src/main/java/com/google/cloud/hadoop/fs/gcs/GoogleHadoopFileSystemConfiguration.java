@@ -34,6 +34,7 @@ import com.google.cloud.hadoop.gcsio.GoogleCloudStorageOptions.MetricsSink;
 import com.google.cloud.hadoop.gcsio.GoogleCloudStorageReadOptions;
 import com.google.cloud.hadoop.gcsio.GoogleCloudStorageReadOptions.Fadvise;
 import com.google.cloud.hadoop.gcsio.PerformanceCachingGoogleCloudStorageOptions;
+import com.google.cloud.hadoop.gcsio.RateLimitingGoogleCloudStorageOptions;
 import com.google.cloud.hadoop.util.AsyncWriteChannelOptions;
 import com.google.cloud.hadoop.util.AsyncWriteChannelOptions.PartFileCleanupType;
 import com.google.cloud.hadoop.util.AsyncWriteChannelOptions.PipeType;
@@ -171,6 +172,142 @@ public class GoogleHadoopFileSystemConfiguration {
           "fs.gs.performance.cache.max.entry.age",
           PerformanceCachingGoogleCloudStorageOptions.DEFAULT.getMaxEntryAge().toMillis());
 
+  /**
+   * Configuration key for maximum number of items in the performance cache, least recently used
+   * items are evicted when it's exceeded. 0 means that number of items is unbounded.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_PERFORMANCE_CACHE_MAX_ENTRIES =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.performance.cache.max.entries",
+          PerformanceCachingGoogleCloudStorageOptions.DEFAULT.getMaxEntries());
+
+  /**
+   * Configuration key for maximum estimated memory size of items in the performance cache, least
+   * recently used items are evicted when it's exceeded. 0 means that memory size is unbounded.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_PERFORMANCE_CACHE_MAX_SIZE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.performance.cache.max.size",
+          PerformanceCachingGoogleCloudStorageOptions.DEFAULT.getMaxSizeBytes());
+
+  /**
+   * Configuration key for maximum time an object listing result will remain "valid" in the
+   * performance cache. 0 means that listings are not cached.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_PERFORMANCE_CACHE_LIST_MAX_ENTRY_AGE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.performance.cache.list.max.entry.age",
+          PerformanceCachingGoogleCloudStorageOptions.DEFAULT.getListMaxEntryAge().toMillis());
+
+  /**
+   * Configuration key for maximum number of items in an object listing or listing page that is
+   * cached in the performance cache, listings with more items are not cached. 0 means that number
+   * of items is unbounded.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_PERFORMANCE_CACHE_LIST_MAX_ITEMS =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.performance.cache.list.max.items",
+          PerformanceCachingGoogleCloudStorageOptions.DEFAULT.getListMaxItems());
+
+  /**
+   * Configuration key for time after expiration during which stale object metadata is served from
+   * the performance cache while it's revalidated in background. 0 means that stale object metadata
+   * is not served.
+   */
+  public static final HadoopConfigurationProperty<Long>
+      GCS_PERFORMANCE_CACHE_STALE_WHILE_REVALIDATE =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.performance.cache.stale.while.revalidate",
+              PerformanceCachingGoogleCloudStorageOptions.DEFAULT
+                  .getStaleWhileRevalidate()
+                  .toMillis());
+
+  /**
+   * If true, object metadata is cached in the JVM-wide performance cache shared by all instances
+   * with the same credentials.
+   */
+  public static final HadoopConfigurationProperty<Boolean> GCS_PERFORMANCE_CACHE_SHARED_ENABLE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.performance.cache.shared.enable",
+          PerformanceCachingGoogleCloudStorageOptions.DEFAULT.isSharedCacheEnabled());
+
+  /**
+   * Configuration key for maximum estimated memory size of object metadata in the JVM-wide shared
+   * performance cache. 0 means unbounded.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_PERFORMANCE_CACHE_SHARED_MAX_SIZE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.performance.cache.shared.max.size",
+          PerformanceCachingGoogleCloudStorageOptions.DEFAULT.getSharedMaxSizeBytes());
+
+  /**
+   * Configuration key for maximum time a lookup result of a not existing object or directory will
+   * remain "valid" in the performance cache. 0 means that not found lookup results are not cached.
+   */
+  public static final HadoopConfigurationProperty<Long>
+      GCS_PERFORMANCE_CACHE_NEGATIVE_MAX_ENTRY_AGE =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.performance.cache.negative.max.entry.age",
+              PerformanceCachingGoogleCloudStorageOptions.DEFAULT
+                  .getNegativeMaxEntryAge()
+                  .toMillis());
+
+  /**
+   * If true, requests to each bucket are rate limited on the client side to avoid bursts of
+   * throttled requests when many clients start to use the same bucket.
+   */
+  public static final HadoopConfigurationProperty<Boolean> GCS_RATE_LIMIT_ENABLE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.rate.limit.enable",
+          GoogleCloudStorageFileSystemOptions.DEFAULT.isRateLimitEnabled());
+
+  /**
+   * Configuration key for initial rate of object read requests per second to a bucket. 0 means that
+   * the rate is unlimited.
+   */
+  public static final HadoopConfigurationProperty<Integer> GCS_RATE_LIMIT_READ_REQUESTS_PER_SECOND =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.rate.limit.read.requests.per.second",
+          RateLimitingGoogleCloudStorageOptions.DEFAULT.getReadRequestsPerSecond());
+
+  /**
+   * Configuration key for initial rate of object write requests per second to a bucket. 0 means
+   * that the rate is unlimited.
+   */
+  public static final HadoopConfigurationProperty<Integer>
+      GCS_RATE_LIMIT_WRITE_REQUESTS_PER_SECOND =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.rate.limit.write.requests.per.second",
+              RateLimitingGoogleCloudStorageOptions.DEFAULT.getWriteRequestsPerSecond());
+
+  /**
+   * Configuration key for initial rate of object metadata requests per second to a bucket. 0 means
+   * that the rate is unlimited.
+   */
+  public static final HadoopConfigurationProperty<Integer>
+      GCS_RATE_LIMIT_METADATA_REQUESTS_PER_SECOND =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.rate.limit.metadata.requests.per.second",
+              RateLimitingGoogleCloudStorageOptions.DEFAULT.getMetadataRequestsPerSecond());
+
+  /**
+   * Configuration key for initial rate of object list requests per second to a bucket. 0 means that
+   * the rate is unlimited.
+   */
+  public static final HadoopConfigurationProperty<Integer> GCS_RATE_LIMIT_LIST_REQUESTS_PER_SECOND =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.rate.limit.list.requests.per.second",
+          RateLimitingGoogleCloudStorageOptions.DEFAULT.getListRequestsPerSecond());
+
+  /**
+   * Configuration key for interval after which rates of requests to a bucket are doubled. 0 means
+   * that rates are not increased.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_RATE_LIMIT_RAMP_UP_INTERVAL =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.rate.limit.ramp.up.interval",
+          RateLimitingGoogleCloudStorageOptions.DEFAULT.getRampUpInterval().toMillis());
+
   /**
    * If true, executes GCS requests in {@code listStatus} and {@code getFileStatus} methods in
    * parallel to reduce latency.
@@ -180,6 +317,24 @@ public class GoogleHadoopFileSystemConfiguration {
           "fs.gs.status.parallel.enable",
           GoogleCloudStorageFileSystemOptions.DEFAULT.isStatusParallelEnabled());
 
+  /**
+   * If true, concurrent identical object metadata, listing and bucket type requests are coalesced
+   * into a single GCS request.
+   */
+  public static final HadoopConfigurationProperty<Boolean> GCS_METADATA_REQUEST_COALESCING_ENABLE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.metadata.request.coalescing.enable",
+          GoogleCloudStorageFileSystemOptions.DEFAULT.isMetadataRequestCoalescingEnabled());
+
+  /**
+   * Maximum number of concurrent list requests used to list all objects under a directory during
+   * delete operations. Parallel listing is disabled if 1 or less.
+   */
+  public static final HadoopConfigurationProperty<Integer> GCS_LIST_PARALLELISM =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.list.parallelism",
+          GoogleCloudStorageFileSystemOptions.DEFAULT.getListParallelism());
+
   /** Configuration key for enabling lazy initialization of GCS FS instance. */
   public static final HadoopConfigurationProperty<Boolean> GCS_LAZY_INITIALIZATION_ENABLE =
       new HadoopConfigurationProperty<>("fs.gs.lazy.init.enable", false);
@@ -206,10 +361,34 @@ public class GoogleHadoopFileSystemConfiguration {
   public static final HadoopConfigurationProperty<GlobAlgorithm> GCS_GLOB_ALGORITHM =
       new HadoopConfigurationProperty<>("fs.gs.glob.algorithm", GlobAlgorithm.CONCURRENT);
 
+  /**
+   * Maximum number of literal prefixes that brace alternations and character classes of a glob
+   * pattern are expanded into by the flat glob algorithm. Prefixes are listed concurrently, a glob
+   * pattern that expands into more prefixes is listed using its non-glob prefix.
+   */
+  public static final HadoopConfigurationProperty<Integer> GCS_GLOB_FLAT_MAX_PREFIXES =
+      new HadoopConfigurationProperty<>("fs.gs.glob.flat.max.prefixes", 64);
+
   /** Configuration key for marker file pattern. Default value: none */
   public static final HadoopConfigurationProperty<String> GCS_MARKER_FILE_PATTERN =
       new HadoopConfigurationProperty<>("fs.gs.marker.file.pattern");
 
+  /**
+   * Configuration key for a GCS directory where journals of directory renames are stored, so an
+   * interrupted rename could be resumed without copying already copied objects. Default value: none
+   */
+  public static final HadoopConfigurationProperty<String> GCS_RENAME_JOURNAL_PATH =
+      new HadoopConfigurationProperty<>("fs.gs.rename.journal.path");
+
+  /**
+   * Configuration key for max time since the last update of a rename journal during which the
+   * interrupted rename could be resumed. Older journals are ignored and deleted.
+   */
+  public static final HadoopConfigurationProperty<Long> GCS_RENAME_JOURNAL_MAX_AGE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.rename.journal.max.age",
+          GoogleCloudStorageFileSystemOptions.DEFAULT.getRenameJournalMaxAge().toMillis());
+
   /** Configuration key for a max number of GCS RPCs in batch request. */
   public static final HadoopConfigurationProperty<Integer> GCS_MAX_REQUESTS_PER_BATCH =
       new HadoopConfigurationProperty<>(
@@ -221,6 +400,16 @@ public class GoogleHadoopFileSystemConfiguration {
       new HadoopConfigurationProperty<>(
           "fs.gs.batch.threads", GoogleCloudStorageOptions.DEFAULT.getBatchThreads());
 
+  /**
+   * Configuration key for enabling adaptive batch size and number of concurrent batches, that are
+   * decreased when GCS throttles batch requests and increased up to {@link
+   * #GCS_MAX_REQUESTS_PER_BATCH} and {@link #GCS_BATCH_THREADS} otherwise.
+   */
+  public static final HadoopConfigurationProperty<Boolean> GCS_BATCH_ADAPTIVE_ENABLE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.batch.adaptive.enable",
+          GoogleCloudStorageOptions.DEFAULT.isBatchAdaptiveEnabled());
+
   /**
    * Configuration key for enabling the use of Rewrite requests for copy operations. Rewrite request
    * has the same effect as Copy request, but it can handle moving large objects that may
@@ -301,18 +490,103 @@ public class GoogleHadoopFileSystemConfiguration {
           "fs.gs.outputstream.upload.chunk.size",
           (long) AsyncWriteChannelOptions.DEFAULT.getUploadChunkSize());
 
+  /**
+   * Configuration key to enable adaptive upload chunk sizing, when enabled upload chunk size grows
+   * from {@link #GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE_MIN} up to {@link
+   * #GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE} based on the observed upload throughput.
+   */
+  public static final HadoopConfigurationProperty<Boolean>
+      GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE_ADAPTIVE_ENABLE =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.outputstream.upload.chunk.size.adaptive.enable",
+              AsyncWriteChannelOptions.DEFAULT.isAdaptiveUploadChunkSizeEnabled());
+
+  /** Configuration key for the initial and minimum upload chunk size of adaptive chunk sizing. */
+  public static final HadoopConfigurationProperty<Long> GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE_MIN =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.outputstream.upload.chunk.size.min",
+          (long) AsyncWriteChannelOptions.DEFAULT.getMinUploadChunkSize());
+
   /** Configuration for setting GCS upload cache size. */
   public static final HadoopConfigurationProperty<Long> GCS_OUTPUT_STREAM_UPLOAD_CACHE_SIZE =
       new HadoopConfigurationProperty<>(
           "fs.gs.outputstream.upload.cache.size",
           (long) AsyncWriteChannelOptions.DEFAULT.getUploadCacheSize());
 
+  /**
+   * Configuration key for the maximum size of objects that are buffered in memory and uploaded in a
+   * single request instead of a resumable upload session. Disabled if not positive.
+   */
+  public static final HadoopConfigurationProperty<Long>
+      GCS_OUTPUT_STREAM_SMALL_OBJECT_UPLOAD_THRESHOLD =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.outputstream.small.object.upload.threshold",
+              (long) AsyncWriteChannelOptions.DEFAULT.getSmallObjectUploadThreshold());
+
+  /**
+   * Configuration key for enabling CRC32C checksum computation for uploaded objects, the checksum
+   * is sent to GCS to reject corrupted uploads. This is used only for JSON API.
+   */
+  public static final HadoopConfigurationProperty<Boolean> GCS_OUTPUT_STREAM_CRC32C_ENABLE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.outputstream.crc32c.enable",
+          AsyncWriteChannelOptions.DEFAULT.isUploadCrc32cEnabled());
+
   /** Configuration key for enabling GCS direct upload. */
   public static final HadoopConfigurationProperty<Boolean> GCS_OUTPUT_STREAM_DIRECT_UPLOAD_ENABLE =
       new HadoopConfigurationProperty<>(
           "fs.gs.outputstream.direct.upload.enable",
           AsyncWriteChannelOptions.DEFAULT.isDirectUploadEnabled());
 
+  /**
+   * If true, {@code close()} of the output stream returns without waiting for the upload to
+   * finalize. Failures are reported by {@link GoogleHadoopFileSystem#awaitPendingWrites()} or
+   * {@link GoogleHadoopFileSystem#close()}.
+   */
+  public static final HadoopConfigurationProperty<Boolean> GCS_OUTPUT_STREAM_ASYNC_CLOSE_ENABLE =
+      new HadoopConfigurationProperty<>(
+          "fs.gs.outputstream.async.close.enable", CreateFileOptions.DEFAULT.isAsyncCloseEnabled());
+
+  /**
+   * Maximum number of output streams that finalize their uploads in background (see {@link
+   * #GCS_OUTPUT_STREAM_ASYNC_CLOSE_ENABLE}), {@code close()} of an output stream blocks until one
+   * of them completes when this limit is reached. Zero or a negative value means no limit.
+   */
+  public static final HadoopConfigurationProperty<Integer>
+      GCS_OUTPUT_STREAM_ASYNC_CLOSE_MAX_PENDING =
+          new HadoopConfigurationProperty<>("fs.gs.outputstream.async.close.max.pending", 32);
+
+  /**
+   * If true, created files are gzip-compressed on the client side and stored with {@code
+   * Content-Encoding: gzip}.
+   */
+  public static final HadoopConfigurationProperty<Boolean>
+      GCS_OUTPUT_STREAM_GZIP_COMPRESSION_ENABLE =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.outputstream.gzip.compression.enable",
+              CreateFileOptions.DEFAULT.isGzipCompressionEnabled());
+
+  /** Configuration key for the gzip compression level of created files. */
+  public static final HadoopConfigurationProperty<Integer>
+      GCS_OUTPUT_STREAM_GZIP_COMPRESSION_LEVEL =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.outputstream.gzip.compression.level",
+              CreateFileOptions.DEFAULT.getGzipCompressionLevel());
+
+  /** Configuration key for the size of blocks that are gzip-compressed independently. */
+  public static final HadoopConfigurationProperty<Long>
+      GCS_OUTPUT_STREAM_GZIP_COMPRESSION_BLOCK_SIZE =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.outputstream.gzip.compression.block.size",
+              (long) CreateFileOptions.DEFAULT.getGzipCompressionBlockSize());
+
+  /** Configuration key for the number of blocks that are gzip-compressed in parallel. */
+  public static final HadoopConfigurationProperty<Integer>
+      GCS_OUTPUT_STREAM_GZIP_COMPRESSION_THREADS =
+          new HadoopConfigurationProperty<>(
+              "fs.gs.outputstream.gzip.compression.threads",
+              CreateFileOptions.DEFAULT.getGzipCompressionThreads());
+
   /**
    * Configuration key for the minimal time interval between consecutive sync/hsync/hflush calls.
    */
@@ -574,9 +848,16 @@ public class GoogleHadoopFileSystemConfiguration {
         .setCloudStorageOptions(getGcsOptionsBuilder(config).build())
         .setEnsureNoConflictingItems(
             GCS_CREATE_ITEMS_CONFLICT_CHECK_ENABLE.get(config, config::getBoolean))
+        .setListParallelism(GCS_LIST_PARALLELISM.get(config, config::getInt))
         .setMarkerFilePattern(GCS_MARKER_FILE_PATTERN.get(config, config::get))
+        .setMetadataRequestCoalescingEnabled(
+            GCS_METADATA_REQUEST_COALESCING_ENABLE.get(config, config::getBoolean))
         .setPerformanceCacheEnabled(GCS_PERFORMANCE_CACHE_ENABLE.get(config, config::getBoolean))
         .setPerformanceCacheOptions(getPerformanceCachingOptions(config))
+        .setRateLimitEnabled(GCS_RATE_LIMIT_ENABLE.get(config, config::getBoolean))
+        .setRateLimitOptions(getRateLimitOptions(config))
+        .setRenameJournalPath(GCS_RENAME_JOURNAL_PATH.get(config, config::get))
+        .setRenameJournalMaxAge(GCS_RENAME_JOURNAL_MAX_AGE.getTimeDuration(config))
         .setStatusParallelEnabled(GCS_STATUS_PARALLEL_ENABLE.get(config, config::getBoolean));
   }
 
@@ -595,6 +876,7 @@ public class GoogleHadoopFileSystemConfiguration {
         .setGrpcWriteEnabled(GCS_GRPC_WRITE_ENABLE.get(config, config::getBoolean))
         .setAutoRepairImplicitDirectoriesEnabled(
             GCS_REPAIR_IMPLICIT_DIRECTORIES_ENABLE.get(config, config::getBoolean))
+        .setBatchAdaptiveEnabled(GCS_BATCH_ADAPTIVE_ENABLE.get(config, config::getBoolean))
         .setBatchThreads(GCS_BATCH_THREADS.get(config, config::getInt))
         .setCopyWithRewriteEnabled(GCS_COPY_WITH_REWRITE_ENABLE.get(config, config::getBoolean))
         .setDirectPathPreferred(GCS_GRPC_DIRECTPATH_ENABLE.get(config, config::getBoolean))
@@ -639,6 +921,32 @@ public class GoogleHadoopFileSystemConfiguration {
       Configuration config) {
     return PerformanceCachingGoogleCloudStorageOptions.builder()
         .setMaxEntryAge(GCS_PERFORMANCE_CACHE_MAX_ENTRY_AGE.getTimeDuration(config))
+        .setMaxEntries(GCS_PERFORMANCE_CACHE_MAX_ENTRIES.get(config, config::getLong))
+        .setMaxSizeBytes(GCS_PERFORMANCE_CACHE_MAX_SIZE.get(config, config::getLongBytes))
+        .setNegativeMaxEntryAge(
+            GCS_PERFORMANCE_CACHE_NEGATIVE_MAX_ENTRY_AGE.getTimeDuration(config))
+        .setListMaxEntryAge(GCS_PERFORMANCE_CACHE_LIST_MAX_ENTRY_AGE.getTimeDuration(config))
+        .setListMaxItems(GCS_PERFORMANCE_CACHE_LIST_MAX_ITEMS.get(config, config::getLong))
+        .setStaleWhileRevalidate(
+            GCS_PERFORMANCE_CACHE_STALE_WHILE_REVALIDATE.getTimeDuration(config))
+        .setSharedCacheEnabled(GCS_PERFORMANCE_CACHE_SHARED_ENABLE.get(config, config::getBoolean))
+        .setSharedMaxSizeBytes(
+            GCS_PERFORMANCE_CACHE_SHARED_MAX_SIZE.get(config, config::getLongBytes))
+        .build();
+  }
+
+  @VisibleForTesting
+  static RateLimitingGoogleCloudStorageOptions getRateLimitOptions(Configuration config) {
+    return RateLimitingGoogleCloudStorageOptions.builder()
+        .setReadRequestsPerSecond(
+            GCS_RATE_LIMIT_READ_REQUESTS_PER_SECOND.get(config, config::getInt))
+        .setWriteRequestsPerSecond(
+            GCS_RATE_LIMIT_WRITE_REQUESTS_PER_SECOND.get(config, config::getInt))
+        .setMetadataRequestsPerSecond(
+            GCS_RATE_LIMIT_METADATA_REQUESTS_PER_SECOND.get(config, config::getInt))
+        .setListRequestsPerSecond(
+            GCS_RATE_LIMIT_LIST_REQUESTS_PER_SECOND.get(config, config::getInt))
+        .setRampUpInterval(GCS_RATE_LIMIT_RAMP_UP_INTERVAL.getTimeDuration(config))
         .build();
   }
 
@@ -678,10 +986,18 @@ public class GoogleHadoopFileSystemConfiguration {
         .setPipeBufferSize(
             toIntExact(GCS_OUTPUT_STREAM_PIPE_BUFFER_SIZE.get(config, config::getLongBytes)))
         .setPipeType(GCS_OUTPUT_STREAM_PIPE_TYPE.get(config, config::getEnum))
+        .setSmallObjectUploadThreshold(
+            toIntExact(
+                GCS_OUTPUT_STREAM_SMALL_OBJECT_UPLOAD_THRESHOLD.get(config, config::getLongBytes)))
         .setUploadCacheSize(
             toIntExact(GCS_OUTPUT_STREAM_UPLOAD_CACHE_SIZE.get(config, config::getLongBytes)))
         .setUploadChunkSize(
             toIntExact(GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE.get(config, config::getLongBytes)))
+        .setUploadCrc32cEnabled(GCS_OUTPUT_STREAM_CRC32C_ENABLE.get(config, config::getBoolean))
+        .setAdaptiveUploadChunkSizeEnabled(
+            GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE_ADAPTIVE_ENABLE.get(config, config::getBoolean))
+        .setMinUploadChunkSize(
+            toIntExact(GCS_OUTPUT_STREAM_UPLOAD_CHUNK_SIZE_MIN.get(config, config::getLongBytes)))
         .setUploadType(GCS_CLIENT_UPLOAD_TYPE.get(config, config::getEnum))
         .setTemporaryPaths(
             ImmutableSet.copyOf(GCS_WRITE_TEMPORARY_FILES_PATH.getStringCollection(config)))
@@ -95,6 +95,9 @@ class GoogleHadoopOutputStream extends OutputStream
 
   private final CreateObjectOptions composeObjectOptions;
 
+  // Options for temporary files, that are compressed in the same way as the destination file.
+  private final CreateFileOptions tmpFileCreateOptions;
+
   // Path of the file to write to.
   private final URI dstGcsPath;
 
@@ -120,6 +123,10 @@ class GoogleHadoopOutputStream extends OutputStream
 
   private final RateLimiter syncRateLimiter;
 
+  // If true, close() finalizes the upload in background, see
+  // GoogleHadoopFileSystem#awaitPendingWrites().
+  private final boolean asyncCloseEnabled;
+
   // List of temporary file-deletion futures accrued during the lifetime of this output stream.
   private final List<Future<Void>> tmpDeletionFutures = new ArrayList<>();
 
@@ -166,6 +173,7 @@ class GoogleHadoopOutputStream extends OutputStream
         minSyncInterval.isNegative() || minSyncInterval.isZero()
             ? null
             : RateLimiter.create(/* permitsPerSecond= */ 1_000.0 / minSyncInterval.toMillis());
+    this.asyncCloseEnabled = createFileOptions.isAsyncCloseEnabled();
     this.composeObjectOptions =
         GoogleCloudStorageFileSystemImpl.objectOptionsFromFileOptions(
             createFileOptions.toBuilder()
@@ -174,6 +182,14 @@ class GoogleHadoopOutputStream extends OutputStream
                 .setWriteMode(CreateFileOptions.WriteMode.OVERWRITE)
                 .build());
 
+    this.tmpFileCreateOptions =
+        TMP_FILE_CREATE_OPTIONS.toBuilder()
+            .setGzipCompressionEnabled(createFileOptions.isGzipCompressionEnabled())
+            .setGzipCompressionLevel(createFileOptions.getGzipCompressionLevel())
+            .setGzipCompressionBlockSize(createFileOptions.getGzipCompressionBlockSize())
+            .setGzipCompressionThreads(createFileOptions.getGzipCompressionThreads())
+            .build();
+
     if (createFileOptions.getWriteMode() == CreateFileOptions.WriteMode.APPEND) {
       // When appending first component has to go to new temporary file.
       this.tmpGcsPath = getNextTmpPath();
@@ -188,9 +204,7 @@ class GoogleHadoopOutputStream extends OutputStream
 
     this.tmpOut =
         createOutputStream(
-            ghfs.getGcsFs(),
-            tmpGcsPath,
-            tmpIndex == 0 ? createFileOptions : TMP_FILE_CREATE_OPTIONS);
+            ghfs.getGcsFs(), tmpGcsPath, tmpIndex == 0 ? createFileOptions : tmpFileCreateOptions);
     this.dstGenerationId = StorageResourceId.UNKNOWN_GENERATION_ID;
     this.traceFactory = ghfs.getTraceFactory();
   }
@@ -330,7 +344,7 @@ class GoogleHadoopOutputStream extends OutputStream
   private void hsyncInternal(long startMs) throws IOException {
     logger.atFiner().log(
         "hsyncInternal(): Committing tail file %s to final destination %s", tmpGcsPath, dstGcsPath);
-    commitTempFile();
+    commitTempFile(tmpOut, tmpGcsPath);
 
     // Use a different temporary path for each temporary component to reduce the possible avenues of
     // race conditions in the face of low-level retries, etc.
@@ -339,13 +353,13 @@ class GoogleHadoopOutputStream extends OutputStream
 
     logger.atFiner().log(
         "hsync(): Opening next temporary tail file %s at %d index", tmpGcsPath, tmpIndex);
-    tmpOut = createOutputStream(ghfs.getGcsFs(), tmpGcsPath, TMP_FILE_CREATE_OPTIONS);
+    tmpOut = createOutputStream(ghfs.getGcsFs(), tmpGcsPath, tmpFileCreateOptions);
 
     long finishMs = System.currentTimeMillis();
     logger.atFiner().log("Took %dms to sync() for %s", finishMs - startMs, dstGcsPath);
   }
 
-  private void commitTempFile() throws IOException {
+  private void commitTempFile(OutputStream tmpOut, URI tmpGcsPath) throws IOException {
     // TODO(user): return early when 0 bytes have been written in the temp files
     tmpOut.close();
 
@@ -418,7 +432,12 @@ class GoogleHadoopOutputStream extends OutputStream
             return null;
           }
 
-          commitTempFile();
+          if (asyncCloseEnabled) {
+            closeAsync();
+            return null;
+          }
+
+          commitTempFile(tmpOut, tmpGcsPath);
 
           try {
             tmpOut.close();
@@ -428,21 +447,7 @@ class GoogleHadoopOutputStream extends OutputStream
           tmpGcsPath = null;
           tmpIndex = -1;
 
-          logger.atFiner().log("close(): Awaiting %s deletionFutures", tmpDeletionFutures.size());
-          for (Future<?> deletion : tmpDeletionFutures) {
-            try {
-              deletion.get();
-            } catch (ExecutionException | InterruptedException e) {
-              GoogleCloudStorageEventBus.postOnException();
-              if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-              }
-              throw new IOException(
-                  String.format(
-                      "Failed to delete temporary files while closing stream: '%s'", dstGcsPath),
-                  e);
-            }
-          }
+          awaitTmpDeletions();
           return null;
         });
 
@@ -453,6 +458,47 @@ class GoogleHadoopOutputStream extends OutputStream
     // TODO: do we need make a `cleanerThreadpool` an object field and close it here?
   }
 
+  /**
+   * Hands the remaining buffered data to the uploader and commits the tail file in background, so
+   * the stream is closed without waiting for the upload to finalize. Blocks if too many uploads are
+   * finalizing in background already.
+   */
+  private void closeAsync() throws IOException {
+    OutputStream out = tmpOut;
+    URI outGcsPath = tmpGcsPath;
+    out.flush();
+
+    ghfs.submitPendingWrite(
+        dstGcsPath,
+        () -> {
+          commitTempFile(out, outGcsPath);
+          awaitTmpDeletions();
+          return null;
+        });
+
+    tmpOut = null;
+    tmpGcsPath = null;
+    tmpIndex = -1;
+  }
+
+  private void awaitTmpDeletions() throws IOException {
+    logger.atFiner().log("close(): Awaiting %s deletionFutures", tmpDeletionFutures.size());
+    for (Future<?> deletion : tmpDeletionFutures) {
+      try {
+        deletion.get();
+      } catch (ExecutionException | InterruptedException e) {
+        GoogleCloudStorageEventBus.postOnException();
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+        throw new IOException(
+            String.format(
+                "Failed to delete temporary files while closing stream: '%s'", dstGcsPath),
+            e);
+      }
+    }
+  }
+
   private void throwIfNotOpen() throws IOException {
     if (tmpOut == null) {
       throw new ClosedChannelException();
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.fs.gcs;
+
+import com.google.cloud.hadoop.gcsio.FileInfo;
+import com.google.cloud.hadoop.gcsio.GoogleCloudStorage.ListPage;
+import com.google.cloud.hadoop.util.CheckedFunction;
+import com.google.common.collect.Iterators;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.RemoteIterator;
+
+/**
+ * {@link RemoteIterator} over {@link FileStatus}es that are listed page by page.
+ *
+ * <p>The next page is fetched in background while the current page is consumed, so at most two
+ * pages are held in memory at any time. The first page is fetched in the constructor, so errors
+ * like {@link java.io.FileNotFoundException} are thrown at iterator creation.
+ *
+ * <p>Items that do not match the filter are skipped without conversion to {@link FileStatus}.
+ */
+class PagedFileStatusIterator<T extends FileStatus> implements RemoteIterator<T> {
+
+  private final PageFetcher pageFetcher;
+  private final Predicate<FileInfo> filter;
+  private final CheckedFunction<FileInfo, T, IOException> converter;
+  private final ExecutorService prefetchExecutor;
+
+  private Iterator<FileInfo> currentPage;
+  @Nullable private Future<ListPage<FileInfo>> nextPage;
+
+  PagedFileStatusIterator(
+      PageFetcher pageFetcher,
+      CheckedFunction<FileInfo, T, IOException> converter,
+      ExecutorService prefetchExecutor)
+      throws IOException {
+    this(pageFetcher, fileInfo -> true, converter, prefetchExecutor);
+  }
+
+  PagedFileStatusIterator(
+      PageFetcher pageFetcher,
+      Predicate<FileInfo> filter,
+      CheckedFunction<FileInfo, T, IOException> converter,
+      ExecutorService prefetchExecutor)
+      throws IOException {
+    this.pageFetcher = pageFetcher;
+    this.filter = filter;
+    this.converter = converter;
+    this.prefetchExecutor = prefetchExecutor;
+    setCurrentPage(pageFetcher.fetch(/* pageToken= */ null));
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    while (!currentPage.hasNext() && nextPage != null) {
+      setCurrentPage(awaitNextPage());
+    }
+    return currentPage.hasNext();
+  }
+
+  @Override
+  public T next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more file statuses");
+    }
+    return converter.apply(currentPage.next());
+  }
+
+  private void setCurrentPage(ListPage<FileInfo> page) {
+    currentPage = Iterators.filter(page.getItems().iterator(), filter::test);
+    String nextPageToken = page.getNextPageToken();
+    nextPage =
+        nextPageToken == null
+            ? null
+            : prefetchExecutor.submit(() -> pageFetcher.fetch(nextPageToken));
+  }
+
+  private ListPage<FileInfo> awaitNextPage() throws IOException {
+    try {
+      return nextPage.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      nextPage.cancel(/* mayInterruptIfRunning= */ true);
+      throw (IOException)
+          new InterruptedIOException("Interrupted while waiting for the next page").initCause(e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException
+          ? (IOException) e.getCause()
+          : new IOException("Failed to list the next page", e.getCause());
+    }
+  }
+
+  /** Fetches a page of the listing. */
+  interface PageFetcher {
+    ListPage<FileInfo> fetch(@Nullable String pageToken) throws IOException;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.fs.gcs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link GlobPrefixExpander} class. */
+@RunWith(JUnit4.class)
+public class GlobPrefixExpanderTest {
+
+  @Test
+  public void expand_braceAlternation() {
+    assertThat(GlobPrefixExpander.expand("gs://b/t/dt={2024-01-01,2024-02-01}/*", 10))
+        .containsExactly("gs://b/t/dt=2024-01-01/", "gs://b/t/dt=2024-02-01/")
+        .inOrder();
+  }
+
+  @Test
+  public void expand_nestedBracesAndWildcardsInAlternatives() {
+    assertThat(GlobPrefixExpander.expand("gs://b/{a{1,2},c*}/x?", 10))
+        .containsExactly("gs://b/a1/x", "gs://b/a2/x", "gs://b/c")
+        .inOrder();
+  }
+
+  @Test
+  public void expand_characterClass() {
+    assertThat(GlobPrefixExpander.expand("gs://b/p[1-3x]/f", 10))
+        .containsExactly("gs://b/p1/f", "gs://b/p2/f", "gs://b/p3/f", "gs://b/px/f")
+        .inOrder();
+  }
+
+  @Test
+  public void expand_negatedCharacterClass_truncatesPrefix() {
+    assertThat(GlobPrefixExpander.expand("gs://b/p[^1]/f", 10)).containsExactly("gs://b/p");
+  }
+
+  @Test
+  public void expand_removesCoveredPrefixes() {
+    assertThat(GlobPrefixExpander.expand("gs://b/{a*,ab/c,d,d}", 10))
+        .containsExactly("gs://b/a", "gs://b/d")
+        .inOrder();
+  }
+
+  @Test
+  public void expand_escapedCharacters() {
+    assertThat(GlobPrefixExpander.expand("gs://b/\\{a\\}/{x\\,y,z}", 10))
+        .containsExactly("gs://b/{a}/x,y", "gs://b/{a}/z")
+        .inOrder();
+  }
+
+  @Test
+  public void expand_tooManyPrefixes_returnsNull() {
+    assertThat(GlobPrefixExpander.expand("gs://b/{a,b}/{c,d}/*", 3)).isNull();
+    assertThat(GlobPrefixExpander.expand("gs://b/[a-z]/*", 3)).containsExactly("gs://b/");
+  }
+}
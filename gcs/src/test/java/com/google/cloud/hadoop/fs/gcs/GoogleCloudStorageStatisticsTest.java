@@ -31,10 +31,13 @@ import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageStatistics.GCS_API
 import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageStatistics.GCS_API_SERVER_SIDE_ERROR_COUNT;
 import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageStatistics.GCS_API_SERVER_TIMEOUT_COUNT;
 import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageStatistics.GCS_METADATA_REQUEST;
+import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageStatistics.GCS_UPLOAD_CHUNK_SIZE;
+import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageStatistics.GCS_UPLOAD_CHUNK_SIZE_INCREASE_COUNT;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.cloud.hadoop.util.GcsJsonApiEvent;
 import com.google.cloud.hadoop.util.GcsRequestExecutionEvent;
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
 import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
 import com.google.cloud.hadoop.util.IGcsJsonApiEvent;
 import com.google.common.flogger.GoogleLogger;
@@ -323,4 +326,18 @@ public class GoogleCloudStorageStatisticsTest {
     verifyCounterStats.incrementCounter(GCS_API_SERVER_SIDE_ERROR_COUNT, 1);
     verifyStatistics(verifyCounterStats);
   }
+
+  @Test
+  public void gcs_statisticUpdate() {
+    GoogleCloudStorageEventBus.postStatisticUpdate(
+        GcsStatisticUpdateEvent.increment(GCS_UPLOAD_CHUNK_SIZE_INCREASE_COUNT.getSymbol(), 1));
+    GoogleCloudStorageEventBus.postStatisticUpdate(
+        GcsStatisticUpdateEvent.set(GCS_UPLOAD_CHUNK_SIZE.getSymbol(), 1024));
+    GoogleCloudStorageEventBus.postStatisticUpdate(
+        GcsStatisticUpdateEvent.set(GCS_UPLOAD_CHUNK_SIZE.getSymbol(), 2048));
+    GhfsGlobalStorageStatistics verifyCounterStats = new GhfsGlobalStorageStatistics();
+    verifyCounterStats.incrementCounter(GCS_UPLOAD_CHUNK_SIZE_INCREASE_COUNT, 1);
+    verifyCounterStats.setGauge(GCS_UPLOAD_CHUNK_SIZE, 2048);
+    verifyStatistics(verifyCounterStats);
+  }
 }
@@ -55,6 +55,7 @@ public class GoogleHadoopFileSystemConfigurationTest {
       new HashMap<>() {
         {
           put("fs.gs.application.name.suffix", "");
+          put("fs.gs.batch.adaptive.enable", false);
           put("fs.gs.batch.threads", 15);
           put("fs.gs.block.size", 64 * 1024 * 1024L);
           put("fs.gs.bucket.delete.enable", false);
@@ -67,6 +68,7 @@ public class GoogleHadoopFileSystemConfigurationTest {
           put("fs.gs.encryption.key", null);
           put("fs.gs.encryption.key.hash", null);
           put("fs.gs.glob.algorithm", GlobAlgorithm.CONCURRENT);
+          put("fs.gs.glob.flat.max.prefixes", 64);
           put("fs.gs.vectored.read.threads", 16);
           put("fs.gs.vectored.read.merged.range.max.size", 8 * 1024 * 1024);
           put("fs.gs.vectored.read.min.range.seek.size", 4 * 1024);
@@ -93,20 +95,48 @@ public class GoogleHadoopFileSystemConfigurationTest {
           put("fs.gs.inputstream.support.gzip.encoding.enable", false);
           put("fs.gs.lazy.init.enable", false);
           put("fs.gs.list.max.items.per.call", 5_000);
+          put("fs.gs.list.parallelism", 1);
           put("fs.gs.marker.file.pattern", null);
           put("fs.gs.max.requests.per.batch", 15);
           put("fs.gs.max.wait.for.empty.object.creation", 3_000L);
+          put("fs.gs.metadata.request.coalescing.enable", false);
           put("fs.gs.metrics.sink", MetricsSink.NONE);
           put("fs.gs.outputstream.buffer.size", 8 * 1024 * 1024L);
+          put("fs.gs.outputstream.crc32c.enable", false);
           put("fs.gs.outputstream.direct.upload.enable", false);
           put("fs.gs.outputstream.pipe.buffer.size", 1024 * 1024L);
           put("fs.gs.outputstream.pipe.type", PipeType.IO_STREAM_PIPE);
+          put("fs.gs.outputstream.small.object.upload.threshold", 0L);
+          put("fs.gs.outputstream.async.close.enable", false);
+          put("fs.gs.outputstream.async.close.max.pending", 32);
+          put("fs.gs.outputstream.gzip.compression.block.size", 4 * 1024 * 1024L);
+          put("fs.gs.outputstream.gzip.compression.enable", false);
+          put("fs.gs.outputstream.gzip.compression.level", -1);
+          put("fs.gs.outputstream.gzip.compression.threads", 1);
           put("fs.gs.outputstream.sync.min.interval", 0L);
           put("fs.gs.outputstream.upload.cache.size", 0L);
           put("fs.gs.outputstream.upload.chunk.size", 24 * 1024 * 1024L);
+          put("fs.gs.outputstream.upload.chunk.size.adaptive.enable", false);
+          put("fs.gs.outputstream.upload.chunk.size.min", 1048576L);
           put("fs.gs.performance.cache.enable", false);
+          put("fs.gs.performance.cache.list.max.entry.age", 0L);
+          put("fs.gs.performance.cache.list.max.items", 10_000L);
+          put("fs.gs.performance.cache.max.entries", 0L);
           put("fs.gs.performance.cache.max.entry.age", 5_000L);
+          put("fs.gs.performance.cache.max.size", 0L);
+          put("fs.gs.performance.cache.negative.max.entry.age", 0L);
+          put("fs.gs.performance.cache.shared.enable", false);
+          put("fs.gs.performance.cache.shared.max.size", 256 * 1024 * 1024L);
+          put("fs.gs.performance.cache.stale.while.revalidate", 0L);
           put("fs.gs.project.id", null);
+          put("fs.gs.rate.limit.enable", false);
+          put("fs.gs.rate.limit.list.requests.per.second", 5_000);
+          put("fs.gs.rate.limit.metadata.requests.per.second", 5_000);
+          put("fs.gs.rate.limit.ramp.up.interval", 1_200_000L);
+          put("fs.gs.rate.limit.read.requests.per.second", 5_000);
+          put("fs.gs.rate.limit.write.requests.per.second", 1_000);
+          put("fs.gs.rename.journal.max.age", 3_600_000L);
+          put("fs.gs.rename.journal.path", null);
           put("fs.gs.reported.permissions", "700");
           put("fs.gs.requester.pays.buckets", ImmutableList.of());
           put("fs.gs.requester.pays.mode", RequesterPaysMode.DISABLED);
@@ -378,6 +408,11 @@ public class GoogleHadoopFileSystemConfigurationTest {
     config.set("fs.gs.http.read-timeout", "2000ms");
     config.set("fs.gs.max.wait.for.empty.object.creation", "90s");
     config.set("fs.gs.performance.cache.max.entry.age", "4s");
+    config.set("fs.gs.performance.cache.max.size", "64m");
+    config.set("fs.gs.performance.cache.negative.max.entry.age", "500ms");
+    config.set("fs.gs.performance.cache.list.max.entry.age", "2s");
+    config.set("fs.gs.performance.cache.shared.max.size", "1g");
+    config.set("fs.gs.performance.cache.stale.while.revalidate", "30s");
 
     GoogleCloudStorageOptions options =
         GoogleHadoopFileSystemConfiguration.getGcsOptionsBuilder(config).build();
@@ -397,5 +432,10 @@ public class GoogleHadoopFileSystemConfigurationTest {
     assertThat(options.getHttpRequestReadTimeout()).isEqualTo(Duration.ofSeconds(2));
     assertThat(options.getMaxWaitTimeForEmptyObjectCreation()).isEqualTo(Duration.ofSeconds(90));
     assertThat(perfCacheOptions.getMaxEntryAge()).isEqualTo(Duration.ofSeconds(4));
+    assertThat(perfCacheOptions.getMaxSizeBytes()).isEqualTo(64 * 1024 * 1024L);
+    assertThat(perfCacheOptions.getNegativeMaxEntryAge()).isEqualTo(Duration.ofMillis(500));
+    assertThat(perfCacheOptions.getListMaxEntryAge()).isEqualTo(Duration.ofSeconds(2));
+    assertThat(perfCacheOptions.getSharedMaxSizeBytes()).isEqualTo(1024 * 1024 * 1024L);
+    assertThat(perfCacheOptions.getStaleWhileRevalidate()).isEqualTo(Duration.ofSeconds(30));
   }
 }
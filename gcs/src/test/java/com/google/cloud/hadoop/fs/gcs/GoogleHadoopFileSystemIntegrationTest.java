@@ -34,6 +34,7 @@ import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_HFLUSH;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_HSYNC;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_LOCATED_STATUS;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_STATUS;
+import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_STATUS_ITERATOR;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_STATUS_RESULT_SIZE;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_MKDIRS;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_OPEN;
@@ -3059,7 +3060,9 @@ public abstract class GoogleHadoopFileSystemIntegrationTest extends GoogleHadoop
             INVOCATION_GLOB_STATUS.getSymbol(),
             INVOCATION_HFLUSH.getSymbol(),
             INVOCATION_HSYNC.getSymbol(),
+            INVOCATION_LIST_LOCATED_STATUS.getSymbol(),
             INVOCATION_LIST_STATUS.getSymbol(),
+            INVOCATION_LIST_STATUS_ITERATOR.getSymbol(),
             INVOCATION_MKDIRS.getSymbol(),
             INVOCATION_OPEN.getSymbol(),
             INVOCATION_RENAME.getSymbol(),
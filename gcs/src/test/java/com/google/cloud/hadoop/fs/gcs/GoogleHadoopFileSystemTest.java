@@ -16,12 +16,17 @@
 
 package com.google.cloud.hadoop.fs.gcs;
 
+import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_FILES;
+import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_LOCATED_STATUS;
+import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_STATUS;
+import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.INVOCATION_LIST_STATUS_ITERATOR;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.STREAM_READ_OPERATIONS;
 import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.STREAM_WRITE_OPERATIONS;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemConfiguration.GCS_CLIENT_TYPE;
 import static com.google.cloud.hadoop.fs.gcs.GoogleHadoopFileSystemTestHelper.createInMemoryGoogleHadoopFileSystem;
 import static com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage.getInMemoryGoogleCloudStorageOptions;
 import static com.google.common.truth.Truth.assertThat;
+import static org.apache.hadoop.fs.statistics.StoreStatisticNames.SUFFIX_MEAN;
 import static org.junit.Assert.assertThrows;
 
 import com.google.cloud.hadoop.gcsio.FileInfo;
@@ -37,6 +42,7 @@ import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
 import com.google.cloud.hadoop.util.AccessTokenProvider;
 import com.google.cloud.hadoop.util.HadoopCredentialsConfiguration.AuthenticationType;
 import com.google.cloud.hadoop.util.testing.TestingAccessTokenProvider;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.io.FileNotFoundException;
@@ -45,14 +51,22 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.ContentSummary;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.fs.statistics.IOStatistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -236,6 +250,209 @@ public class GoogleHadoopFileSystemTest extends GoogleHadoopFileSystemIntegratio
     assertThat(lazyFs.trimToPrefixWithoutGlob("gs://**/test")).isEqualTo("gs://");
   }
 
+  @Test
+  public void globStatus_flat_listsExpandedPrefixes() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryFileSystemWithListPageSize(2);
+    fs.globAlgorithm = GoogleHadoopFileSystem.GlobAlgorithm.FLAT;
+    Path dir = new Path("/glob-prefixes");
+    for (String partition : List.of("dt=2024-01-01", "dt=2024-02-01", "dt=2024-03-01")) {
+      fs.create(new Path(dir, partition + "/file")).close();
+    }
+    Path pattern = new Path(dir, "dt={2024-01-01,2024-02-0[1-2]}/*");
+
+    FileStatus[] expanded = fs.globStatus(pattern);
+    fs.globFlatMaxPrefixes = 1;
+    FileStatus[] notExpanded = fs.globStatus(pattern);
+
+    List<String> partitions = new ArrayList<>();
+    for (FileStatus status : expanded) {
+      partitions.add(status.getPath().getParent().getName());
+    }
+    assertThat(partitions).containsExactly("dt=2024-01-01", "dt=2024-02-01").inOrder();
+    assertThat(notExpanded).isEqualTo(expanded);
+  }
+
+  @Test
+  public void listStatusIterator_listsAllPages() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryFileSystemWithListPageSize(2);
+    Path dir = new Path("/list-status-iterator");
+    for (int i = 0; i < 5; i++) {
+      fs.create(new Path(dir, "file" + i)).close();
+    }
+    fs.mkdirs(new Path(dir, "subdir"));
+
+    List<String> names = new ArrayList<>();
+    RemoteIterator<FileStatus> statuses = fs.listStatusIterator(dir);
+    while (statuses.hasNext()) {
+      names.add(statuses.next().getPath().getName());
+    }
+
+    assertThat(names).containsExactly("file0", "file1", "file2", "file3", "file4", "subdir");
+    assertThat(statuses.hasNext()).isFalse();
+    assertThrows(NoSuchElementException.class, statuses::next);
+  }
+
+  private GoogleHadoopFileSystem createInMemoryFileSystemWithListPageSize(int pageSize)
+      throws IOException {
+    GoogleCloudStorageFileSystem gcsFs =
+        new GoogleCloudStorageFileSystemImpl(
+            InMemoryGoogleCloudStorage::new,
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(
+                    getInMemoryGoogleCloudStorageOptions().toBuilder()
+                        .setMaxListItemsPerCall(pageSize)
+                        .build())
+                .build());
+    String bucketName = ghfsHelper.getUniqueBucketName("list-pages");
+    gcsFs.getGcs().createBucket(bucketName);
+    GoogleHadoopFileSystem fs = new GoogleHadoopFileSystem(gcsFs);
+    fs.initialize(new Path("gs://" + bucketName).toUri(), new Configuration());
+    return fs;
+  }
+
+  @Test
+  public void listStatusIterator_file_returnsFileStatus() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryGoogleHadoopFileSystem();
+    Path file = new Path("/list-status-iterator-file");
+    fs.create(file).close();
+
+    RemoteIterator<FileStatus> statuses = fs.listStatusIterator(file);
+
+    assertThat(statuses.next().getPath()).isEqualTo(fs.makeQualified(file));
+    assertThat(statuses.hasNext()).isFalse();
+  }
+
+  @Test
+  public void listStatusIteratorAndListLocatedStatus_trackDurationsOfOwnStatistics()
+      throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryGoogleHadoopFileSystem();
+    Path dir = new Path("/list-status-iterator-statistics");
+    fs.create(new Path(dir, "file")).close();
+
+    fs.listStatusIterator(dir);
+    fs.listLocatedStatus(dir);
+
+    IOStatistics statistics = fs.getIOStatistics();
+    for (GhfsStatistic statistic :
+        ImmutableList.of(INVOCATION_LIST_STATUS_ITERATOR, INVOCATION_LIST_LOCATED_STATUS)) {
+      assertThat(statistics.counters().get(statistic.getSymbol())).isEqualTo(1);
+      assertThat(statistics.meanStatistics().get(statistic.getSymbol() + SUFFIX_MEAN).getSamples())
+          .isEqualTo(1);
+    }
+    assertThat(statistics.counters().get(INVOCATION_LIST_STATUS.getSymbol())).isEqualTo(0);
+  }
+
+  @Test
+  public void listStatusIterator_notExistingPath_throwsFileNotFoundException() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryGoogleHadoopFileSystem();
+
+    assertThrows(
+        FileNotFoundException.class,
+        () -> fs.listStatusIterator(new Path("/list-status-iterator-not-existing")));
+  }
+
+  @Test
+  public void listFiles_recursive_listsFilesInAllSubdirectories() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryFileSystemWithListPageSize(2);
+    Path dir = new Path("/list-files");
+    fs.create(new Path(dir, "a/b/file1")).close();
+    fs.create(new Path(dir, "a/file2")).close();
+    fs.create(new Path(dir, "file3")).close();
+    fs.mkdirs(new Path(dir, "empty/subdir"));
+
+    List<String> files = new ArrayList<>();
+    RemoteIterator<LocatedFileStatus> statuses = fs.listFiles(dir, /* recursive= */ true);
+    while (statuses.hasNext()) {
+      LocatedFileStatus status = statuses.next();
+      assertThat(status.isFile()).isTrue();
+      files.add(status.getPath().toUri().getPath());
+    }
+
+    assertThat(files)
+        .containsExactly("/list-files/a/b/file1", "/list-files/a/file2", "/list-files/file3");
+    assertThat(fs.getIOStatistics().counters().get(INVOCATION_LIST_FILES.getSymbol())).isEqualTo(1);
+  }
+
+  @Test
+  public void listFiles_recursive_fileOrEmptyDirectory() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryGoogleHadoopFileSystem();
+    Path file = new Path("/list-files-file");
+    Path emptyDir = new Path("/list-files-empty-dir");
+    fs.create(file).close();
+    fs.mkdirs(emptyDir);
+
+    RemoteIterator<LocatedFileStatus> fileStatuses = fs.listFiles(file, /* recursive= */ true);
+    assertThat(fileStatuses.next().getPath()).isEqualTo(fs.makeQualified(file));
+    assertThat(fileStatuses.hasNext()).isFalse();
+
+    assertThat(fs.listFiles(emptyDir, /* recursive= */ true).hasNext()).isFalse();
+    assertThrows(
+        FileNotFoundException.class,
+        () -> fs.listFiles(new Path("/list-files-not-existing"), /* recursive= */ true));
+  }
+
+  @Test
+  public void getContentSummary_directory() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryFileSystemWithListPageSize(2);
+    Path dir = new Path("/content-summary");
+    writeFile(fs, new Path(dir, "file1"), 1);
+    writeFile(fs, new Path(dir, "a/file2"), 2);
+    writeFile(fs, new Path(dir, "a/b/c/file3"), 3);
+    writeFile(fs, new Path(dir, "d/file4"), 4);
+    fs.mkdirs(new Path(dir, "a/empty"));
+    fs.mkdirs(new Path(dir, "e"));
+
+    ContentSummary summary = fs.getContentSummary(dir);
+
+    assertThat(summary.getLength()).isEqualTo(10);
+    assertThat(summary.getSpaceConsumed()).isEqualTo(10);
+    assertThat(summary.getFileCount()).isEqualTo(4);
+    // content-summary, a, a/b, a/b/c, a/empty, d, e
+    assertThat(summary.getDirectoryCount()).isEqualTo(7);
+  }
+
+  @Test
+  public void getContentSummary_file() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryGoogleHadoopFileSystem();
+    Path file = new Path("/content-summary-file");
+    writeFile(fs, file, 5);
+
+    ContentSummary summary = fs.getContentSummary(file);
+
+    assertThat(summary.getLength()).isEqualTo(5);
+    assertThat(summary.getFileCount()).isEqualTo(1);
+    assertThat(summary.getDirectoryCount()).isEqualTo(0);
+    assertThrows(
+        FileNotFoundException.class,
+        () -> fs.getContentSummary(new Path("/content-summary-not-existing")));
+  }
+
+  private static void writeFile(FileSystem fs, Path path, int length) throws IOException {
+    try (FSDataOutputStream out = fs.create(path)) {
+      out.write(new byte[length]);
+    }
+  }
+
+  @Test
+  public void listLocatedStatus_returnsBlockLocationsOfFiles() throws Exception {
+    GoogleHadoopFileSystem fs = createInMemoryFileSystemWithListPageSize(1);
+    Path dir = new Path("/list-located-status");
+    try (FSDataOutputStream out = fs.create(new Path(dir, "file"))) {
+      out.write(new byte[] {1, 2, 3});
+    }
+    fs.mkdirs(new Path(dir, "subdir"));
+
+    RemoteIterator<LocatedFileStatus> statuses = fs.listLocatedStatus(dir);
+
+    LocatedFileStatus file = statuses.next();
+    assertThat(file.isFile()).isTrue();
+    assertThat(file.getBlockLocations()).hasLength(1);
+    LocatedFileStatus subdir = statuses.next();
+    assertThat(subdir.isDirectory()).isTrue();
+    assertThat(subdir.getBlockLocations()).isNull();
+    assertThat(statuses.hasNext()).isFalse();
+  }
+
   @Override
   @Test
   public void testGetGcsPath() throws URISyntaxException {
@@ -23,18 +23,37 @@ import static com.google.cloud.hadoop.fs.gcs.GhfsStatistic.STREAM_WRITE_OPERATIO
 import static com.google.cloud.hadoop.fs.gcs.TestUtils.verifyDurationMetric;
 import static com.google.common.truth.Truth.assertThat;
 import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.DAYS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertThrows;
 
 import com.google.cloud.hadoop.gcsio.CreateFileOptions;
+import com.google.cloud.hadoop.gcsio.CreateObjectOptions;
+import com.google.cloud.hadoop.gcsio.GoogleCloudStorageItemInfo;
+import com.google.cloud.hadoop.gcsio.GoogleCloudStorageReadOptions;
 import com.google.cloud.hadoop.gcsio.StorageResourceId;
 import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Bytes;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
 import java.nio.channels.ClosedChannelException;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
@@ -189,6 +208,125 @@ public class GoogleHadoopOutputStreamTest {
     assertThrows(ClosedChannelException.class, fout::hflush);
   }
 
+  @Test
+  public void close_asyncCloseEnabled_awaitPendingWritesCommitsData() throws Exception {
+    ghfs.getConf().setBoolean("fs.gs.outputstream.async.close.enable", true);
+
+    Path objectPath = new Path(ghfs.getUri().resolve("/dir/object.txt"));
+    byte[] testData = new byte[100];
+    new Random().nextBytes(testData);
+
+    FSDataOutputStream fout = ghfs.create(objectPath);
+    fout.write(testData);
+    fout.close();
+    assertThrows(ClosedChannelException.class, () -> fout.write(42));
+
+    ghfs.awaitPendingWrites();
+
+    assertThat(readFile(objectPath)).isEqualTo(testData);
+  }
+
+  @Test
+  public void close_asyncCloseMaxPendingReached_blocksUntilPendingWriteCompletes()
+      throws Exception {
+    Configuration config = new Configuration();
+    config.setInt("fs.gs.outputstream.async.close.max.pending", 1);
+    ghfs.close();
+    ghfs =
+        GoogleHadoopFileSystemTestHelper.createInMemoryGoogleHadoopFileSystem(
+            InMemoryGoogleCloudStorage::new, config);
+    URI gcsPath = ghfs.getGcsPath(new Path(ghfs.getUri().resolve("/dir/object.txt")));
+    CountDownLatch firstWriteReleased = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      ghfs.submitPendingWrite(
+          gcsPath,
+          () -> {
+            Uninterruptibles.awaitUninterruptibly(firstWriteReleased);
+            return null;
+          });
+      Future<?> secondWrite =
+          executor.submit(
+              () -> {
+                ghfs.submitPendingWrite(gcsPath, () -> null);
+                return null;
+              });
+
+      assertThrows(TimeoutException.class, () -> secondWrite.get(200, MILLISECONDS));
+
+      firstWriteReleased.countDown();
+      secondWrite.get(10, SECONDS);
+      ghfs.awaitPendingWrites();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void write_gzipCompressionEnabled_storesCompressedData() throws Exception {
+    ghfs.getConf().setBoolean("fs.gs.outputstream.gzip.compression.enable", true);
+    ghfs.getConf().setLong("fs.gs.outputstream.gzip.compression.block.size", 1024);
+    ghfs.getConf().setInt("fs.gs.outputstream.gzip.compression.threads", 4);
+
+    Path objectPath = new Path(ghfs.getUri().resolve("/dir/object.log"));
+    byte[] data1 = Strings.repeat("log line 1\n", 500).getBytes(UTF_8);
+    byte[] data2 = Strings.repeat("log line 2\n", 500).getBytes(UTF_8);
+
+    try (FSDataOutputStream fout = ghfs.create(objectPath)) {
+      fout.write(data1);
+      fout.hsync(); // This one commits straight into destination.
+      fout.write(data2);
+    }
+
+    StorageResourceId resourceId =
+        StorageResourceId.fromUriPath(
+            ghfs.getGcsPath(objectPath), /* allowEmptyObjectName= */ false);
+    GoogleCloudStorageItemInfo itemInfo = ghfs.getGcsFs().getGcs().getItemInfo(resourceId);
+    assertThat(itemInfo.getContentEncoding()).isEqualTo("gzip");
+    assertThat(itemInfo.getSize()).isLessThan(data1.length + data2.length);
+    GoogleCloudStorageReadOptions readOptions =
+        GoogleCloudStorageReadOptions.builder().setGzipEncodingSupportEnabled(true).build();
+    try (InputStream in =
+        new GZIPInputStream(
+            Channels.newInputStream(ghfs.getGcsFs().getGcs().open(resourceId, readOptions)))) {
+      assertThat(ByteStreams.toByteArray(in)).isEqualTo(Bytes.concat(data1, data2));
+    }
+  }
+
+  @Test
+  public void close_asyncCloseEnabled_failureReportedByAwaitPendingWrites() throws Exception {
+    IOException composeException = new IOException("fake compose exception");
+    ghfs =
+        GoogleHadoopFileSystemTestHelper.createInMemoryGoogleHadoopFileSystem(
+            o ->
+                new InMemoryGoogleCloudStorage(o) {
+                  @Override
+                  public GoogleCloudStorageItemInfo composeObjects(
+                      List<StorageResourceId> sources,
+                      StorageResourceId destination,
+                      CreateObjectOptions options)
+                      throws IOException {
+                    throw composeException;
+                  }
+                });
+    ghfs.getConf().setBoolean("fs.gs.outputstream.async.close.enable", true);
+
+    Path objectPath = new Path(ghfs.getUri().resolve("/dir/object.txt"));
+    FSDataOutputStream fout = ghfs.create(objectPath);
+    fout.write(new byte[] {0x01, 0x02});
+    fout.hsync(); // This one commits straight into destination.
+    fout.write(new byte[] {0x03, 0x04});
+    fout.close(); // Compose of the tail file fails in background.
+
+    IOException thrown = assertThrows(IOException.class, ghfs::awaitPendingWrites);
+    assertThat(thrown).hasMessageThat().contains(objectPath.getName());
+    assertThat(thrown).hasCauseThat().isSameInstanceAs(composeException);
+
+    // Failure is reported only once
+    ghfs.awaitPendingWrites();
+  }
+
   @Test
   public void hsync_largeNumberOfComposeComponents() throws Exception {
     // Set an extremely low min sync interval as we need to perform many syncs in this test
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import java.nio.channels.WritableByteChannel;
+
+/** {@link WritableByteChannel} that could be closed without committing the written object. */
+interface AbortableWriteChannel extends WritableByteChannel {
+
+  /**
+   * Closes this channel and cancels the upload without committing the object. Subsequent {@link
+   * #close} calls do nothing.
+   */
+  void abort();
+
+  /** Aborts the channel if it supports aborts, otherwise leaves it open. */
+  static void abortIfSupported(WritableByteChannel channel) {
+    if (channel instanceof AbortableWriteChannel) {
+      ((AbortableWriteChannel) channel).abort();
+    }
+  }
+}
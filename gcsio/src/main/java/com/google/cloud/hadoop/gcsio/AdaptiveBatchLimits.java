@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.toIntExact;
+import static java.math.RoundingMode.CEILING;
+
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.flogger.GoogleLogger;
+import com.google.common.math.IntMath;
+import java.io.InterruptedIOException;
+
+/**
+ * Limits of batch size and number of concurrently executed batches that are adjusted with additive
+ * increase/multiplicative decrease (AIMD) based on the throttling and latency observed for executed
+ * batches.
+ *
+ * <p>Both limits are halved when a batch was throttled, i.e. it failed, or some of its requests
+ * failed, with 429 (Too Many Requests) or 503 (Service Unavailable) status codes. Batches that were
+ * sent before the last decrease do not adjust limits, because they observed the load that was
+ * already reduced. When a batch succeeds without throttling, batch size limit is increased by 1 and
+ * concurrency limit is increased by 1 batch after each round of successful batches, until the
+ * configured limits are reached and limits are lifted. Limits are not increased while batch latency
+ * is significantly higher than the baseline latency, because it indicates that requests are retried
+ * or queued. The baseline is an exponentially weighted moving average of latencies of successful
+ * batches, so it follows lasting latency changes, and it is reset after each decrease, because
+ * latencies observed under the old limits do not apply to the new ones.
+ *
+ * <p>Limits are shared by all {@link BatchHelper}s in the JVM that use the {@link #INSTANCE}, so
+ * concurrent operations of all clients adjust to the same GCS load. Concurrency limit is a fraction
+ * of the maximum number of concurrent batches of each {@link BatchHelper}, so the combined
+ * concurrency of all operations is reduced in proportion to their configured concurrency.
+ */
+final class AdaptiveBatchLimits {
+
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  /** Limits are shared by all clients in the JVM. */
+  static final AdaptiveBatchLimits INSTANCE = new AdaptiveBatchLimits();
+
+  /** Limits are not increased when latency is higher than this factor of the baseline latency. */
+  private static final int LATENCY_DEGRADATION_FACTOR = 4;
+
+  /** Weight of the latest batch latency in the baseline latency moving average is 1/2^N. */
+  private static final int LATENCY_BASELINE_WEIGHT_SHIFT = 3;
+
+  private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+  /** Concurrency limit is expressed in permille of the maximum concurrency of each batch helper. */
+  private static final int FULL_CONCURRENCY_PERMILLE = 1_000;
+
+  private int requestsPerBatchLimit = NO_LIMIT;
+  private int concurrencyPermille = FULL_CONCURRENCY_PERMILLE;
+  private int successfulBatches;
+  /** Baseline batch latency, or 0 if no successful batches were observed since last decrease. */
+  private long baselineLatencyNanos;
+
+  private long lastDecreaseNanos = Long.MIN_VALUE;
+
+  @VisibleForTesting
+  AdaptiveBatchLimits() {}
+
+  /** Returns the maximum number of requests that could be sent in a batch. */
+  synchronized int getRequestsPerBatchLimit(int maxRequestsPerBatch) {
+    return Math.min(requestsPerBatchLimit, maxRequestsPerBatch);
+  }
+
+  /** Returns the maximum number of batches that could be executed concurrently by a helper. */
+  synchronized int getBatchesLimit(int maxBatches) {
+    return Math.max(
+        1, toIntExact((long) maxBatches * concurrencyPermille / FULL_CONCURRENCY_PERMILLE));
+  }
+
+  /**
+   * Waits until a batch could be executed without exceeding the concurrency limit of its batch
+   * helper and returns the batch start time that should be passed to {@link #release}.
+   */
+  synchronized long acquire(Batches batches) throws InterruptedIOException {
+    while (batches.inFlight >= getBatchesLimit(batches.maxBatches)) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw (InterruptedIOException)
+            new InterruptedIOException("Interrupted while waiting to execute a batch").initCause(e);
+      }
+    }
+    batches.inFlight++;
+    return System.nanoTime();
+  }
+
+  /**
+   * Releases the batch execution slot and adjusts limits based on the batch results.
+   *
+   * @param startNanos batch start time returned by {@link #acquire}.
+   * @param batches batches of the helper that executed the batch.
+   * @param batchSize number of requests in the batch.
+   * @param throttled whether the batch or some of its requests were throttled.
+   * @param maxRequestsPerBatch configured maximum number of requests per batch.
+   */
+  void release(
+      long startNanos, Batches batches, int batchSize, boolean throttled, int maxRequestsPerBatch) {
+    release(startNanos, System.nanoTime(), batches, batchSize, throttled, maxRequestsPerBatch);
+  }
+
+  @VisibleForTesting
+  synchronized void release(
+      long startNanos,
+      long endNanos,
+      Batches batches,
+      int batchSize,
+      boolean throttled,
+      int maxRequestsPerBatch) {
+    int concurrentBatches = batches.inFlight--;
+    notifyAll();
+
+    int maxBatches = batches.maxBatches;
+    int oldRequestsPerBatchLimit = getRequestsPerBatchLimit(maxRequestsPerBatch);
+    int oldBatchesLimit = getBatchesLimit(maxBatches);
+    if (startNanos <= lastDecreaseNanos) {
+      return;
+    }
+    if (throttled) {
+      lastDecreaseNanos = endNanos;
+      successfulBatches = 0;
+      baselineLatencyNanos = 0;
+      requestsPerBatchLimit = Math.max(1, Math.min(oldRequestsPerBatchLimit, batchSize) / 2);
+      int concurrentPermille =
+          toIntExact((long) concurrentBatches * FULL_CONCURRENCY_PERMILLE / maxBatches);
+      concurrencyPermille = Math.max(1, Math.min(concurrencyPermille, concurrentPermille) / 2);
+      logger.atFine().log(
+          "Batch was throttled, decreasing batch limits to %d requests and %d/%d of batches",
+          requestsPerBatchLimit, concurrencyPermille, FULL_CONCURRENCY_PERMILLE);
+      GoogleCloudStorageEventBus.postStatisticUpdate(
+          GcsStatisticUpdateEvent.increment(
+              GoogleCloudStorageStatistics.GCS_BATCH_LIMITS_DECREASE_COUNT.getSymbol(), 1));
+    } else {
+      long latencyNanos = Math.max(1, endNanos - startNanos);
+      boolean degraded =
+          baselineLatencyNanos > 0
+              && latencyNanos / LATENCY_DEGRADATION_FACTOR > baselineLatencyNanos;
+      baselineLatencyNanos =
+          baselineLatencyNanos > 0
+              ? baselineLatencyNanos
+                  + ((latencyNanos - baselineLatencyNanos) >> LATENCY_BASELINE_WEIGHT_SHIFT)
+              : latencyNanos;
+      if (degraded) {
+        return;
+      }
+      if (requestsPerBatchLimit != NO_LIMIT) {
+        // Lift the limit when it reaches the configured limit, because it is shared by helpers
+        // with different configured limits.
+        requestsPerBatchLimit =
+            requestsPerBatchLimit + 1 >= maxRequestsPerBatch ? NO_LIMIT : requestsPerBatchLimit + 1;
+      }
+      if (concurrencyPermille < FULL_CONCURRENCY_PERMILLE
+          && ++successfulBatches >= oldBatchesLimit) {
+        successfulBatches = 0;
+        // Increase concurrency limit of the helper by 1 batch.
+        concurrencyPermille =
+            Math.min(
+                FULL_CONCURRENCY_PERMILLE,
+                concurrencyPermille
+                    + IntMath.divide(FULL_CONCURRENCY_PERMILLE, maxBatches, CEILING));
+      }
+    }
+    postLimitUpdate(
+        GoogleCloudStorageStatistics.GCS_BATCH_REQUESTS_LIMIT,
+        oldRequestsPerBatchLimit,
+        getRequestsPerBatchLimit(maxRequestsPerBatch));
+    postLimitUpdate(
+        GoogleCloudStorageStatistics.GCS_BATCH_CONCURRENCY_LIMIT,
+        oldBatchesLimit,
+        getBatchesLimit(maxBatches));
+  }
+
+  private static void postLimitUpdate(
+      GoogleCloudStorageStatistics statistic, int oldLimit, int newLimit) {
+    if (oldLimit != newLimit) {
+      GoogleCloudStorageEventBus.postStatisticUpdate(
+          GcsStatisticUpdateEvent.set(statistic.getSymbol(), newLimit));
+    }
+  }
+
+  /**
+   * Batches executed by a single {@link BatchHelper}, their concurrency is limited relative to the
+   * maximum number of concurrent batches of the helper.
+   */
+  static final class Batches {
+
+    private final int maxBatches;
+
+    // Guarded by the AdaptiveBatchLimits instance that the batches are acquired from.
+    private int inFlight;
+
+    Batches(int maxBatches) {
+      checkArgument(maxBatches > 0, "maxBatches should be positive, but was %s", maxBatches);
+      this.maxBatches = maxBatches;
+    }
+  }
+}
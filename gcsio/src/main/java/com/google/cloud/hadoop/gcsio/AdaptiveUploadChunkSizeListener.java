@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.googleapis.media.MediaHttpUploader.UploadState;
+import com.google.api.client.googleapis.media.MediaHttpUploaderProgressListener;
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.flogger.GoogleLogger;
+import java.io.IOException;
+
+/**
+ * Adjusts the chunk size of a resumable upload based on the throughput observed for each uploaded
+ * chunk. The upload starts with the minimum chunk size that is doubled, up to the maximum chunk
+ * size, while the per-chunk throughput keeps improving. The chunk size is halved when the server
+ * did not persist a whole chunk, when the throughput degrades significantly (e.g. because of
+ * retries) or when the JVM is low on heap memory.
+ *
+ * <p>A new instance of this progress listener should be used for each MediaHttpUploader.
+ */
+class AdaptiveUploadChunkSizeListener implements MediaHttpUploaderProgressListener {
+
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  /** Chunk size is decreased when free heap memory is lower than this fraction of max heap. */
+  private static final double LOW_MEMORY_FRACTION = 0.1;
+
+  private final MediaHttpUploaderProgressListener delegate;
+  private final int minChunkSize;
+  private final int maxChunkSize;
+
+  private long prevTimeNanos;
+  private long prevUploadedBytes;
+  private double prevThroughput;
+  private boolean decreasePending;
+
+  /**
+   * Creates an upload progress listener that adjusts chunk size of the upload.
+   *
+   * @param delegate listener to notify about upload progress.
+   * @param minChunkSize initial and minimum chunk size in bytes.
+   * @param maxChunkSize maximum chunk size in bytes.
+   */
+  AdaptiveUploadChunkSizeListener(
+      MediaHttpUploaderProgressListener delegate, int minChunkSize, int maxChunkSize) {
+    checkArgument(
+        minChunkSize > 0 && minChunkSize % MediaHttpUploader.MINIMUM_CHUNK_SIZE == 0,
+        "minChunkSize must be a positive multiple of %s, but was %s",
+        MediaHttpUploader.MINIMUM_CHUNK_SIZE,
+        minChunkSize);
+    checkArgument(
+        minChunkSize <= maxChunkSize,
+        "minChunkSize (%s) must not be greater than maxChunkSize (%s)",
+        minChunkSize,
+        maxChunkSize);
+    this.delegate = delegate;
+    this.minChunkSize = minChunkSize;
+    this.maxChunkSize = maxChunkSize;
+  }
+
+  int getInitialChunkSize() {
+    return minChunkSize;
+  }
+
+  @Override
+  public void progressChanged(MediaHttpUploader uploader) throws IOException {
+    if (delegate != null) {
+      delegate.progressChanged(uploader);
+    }
+    Runtime runtime = Runtime.getRuntime();
+    long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    int chunkSize = uploader.getChunkSize();
+    int newChunkSize =
+        nextChunkSize(
+            uploader.getUploadState(),
+            uploader.getNumBytesUploaded(),
+            chunkSize,
+            System.nanoTime(),
+            freeMemory < runtime.maxMemory() * LOW_MEMORY_FRACTION);
+    if (newChunkSize != chunkSize) {
+      logger.atFine().log("Changing upload chunk size from %d to %d", chunkSize, newChunkSize);
+      uploader.setChunkSize(newChunkSize);
+      GoogleCloudStorageEventBus.postStatisticUpdate(
+          GcsStatisticUpdateEvent.increment(
+              newChunkSize > chunkSize
+                  ? GoogleCloudStorageStatistics.GCS_UPLOAD_CHUNK_SIZE_INCREASE_COUNT.getSymbol()
+                  : GoogleCloudStorageStatistics.GCS_UPLOAD_CHUNK_SIZE_DECREASE_COUNT.getSymbol(),
+              1));
+      GoogleCloudStorageEventBus.postStatisticUpdate(
+          GcsStatisticUpdateEvent.set(
+              GoogleCloudStorageStatistics.GCS_UPLOAD_CHUNK_SIZE.getSymbol(), newChunkSize));
+    }
+  }
+
+  /**
+   * Returns chunk size that should be used for the next chunk of the upload.
+   *
+   * @param uploadState current state of the upload.
+   * @param uploadedBytes number of bytes persisted by the server so far.
+   * @param chunkSize current chunk size.
+   * @param currentTimeNanos current time in nanoseconds.
+   * @param lowMemory whether JVM is low on heap memory.
+   */
+  @VisibleForTesting
+  int nextChunkSize(
+      UploadState uploadState,
+      long uploadedBytes,
+      int chunkSize,
+      long currentTimeNanos,
+      boolean lowMemory) {
+    if (uploadState == UploadState.INITIATION_COMPLETE) {
+      prevTimeNanos = currentTimeNanos;
+      prevUploadedBytes = 0;
+      prevThroughput = 0;
+      return chunkSize;
+    }
+    if (uploadState != UploadState.MEDIA_IN_PROGRESS) {
+      return chunkSize;
+    }
+
+    long chunkBytes = uploadedBytes - prevUploadedBytes;
+    long chunkTimeNanos = Math.max(currentTimeNanos - prevTimeNanos, 1);
+    prevUploadedBytes = uploadedBytes;
+    prevTimeNanos = currentTimeNanos;
+
+    // If server did not persist the whole chunk, MediaHttpUploader will re-send the rest of it from
+    // the current chunk buffer, so the chunk size can be changed only after the next chunk.
+    if (chunkBytes != chunkSize) {
+      decreasePending = true;
+      return chunkSize;
+    }
+
+    double throughput = (double) chunkBytes / chunkTimeNanos;
+    boolean throughputDegraded = throughput < prevThroughput / 2;
+    boolean throughputImproved = throughput > prevThroughput;
+    prevThroughput = throughput;
+
+    if (decreasePending || throughputDegraded || lowMemory) {
+      decreasePending = false;
+      int decreasedChunkSize =
+          chunkSize
+              / 2
+              / MediaHttpUploader.MINIMUM_CHUNK_SIZE
+              * MediaHttpUploader.MINIMUM_CHUNK_SIZE;
+      return Math.max(minChunkSize, decreasedChunkSize);
+    }
+    if (throughputImproved) {
+      return (int) Math.min(maxChunkSize, 2L * chunkSize);
+    }
+    return chunkSize;
+  }
+}
@@ -26,8 +26,12 @@ import static java.lang.Math.toIntExact;
 
 import com.google.api.client.googleapis.batch.BatchRequest;
 import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpStatusCodes;
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.StorageRequest;
 import com.google.cloud.hadoop.util.ApiErrorExtractor;
@@ -45,8 +49,10 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 
 /**
  * BatchHelper abstracts out the logic for maximum requests per batch, and also allows a workaround
@@ -57,15 +63,27 @@ import java.util.concurrent.locks.ReentrantLock;
  * <p>This class is thread-safe, because if {@code numThreads} is greater than 0, request callbacks
  * will be executed on a different thread(s) than a client thread that queues requests.
  *
+ * <p>If {@code numThreads} is 0 and requests are batched, up to {@link #PIPELINED_BATCHES} batches
+ * are executed in background while the client thread queues next requests, so network latency of
+ * batches overlaps. Request callbacks are still executed one at a time, in the order in which
+ * responses are received.
+ *
  * <p>Expected usage is to create a new BatchHelper instance per client operation (copy, rename,
  * delete, etc.) that represent logical grouping of requests.
  *
  * <p>Instance of this class can not be used again after {@link #flush()} method call.
+ *
+ * <p>If {@link AdaptiveBatchLimits} are used, batch size and number of concurrently executed
+ * batches are additionally limited by them, and results of each executed batch are reported to
+ * them.
  */
 public class BatchHelper {
 
   private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
 
+  /** Number of batches that are executed concurrently when {@code numThreads} is 0. */
+  static final int PIPELINED_BATCHES = 4;
+
   private static final ThreadFactory THREAD_FACTORY =
       new ThreadFactoryBuilder().setNameFormat("gcsfs-batch-helper-%d").setDaemon(true).build();
   private final String traceContext;
@@ -76,9 +94,27 @@ public class BatchHelper {
    * cases will generally interact via an injectable BatchHelper.Factory.
    */
   public static class Factory {
+
+    @Nullable private final AdaptiveBatchLimits adaptiveLimits;
+
+    public Factory() {
+      this(/* adaptiveLimits= */ null);
+    }
+
+    Factory(@Nullable AdaptiveBatchLimits adaptiveLimits) {
+      this.adaptiveLimits = adaptiveLimits;
+    }
+
     public BatchHelper newBatchHelper(
         HttpRequestInitializer requestInitializer, Storage gcs, int maxRequestsPerBatch) {
-      return new BatchHelper(requestInitializer, gcs, maxRequestsPerBatch, /* numThreads= */ 0, "");
+      return new BatchHelper(
+          requestInitializer,
+          gcs,
+          maxRequestsPerBatch,
+          /* numThreads= */ 0,
+          /* maxThreads= */ 0,
+          adaptiveLimits,
+          "");
     }
 
     BatchHelper newBatchHelper(
@@ -98,11 +134,19 @@ public class BatchHelper {
             gcs,
             /* maxRequestsPerBatch= */ 1,
             /* numThreads= */ 0,
+            maxThreads,
+            adaptiveLimits,
             traceContext);
       }
       if (maxThreads == 0) {
         return new BatchHelper(
-            requestInitializer, gcs, maxRequestsPerBatch, maxThreads, traceContext);
+            requestInitializer,
+            gcs,
+            maxRequestsPerBatch,
+            maxThreads,
+            maxThreads,
+            adaptiveLimits,
+            traceContext);
       }
       // If maxRequestsPerBatch is too high to fill up all parallel batches (maxThreads)
       // then reduce it to evenly distribute requests across the batches
@@ -112,13 +156,26 @@ public class BatchHelper {
       // in batches (requestsPerBatch) then reduce it to minimum required number of threads
       int numThreads = toIntExact((long) ceil((double) totalRequests / requestsPerBatch));
       numThreads = min(numThreads, maxThreads);
-      return new BatchHelper(requestInitializer, gcs, requestsPerBatch, numThreads, traceContext);
+      return new BatchHelper(
+          requestInitializer,
+          gcs,
+          requestsPerBatch,
+          numThreads,
+          maxThreads,
+          adaptiveLimits,
+          traceContext);
     }
   }
 
   /** Callback that causes a single StorageRequest to be added to the {@link BatchRequest}. */
   protected interface QueueRequestCallback {
-    void enqueue(BatchRequest batch) throws IOException;
+    /**
+     * Adds request to the batch.
+     *
+     * @param batch batch to add request to.
+     * @param throttledRequests counter of batch requests that failed because of throttling.
+     */
+    void enqueue(BatchRequest batch, AtomicInteger throttledRequests) throws IOException;
   }
 
   private final Queue<QueueRequestCallback> pendingRequests = new ConcurrentLinkedQueue<>();
@@ -129,25 +186,46 @@ public class BatchHelper {
   private final Storage gcs;
   // Number of requests that can be queued into a single HTTP batch request.
   private final long maxRequestsPerBatch;
+  @Nullable private final AdaptiveBatchLimits adaptiveLimits;
+  // Batches executed by this helper, their concurrency is limited by adaptive limits.
+  @Nullable private final AdaptiveBatchLimits.Batches adaptiveBatches;
 
   private final Lock flushLock = new ReentrantLock();
 
+  // Serializes request callbacks of pipelined batches, null if batches are not pipelined.
+  @Nullable private final Lock callbackLock;
+
   /**
    * Primary constructor, generally accessed only via the inner Factory class.
    *
-   * @param numThreads Number of threads to execute HTTP batch requests in parallel.
+   * @param numThreads Number of threads to execute HTTP batch requests in parallel, if 0 then
+   *     batches are pipelined.
+   * @param maxThreads Configured maximum number of threads, it limits adaptive concurrency.
+   * @param adaptiveLimits Adaptive limits of batch size and concurrency, null if not used.
    */
   private BatchHelper(
       HttpRequestInitializer requestInitializer,
       Storage gcs,
       long maxRequestsPerBatch,
       int numThreads,
+      int maxThreads,
+      @Nullable AdaptiveBatchLimits adaptiveLimits,
       String traceContext) {
     this.requestInitializer = requestInitializer;
     this.gcs = gcs;
+    boolean pipelined = numThreads == 0 && maxRequestsPerBatch > 1;
     this.requestsExecutor =
-        numThreads == 0 ? newDirectExecutorService() : newRequestsExecutor(numThreads);
+        pipelined
+            ? newRequestsExecutor(PIPELINED_BATCHES)
+            : numThreads == 0 ? newDirectExecutorService() : newRequestsExecutor(numThreads);
+    this.callbackLock = pipelined ? new ReentrantLock() : null;
     this.maxRequestsPerBatch = maxRequestsPerBatch;
+    this.adaptiveLimits = adaptiveLimits;
+    this.adaptiveBatches =
+        adaptiveLimits == null
+            ? null
+            : new AdaptiveBatchLimits.Batches(
+                pipelined ? PIPELINED_BATCHES : Math.max(1, maxThreads));
     this.traceContext = traceContext;
     this.rootTrace = TraceOperation.current();
   }
@@ -183,7 +261,15 @@ public class BatchHelper {
                 return null;
               }));
     } else {
-      pendingRequests.add(batch -> req.queue(batch, callback));
+      JsonBatchCallback<T> batchCallback =
+          callbackLock == null ? callback : new SerializedCallback<>(callback, callbackLock);
+      pendingRequests.add(
+          (batch, throttledRequests) ->
+              req.queue(
+                  batch,
+                  adaptiveLimits == null
+                      ? batchCallback
+                      : new ThrottlingObservingCallback<>(batchCallback, throttledRequests)));
 
       flushIfPossibleAndRequired();
     }
@@ -204,9 +290,16 @@ public class BatchHelper {
     }
   }
 
+  /** Returns the maximum number of requests in the next batch. */
+  private long currentMaxRequestsPerBatch() {
+    return adaptiveLimits == null
+        ? maxRequestsPerBatch
+        : adaptiveLimits.getRequestsPerBatchLimit(toIntExact(maxRequestsPerBatch));
+  }
+
   // Flush our buffer if we have at least maxRequestsPerBatch pending entries
   private void flushIfPossibleAndRequired() throws IOException {
-    if (pendingRequests.size() >= maxRequestsPerBatch) {
+    if (pendingRequests.size() >= currentMaxRequestsPerBatch()) {
       flushIfPossible(false);
     }
   }
@@ -235,21 +328,52 @@ public class BatchHelper {
       return;
     }
     BatchRequest batch = gcs.batch(requestInitializer);
-    while (batch.size() < maxRequestsPerBatch && !pendingRequests.isEmpty()) {
+    AtomicInteger throttledRequests = new AtomicInteger();
+    long batchMaxRequests = currentMaxRequestsPerBatch();
+    while (batch.size() < batchMaxRequests && !pendingRequests.isEmpty()) {
       // enqueue request at head
-      pendingRequests.remove().enqueue(batch);
+      pendingRequests.remove().enqueue(batch, throttledRequests);
     }
     responseFutures.add(
         requestsExecutor.submit(
             () -> {
               String traceName = String.format("%s(batchSize=%s)", this.traceContext, batch.size());
               try (ITraceOperation to = TraceOperation.getChildTrace(this.rootTrace, traceName)) {
-                batch.execute();
+                if (adaptiveLimits == null) {
+                  batch.execute();
+                } else {
+                  executeWithAdaptiveLimits(batch, throttledRequests);
+                }
               }
               return null;
             }));
   }
 
+  private void executeWithAdaptiveLimits(BatchRequest batch, AtomicInteger throttledRequests)
+      throws IOException {
+    int batchSize = batch.size();
+    long startNanos = adaptiveLimits.acquire(adaptiveBatches);
+    boolean throttled = false;
+    try {
+      batch.execute();
+    } catch (IOException e) {
+      HttpResponseException httpException = ApiErrorExtractor.getHttpResponseException(e);
+      throttled = httpException != null && isThrottled(httpException.getStatusCode());
+      throw e;
+    } finally {
+      adaptiveLimits.release(
+          startNanos,
+          adaptiveBatches,
+          batchSize,
+          throttled || throttledRequests.get() > 0,
+          toIntExact(maxRequestsPerBatch));
+    }
+  }
+
+  private static boolean isThrottled(int statusCode) {
+    return statusCode == 429 || statusCode == HttpStatusCodes.STATUS_CODE_SERVICE_UNAVAILABLE;
+  }
+
   /**
    * Sends any currently remaining requests in the batch; should be called at the end of any series
    * of batched requests to ensure everything has been sent.
@@ -284,8 +408,65 @@ public class BatchHelper {
   private void awaitRequestsCompletion() throws IOException {
     // Don't wait until all requests will be completed if enough requests are pending for full
     // batch
-    while (!responseFutures.isEmpty() && pendingRequests.size() < maxRequestsPerBatch) {
+    while (!responseFutures.isEmpty() && pendingRequests.size() < currentMaxRequestsPerBatch()) {
       getFromFuture(responseFutures.remove());
     }
   }
+
+  /** Callback that executes delegate callback while holding the lock. */
+  private static class SerializedCallback<T> extends JsonBatchCallback<T> {
+
+    private final JsonBatchCallback<T> delegate;
+    private final Lock lock;
+
+    SerializedCallback(JsonBatchCallback<T> delegate, Lock lock) {
+      this.delegate = delegate;
+      this.lock = lock;
+    }
+
+    @Override
+    public void onSuccess(T result, HttpHeaders responseHeaders) throws IOException {
+      lock.lock();
+      try {
+        delegate.onSuccess(result, responseHeaders);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
+      lock.lock();
+      try {
+        delegate.onFailure(e, responseHeaders);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** Callback that counts requests that failed because of throttling. */
+  private static class ThrottlingObservingCallback<T> extends JsonBatchCallback<T> {
+
+    private final JsonBatchCallback<T> delegate;
+    private final AtomicInteger throttledRequests;
+
+    ThrottlingObservingCallback(JsonBatchCallback<T> delegate, AtomicInteger throttledRequests) {
+      this.delegate = delegate;
+      this.throttledRequests = throttledRequests;
+    }
+
+    @Override
+    public void onSuccess(T result, HttpHeaders responseHeaders) throws IOException {
+      delegate.onSuccess(result, responseHeaders);
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) throws IOException {
+      if (isThrottled(e.getCode())) {
+        throttledRequests.incrementAndGet();
+      }
+      delegate.onFailure(e, responseHeaders);
+    }
+  }
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link GoogleCloudStorage} wrapper that coalesces concurrent identical metadata requests: callers
+ * of {@code getItemInfo}, {@code listObjectInfo} and {@code isHnBucket} with the same arguments as
+ * an already in-flight request wait for it and share its result instead of sending their own
+ * request.
+ *
+ * <p>To preserve read-after-write consistency for writes made through this instance, requests that
+ * are in-flight when a write starts or finishes are not joined by later callers.
+ *
+ * <p>When the shared request fails, each waiting caller receives its own exception of the same type
+ * caused by the request failure. When the shared request was interrupted, waiting callers retry the
+ * request, because they were not interrupted themselves.
+ */
+class CoalescingGoogleCloudStorage extends ForwardingGoogleCloudStorage {
+
+  private final Map<StorageResourceId, CompletableFuture<GoogleCloudStorageItemInfo>>
+      inFlightGetItemInfo = new ConcurrentHashMap<>();
+
+  private final Map<ListKey, CompletableFuture<List<GoogleCloudStorageItemInfo>>>
+      inFlightListObjectInfo = new ConcurrentHashMap<>();
+
+  private final Map<String, CompletableFuture<Boolean>> inFlightIsHnBucket =
+      new ConcurrentHashMap<>();
+
+  CoalescingGoogleCloudStorage(GoogleCloudStorage delegate) {
+    super(delegate);
+  }
+
+  @Override
+  public GoogleCloudStorageItemInfo getItemInfo(StorageResourceId resourceId) throws IOException {
+    return coalesce(inFlightGetItemInfo, resourceId, () -> super.getItemInfo(resourceId));
+  }
+
+  @Override
+  public List<GoogleCloudStorageItemInfo> listObjectInfo(
+      String bucketName, String objectNamePrefix, ListObjectOptions listOptions)
+      throws IOException {
+    List<GoogleCloudStorageItemInfo> items =
+        coalesce(
+            inFlightListObjectInfo,
+            new ListKey(bucketName, objectNamePrefix, listOptions),
+            () ->
+                ImmutableList.copyOf(
+                    super.listObjectInfo(bucketName, objectNamePrefix, listOptions)));
+    // Callers could modify returned list, that's why each of them receives its own copy.
+    return new ArrayList<>(items);
+  }
+
+  @Override
+  public boolean isHnBucket(URI path) throws IOException {
+    return coalesce(inFlightIsHnBucket, path.getAuthority(), () -> super.isHnBucket(path));
+  }
+
+  @Override
+  public WritableByteChannel create(StorageResourceId resourceId, CreateObjectOptions options)
+      throws IOException {
+    WritableByteChannel channel = write(() -> super.create(resourceId, options));
+    return channel instanceof GoogleCloudStorageItemInfo.Provider
+        ? new ItemInfoProvidingWriteChannel(channel)
+        : new DetachingWriteChannel(channel);
+  }
+
+  @Override
+  public void createBucket(String bucketName, CreateBucketOptions options) throws IOException {
+    write(() -> super.createBucket(bucketName, options));
+  }
+
+  @Override
+  public void createEmptyObject(StorageResourceId resourceId) throws IOException {
+    write(() -> super.createEmptyObject(resourceId));
+  }
+
+  @Override
+  public void createEmptyObject(StorageResourceId resourceId, CreateObjectOptions options)
+      throws IOException {
+    write(() -> super.createEmptyObject(resourceId, options));
+  }
+
+  @Override
+  public void createEmptyObjects(List<StorageResourceId> resourceIds) throws IOException {
+    write(() -> super.createEmptyObjects(resourceIds));
+  }
+
+  @Override
+  public void createEmptyObjects(List<StorageResourceId> resourceIds, CreateObjectOptions options)
+      throws IOException {
+    write(() -> super.createEmptyObjects(resourceIds, options));
+  }
+
+  @Override
+  public void deleteBuckets(List<String> bucketNames) throws IOException {
+    write(() -> super.deleteBuckets(bucketNames));
+  }
+
+  @Override
+  public void deleteObjects(List<StorageResourceId> fullObjectNames) throws IOException {
+    write(() -> super.deleteObjects(fullObjectNames));
+  }
+
+  @Override
+  public void deleteFolders(List<FolderInfo> folders) throws IOException {
+    write(() -> super.deleteFolders(folders));
+  }
+
+  @Override
+  public void copy(
+      String srcBucketName,
+      List<String> srcObjectNames,
+      String dstBucketName,
+      List<String> dstObjectNames)
+      throws IOException {
+    write(() -> super.copy(srcBucketName, srcObjectNames, dstBucketName, dstObjectNames));
+  }
+
+  @Override
+  public void copy(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+      throws IOException {
+    write(() -> super.copy(sourceToDestinationObjectsMap));
+  }
+
+  @Override
+  public void move(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+      throws IOException {
+    write(() -> super.move(sourceToDestinationObjectsMap));
+  }
+
+  @Override
+  public void renameHnFolder(URI src, URI dst) throws IOException {
+    write(() -> super.renameHnFolder(src, dst));
+  }
+
+  @Override
+  public List<GoogleCloudStorageItemInfo> updateItems(List<UpdatableItemInfo> itemInfoList)
+      throws IOException {
+    return write(() -> super.updateItems(itemInfoList));
+  }
+
+  @Override
+  public void compose(
+      String bucketName, List<String> sources, String destination, String contentType)
+      throws IOException {
+    write(() -> super.compose(bucketName, sources, destination, contentType));
+  }
+
+  @Override
+  public GoogleCloudStorageItemInfo composeObjects(
+      List<StorageResourceId> sources, StorageResourceId destination, CreateObjectOptions options)
+      throws IOException {
+    return write(() -> super.composeObjects(sources, destination, options));
+  }
+
+  /** Returns number of distinct in-flight requests that could be joined by new callers. */
+  @VisibleForTesting
+  int inFlightRequestCount() {
+    return inFlightGetItemInfo.size() + inFlightListObjectInfo.size() + inFlightIsHnBucket.size();
+  }
+
+  /**
+   * Executes the request, or waits for the result of the in-flight request with the same key if
+   * there is one.
+   */
+  private static <K, V> V coalesce(
+      Map<K, CompletableFuture<V>> inFlightRequests, K key, IoCallable<V> request)
+      throws IOException {
+    while (true) {
+      CompletableFuture<V> future = new CompletableFuture<>();
+      CompletableFuture<V> inFlightRequest = inFlightRequests.putIfAbsent(key, future);
+      if (inFlightRequest == null) {
+        return execute(inFlightRequests, key, future, request);
+      }
+      GoogleCloudStorageEventBus.postStatisticUpdate(
+          GcsStatisticUpdateEvent.increment(
+              GoogleCloudStorageStatistics.GCS_METADATA_COALESCED_REQUEST_COUNT.getSymbol(), 1));
+      try {
+        return inFlightRequest.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw (IOException)
+            new InterruptedIOException("Interrupted while waiting for in-flight request")
+                .initCause(e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        // Interruption of the caller that executed the request does not apply to this caller.
+        if (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)) {
+          continue;
+        }
+        Throwable failure = copyOf(cause);
+        Throwables.throwIfInstanceOf(failure, IOException.class);
+        Throwables.throwIfUnchecked(failure);
+        throw new IOException(failure);
+      }
+    }
+  }
+
+  private static <K, V> V execute(
+      Map<K, CompletableFuture<V>> inFlightRequests,
+      K key,
+      CompletableFuture<V> future,
+      IoCallable<V> request)
+      throws IOException {
+    try {
+      V result = request.call();
+      future.complete(result);
+      return result;
+    } catch (IOException | RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightRequests.remove(key, future);
+    }
+  }
+
+  /**
+   * Returns an exception of the same type as the in-flight request failure caused by it, so callers
+   * could handle it the same way as if they executed the request themselves, and each of them gets
+   * an exception with its own stack trace. Returns the failure itself if its type could not be
+   * instantiated with a message.
+   */
+  private static Throwable copyOf(Throwable failure) {
+    try {
+      Throwable copy =
+          failure.getClass().getConstructor(String.class).newInstance(failure.getMessage());
+      copy.initCause(failure);
+      return copy;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return failure;
+    }
+  }
+
+  /**
+   * Executes the write request, detaching in-flight requests when it starts and finishes, because
+   * their results could be stale for callers that wait for the write to complete.
+   */
+  private <T> T write(IoCallable<T> request) throws IOException {
+    detachInFlightRequests();
+    try {
+      return request.call();
+    } finally {
+      detachInFlightRequests();
+    }
+  }
+
+  private void write(IoRunnable request) throws IOException {
+    write(
+        () -> {
+          request.run();
+          return null;
+        });
+  }
+
+  /**
+   * Removes in-flight requests from the coalescing maps, so they will not be joined by new callers.
+   * Callers that already joined these requests will still receive their results.
+   */
+  private void detachInFlightRequests() {
+    inFlightGetItemInfo.clear();
+    inFlightListObjectInfo.clear();
+    inFlightIsHnBucket.clear();
+  }
+
+  private interface IoCallable<T> {
+    T call() throws IOException;
+  }
+
+  private interface IoRunnable {
+    void run() throws IOException;
+  }
+
+  /** Key of an object listing request. */
+  private static class ListKey {
+
+    private final String bucketName;
+    private final String objectNamePrefix;
+    private final ListObjectOptions listOptions;
+
+    ListKey(String bucketName, String objectNamePrefix, ListObjectOptions listOptions) {
+      this.bucketName = bucketName;
+      this.objectNamePrefix = objectNamePrefix;
+      this.listOptions = listOptions;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ListKey)) {
+        return false;
+      }
+      ListKey other = (ListKey) obj;
+      return bucketName.equals(other.bucketName)
+          && Objects.equals(objectNamePrefix, other.objectNamePrefix)
+          && listOptions.equals(other.listOptions);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(bucketName, objectNamePrefix, listOptions);
+    }
+  }
+
+  /**
+   * Detaches in-flight requests when the write channel is closed, because they could have been
+   * started before the object was written.
+   */
+  private class DetachingWriteChannel implements AbortableWriteChannel {
+
+    protected final WritableByteChannel delegate;
+
+    DetachingWriteChannel(WritableByteChannel delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      return delegate.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        delegate.close();
+      } finally {
+        detachInFlightRequests();
+      }
+    }
+
+    @Override
+    public void abort() {
+      AbortableWriteChannel.abortIfSupported(delegate);
+    }
+  }
+
+  /** {@link DetachingWriteChannel} that provides item info of the written object. */
+  private class ItemInfoProvidingWriteChannel extends DetachingWriteChannel
+      implements GoogleCloudStorageItemInfo.Provider {
+
+    ItemInfoProvidingWriteChannel(WritableByteChannel delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public GoogleCloudStorageItemInfo getItemInfo() {
+      return ((GoogleCloudStorageItemInfo.Provider) delegate).getItemInfo();
+    }
+  }
+}
@@ -22,6 +22,7 @@ import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableMap;
 import java.time.Duration;
 import java.util.Map;
+import java.util.zip.Deflater;
 import javax.annotation.Nullable;
 
 /**
@@ -43,9 +44,14 @@ public abstract class CreateFileOptions {
 
   public static Builder builder() {
     return new AutoValue_CreateFileOptions.Builder()
+        .setAsyncCloseEnabled(false)
         .setAttributes(ImmutableMap.of())
         .setContentType(CreateObjectOptions.DEFAULT_OVERWRITE.getContentType())
         .setEnsureNoDirectoryConflict(true)
+        .setGzipCompressionBlockSize(4 * 1024 * 1024)
+        .setGzipCompressionEnabled(false)
+        .setGzipCompressionLevel(Deflater.DEFAULT_COMPRESSION)
+        .setGzipCompressionThreads(1)
         .setMinSyncInterval(Duration.ZERO)
         .setOverwriteGenerationId(StorageResourceId.UNKNOWN_GENERATION_ID)
         .setWriteMode(WriteMode.CREATE_NEW);
@@ -53,6 +59,12 @@ public abstract class CreateFileOptions {
 
   public abstract Builder toBuilder();
 
+  /**
+   * If true, closing the output stream returns as soon as remaining data was handed to the
+   * uploader, upload finalization happens in the background.
+   */
+  public abstract boolean isAsyncCloseEnabled();
+
   /** Extended attributes to set when creating a file. */
   public abstract ImmutableMap<String, byte[]> getAttributes();
 
@@ -70,6 +82,21 @@ public abstract class CreateFileOptions {
    */
   public abstract boolean isEnsureNoDirectoryConflict();
 
+  /**
+   * If true, the file content is gzip-compressed on the client side and stored with {@code
+   * Content-Encoding: gzip}.
+   */
+  public abstract boolean isGzipCompressionEnabled();
+
+  /** Gzip compression level, from 0 to 9 or -1 for the default compression level. */
+  public abstract int getGzipCompressionLevel();
+
+  /** Size of the blocks of the file content that are compressed independently. */
+  public abstract int getGzipCompressionBlockSize();
+
+  /** Number of blocks of the file content that could be compressed in parallel. */
+  public abstract int getGzipCompressionThreads();
+
   /** Whether to overwrite an existing file with the same name. */
   public abstract WriteMode getWriteMode();
 
@@ -86,12 +113,22 @@ public abstract class CreateFileOptions {
   @AutoValue.Builder
   public abstract static class Builder {
 
+    public abstract Builder setAsyncCloseEnabled(boolean asyncCloseEnabled);
+
     public abstract Builder setAttributes(Map<String, byte[]> attributes);
 
     public abstract Builder setContentType(String contentType);
 
     public abstract Builder setEnsureNoDirectoryConflict(boolean ensureNoDirectoryConflict);
 
+    public abstract Builder setGzipCompressionEnabled(boolean gzipCompressionEnabled);
+
+    public abstract Builder setGzipCompressionLevel(int gzipCompressionLevel);
+
+    public abstract Builder setGzipCompressionBlockSize(int gzipCompressionBlockSize);
+
+    public abstract Builder setGzipCompressionThreads(int gzipCompressionThreads);
+
     public abstract Builder setMinSyncInterval(Duration interval);
 
     public abstract Builder setOverwriteGenerationId(long overwriteGenerationId);
@@ -105,6 +142,24 @@ public abstract class CreateFileOptions {
       checkArgument(
           !options.getAttributes().containsKey("Content-Type"),
           "The Content-Type attribute must be set via the contentType option");
+      checkArgument(
+          !options.isGzipCompressionEnabled() || options.getWriteMode() != WriteMode.APPEND,
+          "gzip compression can not be enabled in APPEND mode");
+      checkArgument(
+          options.getGzipCompressionLevel() >= Deflater.DEFAULT_COMPRESSION
+              && options.getGzipCompressionLevel() <= Deflater.BEST_COMPRESSION,
+          "gzipCompressionLevel should be between %s and %s, but was %s",
+          Deflater.DEFAULT_COMPRESSION,
+          Deflater.BEST_COMPRESSION,
+          options.getGzipCompressionLevel());
+      checkArgument(
+          options.getGzipCompressionBlockSize() > 0,
+          "gzipCompressionBlockSize should be positive, but was %s",
+          options.getGzipCompressionBlockSize());
+      checkArgument(
+          options.getGzipCompressionThreads() > 0,
+          "gzipCompressionThreads should be positive, but was %s",
+          options.getGzipCompressionThreads());
       if (options.getWriteMode() != WriteMode.OVERWRITE) {
         checkArgument(
             options.getOverwriteGenerationId() == StorageResourceId.UNKNOWN_GENERATION_ID,
@@ -36,8 +36,9 @@ public class FileInfo {
   public static final FileInfo ROOT_INFO =
       new FileInfo(GoogleCloudStorageFileSystem.GCS_ROOT, GoogleCloudStorageItemInfo.ROOT_INFO);
 
-  // Path of this file or directory.
-  private final URI path;
+  // Path of this file or directory, created on demand because URI is much larger than the object
+  // name it's created from.
+  private volatile URI path;
 
   // Information about the underlying GCS item.
   private final GoogleCloudStorageItemInfo itemInfo;
@@ -45,18 +46,23 @@ public class FileInfo {
   /**
    * Constructs an instance of FileInfo.
    *
+   * @param path Path of the item, or {@code null} to create it from the item resource ID on demand.
    * @param itemInfo Information about the underlying item.
    */
   private FileInfo(URI path, GoogleCloudStorageItemInfo itemInfo) {
     this.itemInfo = itemInfo;
-
-    // Construct the path once.
     this.path = path;
   }
 
   /** Gets the path of this file or directory. */
   public URI getPath() {
-    return path;
+    URI result = path;
+    if (result == null) {
+      path =
+          result =
+              UriPaths.fromResourceId(itemInfo.getResourceId(), /* allowEmptyObjectName= */ true);
+    }
+    return result;
   }
 
   /** Indicates whether this item is a directory. */
@@ -153,12 +159,13 @@ public class FileInfo {
       return false;
     }
     FileInfo fileInfo = (FileInfo) o;
-    return Objects.equals(path, fileInfo.path) && Objects.equals(itemInfo, fileInfo.itemInfo);
+    return Objects.equals(getPath(), fileInfo.getPath())
+        && Objects.equals(itemInfo, fileInfo.itemInfo);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(path, itemInfo);
+    return Objects.hash(getPath(), itemInfo);
   }
 
   /**
@@ -169,8 +176,7 @@ public class FileInfo {
     if (itemInfo.isRoot()) {
       return ROOT_INFO;
     }
-    URI path = UriPaths.fromResourceId(itemInfo.getResourceId(), /* allowEmptyObjectName= */ true);
-    return new FileInfo(path, itemInfo);
+    return new FileInfo(/* path= */ null, itemInfo);
   }
 
   /**
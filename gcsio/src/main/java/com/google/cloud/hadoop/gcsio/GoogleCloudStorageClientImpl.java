@@ -113,7 +113,6 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
@@ -737,82 +736,43 @@ public class GoogleCloudStorageClientImpl extends ForwardingGoogleCloudStorage {
       List<VectoredIORange> ranges, IntFunction<ByteBuffer> allocate, BlobId blobId)
       throws IOException, ExecutionException, InterruptedException, TimeoutException {
     logger.atFiner().log("readVectored() called for BlobId=%s", blobId.toString());
-    long clientInitializationDurationStartTime = System.currentTimeMillis();
-    AtomicInteger totalBytesRead = new AtomicInteger();
-    // start opening the BlobReadSession
-    ApiFuture<BlobReadSession> sessionFuture = storage.blobReadSession(blobId);
-    AtomicInteger readCounter = new AtomicInteger(0);
-
-    ApiFuture<ApiFuture<List<Object>>> sessionUsage = ApiFutures.transform(sessionFuture, session -> {
-          long clientInitializationDuration =
-              System.currentTimeMillis() - clientInitializationDurationStartTime;
-          logger.atFiner().log("Client Initialization successful in %d", clientInitializationDuration);
-          long rangedReadStartTime = System.currentTimeMillis();
-          List<ApiFuture<?>> transformFutures = ranges.stream()
-              .map(range -> {
-                ApiFuture<DisposableByteString> futureBytes = session.readAs(
-                    ReadProjectionConfigs.asFutureByteString()
-                        .withRangeSpec(RangeSpec.of(range.getOffset(), range.getLength())));
-                readCounter.getAndIncrement();
-                ApiFutures.addCallback(futureBytes, new ApiFutureCallback<>() {
-                  @Override
-                  public void onFailure(Throwable t) {
-                    range.getData().completeExceptionally(t);
-                    if (readCounter.decrementAndGet() == 0) {
-                      try {
-                        session.close();
-                      } catch (IOException e) {
-                        throw new RuntimeException(e);
-                      }
-                    }
-                  }
-
-                  @Override
-                  public void onSuccess(DisposableByteString disposableByteString) {
-                    // wrap in try-with to ensure it is closed and the netty memory will be cleared
-                    try (DisposableByteString dbs = disposableByteString) {
-                      ByteString byteString = dbs.byteString();
-                      int size = byteString.size();
-                      ByteBuffer buf = ByteBuffer.allocate(size);
-                      // iterate over the sub-buffers that make up the ByteString to avoid any copying
-                      // of bytes into the heap before we copy them into buf
-                      for (ByteBuffer b : byteString.asReadOnlyByteBufferList()) {
-                        buf.put(b);
-                      }
-                      buf.flip();
-                      totalBytesRead.addAndGet(size);
-                      range.getData().complete(buf);
-                      if (readCounter.decrementAndGet() == 0) {
-                        session.close();
-                      }
-                    } catch (IOException e) {
-                      throw new RuntimeException(e);
-                    }
-                  }
-                }, boundedThreadPool);
-                return futureBytes;
-              })
-              .collect(Collectors.toList());
-          // We need to wait for the futures before exiting the try-with-resources in order to avoid
-          // parent stream closed exception.
-          ApiFuture<List<Object>> listApiFuture = ApiFutures.allAsList(transformFutures);
-          return listApiFuture;
-        },
-        boundedThreadPool);
-
-    ApiFutures.addCallback(sessionUsage, new ApiFutureCallback<>() {
-      @Override
-      public void onFailure(Throwable t) {
-        for (VectoredIORange range : ranges) {
-          range.getData().completeExceptionally(t);
-        }
+    long clientInitializationStartTime = System.currentTimeMillis();
+    try (BlobReadSession session = storage.blobReadSession(blobId).get()) {
+      long clientInitializationDuration =
+          System.currentTimeMillis() - clientInitializationStartTime;
+      logger.atFiner().log("Client Initialization successful in %d", clientInitializationDuration);
+      long readStartTime = System.currentTimeMillis();
+      List<ApiFuture<Integer>> readFutures = new ArrayList<>(ranges.size());
+      for (VectoredIORange range : ranges) {
+        ApiFuture<byte[]> futureBytes =
+            session.readAs(
+                ReadProjectionConfigs.asFutureBytes()
+                    .withRangeSpec(RangeSpec.of(range.getOffset(), range.getLength())));
+        ApiFuture<Integer> readFuture =
+            ApiFutures.catching(
+                ApiFutures.transform(
+                    futureBytes,
+                    bytes -> populateFileRangeFuture(bytes, allocate, range),
+                    boundedThreadPool),
+                Throwable.class,
+                t -> {
+                  range.getData().completeExceptionally(t);
+                  return 0;
+                },
+                boundedThreadPool);
+        readFutures.add(readFuture);
       }
-
-      @Override
-      public void onSuccess(ApiFuture<List<Object>> result) {
-        // do nothing
+      // Wait for all ranges before closing the session to avoid parent stream closed exception,
+      // failed ranges are completed exceptionally.
+      int readBytes = 0;
+      for (int rangeBytes : ApiFutures.allAsList(readFutures).get()) {
+        readBytes += rangeBytes;
       }
-    }, boundedThreadPool);
+      return VectoredIOResult.builder()
+          .setClientInitializationDuration(clientInitializationDuration)
+          .setReadBytes(readBytes)
+          .setReadDuration(System.currentTimeMillis() - readStartTime)
+          .build();
     }
   }
 
@@ -178,7 +178,9 @@ public interface GoogleCloudStorageFileSystem {
   /**
    * Composes inputs into a single GCS object. This performs a GCS Compose. Objects will be composed
    * according to the order they appear in the input. The destination object, if already present,
-   * will be overwritten. Sources and destination are assumed to be in the same bucket.
+   * will be overwritten. Sources and destination are assumed to be in the same bucket. If there are
+   * more than {@link GoogleCloudStorage#MAX_COMPOSE_OBJECTS} sources, they are composed through
+   * temporary intermediate objects.
    *
    * @param sources the list of URIs to be composed
    * @param destination the resulting URI with composed sources
@@ -253,6 +255,31 @@ public interface GoogleCloudStorageFileSystem {
    */
   List<FileInfo> listFileInfo(URI path, ListFileOptions listOptions) throws IOException;
 
+  /**
+   * Equivalent to {@link #listFileInfo} but returns {@link FileInfo}s listed by single request (1
+   * page).
+   *
+   * @param path Given path.
+   * @param pageToken the page token to list, null to list the first page
+   * @return Information about a file or a page of children of a directory.
+   * @throws FileNotFoundException if the given path does not exist.
+   */
+  default ListPage<FileInfo> listFileInfoPage(URI path, String pageToken) throws IOException {
+    return listFileInfoPage(path, ListFileOptions.DEFAULT, pageToken);
+  }
+
+  /**
+   * Equivalent to {@link #listFileInfo} but returns {@link FileInfo}s listed by single request (1
+   * page).
+   *
+   * @param path Given path.
+   * @param pageToken the page token to list, null to list the first page
+   * @return Information about a file or a page of children of a directory.
+   * @throws FileNotFoundException if the given path does not exist.
+   */
+  ListPage<FileInfo> listFileInfoPage(URI path, ListFileOptions listOptions, String pageToken)
+      throws IOException;
+
   /**
    * Returns the list of folder resources in the prefix. It lists all the folder resources
    *
@@ -23,10 +23,10 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
-import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static java.math.RoundingMode.CEILING;
 import static java.util.Comparator.comparing;
-import static java.util.concurrent.Executors.newFixedThreadPool;
 
 import com.google.auth.Credentials;
 import com.google.cloud.hadoop.gcsio.GoogleCloudStorage.ListPage;
@@ -42,8 +42,11 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.flogger.GoogleLogger;
+import com.google.common.math.IntMath;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
@@ -61,14 +64,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -80,18 +84,21 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
 
   private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
 
-  private static final ThreadFactory DAEMON_THREAD_FACTORY =
-      new ThreadFactoryBuilder().setNameFormat("gcsfs-thread-%d").setDaemon(true).build();
-
   private static final ListObjectOptions GET_FILE_INFO_LIST_OPTIONS =
       ListObjectOptions.DEFAULT.toBuilder().setIncludePrefix(true).setMaxResults(1).build();
 
   private static final ListObjectOptions LIST_FILE_INFO_LIST_OPTIONS =
       ListObjectOptions.DEFAULT.toBuilder().setIncludePrefix(true).build();
 
+  private static final ListObjectOptions LIST_RANGES_LIST_OPTIONS =
+      ListObjectOptions.DEFAULT.toBuilder().setFields("bucket,name").build();
+
   public static final ListFileOptions DELETE_RENAME_LIST_OPTIONS =
       ListFileOptions.DEFAULT.toBuilder().setFields("bucket,name,generation").build();
 
+  // Name prefix of intermediate objects of a tree compose.
+  @VisibleForTesting static final String COMPOSE_INTERMEDIATE_PREFIX = "_GCS_COMPOSE_TMP_";
+
   // GCS access instance.
   private GoogleCloudStorage gcs;
 
@@ -157,7 +164,11 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
    */
   public GoogleCloudStorageFileSystemImpl(
       Credentials credentials, GoogleCloudStorageFileSystemOptions options) throws IOException {
-    this(createCloudStorage(options, credentials, /* downscopedAccessTokenFn= */ null), options);
+    this(
+        createCloudStorage(options, credentials, /* downscopedAccessTokenFn= */ null),
+        options,
+        credentials,
+        /* sharedCacheAllowed= */ true);
     logger.atFiner().log("GoogleCloudStorageFileSystem(options: %s)", options);
   }
 
@@ -174,7 +185,12 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
       Function<List<AccessBoundary>, String> downscopedAccessTokenFn,
       GoogleCloudStorageFileSystemOptions options)
       throws IOException {
-    this(createCloudStorage(options, credentials, downscopedAccessTokenFn), options);
+    // Downscoped access tokens limit access per request, so cached items could not be shared.
+    this(
+        createCloudStorage(options, credentials, downscopedAccessTokenFn),
+        options,
+        credentials,
+        /* sharedCacheAllowed= */ downscopedAccessTokenFn == null);
     logger.atFiner().log("GoogleCloudStorageFileSystem(options: %s)", options);
   }
 
@@ -193,14 +209,33 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
   @VisibleForTesting
   public GoogleCloudStorageFileSystemImpl(
       GoogleCloudStorage gcs, GoogleCloudStorageFileSystemOptions options) {
+    this(gcs, options, /* credentials= */ null, /* sharedCacheAllowed= */ false);
+  }
+
+  private GoogleCloudStorageFileSystemImpl(
+      GoogleCloudStorage gcs,
+      GoogleCloudStorageFileSystemOptions options,
+      @Nullable Credentials credentials,
+      boolean sharedCacheAllowed) {
     checkArgument(
         gcs.getOptions() == options.getCloudStorageOptions(),
         "gcs and gcsfs should use the same options");
     options.throwIfNotValid();
-    this.gcs =
-        options.isPerformanceCacheEnabled()
-            ? new PerformanceCachingGoogleCloudStorage(gcs, options.getPerformanceCacheOptions())
-            : gcs;
+    // Rate limiter wraps the client directly, so requests served by other wrappers are not limited.
+    if (options.isRateLimitEnabled()) {
+      gcs = new RateLimitingGoogleCloudStorage(gcs, options.getRateLimitOptions());
+    }
+    if (options.isMetadataRequestCoalescingEnabled()) {
+      gcs = new CoalescingGoogleCloudStorage(gcs);
+    }
+    if (options.isPerformanceCacheEnabled()) {
+      gcs =
+          sharedCacheAllowed
+              ? PerformanceCachingGoogleCloudStorage.create(
+                  gcs, options.getPerformanceCacheOptions(), credentials)
+              : new PerformanceCachingGoogleCloudStorage(gcs, options.getPerformanceCacheOptions());
+    }
+    this.gcs = gcs;
     this.options = options;
   }
 
@@ -231,6 +266,7 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
         "unsupported write mode: %s",
         options.getWriteMode());
     return CreateObjectOptions.builder()
+        .setContentEncoding(options.isGzipCompressionEnabled() ? "gzip" : null)
         .setContentType(options.getContentType())
         .setMetadata(options.getAttributes())
         .setOverwriteExisting(options.getWriteMode() == CreateFileOptions.WriteMode.OVERWRITE)
@@ -285,7 +321,16 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
               createOptions.getOverwriteGenerationId());
     }
 
-    return gcs.create(resourceId, objectOptionsFromFileOptions(createOptions));
+    WritableByteChannel channel =
+        gcs.create(resourceId, objectOptionsFromFileOptions(createOptions));
+    return createOptions.isGzipCompressionEnabled()
+        ? new GzipCompressingWriteChannel(
+            channel,
+            cachedExecutor,
+            createOptions.getGzipCompressionLevel(),
+            createOptions.getGzipCompressionBlockSize(),
+            createOptions.getGzipCompressionThreads())
+        : channel;
   }
 
   @Override
@@ -472,19 +517,26 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
     itemsToDelete.sort(FILE_INFO_PATH_COMPARATOR.reversed());
 
     if (!itemsToDelete.isEmpty()) {
-      List<StorageResourceId> objectsToDelete = new ArrayList<>(itemsToDelete.size());
-      for (FileInfo fileInfo : itemsToDelete) {
-        // TODO(b/110833109): populate generation ID in StorageResourceId when listing infos?
-        if (!fileInfo.isInferredDirectory()) {
-          objectsToDelete.add(
-              new StorageResourceId(
-                  fileInfo.getItemInfo().getBucketName(),
-                  fileInfo.getItemInfo().getObjectName(),
-                  fileInfo.getItemInfo().getContentGeneration()));
-        }
+      gcs.deleteObjects(toObjectIdsToDelete(itemsToDelete));
+    }
+  }
+
+  /**
+   * Returns ids of objects to delete pinned to their generations, skipping inferred directories.
+   */
+  private static List<StorageResourceId> toObjectIdsToDelete(List<FileInfo> itemsToDelete) {
+    List<StorageResourceId> objectsToDelete = new ArrayList<>(itemsToDelete.size());
+    for (FileInfo fileInfo : itemsToDelete) {
+      // TODO(b/110833109): populate generation ID in StorageResourceId when listing infos?
+      if (!fileInfo.isInferredDirectory()) {
+        objectsToDelete.add(
+            new StorageResourceId(
+                fileInfo.getItemInfo().getBucketName(),
+                fileInfo.getItemInfo().getObjectName(),
+                fileInfo.getItemInfo().getContentGeneration()));
       }
-      gcs.deleteObjects(objectsToDelete);
     }
+    return objectsToDelete;
   }
 
   /** Helper function to delete buckets */
@@ -587,7 +639,11 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
 
     // Make sure paths match what getFileInfo() returned (it can add / at the end).
     src = srcInfo.getPath();
-    dst = getDstUri(srcInfo, dstInfo, dstParentInfo);
+    // Interrupted directory rename is resumed into the already created destination directory.
+    dst =
+        isInterruptedDirectoryRename(srcInfo, dstInfo)
+            ? dstInfo.getPath()
+            : getDstUri(srcInfo, dstInfo, dstParentInfo);
 
     // if src and dst are equal then do nothing
     if (src.equals(dst)) {
@@ -639,6 +695,34 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
     repairImplicitDirectory(srcParentInfoFuture);
   }
 
+  /**
+   * Returns whether a journal of an interrupted rename of the source to destination exists, that
+   * was updated during the journal max age. Such destination directory was created by the
+   * interrupted rename, so the rename is resumed into it instead of into its subdirectory.
+   */
+  private boolean isInterruptedDirectoryRename(FileInfo srcInfo, FileInfo dstInfo)
+      throws IOException {
+    URI journalPath = options.getRenameJournalPath();
+    boolean interrupted =
+        journalPath != null
+            && srcInfo.isDirectory()
+            && dstInfo.exists()
+            && dstInfo.isDirectory()
+            && !srcInfo.getPath().equals(dstInfo.getPath())
+            && RenameJournal.exists(
+                gcs,
+                journalPath,
+                srcInfo.getPath(),
+                dstInfo.getPath(),
+                options.getRenameJournalMaxAge());
+    if (interrupted) {
+      logger.atInfo().log(
+          "Resuming interrupted rename of '%s' into existing '%s' directory",
+          srcInfo.getPath(), dstInfo.getPath());
+    }
+    return interrupted;
+  }
+
   private URI getDstUri(FileInfo srcInfo, FileInfo dstInfo, @Nullable FileInfo dstParentInfo)
       throws IOException {
     URI src = srcInfo.getPath();
@@ -724,6 +808,15 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
     return dst;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If there are more sources than could be composed in a single request, sources are composed
+   * as a tree: groups of sources are composed into temporary intermediate objects in parallel, then
+   * intermediate objects are composed level by level until all of them could be composed into the
+   * destination. Intermediate objects are deleted in a batch request after that, or after a
+   * failure, once all in-flight compose requests complete.
+   */
   @Override
   public void compose(List<URI> sources, URI destination, String contentType) throws IOException {
     StorageResourceId destResource = StorageResourceId.fromStringPath(destination.toString());
@@ -731,8 +824,135 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
         sources.stream()
             .map(uri -> StorageResourceId.fromStringPath(uri.toString()).getObjectName())
             .collect(Collectors.toList());
-    gcs.compose(
-        destResource.getBucketName(), sourceObjects, destResource.getObjectName(), contentType);
+    if (sourceObjects.size() <= GoogleCloudStorage.MAX_COMPOSE_OBJECTS) {
+      gcs.compose(
+          destResource.getBucketName(), sourceObjects, destResource.getObjectName(), contentType);
+      return;
+    }
+
+    String intermediatePrefix = getComposeIntermediatePrefix(destResource.getObjectName());
+    List<StorageResourceId> intermediates = new ArrayList<>();
+    try {
+      for (int level = 0; sourceObjects.size() > GoogleCloudStorage.MAX_COMPOSE_OBJECTS; level++) {
+        sourceObjects =
+            composeIntermediates(
+                destResource.getBucketName(),
+                sourceObjects,
+                intermediatePrefix + level + ".",
+                contentType,
+                intermediates);
+      }
+      gcs.compose(
+          destResource.getBucketName(), sourceObjects, destResource.getObjectName(), contentType);
+    } finally {
+      if (!intermediates.isEmpty()) {
+        try {
+          // Intermediate objects that were never created are ignored as not found.
+          gcs.deleteObjects(intermediates);
+        } catch (FileNotFoundException e) {
+          logger.atFiner().withCause(e).log(
+              "Some intermediate objects of compose to '%s' were not created", destination);
+        } catch (IOException e) {
+          logger.atWarning().withCause(e).log(
+              "Failed to delete %d intermediate objects of compose to '%s'",
+              intermediates.size(), destination);
+        }
+      }
+    }
+  }
+
+  /**
+   * Composes each group of {@link GoogleCloudStorage#MAX_COMPOSE_OBJECTS} sources into an
+   * intermediate object, groups are composed in parallel, and returns names of intermediate objects
+   * in the order of sources.
+   *
+   * <p>Intermediate objects are added to {@code createdIntermediates} before their compose requests
+   * are sent. This method returns only after all compose requests complete, if one of them fails
+   * the remaining groups are not composed.
+   */
+  private List<String> composeIntermediates(
+      String bucketName,
+      List<String> sources,
+      String intermediatePrefix,
+      String contentType,
+      List<StorageResourceId> createdIntermediates)
+      throws IOException {
+    List<List<String>> groups = Lists.partition(sources, GoogleCloudStorage.MAX_COMPOSE_OBJECTS);
+    List<String> intermediates = new ArrayList<>(groups.size());
+    for (int i = 0; i < groups.size(); i++) {
+      intermediates.add(intermediatePrefix + i);
+      createdIntermediates.add(new StorageResourceId(bucketName, intermediatePrefix + i));
+    }
+
+    // Compose groups in parallel using shared executor, the number of parallel compose requests is
+    // bounded by the number of batch threads.
+    int maxThreads = gcs.getOptions().getBatchThreads();
+    List<Integer> indexes = new ArrayList<>(groups.size());
+    for (int i = 0; i < groups.size(); i++) {
+      indexes.add(i);
+    }
+    AtomicBoolean failed = new AtomicBoolean();
+    List<Future<Void>> composeFutures = new ArrayList<>();
+    for (List<Integer> partition :
+        Lists.partition(
+            indexes, max(1, IntMath.divide(indexes.size(), max(1, maxThreads), CEILING)))) {
+      composeFutures.add(
+          runFuture(
+              maxThreads == 0 ? lazyExecutor : cachedExecutor,
+              () -> {
+                for (int i : partition) {
+                  if (failed.get()) {
+                    break;
+                  }
+                  try {
+                    gcs.compose(bucketName, groups.get(i), intermediates.get(i), contentType);
+                  } catch (IOException | RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                  }
+                }
+                return null;
+              },
+              "composeIntermediates"));
+    }
+
+    // Wait for all compose requests, even after a failure or interrupt, so that no intermediate
+    // object is created after the caller deleted intermediate objects.
+    IOException failure = null;
+    for (Future<Void> composeFuture : composeFutures) {
+      try {
+        Uninterruptibles.getUninterruptibly(composeFuture);
+      } catch (ExecutionException e) {
+        IOException composeFailure =
+            e.getCause() instanceof IOException
+                ? (IOException) e.getCause()
+                : new IOException("Failed to compose intermediate objects", e.getCause());
+        if (failure == null) {
+          failure = composeFailure;
+        } else {
+          failure.addSuppressed(composeFailure);
+        }
+      }
+    }
+    if (failure != null) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw failure;
+    }
+    return intermediates;
+  }
+
+  /**
+   * Returns name prefix of intermediate objects of a tree compose, they are created next to the
+   * destination object with a name that is hidden from Hadoop jobs.
+   */
+  private static String getComposeIntermediatePrefix(String destination) {
+    int nameStart = destination.lastIndexOf(PATH_DELIMITER) + 1;
+    return String.format(
+        "%s%s%s.%s.",
+        destination.substring(0, nameStart),
+        COMPOSE_INTERMEDIATE_PREFIX,
+        destination.substring(nameStart),
+        UUID.randomUUID());
   }
 
   /**
@@ -741,6 +961,18 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
    * <p>GCS does not support atomic renames therefore rename is implemented as copying source
    * metadata to destination and then deleting source metadata. Note that only the metadata is
    * copied and not the content of any file.
+   *
+   * <p>Source items are listed page by page and each page is copied or moved while the next page is
+   * listed, so memory usage does not depend on the directory size. Copied files of each page are
+   * deleted right after the page is copied, pinned to their listed generations, so objects that
+   * were created or overwritten after their page was copied are never deleted. Directory objects
+   * are deleted after all their children. Marker items are collected during listing and renamed
+   * after all other items to mark rename operation success. If marker file pattern is configured,
+   * source files are deleted only after source marker items, so readers never see a marker next to
+   * partially deleted source directory, and only their generation-pinned ids are kept until then.
+   *
+   * <p>If rename journal is configured, copied items are recorded in the journal after each page,
+   * and items recorded by an interrupted rename of the same directories are not copied again.
    */
   private void renameDirectoryInternal(FileInfo srcInfo, URI dst) throws IOException {
     checkArgument(srcInfo.isDirectory(), "'%s' should be a directory", srcInfo);
@@ -753,39 +985,63 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
       return;
     }
 
-    // Mapping from each src to its respective dst.
-    // Sort src items so that parent directories appear before their children.
-    // That allows us to copy parent directories before we copy their children.
-    Map<FileInfo, URI> srcToDstItemNames = new TreeMap<>(FILE_INFO_PATH_COMPARATOR);
-    Map<FileInfo, URI> srcToDstMarkerItemNames = new TreeMap<>(FILE_INFO_PATH_COMPARATOR);
-
-    // List of individual paths to rename;
-    // we will try to carry out the copies in this list's order.
-    List<FileInfo> srcItemInfos = listFileInfoForPrefix(src, DELETE_RENAME_LIST_OPTIONS);
-
-    // Create a list of sub-items to copy.
-    Pattern markerFilePattern = options.getMarkerFilePattern();
-    String prefix = src.toString();
-    for (FileInfo srcItemInfo : srcItemInfos) {
-      String relativeItemName = srcItemInfo.getPath().toString().substring(prefix.length());
-      URI dstItemName = dst.resolve(relativeItemName);
-      if (markerFilePattern != null && markerFilePattern.matcher(relativeItemName).matches()) {
-        srcToDstMarkerItemNames.put(srcItemInfo, dstItemName);
-      } else {
-        srcToDstItemNames.put(srcItemInfo, dstItemName);
-      }
-    }
-
     StorageResourceId srcResourceId =
         StorageResourceId.fromUriPath(src, /* allowEmptyObjectName= */ true);
     StorageResourceId dstResourceId =
         StorageResourceId.fromUriPath(
             dst, /* allowEmptyObjectName= */ true, /* generationId= */ 0L);
-    if (this.options.getCloudStorageOptions().isMoveOperationEnabled()
-        && srcResourceId.getBucketName().equals(dstResourceId.getBucketName())) {
+    boolean moveEnabled =
+        this.options.getCloudStorageOptions().isMoveOperationEnabled()
+            && srcResourceId.getBucketName().equals(dstResourceId.getBucketName());
+
+    // Move operations delete each source item when it is moved, so moves do not need a journal.
+    RenameJournal journal =
+        moveEnabled || options.getRenameJournalPath() == null
+            ? null
+            : RenameJournal.open(
+                gcs, options.getRenameJournalPath(), src, dst, options.getRenameJournalMaxAge());
+
+    Map<FileInfo, URI> srcToDstMarkerItemNames = new TreeMap<>(FILE_INFO_PATH_COMPARATOR);
+    Pattern markerFilePattern = options.getMarkerFilePattern();
+    String prefix = src.toString();
+    // Directory objects that were copied, they are deleted after all files are deleted.
+    List<FileInfo> srcDirsToDelete = new ArrayList<>();
+    // Files that were copied, they are deleted after source marker items if there could be any.
+    List<StorageResourceId> deferredSrcFilesToDelete = new ArrayList<>();
+    forEachListedPage(
+        src,
+        srcItemInfos -> {
+          // Mapping from each src to its respective dst.
+          // Sort src items so that parent directories appear before their children.
+          // That allows us to copy parent directories before we copy their children.
+          Map<FileInfo, URI> srcToDstItemNames = new TreeMap<>(FILE_INFO_PATH_COMPARATOR);
+          for (FileInfo srcItemInfo : srcItemInfos) {
+            String relativeItemName = srcItemInfo.getPath().toString().substring(prefix.length());
+            URI dstItemName = dst.resolve(relativeItemName);
+            if (markerFilePattern != null
+                && markerFilePattern.matcher(relativeItemName).matches()) {
+              srcToDstMarkerItemNames.put(srcItemInfo, dstItemName);
+            } else {
+              srcToDstItemNames.put(srcItemInfo, dstItemName);
+            }
+          }
+          if (moveEnabled) {
+            moveInternal(srcToDstItemNames);
+            return;
+          }
+          copyRecordingInJournal(srcToDstItemNames, journal);
+          List<FileInfo> srcFilesToDelete = new ArrayList<>(srcToDstItemNames.size());
+          for (FileInfo srcItemInfo : srcToDstItemNames.keySet()) {
+            (srcItemInfo.isDirectory() ? srcDirsToDelete : srcFilesToDelete).add(srcItemInfo);
+          }
+          if (markerFilePattern == null) {
+            deleteObjects(srcFilesToDelete);
+          } else {
+            deferredSrcFilesToDelete.addAll(toObjectIdsToDelete(srcFilesToDelete));
+          }
+        });
 
-      // First, move all items except marker items
-      moveInternal(srcToDstItemNames);
+    if (moveEnabled) {
       // Finally, move marker items (if any) to mark rename operation success
       moveInternal(srcToDstMarkerItemNames);
 
@@ -799,26 +1055,87 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
       return;
     }
 
-    // First, copy all items except marker items
-    copyInternal(srcToDstItemNames);
     // Finally, copy marker items (if any) to mark rename operation success
-    copyInternal(srcToDstMarkerItemNames);
+    copyRecordingInJournal(srcToDstMarkerItemNames, journal);
+
+    // First delete marker files from the src
+    deleteInternal(new ArrayList<>(srcToDstMarkerItemNames.keySet()), new ArrayList<>());
+
+    // Then delete files that were copied before marker files.
+    if (!deferredSrcFilesToDelete.isEmpty()) {
+      gcs.deleteObjects(deferredSrcFilesToDelete);
+    }
 
     List<FileInfo> bucketsToDelete = new ArrayList<>(1);
-    List<FileInfo> srcItemsToDelete = new ArrayList<>(srcToDstItemNames.size() + 1);
-    srcItemsToDelete.addAll(srcToDstItemNames.keySet());
     if (srcInfo.getItemInfo().isBucket()) {
       bucketsToDelete.add(srcInfo);
     } else {
       // If src is a directory then srcItemInfos does not contain its own name,
       // therefore add it to the list before we delete items in the list.
-      srcItemsToDelete.add(srcInfo);
+      srcDirsToDelete.add(srcInfo);
     }
 
-    // First delete marker files from the src
-    deleteInternal(new ArrayList<>(srcToDstMarkerItemNames.keySet()), new ArrayList<>());
-    // Then delete rest of the items that we successfully copied.
-    deleteInternal(srcItemsToDelete, bucketsToDelete);
+    // Then delete directories that we successfully copied.
+    deleteInternal(srcDirsToDelete, bucketsToDelete);
+
+    if (journal != null) {
+      journal.delete();
+    }
+  }
+
+  /**
+   * Copies items that were not copied yet according to the journal and records them in the journal.
+   */
+  private void copyRecordingInJournal(
+      Map<FileInfo, URI> srcToDstItemNames, @Nullable RenameJournal journal) throws IOException {
+    if (journal == null) {
+      copyInternal(srcToDstItemNames);
+      return;
+    }
+    Map<FileInfo, URI> notCopiedItemNames = new TreeMap<>(FILE_INFO_PATH_COMPARATOR);
+    for (FileInfo srcInfo : journal.getNotCopied(srcToDstItemNames.keySet())) {
+      notCopiedItemNames.put(srcInfo, srcToDstItemNames.get(srcInfo));
+    }
+    copyInternal(notCopiedItemNames);
+    journal.recordCopied(notCopiedItemNames.keySet());
+  }
+
+  /**
+   * Lists all objects with the prefix page by page and passes each page to the consumer. The next
+   * page is listed in background while the current page is consumed, so at most two pages are held
+   * in memory at any time.
+   */
+  private void forEachListedPage(URI prefix, PageConsumer pageConsumer) throws IOException {
+    ListPage<FileInfo> page =
+        listFileInfoForPrefixPage(prefix, DELETE_RENAME_LIST_OPTIONS, /* pageToken= */ null);
+    while (true) {
+      String nextPageToken = page.getNextPageToken();
+      Future<ListPage<FileInfo>> nextPage =
+          nextPageToken == null
+              ? null
+              : runFuture(
+                  cachedExecutor,
+                  () ->
+                      listFileInfoForPrefixPage(prefix, DELETE_RENAME_LIST_OPTIONS, nextPageToken),
+                  "listFileInfoForPrefixPage");
+      try {
+        pageConsumer.accept(page.getItems());
+      } catch (IOException | RuntimeException e) {
+        if (nextPage != null) {
+          nextPage.cancel(/* mayInterruptIfRunning= */ true);
+        }
+        throw e;
+      }
+      if (nextPage == null) {
+        return;
+      }
+      page = getFromFuture(nextPage);
+    }
+  }
+
+  /** Consumer of listed pages. */
+  private interface PageConsumer {
+    void accept(List<FileInfo> page) throws IOException;
   }
 
   /** Copies items in given map that maps source items to destination items. */
@@ -927,11 +1244,13 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
       throws IOException {
     logger.atFiner().log("listAllFileInfoForPrefix(prefix: %s)", prefix);
     StorageResourceId prefixId = getPrefixId(prefix);
+    ListObjectOptions listObjectOptions =
+        updateListObjectOptions(ListObjectOptions.DEFAULT_FLAT_LIST, listOptions);
     List<GoogleCloudStorageItemInfo> itemInfos =
-        gcs.listObjectInfo(
-            prefixId.getBucketName(),
-            prefixId.getObjectName(),
-            updateListObjectOptions(ListObjectOptions.DEFAULT_FLAT_LIST, listOptions));
+        options.getListParallelism() > 1 && listObjectOptions.getMaxResults() <= 0
+            ? listObjectInfoInParallel(prefixId, listObjectOptions)
+            : gcs.listObjectInfo(
+                prefixId.getBucketName(), prefixId.getObjectName(), listObjectOptions);
     List<FileInfo> fileInfos = FileInfo.fromItemInfos(itemInfos);
     fileInfos.sort(FILE_INFO_PATH_COMPARATOR);
     return fileInfos;
@@ -954,6 +1273,54 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
     return new ListPage<>(fileInfosPage, itemInfosPage.getNextPageToken());
   }
 
+  /**
+   * Lists all objects with the prefix using up to {@link
+   * GoogleCloudStorageFileSystemOptions#getListParallelism} concurrent list requests.
+   *
+   * <p>Key space of the prefix is split into lexicographic ranges at the names of its immediate
+   * children from the first page of a delimiter listing, each range is listed by its own cursor
+   * using start and end offsets, and listed ranges are concatenated in order.
+   */
+  private List<GoogleCloudStorageItemInfo> listObjectInfoInParallel(
+      StorageResourceId prefixId, ListObjectOptions listOptions) throws IOException {
+    String bucketName = prefixId.getBucketName();
+    String objectNamePrefix = prefixId.getObjectName();
+    List<String> childNames =
+        gcs
+            .listObjectInfoPage(
+                bucketName, objectNamePrefix, LIST_RANGES_LIST_OPTIONS, /* pageToken= */ null)
+            .getItems()
+            .stream()
+            .map(GoogleCloudStorageItemInfo::getObjectName)
+            .distinct()
+            .sorted()
+            .collect(toImmutableList());
+    int ranges = min(options.getListParallelism(), childNames.size());
+    if (ranges < 2) {
+      return gcs.listObjectInfo(bucketName, objectNamePrefix, listOptions);
+    }
+
+    List<Future<List<GoogleCloudStorageItemInfo>>> rangeFutures = new ArrayList<>(ranges);
+    for (int i = 0; i < ranges; i++) {
+      ListObjectOptions rangeListOptions =
+          listOptions.toBuilder()
+              .setStartOffset(i == 0 ? null : childNames.get(i * childNames.size() / ranges))
+              .setEndOffset(
+                  i == ranges - 1 ? null : childNames.get((i + 1) * childNames.size() / ranges))
+              .build();
+      rangeFutures.add(
+          runFuture(
+              cachedExecutor,
+              () -> gcs.listObjectInfo(bucketName, objectNamePrefix, rangeListOptions),
+              "listObjectInfoRange"));
+    }
+    List<GoogleCloudStorageItemInfo> itemInfos = new ArrayList<>();
+    for (Future<List<GoogleCloudStorageItemInfo>> rangeFuture : rangeFutures) {
+      itemInfos.addAll(getFromFuture(rangeFuture));
+    }
+    return itemInfos;
+  }
+
   private StorageResourceId getPrefixId(URI prefix) {
     checkNotNull(prefix, "prefix could not be null");
 
@@ -1014,6 +1381,62 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
     return fileInfos;
   }
 
+  @Override
+  public ListPage<FileInfo> listFileInfoPage(
+      URI path, ListFileOptions listOptions, @Nullable String pageToken) throws IOException {
+    checkNotNull(path, "path can not be null");
+    logger.atFiner().log("listFileInfoPage(path: %s, pageToken: %s)", path, pageToken);
+
+    StorageResourceId pathId =
+        StorageResourceId.fromUriPath(path, /* allowEmptyObjectName= */ true);
+    StorageResourceId dirId = pathId.toDirectoryId();
+    if (dirId.isRoot()) {
+      return new ListPage<>(listFileInfo(path, listOptions), /* nextPageToken= */ null);
+    }
+
+    Future<ListPage<GoogleCloudStorageItemInfo>> dirItemInfosFuture =
+        (options.isStatusParallelEnabled() ? cachedExecutor : lazyExecutor)
+            .submit(
+                () ->
+                    gcs.listObjectInfoPage(
+                        dirId.getBucketName(),
+                        dirId.getObjectName(),
+                        updateListObjectOptions(LIST_FILE_INFO_LIST_OPTIONS, listOptions),
+                        pageToken));
+
+    // Only the first page could be a file, next pages are always directory pages.
+    if (pageToken == null && !pathId.isDirectory()) {
+      try {
+        GoogleCloudStorageItemInfo pathInfo = gcs.getItemInfo(pathId);
+        if (pathInfo.exists()) {
+          dirItemInfosFuture.cancel(/* mayInterruptIfRunning= */ true);
+          return new ListPage<>(
+              Lists.newArrayList(FileInfo.fromItemInfo(pathInfo)), /* nextPageToken= */ null);
+        }
+      } catch (Exception e) {
+        GoogleCloudStorageEventBus.postOnException();
+        dirItemInfosFuture.cancel(/* mayInterruptIfRunning= */ true);
+        throw e;
+      }
+    }
+
+    ListPage<GoogleCloudStorageItemInfo> dirItemInfosPage = getFromFuture(dirItemInfosFuture);
+    List<GoogleCloudStorageItemInfo> dirItemInfos = new ArrayList<>(dirItemInfosPage.getItems());
+    if (pageToken == null
+        && pathId.isStorageObject()
+        && dirItemInfos.isEmpty()
+        && dirItemInfosPage.getNextPageToken() == null) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw new FileNotFoundException("Item not found: " + path);
+    }
+
+    dirItemInfos.removeIf(itemInfo -> Objects.equals(itemInfo.getResourceId(), dirId));
+
+    List<FileInfo> fileInfos = FileInfo.fromItemInfos(dirItemInfos);
+    fileInfos.sort(FILE_INFO_PATH_COMPARATOR);
+    return new ListPage<>(fileInfos, dirItemInfosPage.getNextPageToken());
+  }
+
   @Override
   public FileInfo getFileInfo(URI path) throws IOException {
     checkArgument(path != null, "path must not be null");
@@ -1096,7 +1519,16 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
       }
     }
 
-    List<GoogleCloudStorageItemInfo> listDirInfo = getFromFuture(listDirFuture);
+    return toDirectoryInfo(
+        resourceId, dirId, getFromFuture(listDirFuture), inferImplicitDirectories);
+  }
+
+  /** Converts the result of a directory listing to the directory item info. */
+  private static GoogleCloudStorageItemInfo toDirectoryInfo(
+      StorageResourceId resourceId,
+      StorageResourceId dirId,
+      List<GoogleCloudStorageItemInfo> listDirInfo,
+      boolean inferImplicitDirectories) {
     if (listDirInfo.isEmpty()) {
       return GoogleCloudStorageItemInfo.createNotFound(resourceId);
     }
@@ -1121,26 +1553,61 @@ public class GoogleCloudStorageFileSystemImpl implements GoogleCloudStorageFileS
       return new ArrayList<>(Collections.singleton(getFileInfo(paths.get(0))));
     }
 
-    int maxThreads = gcs.getOptions().getBatchThreads();
-    ExecutorService fileInfoExecutor =
-        maxThreads == 0
-            ? newDirectExecutorService()
-            : newFixedThreadPool(min(maxThreads, paths.size()), DAEMON_THREAD_FACTORY);
-    try {
-      List<Future<FileInfo>> infoFutures = new ArrayList<>(paths.size());
-      for (URI path : paths) {
-        infoFutures.add(runFuture(fileInfoExecutor, () -> getFileInfo(path), "getFileInfo"));
-      }
-      fileInfoExecutor.shutdown();
+    List<StorageResourceId> resourceIds = new ArrayList<>(paths.size());
+    for (URI path : paths) {
+      resourceIds.add(StorageResourceId.fromUriPath(path, /* allowEmptyObjectName= */ true));
+    }
 
-      List<FileInfo> infos = new ArrayList<>(paths.size());
-      for (Future<FileInfo> infoFuture : infoFutures) {
-        infos.add(getFromFuture(infoFuture));
+    // Fetch objects, buckets and directory objects in JSON batch requests first, so only paths
+    // that are not found as objects need directory inference with a list request.
+    GoogleCloudStorageItemInfo[] itemInfos =
+        gcs.getItemInfos(resourceIds).toArray(new GoogleCloudStorageItemInfo[0]);
+    List<Integer> missingIndexes = new ArrayList<>();
+    for (int i = 0; i < itemInfos.length; i++) {
+      StorageResourceId resourceId = resourceIds.get(i);
+      if (!itemInfos[i].exists() && !resourceId.isRoot() && !resourceId.isBucket()) {
+        missingIndexes.add(i);
       }
-      return infos;
-    } finally {
-      fileInfoExecutor.shutdownNow();
     }
+
+    // Infer implicit directories in parallel using shared executor, the number of parallel
+    // listings is bounded by the number of batch threads.
+    int maxThreads = gcs.getOptions().getBatchThreads();
+    List<Future<Void>> inferFutures = new ArrayList<>();
+    for (List<Integer> indexes :
+        Lists.partition(
+            missingIndexes,
+            max(1, IntMath.divide(missingIndexes.size(), max(1, maxThreads), CEILING)))) {
+      inferFutures.add(
+          runFuture(
+              maxThreads == 0 ? lazyExecutor : cachedExecutor,
+              () -> {
+                for (int i : indexes) {
+                  StorageResourceId dirId = resourceIds.get(i).toDirectoryId();
+                  List<GoogleCloudStorageItemInfo> listDirInfo =
+                      gcs.listObjectInfo(
+                          dirId.getBucketName(), dirId.getObjectName(), GET_FILE_INFO_LIST_OPTIONS);
+                  itemInfos[i] =
+                      toDirectoryInfo(
+                          resourceIds.get(i),
+                          dirId,
+                          listDirInfo,
+                          /* inferImplicitDirectories= */ true);
+                }
+                return null;
+              },
+              "inferImplicitDirectories"));
+    }
+    for (Future<Void> inferFuture : inferFutures) {
+      getFromFuture(inferFuture);
+    }
+
+    List<FileInfo> infos = new ArrayList<>(itemInfos.length);
+    for (GoogleCloudStorageItemInfo itemInfo : itemInfos) {
+      infos.add(FileInfo.fromItemInfo(itemInfo));
+    }
+    logger.atFiner().log("getFileInfos(paths: %s): %s", paths, infos);
+    return infos;
   }
 
   @Override
@@ -17,6 +17,8 @@
 package com.google.cloud.hadoop.gcsio;
 
 import com.google.auto.value.AutoValue;
+import java.net.URI;
+import java.time.Duration;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 
@@ -38,9 +40,15 @@ public abstract class GoogleCloudStorageFileSystemOptions {
         .setClientType(ClientType.HTTP_API_CLIENT)
         .setCloudStorageOptions(GoogleCloudStorageOptions.DEFAULT)
         .setEnsureNoConflictingItems(true)
+        .setListParallelism(1)
         .setMarkerFilePattern((String) null)
+        .setMetadataRequestCoalescingEnabled(false)
         .setPerformanceCacheEnabled(false)
         .setPerformanceCacheOptions(PerformanceCachingGoogleCloudStorageOptions.DEFAULT)
+        .setRateLimitEnabled(false)
+        .setRateLimitOptions(RateLimitingGoogleCloudStorageOptions.DEFAULT)
+        .setRenameJournalPath((String) null)
+        .setRenameJournalMaxAge(Duration.ofHours(1))
         .setStatusParallelEnabled(true);
   }
 
@@ -52,6 +60,10 @@ public abstract class GoogleCloudStorageFileSystemOptions {
 
   public abstract PerformanceCachingGoogleCloudStorageOptions getPerformanceCacheOptions();
 
+  public abstract boolean isRateLimitEnabled();
+
+  public abstract RateLimitingGoogleCloudStorageOptions getRateLimitOptions();
+
   public abstract GoogleCloudStorageOptions getCloudStorageOptions();
 
   public abstract boolean isBucketDeleteEnabled();
@@ -63,6 +75,15 @@ public abstract class GoogleCloudStorageFileSystemOptions {
 
   public abstract boolean isEnsureNoConflictingItems();
 
+  public abstract boolean isMetadataRequestCoalescingEnabled();
+
+  public abstract int getListParallelism();
+
+  @Nullable
+  public abstract URI getRenameJournalPath();
+
+  public abstract Duration getRenameJournalMaxAge();
+
   public void throwIfNotValid() {
     getCloudStorageOptions().throwIfNotValid();
   }
@@ -80,6 +101,11 @@ public abstract class GoogleCloudStorageFileSystemOptions {
 
     public abstract Builder setCloudStorageOptions(GoogleCloudStorageOptions options);
 
+    /** Enables client-side rate limiting of requests to each bucket. */
+    public abstract Builder setRateLimitEnabled(boolean rateLimitEnabled);
+
+    public abstract Builder setRateLimitOptions(RateLimitingGoogleCloudStorageOptions options);
+
     public abstract Builder setBucketDeleteEnabled(boolean bucketDeleteEnabled);
 
     abstract Builder setMarkerFilePattern(Pattern markerFilePattern);
@@ -97,6 +123,38 @@ public abstract class GoogleCloudStorageFileSystemOptions {
 
     public abstract Builder setEnsureNoConflictingItems(boolean ensureNoConflictingItems);
 
+    /**
+     * Enables coalescing of concurrent identical {@code getItemInfo}, {@code listObjectInfo} and
+     * {@code isHnBucket} requests into a single GCS request.
+     */
+    public abstract Builder setMetadataRequestCoalescingEnabled(
+        boolean metadataRequestCoalescingEnabled);
+
+    /**
+     * Maximum number of concurrent list requests used to list all objects with a prefix in {@code
+     * listFileInfoForPrefix} method, key space of the prefix is split into lexicographic ranges
+     * that are listed in parallel. Parallel listing is disabled if {@code 1} or less.
+     */
+    public abstract Builder setListParallelism(int listParallelism);
+
+    abstract Builder setRenameJournalPath(URI renameJournalPath);
+
+    /**
+     * GCS directory where journals of directory renames are stored, so a rename interrupted by a
+     * failure could be resumed by a rename of the same paths. Journals are disabled if {@code
+     * null}.
+     */
+    public Builder setRenameJournalPath(String renameJournalPath) {
+      return setRenameJournalPath(
+          renameJournalPath == null ? null : UriPaths.toDirectory(URI.create(renameJournalPath)));
+    }
+
+    /**
+     * Max time since the last update of a rename journal during which the interrupted rename could
+     * be resumed. Older journals are ignored and deleted.
+     */
+    public abstract Builder setRenameJournalMaxAge(Duration renameJournalMaxAge);
+
     public abstract GoogleCloudStorageFileSystemOptions build();
   }
 }
@@ -32,11 +32,11 @@ import static java.lang.Math.toIntExact;
 import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.AbstractInputStreamContent;
 import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.http.HttpTransport;
-import com.google.api.client.http.InputStreamContent;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.BackOff;
 import com.google.api.client.util.Data;
@@ -75,6 +75,8 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.flogger.GoogleLogger;
@@ -138,6 +140,9 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
   private static Cache<String, Boolean> cache =
       CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).build();
 
+  // Interner of bucket names, content types and encodings that are repeated in listed objects.
+  private static final Interner<String> STRING_INTERNER = Interners.newWeakInterner();
+
   // Object field that are used in GoogleCloudStorageItemInfo
   static final String OBJECT_FIELDS =
       String.join(
@@ -306,6 +311,9 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
     checkNotNull(options, "options must not be null").throwIfNotValid();
 
     this.storageOptions = options;
+    if (options.isBatchAdaptiveEnabled()) {
+      this.batchFactory = new BatchHelper.Factory(AdaptiveBatchLimits.INSTANCE);
+    }
 
     Credentials finalCredentials;
     // If credentials is null then use httpRequestInitializer to initialize finalCredentials
@@ -335,9 +343,13 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
         options.isTraceLogEnabled()
             ? new ChainingHttpRequestInitializer(
                 httpStatistics,
+                new UploadChecksumHttpRequestInitializer(),
                 finalHttpRequestInitializer,
                 new EventLoggingHttpRequestInitializer())
-            : new ChainingHttpRequestInitializer(httpStatistics, finalHttpRequestInitializer);
+            : new ChainingHttpRequestInitializer(
+                httpStatistics,
+                new UploadChecksumHttpRequestInitializer(),
+                finalHttpRequestInitializer);
 
     this.downscopedAccessTokenFn = downscopedAccessTokenFn;
 
@@ -447,7 +459,7 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
             options,
             writeConditions) {
           @Override
-          public Storage.Objects.Insert createRequest(InputStreamContent inputStream)
+          public Storage.Objects.Insert createRequest(AbstractInputStreamContent inputStream)
               throws IOException {
             return initializeRequest(super.createRequest(inputStream), resourceId.getBucketName());
           }
@@ -1543,12 +1555,7 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
             : listOptions.getMaxResults();
 
     Storage.Objects.List listObject =
-        createListRequest(
-            bucketName,
-            objectNamePrefix,
-            listOptions.getFields(),
-            listOptions.getDelimiter(),
-            maxResults);
+        createListRequest(bucketName, objectNamePrefix, listOptions, maxResults);
 
     String pageToken = null;
     int page = 0;
@@ -1664,15 +1671,10 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
   }
 
   private Storage.Objects.List createListRequest(
-      String bucketName,
-      String objectNamePrefix,
-      String objectFields,
-      String delimiter,
-      long maxResults)
+      String bucketName, String objectNamePrefix, ListObjectOptions listOptions, long maxResults)
       throws IOException {
     logger.atFiner().log(
-        "createListRequest(%s, %s, %s, %s, %d)",
-        bucketName, objectNamePrefix, objectFields, delimiter, maxResults);
+        "createListRequest(%s, %s, %s, %d)", bucketName, objectNamePrefix, listOptions, maxResults);
     checkArgument(!isNullOrEmpty(bucketName), "bucketName must not be null or empty");
 
     Storage.Objects.List listObject =
@@ -1681,10 +1683,15 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
             bucketName);
 
     // Set delimiter if supplied.
+    String delimiter = listOptions.getDelimiter();
     if (delimiter != null) {
       listObject.setDelimiter(delimiter).setIncludeTrailingDelimiter(true);
     }
 
+    // Restrict listing to the range of object names if supplied.
+    listObject.setStartOffset(listOptions.getStartOffset());
+    listObject.setEndOffset(listOptions.getEndOffset());
+
     // Set number of items to retrieve per call.
     listObject.setMaxResults(
         maxResults <= 0 || maxResults >= storageOptions.getMaxListItemsPerCall()
@@ -1693,6 +1700,7 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
 
     // Request only fields used in GoogleCloudStorageItemInfo:
     // https://cloud.google.com/storage/docs/json_api/v1/objects#resource-representations
+    String objectFields = listOptions.getFields();
     if (!isNullOrEmpty(objectFields)) {
       listObject.setFields(String.format("items(%s),prefixes,nextPageToken", objectFields));
     }
@@ -1744,12 +1752,7 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
         listOptions.getMaxResults());
 
     Storage.Objects.List listObject =
-        createListRequest(
-            bucketName,
-            objectNamePrefix,
-            listOptions.getFields(),
-            listOptions.getDelimiter(),
-            listOptions.getMaxResults());
+        createListRequest(bucketName, objectNamePrefix, listOptions, listOptions.getMaxResults());
     if (pageToken != null) {
       logger.atFiner().log("listObjectInfoPage: next page %s", pageToken);
       listObject.setPageToken(pageToken);
@@ -1918,7 +1921,8 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
     checkArgument(!isNullOrEmpty(object.getBucket()), "object must have a bucket: %s", object);
     checkArgument(!isNullOrEmpty(object.getName()), "object must have a name: %s", object);
     return createItemInfoForStorageObject(
-        new StorageResourceId(object.getBucket(), object.getName()), object);
+        new StorageResourceId(STRING_INTERNER.intern(object.getBucket()), object.getName()),
+        object);
   }
 
   /**
@@ -1943,8 +1947,11 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
         resourceId.getObjectName(),
         object.getName());
 
+    // Metadata values are decoded lazily on access.
     Map<String, byte[]> decodedMetadata =
-        object.getMetadata() == null ? null : decodeMetadata(object.getMetadata());
+        object.getMetadata() == null || object.getMetadata().isEmpty()
+            ? null
+            : decodeMetadata(object.getMetadata());
 
     byte[] md5Hash = null;
     byte[] crc32c = null;
@@ -1962,12 +1969,19 @@ public class GoogleCloudStorageImpl implements GoogleCloudStorage {
         object.getTimeCreated() == null ? 0 : object.getTimeCreated().getValue(),
         object.getUpdated() == null ? 0 : object.getUpdated().getValue(),
         object.getSize() == null ? 0 : object.getSize().longValue(),
-        object.getContentType(),
-        object.getContentEncoding(),
+        internNullable(object.getContentType()),
+        internNullable(object.getContentEncoding()),
         decodedMetadata,
         object.getGeneration() == null ? 0 : object.getGeneration(),
         object.getMetageneration() == null ? 0 : object.getMetageneration(),
-        new VerificationAttributes(md5Hash, crc32c));
+        md5Hash == null && crc32c == null
+            ? VerificationAttributes.NONE
+            : new VerificationAttributes(md5Hash, crc32c));
+  }
+
+  @Nullable
+  private static String internNullable(@Nullable String value) {
+    return value == null ? null : STRING_INTERNER.intern(value);
   }
 
   /**
@@ -43,6 +43,7 @@ public abstract class GoogleCloudStorageOptions {
   public static Builder builder() {
     return new AutoValue_GoogleCloudStorageOptions.Builder()
         .setAutoRepairImplicitDirectoriesEnabled(true)
+        .setBatchAdaptiveEnabled(false)
         .setBatchThreads(15)
         .setCopyWithRewriteEnabled(true)
         .setDirectPathPreferred(true)
@@ -103,6 +104,8 @@ public abstract class GoogleCloudStorageOptions {
 
   public abstract int getBatchThreads();
 
+  public abstract boolean isBatchAdaptiveEnabled();
+
   public abstract int getMaxHttpRequestRetries();
 
   public abstract Duration getHttpRequestConnectTimeout();
@@ -195,6 +198,13 @@ public abstract class GoogleCloudStorageOptions {
 
     public abstract Builder setBatchThreads(int batchThreads);
 
+    /**
+     * Enables adaptive batch size and number of concurrent batches, that are decreased when GCS
+     * throttles batch requests and increased back to {@code maxRequestsPerBatch} and {@code
+     * batchThreads} limits when it does not. Adaptive limits are shared by all clients in the JVM.
+     */
+    public abstract Builder setBatchAdaptiveEnabled(boolean batchAdaptiveEnabled);
+
     public abstract Builder setMaxHttpRequestRetries(int maxHttpRequestRetries);
 
     public abstract Builder setHttpRequestConnectTimeout(Duration httpRequestConnectTimeout);
@@ -17,6 +17,7 @@ package com.google.cloud.hadoop.gcsio;
 
 import static com.google.cloud.hadoop.gcsio.StatisticTypeEnum.TYPE_COUNTER;
 import static com.google.cloud.hadoop.gcsio.StatisticTypeEnum.TYPE_DURATION_TOTAL;
+import static com.google.cloud.hadoop.gcsio.StatisticTypeEnum.TYPE_GAUGE;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -124,6 +125,54 @@ public enum GoogleCloudStorageStatistics {
       "gcs_list_file_request",
       "Tracks GCS GET list file API calls. This is usually called with '/' as delimiter with some prefix and maxResults as 1",
       TYPE_DURATION_TOTAL),
+  GCS_UPLOAD_CHUNK_SIZE(
+      "gcs_upload_chunk_size",
+      "Upload chunk size in bytes last chosen by the adaptive upload chunk sizing",
+      TYPE_GAUGE),
+  GCS_UPLOAD_CHUNK_SIZE_INCREASE_COUNT(
+      "gcs_upload_chunk_size_increase_count",
+      "Counts the number of times the adaptive upload chunk sizing increased the chunk size",
+      TYPE_COUNTER),
+  GCS_UPLOAD_CHUNK_SIZE_DECREASE_COUNT(
+      "gcs_upload_chunk_size_decrease_count",
+      "Counts the number of times the adaptive upload chunk sizing decreased the chunk size",
+      TYPE_COUNTER),
+  GCS_BATCH_REQUESTS_LIMIT(
+      "gcs_batch_requests_limit",
+      "Maximum number of requests per batch last chosen by the adaptive batch limits",
+      TYPE_GAUGE),
+  GCS_BATCH_CONCURRENCY_LIMIT(
+      "gcs_batch_concurrency_limit",
+      "Maximum number of concurrently executed batches last chosen by the adaptive batch limits",
+      TYPE_GAUGE),
+  GCS_BATCH_LIMITS_DECREASE_COUNT(
+      "gcs_batch_limits_decrease_count",
+      "Counts the number of times the adaptive batch limits were decreased because of throttling",
+      TYPE_COUNTER),
+  GCS_RATE_LIMITER_WAIT_TIME(
+      "gcs_rate_limiter_wait_time",
+      "Total time in milliseconds that requests waited for the client-side per-bucket rate limiter",
+      TYPE_COUNTER),
+  GCS_METADATA_CACHE_EVICTION_COUNT(
+      "gcs_metadata_cache_eviction_count",
+      "Counts the number of items evicted from the performance cache because it exceeded its size bounds",
+      TYPE_COUNTER),
+  GCS_METADATA_CACHE_NEGATIVE_HIT_COUNT(
+      "gcs_metadata_cache_negative_hit_count",
+      "Counts the number of lookups of not existing objects and directories served from the performance cache",
+      TYPE_COUNTER),
+  GCS_METADATA_CACHE_LIST_HIT_COUNT(
+      "gcs_metadata_cache_list_hit_count",
+      "Counts the number of object listings served from the performance cache",
+      TYPE_COUNTER),
+  GCS_METADATA_CACHE_REVALIDATION_COUNT(
+      "gcs_metadata_cache_revalidation_count",
+      "Counts the number of stale items served from the performance cache and revalidated in background",
+      TYPE_COUNTER),
+  GCS_METADATA_COALESCED_REQUEST_COUNT(
+      "gcs_metadata_coalesced_request_count",
+      "Counts the number of metadata requests that were not sent because they joined an identical in-flight request",
+      TYPE_COUNTER),
   GS_FILESYSTEM_CREATE(
       "gs_filesystem_create", "Number of FileSystem objects created for 'gs' scheme", TYPE_COUNTER),
   GCS_GET_OTHER_REQUEST(
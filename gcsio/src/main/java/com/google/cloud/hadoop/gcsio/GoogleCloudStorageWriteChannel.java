@@ -18,6 +18,9 @@ package com.google.cloud.hadoop.gcsio;
 
 import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageImpl.encodeMetadata;
 
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.AbstractInputStreamContent;
+import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.InputStreamContent;
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.model.StorageObject;
@@ -28,13 +31,16 @@ import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
 import com.google.cloud.hadoop.util.LoggingMediaHttpUploaderProgressListener;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
 
 /** Implements WritableByteChannel to provide write access to GCS. */
 public class GoogleCloudStorageWriteChannel extends AbstractGoogleAsyncWriteChannel<StorageObject>
-    implements GoogleCloudStorageItemInfo.Provider {
+    implements GoogleCloudStorageItemInfo.Provider, AbortableWriteChannel {
 
   private static final Duration MIN_LOGGING_INTERVAL = Duration.ofMinutes(1);
 
@@ -76,9 +82,14 @@ public class GoogleCloudStorageWriteChannel extends AbstractGoogleAsyncWriteChan
 
   @Override
   public void startUpload(InputStream pipeSource) throws IOException {
+    // Compute checksum on the upload thread while the uploader reads content from the pipe.
+    CRC32C crc32c = channelOptions.isUploadCrc32cEnabled() ? new CRC32C() : null;
+
     // Connect pipe-source to the stream used by uploader.
     InputStreamContent objectContentStream =
-        new InputStreamContent(getContentType(), pipeSource)
+        new InputStreamContent(
+                getContentType(),
+                crc32c == null ? pipeSource : new CheckedInputStream(pipeSource, crc32c))
             // Indicate that we do not know length of file in advance.
             .setLength(-1)
             .setCloseInputStream(false);
@@ -86,15 +97,51 @@ public class GoogleCloudStorageWriteChannel extends AbstractGoogleAsyncWriteChan
     Storage.Objects.Insert request = createRequest(objectContentStream);
     request.setDisableGZipContent(true);
 
-    // Change chunk size from default value (10MB) to one that yields higher performance.
-    clientRequestHelper.setChunkSize(request, channelOptions.getUploadChunkSize());
+    if (channelOptions.isAdaptiveUploadChunkSizeEnabled()) {
+      MediaHttpUploader uploader = request.getMediaHttpUploader();
+      AdaptiveUploadChunkSizeListener listener =
+          new AdaptiveUploadChunkSizeListener(
+              uploader.getProgressListener(),
+              Math.min(channelOptions.getMinUploadChunkSize(), channelOptions.getUploadChunkSize()),
+              channelOptions.getUploadChunkSize());
+      uploader.setProgressListener(listener);
+      clientRequestHelper.setChunkSize(request, listener.getInitialChunkSize());
+    } else {
+      // Change chunk size from default value (10MB) to one that yields higher performance.
+      clientRequestHelper.setChunkSize(request, channelOptions.getUploadChunkSize());
+    }
 
     // Given that the two ends of the pipe must operate asynchronous relative
     // to each other, we need to start the upload operation on a separate thread.
-    uploadOperation = threadPool.submit(new UploadOperation(request, pipeSource));
+    uploadOperation =
+        threadPool.submit(new UploadOperation(request, pipeSource, crc32c, /* content= */ null));
+  }
+
+  @Override
+  protected void startSmallObjectUpload(ByteBuffer content) throws IOException {
+    ByteArrayContent objectContent =
+        new ByteArrayContent(
+            getContentType(),
+            content.array(),
+            content.arrayOffset() + content.position(),
+            content.remaining());
+
+    Storage.Objects.Insert request = createRequest(objectContent);
+    request.setDisableGZipContent(true);
+
+    // Object content and length are known in advance, upload it in a single multipart request
+    // instead of initiating a resumable upload session.
+    clientRequestHelper.setDirectUploadEnabled(request, true);
+
+    uploadOperation =
+        threadPool.submit(
+            channelOptions.isUploadCrc32cEnabled()
+                ? new UploadOperation(request, /* pipeSource= */ null, new CRC32C(), content)
+                : new UploadOperation(
+                    request, /* pipeSource= */ null, /* crc32c= */ null, /* content= */ null));
   }
 
-  Storage.Objects.Insert createRequest(InputStreamContent inputStream) throws IOException {
+  Storage.Objects.Insert createRequest(AbstractInputStreamContent inputStream) throws IOException {
     // Create object with the given name and metadata.
     StorageObject object =
         new StorageObject()
@@ -158,13 +205,27 @@ public class GoogleCloudStorageWriteChannel extends AbstractGoogleAsyncWriteChan
     // Object to be uploaded. This object declared final for safe object publishing.
     private final Storage.Objects.Insert uploadObject;
 
-    // Read end of the pipe. This object declared final for safe object publishing.
+    // Read end of the pipe, null if uploaded content is not streamed through the pipe. This object
+    // declared final for safe object publishing.
     private final InputStream pipeSource;
 
+    // Checksum of the uploaded content, null if checksum computation is disabled.
+    private final CRC32C crc32c;
+
+    // Content of the single request upload that should be added to the checksum before the upload,
+    // null if uploaded content is streamed through the pipe.
+    private final ByteBuffer content;
+
     /** Constructs an instance of UploadOperation. */
-    public UploadOperation(Storage.Objects.Insert uploadObject, InputStream pipeSource) {
+    public UploadOperation(
+        Storage.Objects.Insert uploadObject,
+        InputStream pipeSource,
+        CRC32C crc32c,
+        ByteBuffer content) {
       this.uploadObject = uploadObject;
       this.pipeSource = pipeSource;
+      this.crc32c = crc32c;
+      this.content = content;
     }
 
     @Override
@@ -172,7 +233,17 @@ public class GoogleCloudStorageWriteChannel extends AbstractGoogleAsyncWriteChan
       // Try-with-resource will close this end of the pipe so that
       // the writer at the other end will not hang indefinitely.
       try (InputStream ignore = pipeSource) {
-        return uploadObject.execute();
+        if (crc32c == null) {
+          return uploadObject.execute();
+        }
+        if (content != null) {
+          // Expected checksum of a single request upload is sent in the object metadata.
+          crc32c.update(content.duplicate());
+          ((StorageObject) uploadObject.getJsonContent())
+              .setCrc32c(UploadChecksumHttpRequestInitializer.encodeCrc32c(crc32c));
+        }
+        return verifyCrc32c(
+            UploadChecksumHttpRequestInitializer.runWithChecksum(crc32c, uploadObject::execute));
       } catch (IOException e) {
         GoogleCloudStorageEventBus.postOnException();
         StorageObject response = createResponseFromException(e);
@@ -185,5 +256,24 @@ public class GoogleCloudStorageWriteChannel extends AbstractGoogleAsyncWriteChan
         return response;
       }
     }
+
+    /**
+     * Checks that checksum of the uploaded object returned by GCS matches checksum computed on the
+     * client side, in case it was not already verified by GCS. Response without a checksum is
+     * returned as is, because only GCS could attest the checksum of the stored object.
+     */
+    private StorageObject verifyCrc32c(StorageObject response) throws IOException {
+      if (response.getCrc32c() == null) {
+        return response;
+      }
+      String expectedCrc32c = UploadChecksumHttpRequestInitializer.encodeCrc32c(crc32c);
+      if (!expectedCrc32c.equals(response.getCrc32c())) {
+        throw new IOException(
+            String.format(
+                "CRC32C checksum mismatch for '%s' upload: expected '%s', but was '%s'",
+                resourceId, expectedCrc32c, response.getCrc32c()));
+      }
+      return response;
+    }
   }
 }
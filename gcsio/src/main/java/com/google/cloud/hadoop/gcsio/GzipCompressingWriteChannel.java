@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link WritableByteChannel} that gzip-compresses written data before passing it to the delegate
+ * channel.
+ *
+ * <p>Written data is split into blocks that are compressed on the executor threads into separate
+ * gzip members, up to {@code compressionThreads} blocks are compressed in parallel. Concatenation
+ * of gzip members is a valid gzip stream, so the object written through this channel could be
+ * stored and read back with {@code Content-Encoding: gzip}.
+ *
+ * <p>If a write or the final flush fails, the delegate channel is aborted instead of closed, so the
+ * upload is cancelled without committing a truncated gzip object.
+ */
+class GzipCompressingWriteChannel implements WritableByteChannel {
+
+  private final WritableByteChannel delegate;
+  private final ExecutorService executor;
+  private final int compressionLevel;
+  private final int compressionThreads;
+
+  // Compressed blocks in the order they were written, that were not yet passed to the delegate.
+  private final Queue<Future<byte[]>> compressedBlocks = new ArrayDeque<>();
+
+  private ByteBuffer block;
+  private boolean blockCompressed = false;
+  private boolean open = true;
+  private boolean failed = false;
+
+  /**
+   * Constructs an instance of GzipCompressingWriteChannel.
+   *
+   * @param delegate channel to write compressed data to.
+   * @param executor executor to compress blocks on.
+   * @param compressionLevel gzip compression level, from 0 to 9 or -1 for the default level.
+   * @param blockSize size of the blocks that are compressed independently.
+   * @param compressionThreads number of blocks that could be compressed in parallel.
+   */
+  GzipCompressingWriteChannel(
+      WritableByteChannel delegate,
+      ExecutorService executor,
+      int compressionLevel,
+      int blockSize,
+      int compressionThreads) {
+    checkArgument(blockSize > 0, "blockSize should be positive, but was %s", blockSize);
+    checkArgument(
+        compressionThreads > 0,
+        "compressionThreads should be positive, but was %s",
+        compressionThreads);
+    this.delegate = delegate;
+    this.executor = executor;
+    this.compressionLevel = compressionLevel;
+    this.compressionThreads = compressionThreads;
+    this.block = ByteBuffer.allocate(blockSize);
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+    if (failed) {
+      throw new IOException("Cannot write after a failed write");
+    }
+    int written = src.remaining();
+    try {
+      while (src.hasRemaining()) {
+        if (!block.hasRemaining()) {
+          compressBlock();
+        }
+        int length = Math.min(src.remaining(), block.remaining());
+        ByteBuffer slice = src.slice();
+        slice.limit(length);
+        block.put(slice);
+        src.position(src.position() + length);
+      }
+    } catch (IOException | RuntimeException e) {
+      fail();
+      throw e;
+    }
+    return written;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!open) {
+      return;
+    }
+    open = false;
+    if (failed) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw new IOException("Not committing object after a failed write");
+    }
+    try {
+      // Empty gzip member is written for empty objects, because empty content is not valid gzip.
+      if (block.position() > 0 || !blockCompressed) {
+        compressBlock();
+      }
+      while (!compressedBlocks.isEmpty()) {
+        writeCompressedBlock();
+      }
+    } catch (IOException | RuntimeException e) {
+      fail();
+      throw e;
+    }
+    // Close delegate only after all data was written, because closing it commits the object.
+    delegate.close();
+  }
+
+  /** Marks this channel as failed and aborts the delegate channel, so it is never committed. */
+  private void fail() {
+    failed = true;
+    compressedBlocks.forEach(f -> f.cancel(/* mayInterruptIfRunning= */ true));
+    compressedBlocks.clear();
+    AbortableWriteChannel.abortIfSupported(delegate);
+  }
+
+  private void compressBlock() throws IOException {
+    ByteBuffer data = block;
+    data.flip();
+    block = ByteBuffer.allocate(data.capacity());
+    compressedBlocks.add(executor.submit(() -> compress(data, compressionLevel)));
+    blockCompressed = true;
+    // Limit number of blocks that are compressed in parallel and buffered in memory.
+    while (compressedBlocks.size() > compressionThreads) {
+      writeCompressedBlock();
+    }
+  }
+
+  private void writeCompressedBlock() throws IOException {
+    ByteBuffer compressed;
+    try {
+      compressed = ByteBuffer.wrap(compressedBlocks.remove().get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException("Interrupted while compressing").initCause(e);
+    } catch (ExecutionException e) {
+      GoogleCloudStorageEventBus.postOnException();
+      throw new IOException("Failed to compress data", e.getCause());
+    }
+    while (compressed.hasRemaining()) {
+      delegate.write(compressed);
+    }
+  }
+
+  private static byte[] compress(ByteBuffer data, int compressionLevel) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.remaining() / 2 + 64);
+    try (GZIPOutputStream gzip =
+        new GZIPOutputStream(compressed) {
+          {
+            def.setLevel(compressionLevel);
+          }
+        }) {
+      gzip.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+    }
+    return compressed.toByteArray();
+  }
+}
@@ -63,6 +63,14 @@ public abstract class ListObjectOptions {
   @Nullable
   public abstract String getFields();
 
+  /** Lexicographic lower bound (inclusive) of listed object names, unbounded if {@code null}. */
+  @Nullable
+  public abstract String getStartOffset();
+
+  /** Lexicographic upper bound (exclusive) of listed object names, unbounded if {@code null}. */
+  @Nullable
+  public abstract String getEndOffset();
+
   /** Builder for {@link ListObjectOptions} */
   @AutoValue.Builder
   public abstract static class Builder {
@@ -74,6 +82,10 @@ public abstract class ListObjectOptions {
 
     public abstract Builder setFields(String fields);
 
+    public abstract Builder setStartOffset(String startOffset);
+
+    public abstract Builder setEndOffset(String endOffset);
+
     public abstract ListObjectOptions build();
   }
 }
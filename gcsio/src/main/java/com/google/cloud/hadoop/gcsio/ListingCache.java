@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+import com.google.cloud.hadoop.gcsio.GoogleCloudStorage.ListPage;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Short-lived cache of object listing results, keyed by bucket, prefix, list options (including
+ * delimiter) and page token.
+ *
+ * <p>Listings are indexed by bucket and prefix, so creation or deletion of an object invalidates
+ * only listings with prefixes of its name. To not cache a stale result of a listing that raced with
+ * an invalidation, listing results are cached only if nothing was invalidated since the listing
+ * started, see {@link #getGeneration()}.
+ *
+ * <p>Listings with more items than the configured maximum are not cached, so a few huge listings
+ * could not fill the memory.
+ */
+class ListingCache {
+
+  /** Cached listings indexed by bucket and then by prefix. */
+  private final Map<String, ConcurrentNavigableMap<String, Map<ListingKey, CacheValue>>> listings =
+      new ConcurrentHashMap<>();
+
+  /** Incremented on each invalidation. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /** The time in nanoseconds when the next sweep of expired entries should happen. */
+  private final AtomicLong nextSweepNanos;
+
+  private final long maxEntryAgeNanos;
+
+  private final long maxItems;
+
+  private final Ticker ticker;
+
+  /**
+   * @param maxEntryAge max age of cached listings, zero if listings are not cached.
+   * @param maxItems max number of items in a cached listing or page, 0 if unbounded.
+   */
+  ListingCache(Duration maxEntryAge, long maxItems) {
+    this(Ticker.systemTicker(), maxEntryAge, maxItems);
+  }
+
+  @VisibleForTesting
+  ListingCache(Ticker ticker, Duration maxEntryAge, long maxItems) {
+    this.ticker = ticker;
+    this.maxEntryAgeNanos = maxEntryAge.toNanos();
+    this.maxItems = maxItems;
+    this.nextSweepNanos = new AtomicLong(ticker.read() + maxEntryAgeNanos);
+  }
+
+  /** Returns whether listings are cached, i.e. whether max entry age is positive. */
+  boolean isEnabled() {
+    return maxEntryAgeNanos > 0;
+  }
+
+  /**
+   * Returns the current invalidation generation, it should be read before the listing and passed to
+   * the {@code put*} method after the listing.
+   */
+  long getGeneration() {
+    return generation.get();
+  }
+
+  /** Returns the cached result of a full (all pages) listing, null if it's not cached. */
+  @Nullable
+  List<GoogleCloudStorageItemInfo> getList(
+      String bucketName, @Nullable String prefix, ListObjectOptions listOptions) {
+    ListPage<GoogleCloudStorageItemInfo> page =
+        get(bucketName, prefix, new ListingKey(listOptions, /* paged= */ false, null));
+    return page == null ? null : page.getItems();
+  }
+
+  /**
+   * Caches the result of a full listing, if nothing was invalidated since the listing started and
+   * it does not have more than max items.
+   */
+  void putList(
+      String bucketName,
+      @Nullable String prefix,
+      ListObjectOptions listOptions,
+      List<GoogleCloudStorageItemInfo> items,
+      long listGeneration) {
+    if (isTooLarge(items)) {
+      return;
+    }
+    put(
+        bucketName,
+        prefix,
+        new ListingKey(listOptions, /* paged= */ false, null),
+        new ListPage<>(ImmutableList.copyOf(items), /* nextPageToken= */ null),
+        listGeneration);
+  }
+
+  /** Returns the cached listing page, null if it's not cached. */
+  @Nullable
+  ListPage<GoogleCloudStorageItemInfo> getPage(
+      String bucketName,
+      @Nullable String prefix,
+      ListObjectOptions listOptions,
+      @Nullable String pageToken) {
+    return get(bucketName, prefix, new ListingKey(listOptions, /* paged= */ true, pageToken));
+  }
+
+  /**
+   * Caches the listing page, if nothing was invalidated since the listing started and it does not
+   * have more than max items.
+   */
+  void putPage(
+      String bucketName,
+      @Nullable String prefix,
+      ListObjectOptions listOptions,
+      @Nullable String pageToken,
+      ListPage<GoogleCloudStorageItemInfo> page,
+      long listGeneration) {
+    if (isTooLarge(page.getItems())) {
+      return;
+    }
+    put(
+        bucketName,
+        prefix,
+        new ListingKey(listOptions, /* paged= */ true, pageToken),
+        new ListPage<>(ImmutableList.copyOf(page.getItems()), page.getNextPageToken()),
+        listGeneration);
+  }
+
+  /**
+   * Invalidates listings affected by creation, update or deletion of the object: listings of all
+   * prefixes of the object name.
+   */
+  void invalidate(StorageResourceId resourceId) {
+    if (!isEnabled()) {
+      return;
+    }
+    generation.incrementAndGet();
+    NavigableMap<String, ?> prefixes = listings.get(resourceId.getBucketName());
+    if (prefixes == null) {
+      return;
+    }
+    String name = nullToEmpty(resourceId.getObjectName());
+    while (true) {
+      // The greatest cached prefix that is not greater than the name is either a prefix of the name
+      // or shares with it a common prefix that all other shorter prefixes of the name start with.
+      String prefix = prefixes.floorKey(name);
+      if (prefix == null) {
+        return;
+      }
+      if (name.startsWith(prefix)) {
+        prefixes.remove(prefix);
+        if (prefix.isEmpty()) {
+          return;
+        }
+        name = prefix.substring(0, prefix.length() - 1);
+      } else {
+        name = name.substring(0, commonPrefixLength(name, prefix));
+      }
+    }
+  }
+
+  /** Invalidates all listings in the bucket. */
+  void invalidateBucket(String bucketName) {
+    if (!isEnabled()) {
+      return;
+    }
+    generation.incrementAndGet();
+    listings.remove(bucketName);
+  }
+
+  /** Invalidates all listings. */
+  void invalidateAll() {
+    generation.incrementAndGet();
+    listings.clear();
+  }
+
+  @VisibleForTesting
+  int size() {
+    return listings.values().stream()
+        .flatMap(prefixes -> prefixes.values().stream())
+        .mapToInt(Map::size)
+        .sum();
+  }
+
+  @Nullable
+  private ListPage<GoogleCloudStorageItemInfo> get(
+      String bucketName, @Nullable String prefix, ListingKey key) {
+    if (!isEnabled()) {
+      return null;
+    }
+    NavigableMap<String, Map<ListingKey, CacheValue>> prefixes = listings.get(bucketName);
+    Map<ListingKey, CacheValue> prefixListings =
+        prefixes == null ? null : prefixes.get(nullToEmpty(prefix));
+    CacheValue value = prefixListings == null ? null : prefixListings.get(key);
+    if (value == null) {
+      return null;
+    }
+    if (ticker.read() - value.expirationNanos > 0) {
+      prefixListings.remove(key, value);
+      return null;
+    }
+    return value.page;
+  }
+
+  private void put(
+      String bucketName,
+      @Nullable String prefix,
+      ListingKey key,
+      ListPage<GoogleCloudStorageItemInfo> page,
+      long listGeneration) {
+    if (!isEnabled()) {
+      return;
+    }
+    long now = ticker.read();
+    sweepIfNeeded(now);
+    Map<ListingKey, CacheValue> prefixListings =
+        listings
+            .computeIfAbsent(bucketName, b -> new ConcurrentSkipListMap<>())
+            .computeIfAbsent(nullToEmpty(prefix), p -> new ConcurrentHashMap<>());
+    CacheValue value = new CacheValue(page, now + maxEntryAgeNanos);
+    prefixListings.put(key, value);
+    // Drop the listing if objects were created or deleted concurrently with it.
+    if (generation.get() != listGeneration) {
+      prefixListings.remove(key, value);
+    }
+  }
+
+  /**
+   * Removes expired listings that were not requested after they expired, at most once per max entry
+   * age, so the cache size is bounded by the number of listings in this period.
+   */
+  private void sweepIfNeeded(long now) {
+    long sweepNanos = nextSweepNanos.get();
+    if (now - sweepNanos < 0 || !nextSweepNanos.compareAndSet(sweepNanos, now + maxEntryAgeNanos)) {
+      return;
+    }
+    for (ConcurrentMap<String, Map<ListingKey, CacheValue>> prefixes : listings.values()) {
+      prefixes.forEach(
+          (prefix, prefixListings) -> {
+            prefixListings.values().removeIf(v -> now - v.expirationNanos > 0);
+            if (prefixListings.isEmpty()) {
+              prefixes.remove(prefix, prefixListings);
+            }
+          });
+    }
+  }
+
+  private boolean isTooLarge(List<GoogleCloudStorageItemInfo> items) {
+    return maxItems > 0 && items.size() > maxItems;
+  }
+
+  private static int commonPrefixLength(String a, String b) {
+    int length = Math.min(a.length(), b.length());
+    for (int i = 0; i < length; i++) {
+      if (a.charAt(i) != b.charAt(i)) {
+        return i;
+      }
+    }
+    return length;
+  }
+
+  /** Key of a listing of a prefix. */
+  private static class ListingKey {
+
+    private final ListObjectOptions listOptions;
+    private final boolean paged;
+    @Nullable private final String pageToken;
+
+    ListingKey(ListObjectOptions listOptions, boolean paged, @Nullable String pageToken) {
+      this.listOptions = listOptions;
+      this.paged = paged;
+      this.pageToken = pageToken;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ListingKey)) {
+        return false;
+      }
+      ListingKey other = (ListingKey) obj;
+      return paged == other.paged
+          && listOptions.equals(other.listOptions)
+          && Objects.equals(pageToken, other.pageToken);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(listOptions, paged, pageToken);
+    }
+  }
+
+  /** Cached listing result with its expiration time in nanoseconds. */
+  private static class CacheValue {
+
+    private final ListPage<GoogleCloudStorageItemInfo> page;
+    private final long expirationNanos;
+
+    CacheValue(ListPage<GoogleCloudStorageItemInfo> page, long expirationNanos) {
+      this.page = page;
+      this.expirationNanos = expirationNanos;
+    }
+  }
+}
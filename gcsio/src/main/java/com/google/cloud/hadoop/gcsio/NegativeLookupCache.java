@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of lookups that did not find anything: objects that do not exist and directory
+ * prefixes that do not have any objects under them.
+ *
+ * <p>To not cache a stale result of a lookup that raced with an object creation, lookup results are
+ * cached only if no entries were invalidated since the lookup started, see {@link
+ * #getGeneration()}.
+ */
+class NegativeLookupCache {
+
+  /** Expiration times in nanoseconds of objects that do not exist. */
+  private final Map<StorageResourceId, Long> notFoundItems = new ConcurrentHashMap<>();
+
+  /** Expiration times in nanoseconds of directory prefixes without objects. */
+  private final Map<StorageResourceId, Long> emptyPrefixes = new ConcurrentHashMap<>();
+
+  /** Incremented on each invalidation. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /** The time in nanoseconds when the next sweep of expired entries should happen. */
+  private final AtomicLong nextSweepNanos;
+
+  private final long maxEntryAgeNanos;
+
+  private final Ticker ticker;
+
+  NegativeLookupCache(Duration maxEntryAge) {
+    this(Ticker.systemTicker(), maxEntryAge);
+  }
+
+  @VisibleForTesting
+  NegativeLookupCache(Ticker ticker, Duration maxEntryAge) {
+    this.ticker = ticker;
+    this.maxEntryAgeNanos = maxEntryAge.toNanos();
+    this.nextSweepNanos = new AtomicLong(ticker.read() + maxEntryAgeNanos);
+  }
+
+  /** Returns whether negative lookups are cached, i.e. whether max entry age is positive. */
+  boolean isEnabled() {
+    return maxEntryAgeNanos > 0;
+  }
+
+  /**
+   * Returns the current invalidation generation, it should be read before the lookup and passed to
+   * the {@code put*} method after the lookup.
+   */
+  long getGeneration() {
+    return generation.get();
+  }
+
+  /** Returns whether the object is cached as not found. */
+  boolean isNotFound(StorageResourceId resourceId) {
+    return isEnabled() && contains(notFoundItems, resourceId);
+  }
+
+  /** Returns whether the directory prefix is cached as one without objects. */
+  boolean isEmptyPrefix(String bucketName, String prefix) {
+    return isEnabled()
+        && isDirectoryPrefix(prefix)
+        && contains(emptyPrefixes, new StorageResourceId(bucketName, prefix));
+  }
+
+  /** Caches the object as not found, if nothing was invalidated since {@code lookupGeneration}. */
+  void putNotFound(StorageResourceId resourceId, long lookupGeneration) {
+    if (isEnabled() && !resourceId.isRoot() && !resourceId.isBucket()) {
+      put(notFoundItems, resourceId, lookupGeneration);
+    }
+  }
+
+  /**
+   * Caches the directory prefix as one without objects, if nothing was invalidated since {@code
+   * lookupGeneration}.
+   */
+  void putEmptyPrefix(String bucketName, String prefix, long lookupGeneration) {
+    if (isEnabled() && isDirectoryPrefix(prefix)) {
+      put(emptyPrefixes, new StorageResourceId(bucketName, prefix), lookupGeneration);
+    }
+  }
+
+  /**
+   * Invalidates entries affected by creation of the object: the object itself and all its parent
+   * directory prefixes.
+   */
+  void invalidate(StorageResourceId resourceId) {
+    if (!isEnabled()) {
+      return;
+    }
+    generation.incrementAndGet();
+    notFoundItems.remove(resourceId);
+    String bucketName = resourceId.getBucketName();
+    String objectName = resourceId.getObjectName();
+    for (int i = objectName.indexOf('/'); i >= 0; i = objectName.indexOf('/', i + 1)) {
+      emptyPrefixes.remove(new StorageResourceId(bucketName, objectName.substring(0, i + 1)));
+    }
+  }
+
+  /** Invalidates all entries in the bucket. */
+  void invalidateBucket(String bucketName) {
+    if (!isEnabled()) {
+      return;
+    }
+    generation.incrementAndGet();
+    notFoundItems.keySet().removeIf(id -> id.getBucketName().equals(bucketName));
+    emptyPrefixes.keySet().removeIf(id -> id.getBucketName().equals(bucketName));
+  }
+
+  /** Invalidates all entries. */
+  void invalidateAll() {
+    generation.incrementAndGet();
+    notFoundItems.clear();
+    emptyPrefixes.clear();
+  }
+
+  @VisibleForTesting
+  int size() {
+    return notFoundItems.size() + emptyPrefixes.size();
+  }
+
+  private boolean contains(Map<StorageResourceId, Long> entries, StorageResourceId key) {
+    Long expirationNanos = entries.get(key);
+    if (expirationNanos == null) {
+      return false;
+    }
+    if (ticker.read() - expirationNanos > 0) {
+      entries.remove(key, expirationNanos);
+      return false;
+    }
+    return true;
+  }
+
+  private void put(
+      Map<StorageResourceId, Long> entries, StorageResourceId key, long lookupGeneration) {
+    long now = ticker.read();
+    sweepIfNeeded(now);
+    entries.put(key, now + maxEntryAgeNanos);
+    // Drop the entry if the object was created concurrently with the lookup.
+    if (generation.get() != lookupGeneration) {
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * Removes expired entries that were not looked up after they expired, at most once per max entry
+   * age, so the cache size is bounded by the number of lookups in this period.
+   */
+  private void sweepIfNeeded(long now) {
+    long sweepNanos = nextSweepNanos.get();
+    if (now - sweepNanos >= 0 && nextSweepNanos.compareAndSet(sweepNanos, now + maxEntryAgeNanos)) {
+      notFoundItems.values().removeIf(expirationNanos -> now - expirationNanos > 0);
+      emptyPrefixes.values().removeIf(expirationNanos -> now - expirationNanos > 0);
+    }
+  }
+
+  private static boolean isDirectoryPrefix(String prefix) {
+    return prefix != null && !prefix.isEmpty() && prefix.endsWith("/");
+  }
+}
@@ -16,13 +16,28 @@
 
 package com.google.cloud.hadoop.gcsio;
 
+import com.google.auth.Credentials;
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.GoogleLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * This class adds a caching layer around a GoogleCloudStorage instance, caching calls that create,
@@ -31,12 +46,46 @@ import java.util.List;
  * GoogleCloudStorage#getItemInfo(StorageResourceId)}. This provides faster access to recently
  * queried data in the scope of this instance. Because the data is cached, modifications made
  * outside of this instance may not be immediately reflected.
+ *
+ * <p>Optionally, lookups of objects and directories that do not exist and object listings are
+ * cached too, until objects that affect them are created, updated, deleted, copied or moved through
+ * this instance.
+ *
+ * <p>Item info could be cached in the JVM-wide {@link SharedMetadataCache} shared by all instances
+ * with the same credentials instead of the cache of this instance, so modifications made through
+ * any of these instances are reflected in all of them.
+ *
+ * <p>Optionally, expired item info is served for a stale period while it's revalidated in
+ * background: the item info is fetched again and replaces the cached one only if its generation or
+ * metageneration changed.
  */
 public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudStorage {
 
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  /** Number of threads that revalidate stale items in background. */
+  private static final int REVALIDATION_THREADS = 4;
+
+  /**
+   * Maximum number of stale items waiting for revalidation, other stale items are not revalidated.
+   */
+  private static final int REVALIDATION_QUEUE_SIZE = 1_000;
+
   /** Cache to hold item info and manage invalidation. */
   private final PrefixMappedItemCache cache;
 
+  /** Cache of lookups for objects and directories that do not exist. */
+  private final NegativeLookupCache negativeCache;
+
+  /** Cache of object listings. */
+  private final ListingCache listingCache;
+
+  /** Whether item info cache is shared with other instances. */
+  private final boolean sharedCache;
+
+  /** Executor that revalidates stale items, null if stale items are not served. */
+  @Nullable private final ExecutorService revalidationExecutor;
+
   /**
    * Creates a wrapper around a GoogleCloudStorage instance, caching calls that create, update,
    * remove, and query for GoogleCloudStorageItemInfo. Those cached copies are returned when
@@ -50,18 +99,109 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
    */
   public PerformanceCachingGoogleCloudStorage(
       GoogleCloudStorage delegate, PerformanceCachingGoogleCloudStorageOptions options) {
-    this(delegate, createCache(options));
+    this(
+        delegate,
+        createCache(options),
+        new NegativeLookupCache(options.getNegativeMaxEntryAge()),
+        new ListingCache(options.getListMaxEntryAge(), options.getListMaxItems()),
+        /* sharedCache= */ false,
+        createRevalidationExecutor(options));
+  }
+
+  /**
+   * Creates a caching wrapper that caches item info in the JVM-wide shared cache if it's enabled in
+   * the options and credentials allow it, see {@link SharedMetadataCache}.
+   *
+   * @param delegate the {@link GoogleCloudStorage} instance to wrap and delegate calls to.
+   * @param options the options to configure this cache with.
+   * @param credentials the credentials used by the delegate, null if it does not use credentials.
+   */
+  static PerformanceCachingGoogleCloudStorage create(
+      GoogleCloudStorage delegate,
+      PerformanceCachingGoogleCloudStorageOptions options,
+      @Nullable Credentials credentials) {
+    if (!options.isSharedCacheEnabled() || !SharedMetadataCache.isShareable(credentials)) {
+      return new PerformanceCachingGoogleCloudStorage(delegate, options);
+    }
+    return new PerformanceCachingGoogleCloudStorage(
+        delegate,
+        SharedMetadataCache.getPartition(credentials, options),
+        new NegativeLookupCache(options.getNegativeMaxEntryAge()),
+        new ListingCache(options.getListMaxEntryAge(), options.getListMaxItems()),
+        /* sharedCache= */ true,
+        createRevalidationExecutor(options));
   }
 
   @VisibleForTesting
   PerformanceCachingGoogleCloudStorage(GoogleCloudStorage delegate, PrefixMappedItemCache cache) {
+    this(delegate, cache, new NegativeLookupCache(Duration.ZERO));
+  }
+
+  @VisibleForTesting
+  PerformanceCachingGoogleCloudStorage(
+      GoogleCloudStorage delegate, PrefixMappedItemCache cache, NegativeLookupCache negativeCache) {
+    this(delegate, cache, negativeCache, new ListingCache(Duration.ZERO, /* maxItems= */ 0));
+  }
+
+  @VisibleForTesting
+  PerformanceCachingGoogleCloudStorage(
+      GoogleCloudStorage delegate,
+      PrefixMappedItemCache cache,
+      NegativeLookupCache negativeCache,
+      ListingCache listingCache) {
+    this(
+        delegate,
+        cache,
+        negativeCache,
+        listingCache,
+        /* sharedCache= */ false,
+        /* revalidationExecutor= */ null);
+  }
+
+  @VisibleForTesting
+  PerformanceCachingGoogleCloudStorage(
+      GoogleCloudStorage delegate,
+      PrefixMappedItemCache cache,
+      NegativeLookupCache negativeCache,
+      ListingCache listingCache,
+      boolean sharedCache,
+      @Nullable ExecutorService revalidationExecutor) {
     super(delegate);
     this.cache = cache;
+    this.negativeCache = negativeCache;
+    this.listingCache = listingCache;
+    this.sharedCache = sharedCache;
+    this.revalidationExecutor = revalidationExecutor;
   }
 
   private static PrefixMappedItemCache createCache(
       PerformanceCachingGoogleCloudStorageOptions options) {
-    return new PrefixMappedItemCache(options.getMaxEntryAge());
+    return new PrefixMappedItemCache(
+        options.getMaxEntryAge(),
+        options.getStaleWhileRevalidate(),
+        options.getMaxEntries(),
+        options.getMaxSizeBytes());
+  }
+
+  @Nullable
+  private static ExecutorService createRevalidationExecutor(
+      PerformanceCachingGoogleCloudStorageOptions options) {
+    if (options.getStaleWhileRevalidate().isZero()) {
+      return null;
+    }
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            REVALIDATION_THREADS,
+            REVALIDATION_THREADS,
+            /* keepAliveTime= */ 30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(REVALIDATION_QUEUE_SIZE),
+            new ThreadFactoryBuilder()
+                .setNameFormat("gcs-cache-revalidation-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   @Override
@@ -73,7 +213,95 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
       cache.removeItem(resourceId);
     }
 
-    return super.create(resourceId, options);
+    WritableByteChannel channel = super.create(resourceId, options);
+    return channel instanceof GoogleCloudStorageItemInfo.Provider
+        ? new CachingWriteChannel(resourceId, channel)
+        : new InvalidatingWriteChannel(resourceId, channel);
+  }
+
+  @Override
+  public void createBucket(String bucketName, CreateBucketOptions options) throws IOException {
+    super.createBucket(bucketName, options);
+    invalidateBucket(bucketName);
+  }
+
+  @Override
+  public void createEmptyObject(StorageResourceId resourceId) throws IOException {
+    super.createEmptyObject(resourceId);
+    invalidateCreated(resourceId);
+  }
+
+  @Override
+  public void createEmptyObject(StorageResourceId resourceId, CreateObjectOptions options)
+      throws IOException {
+    super.createEmptyObject(resourceId, options);
+    invalidateCreated(resourceId);
+  }
+
+  @Override
+  public void createEmptyObjects(List<StorageResourceId> resourceIds) throws IOException {
+    super.createEmptyObjects(resourceIds);
+    resourceIds.forEach(this::invalidateCreated);
+  }
+
+  @Override
+  public void createEmptyObjects(List<StorageResourceId> resourceIds, CreateObjectOptions options)
+      throws IOException {
+    super.createEmptyObjects(resourceIds, options);
+    resourceIds.forEach(this::invalidateCreated);
+  }
+
+  @Override
+  public void copy(
+      String srcBucketName,
+      List<String> srcObjectNames,
+      String dstBucketName,
+      List<String> dstObjectNames)
+      throws IOException {
+    try {
+      super.copy(srcBucketName, srcObjectNames, dstBucketName, dstObjectNames);
+    } finally {
+      // Some objects could be copied even if copy failed.
+      for (String dstObjectName : dstObjectNames) {
+        invalidateCreated(new StorageResourceId(dstBucketName, dstObjectName));
+      }
+    }
+  }
+
+  @Override
+  public void copy(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+      throws IOException {
+    try {
+      super.copy(sourceToDestinationObjectsMap);
+    } finally {
+      // Some objects could be copied even if copy failed.
+      sourceToDestinationObjectsMap.values().forEach(this::invalidateCreated);
+    }
+  }
+
+  @Override
+  public void move(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+      throws IOException {
+    try {
+      super.move(sourceToDestinationObjectsMap);
+    } finally {
+      // Some objects could be moved even if move failed.
+      for (StorageResourceId srcId : sourceToDestinationObjectsMap.keySet()) {
+        cache.removeItem(srcId);
+        listingCache.invalidate(srcId);
+      }
+      sourceToDestinationObjectsMap.values().forEach(this::invalidateCreated);
+    }
+  }
+
+  @Override
+  public void renameHnFolder(URI src, URI dst) throws IOException {
+    try {
+      super.renameHnFolder(src, dst);
+    } finally {
+      // Objects are created under the whole destination folder, invalidate the whole bucket.
+      invalidateBucket(StorageResourceId.fromUriPath(dst, true).getBucketName());
+    }
   }
 
   @Override
@@ -83,6 +311,7 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
     // Remove objects that reside in deleted buckets.
     for (String bucket : bucketNames) {
       cache.invalidateBucket(bucket);
+      listingCache.invalidateBucket(bucket);
     }
   }
 
@@ -93,6 +322,18 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
     // Remove the deleted objects from cache.
     for (StorageResourceId resourceId : resourceIds) {
       cache.removeItem(resourceId);
+      listingCache.invalidate(resourceId);
+    }
+  }
+
+  @Override
+  public void deleteFolders(List<FolderInfo> folders) throws IOException {
+    try {
+      super.deleteFolders(folders);
+    } finally {
+      for (FolderInfo folder : folders) {
+        listingCache.invalidateBucket(folder.getBucket());
+      }
     }
   }
 
@@ -121,11 +362,29 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
         return ImmutableList.of(item);
       }
     }
+    // Empty result of the listing that includes prefix means that there are no objects under it.
+    if (listOptions.isIncludePrefix()
+        && negativeCache.isEmptyPrefix(bucketName, objectNamePrefix)) {
+      incrementNegativeHitCount();
+      return ImmutableList.of();
+    }
+    List<GoogleCloudStorageItemInfo> cachedResult =
+        listingCache.getList(bucketName, objectNamePrefix, listOptions);
+    if (cachedResult != null) {
+      incrementListingHitCount();
+      return cachedResult;
+    }
+    long negativeCacheGeneration = negativeCache.getGeneration();
+    long listingCacheGeneration = listingCache.getGeneration();
     List<GoogleCloudStorageItemInfo> result =
         super.listObjectInfo(bucketName, objectNamePrefix, listOptions);
     for (GoogleCloudStorageItemInfo item : result) {
       cache.putItem(item);
     }
+    if (result.isEmpty() && listOptions.isIncludePrefix()) {
+      negativeCache.putEmptyPrefix(bucketName, objectNamePrefix, negativeCacheGeneration);
+    }
+    listingCache.putList(bucketName, objectNamePrefix, listOptions, result, listingCacheGeneration);
 
     return result;
   }
@@ -135,11 +394,20 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
       String bucketName, String objectNamePrefix, ListObjectOptions listOptions, String pageToken)
       throws IOException {
     listOptions = getListObjectOptionsWithAllFields(listOptions);
+    ListPage<GoogleCloudStorageItemInfo> cachedResult =
+        listingCache.getPage(bucketName, objectNamePrefix, listOptions, pageToken);
+    if (cachedResult != null) {
+      incrementListingHitCount();
+      return cachedResult;
+    }
+    long listingCacheGeneration = listingCache.getGeneration();
     ListPage<GoogleCloudStorageItemInfo> result =
         super.listObjectInfoPage(bucketName, objectNamePrefix, listOptions, pageToken);
     for (GoogleCloudStorageItemInfo item : result.getItems()) {
       cache.putItem(item);
     }
+    listingCache.putPage(
+        bucketName, objectNamePrefix, listOptions, pageToken, result, listingCacheGeneration);
     return result;
   }
 
@@ -147,7 +415,7 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
   @Override
   public GoogleCloudStorageItemInfo getItemInfo(StorageResourceId resourceId) throws IOException {
     // Get the item from cache.
-    GoogleCloudStorageItemInfo item = cache.getItem(resourceId);
+    GoogleCloudStorageItemInfo item = getCachedItem(resourceId);
     if (item != null) {
       return item;
     }
@@ -164,10 +432,20 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
       return GoogleCloudStorageItemInfo.createNotFound(resourceId);
     }
 
+    if (negativeCache.isNotFound(resourceId)) {
+      incrementNegativeHitCount();
+      return GoogleCloudStorageItemInfo.createNotFound(resourceId);
+    }
+
     // If it wasn't in the cache and wasn't cached in directory list request
     // then request and cache it directly.
+    long negativeCacheGeneration = negativeCache.getGeneration();
     item = super.getItemInfo(resourceId);
-    cache.putItem(item);
+    if (item.exists()) {
+      cache.putItem(item);
+    } else {
+      negativeCache.putNotFound(resourceId, negativeCacheGeneration);
+    }
     return item;
   }
 
@@ -182,7 +460,11 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
     // that
     // still need to be resolved. Null items are added to the result list to preserve ordering.
     for (StorageResourceId resourceId : resourceIds) {
-      GoogleCloudStorageItemInfo item = cache.getItem(resourceId);
+      GoogleCloudStorageItemInfo item = getCachedItem(resourceId);
+      if (item == null && negativeCache.isNotFound(resourceId)) {
+        incrementNegativeHitCount();
+        item = GoogleCloudStorageItemInfo.createNotFound(resourceId);
+      }
       if (item == null) {
         request.add(resourceId);
       }
@@ -194,6 +476,7 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
     // Null entries in the result list are replaced by the fresh entries from the underlying
     // GoogleCloudStorage.
     if (!request.isEmpty()) {
+      long negativeCacheGeneration = negativeCache.getGeneration();
       List<GoogleCloudStorageItemInfo> response = super.getItemInfos(request);
       Iterator<GoogleCloudStorageItemInfo> responseIterator = response.iterator();
 
@@ -203,7 +486,11 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
       for (int i = 0; i < result.size() && responseIterator.hasNext(); i++) {
         if (result.get(i) == null) {
           GoogleCloudStorageItemInfo item = responseIterator.next();
-          cache.putItem(item);
+          if (item.exists()) {
+            cache.putItem(item);
+          } else {
+            negativeCache.putNotFound(item.getResourceId(), negativeCacheGeneration);
+          }
           result.set(i, item);
         }
       }
@@ -221,6 +508,7 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
     // StorageResourceIds of the items do not change in an update.
     for (GoogleCloudStorageItemInfo item : result) {
       cache.putItem(item);
+      listingCache.invalidate(item.getResourceId());
     }
 
     return result;
@@ -234,21 +522,160 @@ public class PerformanceCachingGoogleCloudStorage extends ForwardingGoogleCloudS
 
     // Cache the composed object.
     cache.putItem(item);
+    invalidateCreated(destination);
 
     return item;
   }
 
+  @Override
+  public void compose(
+      String bucketName, List<String> sources, String destination, String contentType)
+      throws IOException {
+    super.compose(bucketName, sources, destination, contentType);
+    invalidateCreated(new StorageResourceId(bucketName, destination));
+  }
+
   @Override
   public void close() {
     super.close();
 
-    // Respect close and empty the cache.
-    cache.invalidateAll();
+    if (revalidationExecutor != null) {
+      revalidationExecutor.shutdownNow();
+    }
+
+    // Respect close and empty the cache, unless it's still used by other instances.
+    if (!sharedCache) {
+      cache.invalidateAll();
+    }
+    negativeCache.invalidateAll();
+    listingCache.invalidateAll();
   }
 
   @VisibleForTesting
   public void invalidateCache() {
     cache.invalidateAll();
+    negativeCache.invalidateAll();
+    listingCache.invalidateAll();
+  }
+
+  /**
+   * Returns the cached item, or the stale one if stale items are served. Stale items are
+   * revalidated in background.
+   */
+  @Nullable
+  private GoogleCloudStorageItemInfo getCachedItem(StorageResourceId resourceId) {
+    return revalidationExecutor == null
+        ? cache.getItem(resourceId)
+        : cache.getItemAllowStale(resourceId, this::revalidate);
+  }
+
+  private void revalidate(GoogleCloudStorageItemInfo staleItem) {
+    GoogleCloudStorageEventBus.postStatisticUpdate(
+        GcsStatisticUpdateEvent.increment(
+            GoogleCloudStorageStatistics.GCS_METADATA_CACHE_REVALIDATION_COUNT.getSymbol(), 1));
+    try {
+      revalidationExecutor.execute(
+          () -> {
+            try {
+              cache.revalidateItem(staleItem, super.getItemInfo(staleItem.getResourceId()));
+            } catch (IOException | RuntimeException e) {
+              logger.atFine().withCause(e).log(
+                  "Failed to revalidate cached item %s", staleItem.getResourceId());
+              cache.revalidationFailed(staleItem);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      cache.revalidationFailed(staleItem);
+    }
+  }
+
+  /** Invalidates cached lookups and listings that are affected by the object creation. */
+  private void invalidateCreated(StorageResourceId resourceId) {
+    negativeCache.invalidate(resourceId);
+    listingCache.invalidate(resourceId);
+  }
+
+  /** Invalidates cached lookups and listings in the bucket. */
+  private void invalidateBucket(String bucketName) {
+    negativeCache.invalidateBucket(bucketName);
+    listingCache.invalidateBucket(bucketName);
+  }
+
+  private static void incrementListingHitCount() {
+    GoogleCloudStorageEventBus.postStatisticUpdate(
+        GcsStatisticUpdateEvent.increment(
+            GoogleCloudStorageStatistics.GCS_METADATA_CACHE_LIST_HIT_COUNT.getSymbol(), 1));
+  }
+
+  private static void incrementNegativeHitCount() {
+    GoogleCloudStorageEventBus.postStatisticUpdate(
+        GcsStatisticUpdateEvent.increment(
+            GoogleCloudStorageStatistics.GCS_METADATA_CACHE_NEGATIVE_HIT_COUNT.getSymbol(), 1));
+  }
+
+  /**
+   * Invalidates cached negative lookups of the created object when the write channel is closed,
+   * because object could be looked up and not found while it was written.
+   */
+  private class InvalidatingWriteChannel implements AbortableWriteChannel {
+
+    private final StorageResourceId resourceId;
+    protected final WritableByteChannel delegate;
+
+    InvalidatingWriteChannel(StorageResourceId resourceId, WritableByteChannel delegate) {
+      this.resourceId = resourceId;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      return delegate.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        delegate.close();
+      } finally {
+        invalidateCreated(resourceId);
+      }
+    }
+
+    @Override
+    public void abort() {
+      AbortableWriteChannel.abortIfSupported(delegate);
+    }
+  }
+
+  /**
+   * Caches item info of the created object when the write channel is closed, so checksums and other
+   * attributes of the recently written objects could be retrieved without a metadata request.
+   */
+  private class CachingWriteChannel extends InvalidatingWriteChannel
+      implements GoogleCloudStorageItemInfo.Provider {
+
+    CachingWriteChannel(StorageResourceId resourceId, WritableByteChannel delegate) {
+      super(resourceId, delegate);
+    }
+
+    @Override
+    public void close() throws IOException {
+      super.close();
+      GoogleCloudStorageItemInfo item = getItemInfo();
+      if (item != null) {
+        cache.putItem(item);
+      }
+    }
+
+    @Override
+    public GoogleCloudStorageItemInfo getItemInfo() {
+      return ((GoogleCloudStorageItemInfo.Provider) delegate).getItemInfo();
+    }
   }
 
   // Resets requested object fields in list request to return all support object fields because we
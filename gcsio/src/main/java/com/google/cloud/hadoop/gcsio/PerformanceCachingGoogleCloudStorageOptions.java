@@ -27,7 +27,15 @@ public abstract class PerformanceCachingGoogleCloudStorageOptions {
 
   public static Builder builder() {
     return new AutoValue_PerformanceCachingGoogleCloudStorageOptions.Builder()
-        .setMaxEntryAge(Duration.ofSeconds(5));
+        .setMaxEntryAge(Duration.ofSeconds(5))
+        .setMaxEntries(0)
+        .setMaxSizeBytes(0)
+        .setNegativeMaxEntryAge(Duration.ZERO)
+        .setListMaxEntryAge(Duration.ZERO)
+        .setListMaxItems(10_000)
+        .setSharedCacheEnabled(false)
+        .setStaleWhileRevalidate(Duration.ZERO)
+        .setSharedMaxSizeBytes(256 * 1024 * 1024);
   }
 
   public abstract Builder toBuilder();
@@ -35,6 +43,33 @@ public abstract class PerformanceCachingGoogleCloudStorageOptions {
   /** Gets the max age of an item in cache in milliseconds. */
   public abstract Duration getMaxEntryAge();
 
+  /** Gets the max number of items in cache, 0 if unbounded. */
+  public abstract long getMaxEntries();
+
+  /** Gets the max estimated memory size of items in cache in bytes, 0 if unbounded. */
+  public abstract long getMaxSizeBytes();
+
+  /** Gets the max age of a not found lookup result in cache, zero if they are not cached. */
+  public abstract Duration getNegativeMaxEntryAge();
+
+  /** Gets the max age of an object listing in cache, zero if listings are not cached. */
+  public abstract Duration getListMaxEntryAge();
+
+  /** Gets the max number of items in a cached object listing or listing page, 0 if unbounded. */
+  public abstract long getListMaxItems();
+
+  /**
+   * Gets the time after expiration during which stale items are served while they are revalidated,
+   * zero if stale items are not served.
+   */
+  public abstract Duration getStaleWhileRevalidate();
+
+  /** Gets whether items are cached in the JVM-wide cache shared by all clients. */
+  public abstract boolean isSharedCacheEnabled();
+
+  /** Gets the max estimated memory size of items in the shared cache in bytes, 0 if unbounded. */
+  public abstract long getSharedMaxSizeBytes();
+
   /** Builder class for PerformanceCachingGoogleCloudStorageOptions. */
   @AutoValue.Builder
   public abstract static class Builder {
@@ -42,6 +77,55 @@ public abstract class PerformanceCachingGoogleCloudStorageOptions {
     /** Sets the max age of an item in cache in milliseconds. */
     public abstract Builder setMaxEntryAge(Duration maxEntryAge);
 
+    /**
+     * Sets the max number of items in cache, least recently used items are evicted when it's
+     * exceeded. 0 means that number of items is unbounded.
+     */
+    public abstract Builder setMaxEntries(long maxEntries);
+
+    /**
+     * Sets the max estimated memory size of items in cache in bytes, least recently used items are
+     * evicted when it's exceeded. 0 means that memory size of items is unbounded.
+     */
+    public abstract Builder setMaxSizeBytes(long maxSizeBytes);
+
+    /**
+     * Sets the max age of lookup results for objects and directories that do not exist in cache.
+     * Zero means that not found lookup results are not cached.
+     */
+    public abstract Builder setNegativeMaxEntryAge(Duration negativeMaxEntryAge);
+
+    /**
+     * Sets the max age of object listing results in cache. Zero means that listings are not cached.
+     */
+    public abstract Builder setListMaxEntryAge(Duration listMaxEntryAge);
+
+    /**
+     * Sets the max number of items in a cached object listing or listing page, listings with more
+     * items are not cached. 0 means that number of items is unbounded.
+     */
+    public abstract Builder setListMaxItems(long listMaxItems);
+
+    /**
+     * Sets the time after expiration during which stale items are served from cache while they are
+     * revalidated in background. Zero means that expired items are not served.
+     */
+    public abstract Builder setStaleWhileRevalidate(Duration staleWhileRevalidate);
+
+    /**
+     * Sets whether items are cached in the JVM-wide cache shared by all clients with the same
+     * credentials instead of the cache of this client. When enabled, max number and max memory size
+     * of items in the cache of this client are ignored.
+     */
+    public abstract Builder setSharedCacheEnabled(boolean sharedCacheEnabled);
+
+    /**
+     * Sets the max estimated memory size of items in the shared cache in bytes, least recently used
+     * items of all clients are evicted when it's exceeded. 0 means that memory size of items is
+     * unbounded. Only the value of the first client that uses the shared cache takes effect.
+     */
+    public abstract Builder setSharedMaxSizeBytes(long sharedMaxSizeBytes);
+
     public abstract PerformanceCachingGoogleCloudStorageOptions build();
   }
 }
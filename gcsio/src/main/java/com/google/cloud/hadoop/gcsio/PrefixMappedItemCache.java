@@ -18,17 +18,26 @@ package com.google.cloud.hadoop.gcsio;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.nullToEmpty;
+import static java.util.Comparator.comparingLong;
 import static java.util.Comparator.naturalOrder;
 
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ticker;
+import com.google.common.flogger.GoogleLogger;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 /**
@@ -36,32 +45,151 @@ import javax.annotation.Nullable;
  * the item's bucket and object name. In addition to caching {@link StorageResourceId} to item
  * mappings, it provides options for storing groups of items under similar bucket and object name
  * prefixes.
+ *
+ * <p>This class is thread-safe: items are stored in a {@link ConcurrentSkipListMap}, so lookups do
+ * not block and prefix invalidations do not lock the whole cache. Expired items are removed lazily
+ * when they are looked up.
+ *
+ * <p>The cache could be bounded by the number of items and by the estimated memory size of items.
+ * When any of the bounds is exceeded, expired and then least recently used items are evicted until
+ * the cache shrinks below {@link #EVICTION_LOW_WATERMARK} of the bounds. Eviction is done in bulk
+ * by one thread at a time, so the bounds could be exceeded for a short time by concurrent inserts.
+ *
+ * <p>The cache could be split into {@link #partition partitions} that share its storage and bounds
+ * but do not see items of each other, so a single bounded cache could be shared by clients with
+ * different access rights.
+ *
+ * <p>Optionally, expired items could be kept for a stale period, during which they are served by
+ * {@link #getItemAllowStale} while they are revalidated in background, see {@link #revalidateItem}.
  */
 public class PrefixMappedItemCache {
 
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  /** Fraction of the cache bounds to which cache shrinks on eviction. */
+  @VisibleForTesting static final double EVICTION_LOW_WATERMARK = 0.9;
+
+  /** Estimated memory size of the cached item without its variable-length fields in bytes. */
+  @VisibleForTesting static final long ITEM_BASE_SIZE_BYTES = 400;
+
   /** Map to hold item info. */
-  private final TreeMap<PrefixKey, CacheValue<GoogleCloudStorageItemInfo>> itemMap;
+  private final ConcurrentNavigableMap<PrefixKey, CacheValue<GoogleCloudStorageItemInfo>> itemMap;
 
   /** The time in nanoseconds before an entry expires. */
   private final long maxEntryAgeNanos;
 
+  /** The time in nanoseconds after expiration during which a stale entry could be served. */
+  private final long staleAgeNanos;
+
+  /** Maximum number of cached items, 0 if unbounded. */
+  private final long maxEntries;
+
+  /** Maximum estimated memory size of cached items in bytes, 0 if unbounded. */
+  private final long maxSizeBytes;
+
   /** Ticker for tracking expiration. */
   private final Ticker ticker;
 
+  /** Number of cached items, including expired ones. */
+  private final AtomicLong entries;
+
+  /** Estimated memory size of cached items in bytes, including expired ones. */
+  private final AtomicLong sizeBytes;
+
+  /** Whether some thread is evicting items. */
+  private final AtomicBoolean evicting;
+
+  /** Prefix of bucket names in cache keys of the partition items, empty if not partitioned. */
+  private final String partitionPrefix;
+
   /**
    * Creates a new {@link PrefixMappedItemCache}.
    *
    * @param maxEntryAge time after which entries in cache expire.
    */
   public PrefixMappedItemCache(Duration maxEntryAge) {
-    this(Ticker.systemTicker(), maxEntryAge);
+    this(maxEntryAge, /* maxEntries= */ 0, /* maxSizeBytes= */ 0);
+  }
+
+  /**
+   * Creates a new bounded {@link PrefixMappedItemCache}.
+   *
+   * @param maxEntryAge time after which entries in cache expire.
+   * @param maxEntries maximum number of items in cache, 0 if unbounded.
+   * @param maxSizeBytes maximum estimated memory size of items in cache in bytes, 0 if unbounded.
+   */
+  public PrefixMappedItemCache(Duration maxEntryAge, long maxEntries, long maxSizeBytes) {
+    this(Ticker.systemTicker(), maxEntryAge, maxEntries, maxSizeBytes);
   }
 
   @VisibleForTesting
   PrefixMappedItemCache(Ticker ticker, Duration maxEntryAge) {
-    this.itemMap = new TreeMap<>(PrefixKey.COMPARATOR);
+    this(ticker, maxEntryAge, /* maxEntries= */ 0, /* maxSizeBytes= */ 0);
+  }
+
+  /**
+   * Creates a new bounded {@link PrefixMappedItemCache} that keeps expired items for a stale
+   * period.
+   *
+   * @param maxEntryAge time after which entries in cache expire.
+   * @param staleAge time after expiration during which stale entries could be served.
+   * @param maxEntries maximum number of items in cache, 0 if unbounded.
+   * @param maxSizeBytes maximum estimated memory size of items in cache in bytes, 0 if unbounded.
+   */
+  public PrefixMappedItemCache(
+      Duration maxEntryAge, Duration staleAge, long maxEntries, long maxSizeBytes) {
+    this(Ticker.systemTicker(), maxEntryAge, staleAge, maxEntries, maxSizeBytes);
+  }
+
+  @VisibleForTesting
+  PrefixMappedItemCache(Ticker ticker, Duration maxEntryAge, long maxEntries, long maxSizeBytes) {
+    this(ticker, maxEntryAge, /* staleAge= */ Duration.ZERO, maxEntries, maxSizeBytes);
+  }
+
+  @VisibleForTesting
+  PrefixMappedItemCache(
+      Ticker ticker, Duration maxEntryAge, Duration staleAge, long maxEntries, long maxSizeBytes) {
+    checkArgument(maxEntries >= 0, "maxEntries should not be negative, but was %s", maxEntries);
+    checkArgument(
+        maxSizeBytes >= 0, "maxSizeBytes should not be negative, but was %s", maxSizeBytes);
+    this.itemMap = new ConcurrentSkipListMap<>(PrefixKey.COMPARATOR);
     this.ticker = ticker;
     this.maxEntryAgeNanos = maxEntryAge.toNanos();
+    this.staleAgeNanos = staleAge.toNanos();
+    this.maxEntries = maxEntries;
+    this.maxSizeBytes = maxSizeBytes;
+    this.entries = new AtomicLong();
+    this.sizeBytes = new AtomicLong();
+    this.evicting = new AtomicBoolean();
+    this.partitionPrefix = "";
+  }
+
+  private PrefixMappedItemCache(
+      PrefixMappedItemCache cache, String partition, Duration maxEntryAge, Duration staleAge) {
+    this.itemMap = cache.itemMap;
+    this.ticker = cache.ticker;
+    this.maxEntryAgeNanos = maxEntryAge.toNanos();
+    this.staleAgeNanos = staleAge.toNanos();
+    this.maxEntries = cache.maxEntries;
+    this.maxSizeBytes = cache.maxSizeBytes;
+    this.entries = cache.entries;
+    this.sizeBytes = cache.sizeBytes;
+    this.evicting = cache.evicting;
+    // Bucket names cannot contain '/', so partition items do not collide with other items.
+    this.partitionPrefix = cache.partitionPrefix + partition + "/";
+  }
+
+  /**
+   * Returns a partition of this cache: a view that shares storage and bounds of this cache, but
+   * sees and invalidates only items that were put into it. Items of all partitions are evicted in
+   * the least recently used order when bounds of this cache are exceeded.
+   *
+   * @param partition the partition name, partitions with the same name share items.
+   * @param maxEntryAge time after which items put into the partition expire.
+   * @param staleAge time after expiration during which stale partition items could be served.
+   */
+  PrefixMappedItemCache partition(String partition, Duration maxEntryAge, Duration staleAge) {
+    return new PrefixMappedItemCache(this, partition, maxEntryAge, staleAge);
   }
 
   /**
@@ -72,8 +200,43 @@ public class PrefixMappedItemCache {
    *     it has expired in the cache.
    */
   @Nullable
-  public synchronized GoogleCloudStorageItemInfo getItem(StorageResourceId id) {
-    PrefixKey key = new PrefixKey(id.getBucketName(), id.getObjectName());
+  public GoogleCloudStorageItemInfo getItem(StorageResourceId id) {
+    PrefixKey key = createKey(id);
+    CacheValue<GoogleCloudStorageItemInfo> value = itemMap.get(key);
+
+    if (value == null) {
+      return null;
+    }
+
+    if (isExpired(value)) {
+      // Remove only the expired value, the item could have been concurrently updated.
+      removeValue(key, value);
+      return null;
+    }
+
+    if (isStale(value)) {
+      return null;
+    }
+
+    value.setLastAccessTimeNanos(ticker.read());
+    return value.getValue();
+  }
+
+  /**
+   * Gets the cached item associated with the given resource id, including the stale one. When a
+   * stale item is returned for the first time, it's passed to the {@code revalidator}, which should
+   * fetch the current item and pass it to {@link #revalidateItem}, or call {@link
+   * #revalidationFailed} if it failed.
+   *
+   * @param id the resource id of the item to get.
+   * @param revalidator the consumer of the stale items that should be revalidated.
+   * @return the cached item associated with the given resource id, null if the item isn't cached or
+   *     its stale period has passed.
+   */
+  @Nullable
+  GoogleCloudStorageItemInfo getItemAllowStale(
+      StorageResourceId id, Consumer<GoogleCloudStorageItemInfo> revalidator) {
+    PrefixKey key = createKey(id);
     CacheValue<GoogleCloudStorageItemInfo> value = itemMap.get(key);
 
     if (value == null) {
@@ -81,13 +244,57 @@ public class PrefixMappedItemCache {
     }
 
     if (isExpired(value)) {
-      itemMap.remove(key);
+      removeValue(key, value);
       return null;
     }
 
+    value.setLastAccessTimeNanos(ticker.read());
+    if (isStale(value) && value.startRevalidation()) {
+      revalidator.accept(value.getValue());
+    }
     return value.getValue();
   }
 
+  /**
+   * Replaces the stale item with the current item fetched by its revalidation. If generation and
+   * metageneration of the item did not change, the stale item is kept and only its age is reset.
+   * Nothing is replaced if the stale item was updated or removed from cache during revalidation.
+   *
+   * @param staleItem the stale item returned by {@link #getItemAllowStale}.
+   * @param item the current item, not existing or null if the item was deleted.
+   */
+  void revalidateItem(
+      GoogleCloudStorageItemInfo staleItem, @Nullable GoogleCloudStorageItemInfo item) {
+    PrefixKey key = createKey(staleItem.getResourceId());
+    CacheValue<GoogleCloudStorageItemInfo> value = itemMap.get(key);
+    if (value == null || value.getValue() != staleItem) {
+      return;
+    }
+    if (item == null || !item.exists()) {
+      removeValue(key, value);
+      return;
+    }
+    CacheValue<GoogleCloudStorageItemInfo> newValue =
+        isSameGeneration(staleItem, item)
+            ? new CacheValue<>(
+                staleItem, ticker.read(), maxEntryAgeNanos, staleAgeNanos, value.getSizeBytes())
+            : new CacheValue<>(
+                item, ticker.read(), maxEntryAgeNanos, staleAgeNanos, estimateSizeBytes(item));
+    if (itemMap.replace(key, value, newValue)) {
+      updateSize(newValue, /* added= */ true);
+      updateSize(value, /* added= */ false);
+    }
+  }
+
+  /** Allows the stale item to be revalidated again after its revalidation failed. */
+  void revalidationFailed(GoogleCloudStorageItemInfo staleItem) {
+    CacheValue<GoogleCloudStorageItemInfo> value =
+        itemMap.get(createKey(staleItem.getResourceId()));
+    if (value != null && value.getValue() == staleItem) {
+      value.finishRevalidation();
+    }
+  }
+
   /**
    * Inserts an item into the cache. If an item with the same resource id is present, it is
    * overwritten by the new item.
@@ -96,16 +303,23 @@ public class PrefixMappedItemCache {
    * @return the overwritten item, null if no item was overwritten.
    */
   @Nullable
-  public synchronized GoogleCloudStorageItemInfo putItem(GoogleCloudStorageItemInfo item) {
+  public GoogleCloudStorageItemInfo putItem(GoogleCloudStorageItemInfo item) {
     if (!item.exists()) {
       return null;
     }
 
     StorageResourceId id = item.getResourceId();
-    PrefixKey key = new PrefixKey(id.getBucketName(), id.getObjectName());
-    CacheValue<GoogleCloudStorageItemInfo> value = new CacheValue<>(item, ticker.read());
+    PrefixKey key = createKey(id);
+    CacheValue<GoogleCloudStorageItemInfo> value =
+        new CacheValue<>(
+            item, ticker.read(), maxEntryAgeNanos, staleAgeNanos, estimateSizeBytes(item));
     CacheValue<GoogleCloudStorageItemInfo> oldValue = itemMap.put(key, value);
-    return oldValue == null || isExpired(oldValue) ? null : oldValue.getValue();
+    updateSize(value, /* added= */ true);
+    if (oldValue != null) {
+      updateSize(oldValue, /* added= */ false);
+    }
+    evictIfNeeded();
+    return oldValue == null || isStale(oldValue) ? null : oldValue.getValue();
   }
 
   /**
@@ -115,13 +329,16 @@ public class PrefixMappedItemCache {
    * @return the removed item, null if no item was removed.
    */
   @Nullable
-  public synchronized GoogleCloudStorageItemInfo removeItem(StorageResourceId id) {
-    PrefixKey key = new PrefixKey(id.getBucketName(), id.getObjectName());
+  public GoogleCloudStorageItemInfo removeItem(StorageResourceId id) {
+    PrefixKey key = createKey(id);
     CacheValue<GoogleCloudStorageItemInfo> value = itemMap.remove(key);
+    if (value != null) {
+      updateSize(value, /* added= */ false);
+    }
     if (id.isDirectory()) {
-      getPrefixSubMap(itemMap, key).clear();
+      removeValues(getPrefixSubMap(itemMap, key));
     }
-    return value == null || isExpired(value) ? null : value.getValue();
+    return value == null || isStale(value) ? null : value.getValue();
   }
 
   /**
@@ -129,26 +346,166 @@ public class PrefixMappedItemCache {
    *
    * @param bucket the bucket to invalidate. This must not be null.
    */
-  public synchronized void invalidateBucket(String bucket) {
-    PrefixKey key = new PrefixKey(bucket, "");
+  public void invalidateBucket(String bucket) {
+    PrefixKey key = new PrefixKey(partitionPrefix + bucket, "");
+
+    removeValues(getPrefixSubMap(itemMap, key));
+  }
+
+  /** Invalidates all entries in the cache, or in the partition if this is a partition view. */
+  public void invalidateAll() {
+    if (partitionPrefix.isEmpty()) {
+      removeValues(itemMap);
+    } else {
+      removeValues(
+          itemMap.subMap(
+              new PrefixKey(partitionPrefix, ""),
+              new PrefixKey(partitionPrefix + Character.MAX_VALUE, "")));
+    }
+  }
+
+  /**
+   * Returns number of items in the cache, including expired ones. Partition views return number of
+   * items in all partitions.
+   */
+  public long size() {
+    return entries.get();
+  }
+
+  /**
+   * Returns estimated memory size of items in the cache in bytes, including expired ones. Partition
+   * views return memory size of items in all partitions.
+   */
+  public long sizeBytes() {
+    return sizeBytes.get();
+  }
+
+  private PrefixKey createKey(StorageResourceId id) {
+    return new PrefixKey(partitionPrefix + id.getBucketName(), id.getObjectName());
+  }
+
+  /** Returns maximum estimated memory size of items in the cache in bytes, 0 if unbounded. */
+  long maxSizeBytes() {
+    return maxSizeBytes;
+  }
+
+  /** Removes the value from the cache if it's still mapped to the key. */
+  private void removeValue(PrefixKey key, CacheValue<GoogleCloudStorageItemInfo> value) {
+    if (itemMap.remove(key, value)) {
+      updateSize(value, /* added= */ false);
+    }
+  }
+
+  /** Removes all values in the map (or sub-map view) from the cache. */
+  private void removeValues(Map<PrefixKey, CacheValue<GoogleCloudStorageItemInfo>> map) {
+    map.forEach(this::removeValue);
+  }
+
+  private void updateSize(CacheValue<?> value, boolean added) {
+    entries.addAndGet(added ? 1 : -1);
+    sizeBytes.addAndGet(added ? value.getSizeBytes() : -value.getSizeBytes());
+  }
+
+  private boolean isOverLimit(double fraction) {
+    return (maxEntries > 0 && entries.get() > maxEntries * fraction)
+        || (maxSizeBytes > 0 && sizeBytes.get() > maxSizeBytes * fraction);
+  }
+
+  /**
+   * Evicts expired and then least recently used items if the cache exceeds its bounds. Only one
+   * thread evicts items at a time, other threads do not wait for it.
+   */
+  private void evictIfNeeded() {
+    if (!isOverLimit(1) || !evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      List<Map.Entry<PrefixKey, CacheValue<GoogleCloudStorageItemInfo>>> candidates =
+          new ArrayList<>();
+      for (Map.Entry<PrefixKey, CacheValue<GoogleCloudStorageItemInfo>> entry :
+          itemMap.entrySet()) {
+        if (isExpired(entry.getValue())) {
+          removeValue(entry.getKey(), entry.getValue());
+        } else {
+          candidates.add(entry);
+        }
+      }
+
+      candidates.sort(comparingLong(e -> e.getValue().getLastAccessTimeNanos()));
+      long evicted = 0;
+      for (Map.Entry<PrefixKey, CacheValue<GoogleCloudStorageItemInfo>> entry : candidates) {
+        if (!isOverLimit(EVICTION_LOW_WATERMARK)) {
+          break;
+        }
+        if (itemMap.remove(entry.getKey(), entry.getValue())) {
+          updateSize(entry.getValue(), /* added= */ false);
+          evicted++;
+        }
+      }
+
+      if (evicted > 0) {
+        logger.atFine().log(
+            "Evicted %d items from cache, %d items (%d bytes) left",
+            evicted, entries.get(), sizeBytes.get());
+        GoogleCloudStorageEventBus.postStatisticUpdate(
+            GcsStatisticUpdateEvent.increment(
+                GoogleCloudStorageStatistics.GCS_METADATA_CACHE_EVICTION_COUNT.getSymbol(),
+                evicted));
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
 
-    getPrefixSubMap(itemMap, key).clear();
+  /**
+   * Estimates memory size of the item and its cache entry in bytes. This is a rough estimate that
+   * accounts for strings and user metadata, which are the largest variable-length item fields.
+   */
+  @VisibleForTesting
+  static long estimateSizeBytes(GoogleCloudStorageItemInfo item) {
+    long size =
+        ITEM_BASE_SIZE_BYTES
+            // Bucket and object names are referenced by both the cache key and the item.
+            + 2 * estimateSizeBytes(item.getBucketName())
+            + 2 * estimateSizeBytes(item.getObjectName())
+            + estimateSizeBytes(item.getContentType())
+            + estimateSizeBytes(item.getContentEncoding())
+            + estimateSizeBytes(item.getLocation())
+            + estimateSizeBytes(item.getStorageClass());
+    for (Map.Entry<String, byte[]> entry : item.getMetadata().entrySet()) {
+      size += 32 + estimateSizeBytes(entry.getKey());
+      if (entry.getValue() != null) {
+        size += 16 + entry.getValue().length;
+      }
+    }
+    return size;
   }
 
-  /** Invalidates all entries in the cache. */
-  public synchronized void invalidateAll() {
-    itemMap.clear();
+  private static long estimateSizeBytes(@Nullable String s) {
+    return s == null ? 0 : 40 + 2L * s.length();
   }
 
   /**
-   * Checks if the {@link CacheValue} has expired.
+   * Checks if the {@link CacheValue} has expired and its stale period has passed.
    *
    * @param value the value to check.
    * @return true if the value has expired, false otherwise.
    */
   private <V> boolean isExpired(CacheValue<V> value) {
     long diff = ticker.read() - value.getCreationTimeNanos();
-    return diff > maxEntryAgeNanos;
+    return diff > value.getMaxAgeNanos() + value.getStaleAgeNanos();
+  }
+
+  /** Checks if the {@link CacheValue} has expired, it could be still in its stale period. */
+  private <V> boolean isStale(CacheValue<V> value) {
+    long diff = ticker.read() - value.getCreationTimeNanos();
+    return diff > value.getMaxAgeNanos();
+  }
+
+  private static boolean isSameGeneration(
+      GoogleCloudStorageItemInfo item1, GoogleCloudStorageItemInfo item2) {
+    return item1.getContentGeneration() == item2.getContentGeneration()
+        && item1.getMetaGeneration() == item2.getMetaGeneration();
   }
 
   /**
@@ -173,7 +530,7 @@ public class PrefixMappedItemCache {
    * @see SortedMap#subMap(Object, Object)
    */
   private static <E> SortedMap<PrefixKey, E> getPrefixSubMap(
-      TreeMap<PrefixKey, E> map, PrefixKey lowerBound) {
+      NavigableMap<PrefixKey, E> map, PrefixKey lowerBound) {
     PrefixKey upperBound =
         new PrefixKey(lowerBound.getBucket(), lowerBound.getObjectName() + Character.MAX_VALUE);
     return map.subMap(lowerBound, upperBound);
@@ -186,7 +543,8 @@ public class PrefixMappedItemCache {
   }
 
   /**
-   * Tuple of a value and a creation time in nanoseconds.
+   * Tuple of a value, its estimated size, creation time, max age, stale age and last access time in
+   * nanoseconds.
    *
    * @param <V> the type of the value being cached.
    */
@@ -197,15 +555,39 @@ public class PrefixMappedItemCache {
     /** The time the entry was created in nanoseconds. */
     private final long creationTimeNanos;
 
+    /** The time in nanoseconds after which the entry expires. */
+    private final long maxAgeNanos;
+
+    /** The time in nanoseconds after expiration during which the stale entry could be served. */
+    private final long staleAgeNanos;
+
+    /** Whether the stale entry is being revalidated. */
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+
+    /** The estimated memory size of the entry in bytes. */
+    private final long sizeBytes;
+
+    /** The time the entry was last accessed in nanoseconds. */
+    private volatile long lastAccessTimeNanos;
+
     /**
      * Creates a new {@link CacheValue}.
      *
      * @param value the value being cached.
      * @param creationTimeNanos the time the entry was created in nanoseconds.
+     * @param maxAgeNanos the time in nanoseconds after which the entry expires.
+     * @param staleAgeNanos the time in nanoseconds after expiration during which the stale entry
+     *     could be served.
+     * @param sizeBytes the estimated memory size of the entry in bytes.
      */
-    public CacheValue(V value, long creationTimeNanos) {
+    public CacheValue(
+        V value, long creationTimeNanos, long maxAgeNanos, long staleAgeNanos, long sizeBytes) {
       this.value = value;
       this.creationTimeNanos = creationTimeNanos;
+      this.maxAgeNanos = maxAgeNanos;
+      this.staleAgeNanos = staleAgeNanos;
+      this.sizeBytes = sizeBytes;
+      this.lastAccessTimeNanos = creationTimeNanos;
     }
 
     /** Gets the value being cached. */
@@ -218,6 +600,43 @@ public class PrefixMappedItemCache {
       return creationTimeNanos;
     }
 
+    /** Gets the time in nanoseconds after which the entry expires. */
+    public long getMaxAgeNanos() {
+      return maxAgeNanos;
+    }
+
+    /**
+     * Gets the time in nanoseconds after expiration during which the stale entry could be served.
+     */
+    public long getStaleAgeNanos() {
+      return staleAgeNanos;
+    }
+
+    /** Marks the entry as being revalidated, returns false if it's already being revalidated. */
+    public boolean startRevalidation() {
+      return revalidating.compareAndSet(false, true);
+    }
+
+    /** Marks the entry as not being revalidated. */
+    public void finishRevalidation() {
+      revalidating.set(false);
+    }
+
+    /** Gets the estimated memory size of the entry in bytes. */
+    public long getSizeBytes() {
+      return sizeBytes;
+    }
+
+    /** Gets the time the entry was last accessed in nanoseconds. */
+    public long getLastAccessTimeNanos() {
+      return lastAccessTimeNanos;
+    }
+
+    /** Sets the time the entry was last accessed in nanoseconds. */
+    public void setLastAccessTimeNanos(long lastAccessTimeNanos) {
+      this.lastAccessTimeNanos = lastAccessTimeNanos;
+    }
+
     @Override
     public String toString() {
       return "CacheValue [value=" + value + ", creationTimeNanos=" + creationTimeNanos + "]";
@@ -228,9 +647,9 @@ public class PrefixMappedItemCache {
   private static class PrefixKey implements Comparable<PrefixKey> {
 
     /**
-     * Instance of a comparator that compares {@link PrefixKey}'s. This is provided for the TreeMap
-     * to off-load to for performance reasons. This throws a NullPointerException if either of the
-     * entries being compared are null.
+     * Instance of a comparator that compares {@link PrefixKey}'s. This is provided for the sorted
+     * map to off-load to for performance reasons. This throws a NullPointerException if either of
+     * the entries being compared are null.
      */
     public static final Comparator<PrefixKey> COMPARATOR = naturalOrder();
 
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static java.lang.Math.max;
+
+import com.google.cloud.hadoop.util.CheckedFunction;
+import com.google.cloud.hadoop.util.GcsStatisticUpdateEvent;
+import com.google.cloud.hadoop.util.GoogleCloudStorageEventBus;
+import com.google.cloud.storage.BlobId;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
+
+/**
+ * {@link GoogleCloudStorage} wrapper that limits the rate of requests to each bucket with a token
+ * bucket per bucket and operation class (read, write, metadata and list), so many clients that
+ * start to use the same bucket at once do not cause bursts of throttled requests.
+ *
+ * <p>Rates of each bucket start at configured values and are doubled after each ramp-up interval
+ * since the first request to the bucket, following GCS guidance to gradually ramp up request rates.
+ * Operations on multiple objects acquire a permit per object, they are sent in chunks of at most as
+ * many objects as the delegate sends in concurrent batch requests, and permits are acquired before
+ * each chunk, so a large operation does not pass the limiter as a single burst. Time spent waiting
+ * for permits is reported in {@link GoogleCloudStorageStatistics#GCS_RATE_LIMITER_WAIT_TIME}
+ * statistic.
+ */
+class RateLimitingGoogleCloudStorage extends ForwardingGoogleCloudStorage {
+
+  /** Class of requests that are limited by the same rate limiter of a bucket. */
+  enum OperationClass {
+    READ,
+    WRITE,
+    METADATA,
+    LIST
+  }
+
+  private final RateLimitingGoogleCloudStorageOptions options;
+  private final Ticker ticker;
+  private final Map<String, BucketRateLimiters> bucketRateLimiters = new ConcurrentHashMap<>();
+
+  RateLimitingGoogleCloudStorage(
+      GoogleCloudStorage delegate, RateLimitingGoogleCloudStorageOptions options) {
+    this(delegate, options, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  RateLimitingGoogleCloudStorage(
+      GoogleCloudStorage delegate, RateLimitingGoogleCloudStorageOptions options, Ticker ticker) {
+    super(delegate);
+    this.options = options;
+    this.ticker = ticker;
+  }
+
+  @Override
+  public WritableByteChannel create(StorageResourceId resourceId, CreateObjectOptions options)
+      throws IOException {
+    acquire(OperationClass.WRITE, resourceId.getBucketName());
+    return super.create(resourceId, options);
+  }
+
+  @Override
+  public void createEmptyObject(StorageResourceId resourceId) throws IOException {
+    acquire(OperationClass.WRITE, resourceId.getBucketName());
+    super.createEmptyObject(resourceId);
+  }
+
+  @Override
+  public void createEmptyObject(StorageResourceId resourceId, CreateObjectOptions options)
+      throws IOException {
+    acquire(OperationClass.WRITE, resourceId.getBucketName());
+    super.createEmptyObject(resourceId, options);
+  }
+
+  @Override
+  public void createEmptyObjects(List<StorageResourceId> resourceIds) throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        resourceIds,
+        StorageResourceId::getBucketName,
+        chunk -> {
+          super.createEmptyObjects(chunk);
+          return null;
+        });
+  }
+
+  @Override
+  public void createEmptyObjects(List<StorageResourceId> resourceIds, CreateObjectOptions options)
+      throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        resourceIds,
+        StorageResourceId::getBucketName,
+        chunk -> {
+          super.createEmptyObjects(chunk, options);
+          return null;
+        });
+  }
+
+  @Override
+  public SeekableByteChannel open(
+      StorageResourceId resourceId, GoogleCloudStorageReadOptions readOptions) throws IOException {
+    acquire(OperationClass.READ, resourceId.getBucketName());
+    return super.open(resourceId, readOptions);
+  }
+
+  @Override
+  public SeekableByteChannel open(
+      GoogleCloudStorageItemInfo itemInfo, GoogleCloudStorageReadOptions readOptions)
+      throws IOException {
+    acquire(OperationClass.READ, itemInfo.getBucketName());
+    return super.open(itemInfo, readOptions);
+  }
+
+  @Override
+  public void deleteObjects(List<StorageResourceId> fullObjectNames) throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        fullObjectNames,
+        StorageResourceId::getBucketName,
+        chunk -> {
+          super.deleteObjects(chunk);
+          return null;
+        });
+  }
+
+  @Override
+  public void deleteFolders(List<FolderInfo> folders) throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        folders,
+        FolderInfo::getBucket,
+        chunk -> {
+          super.deleteFolders(chunk);
+          return null;
+        });
+  }
+
+  @Override
+  public void copy(
+      String srcBucketName,
+      List<String> srcObjectNames,
+      String dstBucketName,
+      List<String> dstObjectNames)
+      throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        ContiguousSet.create(Range.closedOpen(0, dstObjectNames.size()), DiscreteDomain.integers())
+            .asList(),
+        i -> dstBucketName,
+        chunk -> {
+          int from = chunk.get(0);
+          int to = from + chunk.size();
+          super.copy(
+              srcBucketName,
+              srcObjectNames.subList(from, to),
+              dstBucketName,
+              dstObjectNames.subList(from, to));
+          return null;
+        });
+  }
+
+  @Override
+  public void copy(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+      throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        new ArrayList<>(sourceToDestinationObjectsMap.entrySet()),
+        entry -> entry.getValue().getBucketName(),
+        chunk -> {
+          super.copy(toMap(chunk));
+          return null;
+        });
+  }
+
+  @Override
+  public void move(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+      throws IOException {
+    runInChunks(
+        OperationClass.WRITE,
+        new ArrayList<>(sourceToDestinationObjectsMap.entrySet()),
+        entry -> entry.getValue().getBucketName(),
+        chunk -> {
+          super.move(toMap(chunk));
+          return null;
+        });
+  }
+
+  @Override
+  public boolean isHnBucket(URI src) throws IOException {
+    acquire(OperationClass.METADATA, src.getAuthority());
+    return super.isHnBucket(src);
+  }
+
+  @Override
+  public void renameHnFolder(URI src, URI dst) throws IOException {
+    acquire(OperationClass.WRITE, src.getAuthority());
+    super.renameHnFolder(src, dst);
+  }
+
+  @Override
+  public List<GoogleCloudStorageItemInfo> listObjectInfo(
+      String bucketName, String objectNamePrefix, ListObjectOptions listOptions)
+      throws IOException {
+    acquire(OperationClass.LIST, bucketName);
+    return super.listObjectInfo(bucketName, objectNamePrefix, listOptions);
+  }
+
+  @Override
+  public ListPage<GoogleCloudStorageItemInfo> listObjectInfoPage(
+      String bucketName, String objectNamePrefix, ListObjectOptions listOptions, String pageToken)
+      throws IOException {
+    acquire(OperationClass.LIST, bucketName);
+    return super.listObjectInfoPage(bucketName, objectNamePrefix, listOptions, pageToken);
+  }
+
+  @Override
+  public ListPage<FolderInfo> listFolderInfoForPrefixPage(
+      String bucketName,
+      String folderNamePrefix,
+      ListFolderOptions listFolderOptions,
+      String pageToken)
+      throws IOException {
+    acquire(OperationClass.LIST, bucketName);
+    return super.listFolderInfoForPrefixPage(
+        bucketName, folderNamePrefix, listFolderOptions, pageToken);
+  }
+
+  @Override
+  public VectoredIOResult readVectored(
+      List<VectoredIORange> ranges, IntFunction<ByteBuffer> allocate, BlobId blobId)
+      throws IOException, ExecutionException, InterruptedException, TimeoutException {
+    acquire(OperationClass.READ, blobId.getBucket());
+    return super.readVectored(ranges, allocate, blobId);
+  }
+
+  @Override
+  public GoogleCloudStorageItemInfo getItemInfo(StorageResourceId resourceId) throws IOException {
+    if (resourceId.isStorageObject()) {
+      acquire(OperationClass.METADATA, resourceId.getBucketName());
+    }
+    return super.getItemInfo(resourceId);
+  }
+
+  @Override
+  public List<GoogleCloudStorageItemInfo> getItemInfos(List<StorageResourceId> resourceIds)
+      throws IOException {
+    return runInChunks(
+        OperationClass.METADATA,
+        resourceIds,
+        StorageResourceId::getBucketName,
+        super::getItemInfos);
+  }
+
+  @Override
+  public List<GoogleCloudStorageItemInfo> updateItems(List<UpdatableItemInfo> itemInfoList)
+      throws IOException {
+    return runInChunks(
+        OperationClass.WRITE,
+        itemInfoList,
+        itemInfo -> itemInfo.getStorageResourceId().getBucketName(),
+        super::updateItems);
+  }
+
+  @Override
+  public void compose(
+      String bucketName, List<String> sources, String destination, String contentType)
+      throws IOException {
+    acquire(OperationClass.WRITE, bucketName);
+    super.compose(bucketName, sources, destination, contentType);
+  }
+
+  @Override
+  public GoogleCloudStorageItemInfo composeObjects(
+      List<StorageResourceId> sources, StorageResourceId destination, CreateObjectOptions options)
+      throws IOException {
+    acquire(OperationClass.WRITE, destination.getBucketName());
+    return super.composeObjects(sources, destination, options);
+  }
+
+  /** Returns the current rate of requests of the operation class to the bucket. */
+  @VisibleForTesting
+  double getRate(OperationClass operationClass, String bucketName) {
+    RateLimiter rateLimiter = getBucketRateLimiters(bucketName).get(operationClass);
+    return rateLimiter == null ? 0 : rateLimiter.getRate();
+  }
+
+  /**
+   * Runs the operation on consecutive chunks of items and acquires a permit for each item of a
+   * chunk right before the chunk is sent, and returns concatenated results of all chunks.
+   *
+   * <p>Chunks hold as many items as the delegate sends in concurrent batch requests, so chunking
+   * does not reduce parallelism of the delegate. Operations of unlimited classes are not chunked.
+   */
+  private <T, R> List<R> runInChunks(
+      OperationClass operationClass,
+      List<T> items,
+      Function<T, String> bucketNameFn,
+      CheckedFunction<List<T>, List<R>, IOException> operation)
+      throws IOException {
+    GoogleCloudStorageOptions gcsOptions = getOptions();
+    int chunkSize =
+        getInitialRate(operationClass) > 0
+            ? max(1, gcsOptions.getMaxRequestsPerBatch()) * max(1, gcsOptions.getBatchThreads())
+            : Integer.MAX_VALUE;
+    if (items.size() <= chunkSize) {
+      acquire(operationClass, items, bucketNameFn);
+      return operation.apply(items);
+    }
+    List<R> results = new ArrayList<>();
+    for (List<T> chunk : Lists.partition(items, chunkSize)) {
+      acquire(operationClass, chunk, bucketNameFn);
+      List<R> chunkResults = operation.apply(chunk);
+      if (chunkResults != null) {
+        results.addAll(chunkResults);
+      }
+    }
+    return results;
+  }
+
+  private static <K, V> Map<K, V> toMap(List<Map.Entry<K, V>> entries) {
+    Map<K, V> map = new LinkedHashMap<>();
+    entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+    return map;
+  }
+
+  private int getInitialRate(OperationClass operationClass) {
+    switch (operationClass) {
+      case READ:
+        return options.getReadRequestsPerSecond();
+      case WRITE:
+        return options.getWriteRequestsPerSecond();
+      case METADATA:
+        return options.getMetadataRequestsPerSecond();
+      case LIST:
+        return options.getListRequestsPerSecond();
+    }
+    throw new IllegalArgumentException("Unknown operation class: " + operationClass);
+  }
+
+  /** Acquires a permit for each item from rate limiters of their buckets. */
+  private <T> void acquire(
+      OperationClass operationClass, Iterable<T> items, Function<T, String> bucketNameFn) {
+    Map<String, Integer> permitsPerBucket = new HashMap<>();
+    for (T item : items) {
+      permitsPerBucket.merge(bucketNameFn.apply(item), 1, Integer::sum);
+    }
+    permitsPerBucket.forEach((bucketName, permits) -> acquire(operationClass, bucketName, permits));
+  }
+
+  private void acquire(OperationClass operationClass, @Nullable String bucketName) {
+    acquire(operationClass, bucketName, /* permits= */ 1);
+  }
+
+  private void acquire(OperationClass operationClass, @Nullable String bucketName, int permits) {
+    if (bucketName == null || bucketName.isEmpty() || permits <= 0) {
+      return;
+    }
+    RateLimiter rateLimiter = getBucketRateLimiters(bucketName).get(operationClass);
+    if (rateLimiter == null) {
+      return;
+    }
+    double waitSeconds = rateLimiter.acquire(permits);
+    if (waitSeconds > 0) {
+      GoogleCloudStorageEventBus.postStatisticUpdate(
+          GcsStatisticUpdateEvent.increment(
+              GoogleCloudStorageStatistics.GCS_RATE_LIMITER_WAIT_TIME.getSymbol(),
+              Math.round(waitSeconds * 1_000)));
+    }
+  }
+
+  private BucketRateLimiters getBucketRateLimiters(String bucketName) {
+    BucketRateLimiters rateLimiters =
+        bucketRateLimiters.computeIfAbsent(bucketName, b -> new BucketRateLimiters());
+    rateLimiters.rampUp();
+    return rateLimiters;
+  }
+
+  /** Rate limiters of a bucket per operation class, absent for unlimited operation classes. */
+  private class BucketRateLimiters {
+
+    private final long startNanos = ticker.read();
+    private final Map<OperationClass, RateLimiter> rateLimiters =
+        new EnumMap<>(OperationClass.class);
+    private final Map<OperationClass, Integer> initialRates = new EnumMap<>(OperationClass.class);
+    private volatile long rampUps;
+
+    BucketRateLimiters() {
+      for (OperationClass operationClass : OperationClass.values()) {
+        initialRates.put(operationClass, getInitialRate(operationClass));
+      }
+      initialRates.forEach(
+          (operationClass, rate) -> {
+            if (rate > 0) {
+              rateLimiters.put(operationClass, RateLimiter.create(rate));
+            }
+          });
+    }
+
+    @Nullable
+    RateLimiter get(OperationClass operationClass) {
+      return rateLimiters.get(operationClass);
+    }
+
+    /** Doubles rates for each ramp-up interval elapsed since the first request to the bucket. */
+    void rampUp() {
+      long rampUpIntervalNanos = options.getRampUpInterval().toNanos();
+      if (rampUpIntervalNanos <= 0) {
+        return;
+      }
+      // Rates could not be doubled more than 62 times without overflow of the rate multiplier.
+      long elapsedRampUps = Math.min(62, (ticker.read() - startNanos) / rampUpIntervalNanos);
+      if (elapsedRampUps <= rampUps) {
+        return;
+      }
+      synchronized (this) {
+        if (elapsedRampUps <= rampUps) {
+          return;
+        }
+        rampUps = elapsedRampUps;
+        rateLimiters.forEach(
+            (operationClass, rateLimiter) ->
+                rateLimiter.setRate(initialRates.get(operationClass) * (double) (1L << rampUps)));
+      }
+    }
+  }
+}
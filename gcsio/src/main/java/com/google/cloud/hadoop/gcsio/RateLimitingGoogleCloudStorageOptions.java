@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import com.google.auto.value.AutoValue;
+import java.time.Duration;
+
+/** Configurable options for {@link RateLimitingGoogleCloudStorage}. */
+@AutoValue
+public abstract class RateLimitingGoogleCloudStorageOptions {
+
+  public static final RateLimitingGoogleCloudStorageOptions DEFAULT = builder().build();
+
+  public static Builder builder() {
+    return new AutoValue_RateLimitingGoogleCloudStorageOptions.Builder()
+        .setReadRequestsPerSecond(5_000)
+        .setWriteRequestsPerSecond(1_000)
+        .setMetadataRequestsPerSecond(5_000)
+        .setListRequestsPerSecond(5_000)
+        .setRampUpInterval(Duration.ofMinutes(20));
+  }
+
+  public abstract Builder toBuilder();
+
+  /** Gets the initial rate of object read requests per bucket, 0 if unlimited. */
+  public abstract int getReadRequestsPerSecond();
+
+  /** Gets the initial rate of object write requests per bucket, 0 if unlimited. */
+  public abstract int getWriteRequestsPerSecond();
+
+  /** Gets the initial rate of object metadata requests per bucket, 0 if unlimited. */
+  public abstract int getMetadataRequestsPerSecond();
+
+  /** Gets the initial rate of object list requests per bucket, 0 if unlimited. */
+  public abstract int getListRequestsPerSecond();
+
+  /** Gets the interval after which request rates are doubled, zero if rates are constant. */
+  public abstract Duration getRampUpInterval();
+
+  /** Builder class for RateLimitingGoogleCloudStorageOptions. */
+  @AutoValue.Builder
+  public abstract static class Builder {
+
+    /**
+     * Sets the initial rate of requests that read object content from a bucket. 0 means that the
+     * rate is unlimited.
+     */
+    public abstract Builder setReadRequestsPerSecond(int readRequestsPerSecond);
+
+    /**
+     * Sets the initial rate of requests that create, update, copy, move, compose or delete objects
+     * in a bucket. 0 means that the rate is unlimited.
+     */
+    public abstract Builder setWriteRequestsPerSecond(int writeRequestsPerSecond);
+
+    /**
+     * Sets the initial rate of requests that get object metadata from a bucket. 0 means that the
+     * rate is unlimited.
+     */
+    public abstract Builder setMetadataRequestsPerSecond(int metadataRequestsPerSecond);
+
+    /**
+     * Sets the initial rate of requests that list objects in a bucket. 0 means that the rate is
+     * unlimited.
+     */
+    public abstract Builder setListRequestsPerSecond(int listRequestsPerSecond);
+
+    /**
+     * Sets the interval after which request rates to a bucket are doubled, counted from the first
+     * request to the bucket. Zero means that rates are not increased.
+     */
+    public abstract Builder setRampUpInterval(Duration rampUpInterval);
+
+    public abstract RateLimitingGoogleCloudStorageOptions build();
+  }
+}
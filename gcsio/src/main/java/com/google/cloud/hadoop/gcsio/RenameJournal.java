@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.flogger.GoogleLogger;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Journal of a directory rename that records source objects that were already copied to the
+ * destination, so a rename of the same source and destination directories that was interrupted
+ * could be resumed without copying these objects again.
+ *
+ * <p>Journal is stored in GCS under the journal directory, each recorded page of copied objects is
+ * written as a separate small object with {@code <generation> <object name>} lines, and names of
+ * the first and the last recorded objects in its metadata. Only the names of entries are read when
+ * the journal is opened, and entries are read when a page of source objects that overlaps their
+ * range is looked up, so memory usage does not depend on the number of recorded objects. Copied
+ * object is skipped on resume only if its generation did not change, i.e. it was not overwritten
+ * after the copy.
+ *
+ * <p>Journals that were not updated for longer than the max age are stale: they are not resumed and
+ * they are deleted when any rename journal is opened.
+ */
+final class RenameJournal {
+
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  private static final String FIRST_OBJECT_METADATA_KEY = "rename-journal-first-object";
+  private static final String LAST_OBJECT_METADATA_KEY = "rename-journal-last-object";
+
+  private final GoogleCloudStorage gcs;
+  private final StorageResourceId journalPrefix;
+
+  /** Recorded entries keyed by the name of the last object that they record. */
+  private final TreeMap<String, Entry> entries;
+
+  private int nextEntry;
+
+  private RenameJournal(
+      GoogleCloudStorage gcs,
+      StorageResourceId journalPrefix,
+      TreeMap<String, Entry> entries,
+      int nextEntry) {
+    this.gcs = gcs;
+    this.journalPrefix = journalPrefix;
+    this.entries = entries;
+    this.nextEntry = nextEntry;
+  }
+
+  /**
+   * Returns whether a journal of an interrupted rename, that is not older than the max age, exists
+   * for the source and destination directories. Stale journal is deleted.
+   */
+  static boolean exists(GoogleCloudStorage gcs, URI journalDir, URI src, URI dst, Duration maxAge)
+      throws IOException {
+    StorageResourceId journalPrefix = getJournalPrefix(journalDir, src, dst);
+    List<GoogleCloudStorageItemInfo> journalEntries = listEntries(gcs, journalPrefix);
+    if (journalEntries.isEmpty()) {
+      return false;
+    }
+    if (isStale(journalEntries, maxAge)) {
+      logger.atInfo().log("Ignoring stale journal of interrupted rename of '%s' to '%s'", src, dst);
+      deleteEntries(gcs, journalEntries);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Opens the journal of the rename of the source directory to the destination directory, names and
+   * ranges of entries of the existing journal of the same rename are read into memory. Stale
+   * journals in the journal directory are deleted.
+   */
+  static RenameJournal open(
+      GoogleCloudStorage gcs, URI journalDir, URI src, URI dst, Duration maxAge)
+      throws IOException {
+    deleteStaleJournals(gcs, journalDir, maxAge);
+
+    StorageResourceId journalPrefix = getJournalPrefix(journalDir, src, dst);
+    TreeMap<String, Entry> entries = new TreeMap<>();
+    int nextEntry = 0;
+    for (GoogleCloudStorageItemInfo entryInfo : listEntries(gcs, journalPrefix)) {
+      Map<String, byte[]> metadata = entryInfo.getMetadata();
+      byte[] firstObject = metadata.get(FIRST_OBJECT_METADATA_KEY);
+      byte[] lastObject = metadata.get(LAST_OBJECT_METADATA_KEY);
+      if (firstObject != null && lastObject != null) {
+        Entry entry =
+            new Entry(
+                entryInfo.getResourceId(),
+                new String(firstObject, UTF_8),
+                new String(lastObject, UTF_8));
+        entries.merge(entry.lastObject, entry, Entry::merge);
+      }
+      String entryName =
+          entryInfo.getObjectName().substring(journalPrefix.getObjectName().length());
+      nextEntry = Math.max(nextEntry, Integer.parseInt(entryName) + 1);
+    }
+    if (!entries.isEmpty()) {
+      logger.atInfo().log(
+          "Resuming rename of '%s' to '%s', %d pages of objects were already copied",
+          src, dst, nextEntry);
+    }
+    return new RenameJournal(gcs, journalPrefix, entries, nextEntry);
+  }
+
+  /**
+   * Returns source objects that were not copied yet or that changed since they were copied. Only
+   * journal entries that overlap the range of names of the source objects are read.
+   */
+  List<FileInfo> getNotCopied(Collection<FileInfo> srcInfos) throws IOException {
+    if (entries.isEmpty() || srcInfos.isEmpty()) {
+      return new ArrayList<>(srcInfos);
+    }
+    String firstObject = null;
+    String lastObject = null;
+    for (FileInfo srcInfo : srcInfos) {
+      String objectName = srcInfo.getItemInfo().getObjectName();
+      firstObject =
+          firstObject == null || objectName.compareTo(firstObject) < 0 ? objectName : firstObject;
+      lastObject =
+          lastObject == null || objectName.compareTo(lastObject) > 0 ? objectName : lastObject;
+    }
+
+    Map<String, Long> copiedGenerations = new HashMap<>();
+    for (Entry entry : entries.tailMap(firstObject, /* inclusive= */ true).values()) {
+      if (entry.overlaps(firstObject, lastObject)) {
+        readEntry(entry, firstObject, lastObject, copiedGenerations);
+      }
+    }
+
+    List<FileInfo> notCopied = new ArrayList<>(srcInfos.size());
+    for (FileInfo srcInfo : srcInfos) {
+      GoogleCloudStorageItemInfo itemInfo = srcInfo.getItemInfo();
+      Long generation = copiedGenerations.get(itemInfo.getObjectName());
+      if (generation == null || generation != itemInfo.getContentGeneration()) {
+        notCopied.add(srcInfo);
+      }
+    }
+    return notCopied;
+  }
+
+  /** Records source objects that were copied to the destination directory. */
+  void recordCopied(Collection<FileInfo> srcInfos) throws IOException {
+    if (srcInfos.isEmpty()) {
+      return;
+    }
+    StringBuilder content = new StringBuilder();
+    String firstObject = null;
+    String lastObject = null;
+    for (FileInfo srcInfo : srcInfos) {
+      GoogleCloudStorageItemInfo itemInfo = srcInfo.getItemInfo();
+      String objectName = itemInfo.getObjectName();
+      content.append(itemInfo.getContentGeneration()).append(' ').append(objectName).append('\n');
+      firstObject =
+          firstObject == null || objectName.compareTo(firstObject) < 0 ? objectName : firstObject;
+      lastObject =
+          lastObject == null || objectName.compareTo(lastObject) > 0 ? objectName : lastObject;
+    }
+    StorageResourceId entryId =
+        new StorageResourceId(
+            journalPrefix.getBucketName(),
+            String.format("%s%010d", journalPrefix.getObjectName(), nextEntry++));
+    CreateObjectOptions createOptions =
+        CreateObjectOptions.DEFAULT_OVERWRITE.toBuilder()
+            .setMetadata(
+                ImmutableMap.of(
+                    FIRST_OBJECT_METADATA_KEY, firstObject.getBytes(UTF_8),
+                    LAST_OBJECT_METADATA_KEY, lastObject.getBytes(UTF_8)))
+            .build();
+    try (WritableByteChannel channel = gcs.create(entryId, createOptions)) {
+      channel.write(ByteBuffer.wrap(content.toString().getBytes(UTF_8)));
+    }
+  }
+
+  /** Deletes the journal after the rename is completed. */
+  void delete() throws IOException {
+    deleteEntries(gcs, listEntries(gcs, journalPrefix));
+  }
+
+  /** Reads generations of recorded objects with names in the range from the journal entry. */
+  private void readEntry(
+      Entry entry, String firstObject, String lastObject, Map<String, Long> copiedGenerations)
+      throws IOException {
+    for (StorageResourceId entryId : entry.ids) {
+      try (InputStream in = Channels.newInputStream(gcs.open(entryId))) {
+        for (String line : new String(ByteStreams.toByteArray(in), UTF_8).split("\n")) {
+          int separator = line.indexOf(' ');
+          if (separator <= 0) {
+            continue;
+          }
+          String objectName = line.substring(separator + 1);
+          if (objectName.compareTo(firstObject) >= 0 && objectName.compareTo(lastObject) <= 0) {
+            copiedGenerations.put(objectName, Long.parseLong(line.substring(0, separator)));
+          }
+        }
+      }
+    }
+  }
+
+  /** Deletes journals in the journal directory that were not updated for longer than max age. */
+  private static void deleteStaleJournals(GoogleCloudStorage gcs, URI journalDir, Duration maxAge)
+      throws IOException {
+    StorageResourceId dirId = getJournalDirId(journalDir);
+    String dirPrefix = getJournalDirPrefix(dirId);
+    Map<String, List<GoogleCloudStorageItemInfo>> journals = new HashMap<>();
+    for (GoogleCloudStorageItemInfo entryInfo :
+        gcs.listObjectInfo(dirId.getBucketName(), dirPrefix, ListObjectOptions.DEFAULT_FLAT_LIST)) {
+      int journalEnd = entryInfo.getObjectName().indexOf('/', dirPrefix.length());
+      if (journalEnd > 0) {
+        journals
+            .computeIfAbsent(
+                entryInfo.getObjectName().substring(0, journalEnd), j -> new ArrayList<>())
+            .add(entryInfo);
+      }
+    }
+    List<GoogleCloudStorageItemInfo> staleEntries = new ArrayList<>();
+    journals.forEach(
+        (journal, journalEntries) -> {
+          if (isStale(journalEntries, maxAge)) {
+            logger.atInfo().log("Deleting stale rename journal '%s'", journal);
+            staleEntries.addAll(journalEntries);
+          }
+        });
+    deleteEntries(gcs, staleEntries);
+  }
+
+  /** Returns whether none of the journal entries were written during the max age. */
+  private static boolean isStale(List<GoogleCloudStorageItemInfo> journalEntries, Duration maxAge) {
+    long newestEntryTime = 0;
+    for (GoogleCloudStorageItemInfo entryInfo : journalEntries) {
+      newestEntryTime = Math.max(newestEntryTime, entryInfo.getCreationTime());
+    }
+    return System.currentTimeMillis() - newestEntryTime > maxAge.toMillis();
+  }
+
+  private static List<GoogleCloudStorageItemInfo> listEntries(
+      GoogleCloudStorage gcs, StorageResourceId journalPrefix) throws IOException {
+    return gcs.listObjectInfo(
+        journalPrefix.getBucketName(),
+        journalPrefix.getObjectName(),
+        ListObjectOptions.DEFAULT_FLAT_LIST);
+  }
+
+  private static void deleteEntries(
+      GoogleCloudStorage gcs, List<GoogleCloudStorageItemInfo> journalEntries) throws IOException {
+    List<StorageResourceId> entryIds = new ArrayList<>(journalEntries.size());
+    for (GoogleCloudStorageItemInfo entryInfo : journalEntries) {
+      entryIds.add(entryInfo.getResourceId());
+    }
+    if (!entryIds.isEmpty()) {
+      gcs.deleteObjects(entryIds);
+    }
+  }
+
+  /**
+   * Returns prefix of journal entries that is unique for the source and destination directories.
+   */
+  private static StorageResourceId getJournalPrefix(URI journalDir, URI src, URI dst) {
+    StorageResourceId dirId = getJournalDirId(journalDir);
+    String renameId = Hashing.sha256().hashString(src + "\n" + dst, UTF_8).toString();
+    return new StorageResourceId(
+        dirId.getBucketName(), getJournalDirPrefix(dirId) + renameId + "/");
+  }
+
+  private static StorageResourceId getJournalDirId(URI journalDir) {
+    return StorageResourceId.fromUriPath(
+        UriPaths.toDirectory(journalDir), /* allowEmptyObjectName= */ true);
+  }
+
+  private static String getJournalDirPrefix(StorageResourceId dirId) {
+    return dirId.isRoot() || dirId.isBucket() ? "" : dirId.getObjectName();
+  }
+
+  /** Journal entries that record the same last object and the widest range of their names. */
+  private static class Entry {
+
+    private final List<StorageResourceId> ids = new ArrayList<>(1);
+    private final String firstObject;
+    private final String lastObject;
+
+    Entry(StorageResourceId id, String firstObject, String lastObject) {
+      this.ids.add(id);
+      this.firstObject = firstObject;
+      this.lastObject = lastObject;
+    }
+
+    boolean overlaps(String first, String last) {
+      return firstObject.compareTo(last) <= 0 && lastObject.compareTo(first) >= 0;
+    }
+
+    static Entry merge(Entry a, Entry b) {
+      Entry merged =
+          new Entry(
+              a.ids.get(0),
+              a.firstObject.compareTo(b.firstObject) <= 0 ? a.firstObject : b.firstObject,
+              a.lastObject);
+      merged.ids.addAll(a.ids.subList(1, a.ids.size()));
+      merged.ids.addAll(b.ids);
+      return merged;
+    }
+  }
+}
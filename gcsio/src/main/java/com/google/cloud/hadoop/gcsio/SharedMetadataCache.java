@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import com.google.auth.Credentials;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.flogger.GoogleLogger;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * JVM-wide item cache shared by {@link PerformanceCachingGoogleCloudStorage} instances.
+ *
+ * <p>The cache is split into partitions per credentials, so items fetched with one credentials are
+ * never returned to clients with other credentials that could have no access to them. Inside of a
+ * partition items are indexed by bucket and object name. All partitions share a single memory
+ * bound, which is configured by the first instance that uses the shared cache.
+ *
+ * <p>Credentials are matched using their {@link Object#equals} method, that's why the cache could
+ * be shared only by credentials classes that override it to compare identities they represent.
+ */
+final class SharedMetadataCache {
+
+  private static final GoogleLogger logger = GoogleLogger.forEnclosingClass();
+
+  /** Maximum number of partitions, the least recently used partitions are invalidated above it. */
+  private static final int MAX_PARTITIONS = 1_000;
+
+  /** Partition scope of clients without credentials. */
+  private static final Object NO_CREDENTIALS = new Object();
+
+  /** Whether credentials classes override {@link Object#equals}. */
+  private static final ConcurrentMap<Class<?>, Boolean> COMPARABLE_CREDENTIALS_CLASSES =
+      new ConcurrentHashMap<>();
+
+  private static final AtomicLong partitionCounter = new AtomicLong();
+
+  @Nullable private static PrefixMappedItemCache cache;
+
+  /** Partition names per credentials. */
+  @Nullable private static Cache<Object, String> partitions;
+
+  private SharedMetadataCache() {}
+
+  /**
+   * Returns whether item cache could be shared by clients with these credentials.
+   *
+   * @param credentials credentials of the client, null if the client does not use credentials.
+   */
+  static boolean isShareable(@Nullable Credentials credentials) {
+    return credentials == null
+        || COMPARABLE_CREDENTIALS_CLASSES.computeIfAbsent(
+            credentials.getClass(), SharedMetadataCache::overridesEquals);
+  }
+
+  /**
+   * Returns the partition of the shared cache for the credentials.
+   *
+   * @param credentials credentials of the client, null if the client does not use credentials.
+   * @param options options of the client cache, its max entry and stale ages are used for partition
+   *     items.
+   */
+  static synchronized PrefixMappedItemCache getPartition(
+      @Nullable Credentials credentials, PerformanceCachingGoogleCloudStorageOptions options) {
+    if (!isShareable(credentials)) {
+      throw new IllegalArgumentException(
+          "Shared cache is not supported for " + credentials.getClass().getName());
+    }
+    if (cache == null) {
+      cache =
+          new PrefixMappedItemCache(
+              options.getMaxEntryAge(), /* maxEntries= */ 0, options.getSharedMaxSizeBytes());
+      partitions =
+          CacheBuilder.newBuilder()
+              .maximumSize(MAX_PARTITIONS)
+              .<Object, String>removalListener(
+                  n -> cache.partition(n.getValue(), Duration.ZERO, Duration.ZERO).invalidateAll())
+              .build();
+    } else if (cache.maxSizeBytes() != options.getSharedMaxSizeBytes()) {
+      logger.atWarning().log(
+          "Shared metadata cache is already bounded by %d bytes, ignoring %d bytes bound",
+          cache.maxSizeBytes(), options.getSharedMaxSizeBytes());
+    }
+    try {
+      String partition =
+          partitions.get(
+              credentials == null ? NO_CREDENTIALS : credentials,
+              () -> String.valueOf(partitionCounter.incrementAndGet()));
+      return cache.partition(
+          partition, options.getMaxEntryAge(), options.getStaleWhileRevalidate());
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Removes the shared cache with all its items. */
+  @VisibleForTesting
+  static synchronized void reset() {
+    if (cache != null) {
+      partitions.invalidateAll();
+      cache.invalidateAll();
+    }
+    cache = null;
+    partitions = null;
+  }
+
+  private static boolean overridesEquals(Class<?> credentialsClass) {
+    try {
+      return credentialsClass.getMethod("equals", Object.class).getDeclaringClass()
+          == credentialsClass;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
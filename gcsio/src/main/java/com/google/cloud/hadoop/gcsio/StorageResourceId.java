@@ -62,8 +62,9 @@ public class StorageResourceId {
   // Object name of this storage resource to be used with the Google Cloud Storage API.
   private final String objectName;
 
-  // Human-readable String to be returned by toString(); kept as 'final' member for efficiency.
-  private final String stringPath;
+  // Human-readable String to be returned by toString(), created on demand to not keep a copy of
+  // the object name for each listed object.
+  private String stringPath;
 
   // The generationId to be used with precondition checks when using this StorageResourceId
   // as an identifier for mutation requests.
@@ -76,7 +77,6 @@ public class StorageResourceId {
   private StorageResourceId() {
     this.bucketName = null;
     this.objectName = null;
-    this.stringPath = StringPaths.fromComponents(bucketName, objectName);
     this.generationId = UNKNOWN_GENERATION_ID;
   }
 
@@ -91,7 +91,6 @@ public class StorageResourceId {
 
     this.bucketName = bucketName;
     this.objectName = null;
-    this.stringPath = StringPaths.fromComponents(bucketName, objectName);
     this.generationId = UNKNOWN_GENERATION_ID;
   }
 
@@ -108,7 +107,6 @@ public class StorageResourceId {
 
     this.bucketName = bucketName;
     this.objectName = objectName;
-    this.stringPath = StringPaths.fromComponents(bucketName, objectName);
     this.generationId = UNKNOWN_GENERATION_ID;
   }
 
@@ -127,7 +125,6 @@ public class StorageResourceId {
 
     this.bucketName = bucketName;
     this.objectName = objectName;
-    this.stringPath = StringPaths.fromComponents(bucketName, objectName);
     this.generationId = generationId;
   }
 
@@ -143,7 +140,6 @@ public class StorageResourceId {
     checkArgument(!isNullOrEmpty(bucketName), "bucketName must not be null or empty");
     this.bucketName = bucketName;
     this.objectName = null;
-    this.stringPath = StringPaths.fromComponents(bucketName, objectName);
     this.generationId = generationId;
   }
 
@@ -207,7 +203,12 @@ public class StorageResourceId {
   /** Returns a string of the form {@code gs://<bucketName>/<objectName>}. */
   @Override
   public String toString() {
-    return stringPath;
+    // Benign race: String is immutable, so concurrent callers could only compute it twice.
+    String path = stringPath;
+    if (path == null) {
+      stringPath = path = StringPaths.fromComponents(bucketName, objectName);
+    }
+    return path;
   }
 
   @Override
@@ -222,7 +223,7 @@ public class StorageResourceId {
 
   @Override
   public int hashCode() {
-    return stringPath.hashCode();
+    return 31 * Objects.hashCode(bucketName) + Objects.hashCode(objectName);
   }
 
   /**
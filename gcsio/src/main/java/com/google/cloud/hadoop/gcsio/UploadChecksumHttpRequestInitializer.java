@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.Ints;
+import java.util.concurrent.Callable;
+import java.util.zip.Checksum;
+
+/**
+ * {@link HttpRequestInitializer} that adds the CRC32C checksum of the uploaded content as the
+ * {@code X-Goog-Hash} header to the final request of a resumable upload, so GCS rejects the upload
+ * if the checksum of the received content does not match.
+ *
+ * <p>Chunk requests of a resumable upload are created and executed by the {@code MediaHttpUploader}
+ * on the upload thread, that's why the checksum of the current upload is bound to the upload thread
+ * with {@link #runWithChecksum}.
+ */
+class UploadChecksumHttpRequestInitializer implements HttpRequestInitializer {
+
+  private static final String HASH_HEADER = "X-Goog-Hash";
+
+  private static final ThreadLocal<Checksum> UPLOAD_CRC32C = new ThreadLocal<>();
+
+  /**
+   * Runs the upload that is executed on the current thread with the CRC32C checksum of the uploaded
+   * content. The checksum should be updated with all uploaded bytes before the final upload request
+   * is executed.
+   */
+  static <T> T runWithChecksum(Checksum crc32c, Callable<T> upload) throws Exception {
+    UPLOAD_CRC32C.set(crc32c);
+    try {
+      return upload.call();
+    } finally {
+      UPLOAD_CRC32C.remove();
+    }
+  }
+
+  /** Returns base64-encoded big-endian CRC32C checksum as used by the GCS JSON API. */
+  static String encodeCrc32c(Checksum crc32c) {
+    return BaseEncoding.base64().encode(Ints.toByteArray((int) crc32c.getValue()));
+  }
+
+  @Override
+  public void initialize(HttpRequest request) {
+    request.setInterceptor(
+        r -> {
+          Checksum crc32c = UPLOAD_CRC32C.get();
+          if (crc32c != null && isFinalUploadRequest(r)) {
+            r.getHeaders().set(HASH_HEADER, "crc32c=" + encodeCrc32c(crc32c));
+          }
+        });
+  }
+
+  /**
+   * Final requests of a resumable upload are the only ones that specify the total object size in
+   * the {@code Content-Range} header (e.g. {@code bytes 0-9/10}), other chunk requests use {@code
+   * *} instead of the total object size.
+   */
+  private static boolean isFinalUploadRequest(HttpRequest request) {
+    String contentRange = request.getHeaders().getContentRange();
+    return "PUT".equals(request.getRequestMethod())
+        && contentRange != null
+        && !contentRange.endsWith("/*");
+  }
+}
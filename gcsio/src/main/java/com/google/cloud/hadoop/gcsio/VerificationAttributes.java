@@ -21,6 +21,11 @@ import javax.annotation.Nullable;
 
 /** GCS provided validation attributes for a single object. */
 public class VerificationAttributes {
+
+  /** Attributes of objects without MD5 hash and CRC32c checksum. */
+  public static final VerificationAttributes NONE =
+      new VerificationAttributes(/* md5hash= */ null, /* crc32c= */ null);
+
   private final byte[] md5hash;
   private final byte[] crc32c;
 
@@ -448,6 +448,12 @@ public class InMemoryGoogleCloudStorage implements GoogleCloudStorage {
     }
     Set<String> uniqueNames = new TreeSet<>();
     for (String objectName : bucketEntry.getObjectNames()) {
+      if ((listOptions.getStartOffset() != null
+              && objectName.compareTo(listOptions.getStartOffset()) < 0)
+          || (listOptions.getEndOffset() != null
+              && objectName.compareTo(listOptions.getEndOffset()) >= 0)) {
+        continue;
+      }
       String processedName =
           GoogleCloudStorageStrings.matchListPrefix(objectNamePrefix, objectName, listOptions);
       if (processedName != null) {
@@ -467,9 +473,20 @@ public class InMemoryGoogleCloudStorage implements GoogleCloudStorage {
   public ListPage<GoogleCloudStorageItemInfo> listObjectInfoPage(
       String bucketName, String objectNamePrefix, ListObjectOptions listOptions, String pageToken)
       throws IOException {
-    // TODO: implement pagination
+    List<GoogleCloudStorageItemInfo> listedInfo =
+        listObjectInfo(bucketName, objectNamePrefix, listOptions);
+    // Items are listed in lexicographical order, that's why the name of the last item in the page
+    // is used as a page token.
+    int start = 0;
+    while (pageToken != null
+        && start < listedInfo.size()
+        && listedInfo.get(start).getObjectName().compareTo(pageToken) <= 0) {
+      start++;
+    }
+    int end = Math.min(listedInfo.size(), start + storageOptions.getMaxListItemsPerCall());
     return new ListPage<>(
-        listObjectInfo(bucketName, objectNamePrefix, listOptions), /* nextPageToken= */ null);
+        new ArrayList<>(listedInfo.subList(start, end)),
+        end < listedInfo.size() ? listedInfo.get(end - 1).getObjectName() : null);
   }
 
   @Override
@@ -621,7 +638,13 @@ public class InMemoryGoogleCloudStorage implements GoogleCloudStorage {
     for (StorageResourceId sourceId : sources) {
       // TODO(user): If we change to also set generationIds for source objects in the base
       // GoogleCloudStorageImpl, make sure to also add a generationId check here.
-      try (SeekableByteChannel sourceChannel = open(sourceId)) {
+      // Compose concatenates stored bytes of the source objects, even if they are gzip-encoded.
+      try (SeekableByteChannel sourceChannel =
+          open(
+              sourceId,
+              GoogleCloudStorageReadOptions.builder()
+                  .setGzipEncodingSupportEnabled(true)
+                  .build())) {
         byte[] bufferArray = new byte[4 * 1024 * 1024];
         int bytesRead;
         do {
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link AdaptiveBatchLimits}. */
+@RunWith(JUnit4.class)
+public class AdaptiveBatchLimitsTest {
+
+  private static final int MAX_REQUESTS_PER_BATCH = 16;
+  private static final int MAX_BATCHES = 8;
+
+  private AdaptiveBatchLimits limits;
+  private AdaptiveBatchLimits.Batches batches;
+  private long timeNanos;
+
+  @Before
+  public void setUp() {
+    limits = new AdaptiveBatchLimits();
+    batches = new AdaptiveBatchLimits.Batches(MAX_BATCHES);
+    timeNanos = 1_000;
+  }
+
+  @Test
+  public void noThrottling_doesNotLimitBatches() throws Exception {
+    executeBatches(/* batches= */ 4, /* batchSize= */ 16, /* throttled= */ false);
+
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH))
+        .isEqualTo(MAX_REQUESTS_PER_BATCH);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(MAX_BATCHES);
+  }
+
+  @Test
+  public void throttledBatch_halvesLimits() throws Exception {
+    executeBatches(/* batches= */ 4, /* batchSize= */ 16, /* throttled= */ true);
+
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(8);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(2);
+  }
+
+  @Test
+  public void throttledBatch_sentBeforeDecrease_doesNotDecreaseLimitsAgain() throws Exception {
+    long startNanos = timeNanos;
+    limits.acquire(batches);
+    limits.acquire(batches);
+    limits.release(startNanos, startNanos + 10, batches, 16, true, MAX_REQUESTS_PER_BATCH);
+    limits.release(startNanos, startNanos + 20, batches, 16, true, MAX_REQUESTS_PER_BATCH);
+
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(8);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(1);
+  }
+
+  @Test
+  public void successfulBatches_increaseLimitsUpToConfiguredLimits() throws Exception {
+    executeBatches(/* batches= */ 2, /* batchSize= */ 16, /* throttled= */ true);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(8);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(1);
+
+    executeBatches(/* batches= */ 1, /* batchSize= */ 8, /* throttled= */ false);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(9);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(2);
+
+    for (int i = 0; i < 100; i++) {
+      executeBatches(/* batches= */ 1, /* batchSize= */ 8, /* throttled= */ false);
+    }
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH))
+        .isEqualTo(MAX_REQUESTS_PER_BATCH);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(MAX_BATCHES);
+  }
+
+  @Test
+  public void degradedLatency_doesNotIncreaseLimits() throws Exception {
+    executeBatches(/* batches= */ 2, /* batchSize= */ 16, /* throttled= */ true);
+
+    limits.acquire(batches);
+    limits.release(timeNanos, timeNanos + 100, batches, 8, false, MAX_REQUESTS_PER_BATCH);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(9);
+
+    limits.acquire(batches);
+    limits.release(timeNanos, timeNanos + 1_000, batches, 8, false, MAX_REQUESTS_PER_BATCH);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(9);
+  }
+
+  @Test
+  public void degradedLatency_increasesLimitsAfterBaselineAdapts() throws Exception {
+    executeBatches(/* batches= */ 2, /* batchSize= */ 16, /* throttled= */ true);
+
+    limits.acquire(batches);
+    limits.release(timeNanos, timeNanos + 100, batches, 8, false, MAX_REQUESTS_PER_BATCH);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(9);
+
+    for (int i = 0; i < 20; i++) {
+      limits.acquire(batches);
+      limits.release(timeNanos, timeNanos + 1_000, batches, 8, false, MAX_REQUESTS_PER_BATCH);
+    }
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isGreaterThan(9);
+  }
+
+  @Test
+  public void throttledBatch_resetsLatencyBaseline() throws Exception {
+    limits.acquire(batches);
+    limits.release(timeNanos, timeNanos + 100, batches, 8, false, MAX_REQUESTS_PER_BATCH);
+    executeBatches(/* batches= */ 2, /* batchSize= */ 16, /* throttled= */ true);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(8);
+
+    limits.acquire(batches);
+    limits.release(timeNanos, timeNanos + 1_000, batches, 8, false, MAX_REQUESTS_PER_BATCH);
+    assertThat(limits.getRequestsPerBatchLimit(MAX_REQUESTS_PER_BATCH)).isEqualTo(9);
+  }
+
+  @Test
+  public void acquire_waitsUntilBatchesLimitIsNotExceeded() throws Exception {
+    executeBatches(/* batches= */ 2, /* batchSize= */ 16, /* throttled= */ true);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(1);
+
+    long startNanos = limits.acquire(batches);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Long> secondBatch = executor.submit(() -> limits.acquire(batches));
+      assertThrows(TimeoutException.class, () -> secondBatch.get(100, TimeUnit.MILLISECONDS));
+
+      limits.release(startNanos, batches, 16, false, MAX_REQUESTS_PER_BATCH);
+
+      assertThat(secondBatch.get(1, TimeUnit.SECONDS)).isNotNull();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void throttledBatch_limitsEachHelperRelativeToItsConcurrency() throws Exception {
+    AdaptiveBatchLimits.Batches otherBatches = new AdaptiveBatchLimits.Batches(MAX_BATCHES / 2);
+    long startNanos = timeNanos;
+    for (int i = 0; i < 4; i++) {
+      limits.acquire(batches);
+    }
+    for (int i = 0; i < 2; i++) {
+      limits.acquire(otherBatches);
+    }
+    timeNanos += 160;
+    limits.release(startNanos, timeNanos, batches, 16, true, MAX_REQUESTS_PER_BATCH);
+    for (int i = 0; i < 3; i++) {
+      limits.release(startNanos, timeNanos, batches, 16, false, MAX_REQUESTS_PER_BATCH);
+    }
+    for (int i = 0; i < 2; i++) {
+      limits.release(startNanos, timeNanos, otherBatches, 16, false, MAX_REQUESTS_PER_BATCH);
+    }
+    timeNanos++;
+
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(2);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES / 2)).isEqualTo(1);
+
+    // Both helpers execute batches concurrently up to their own limits.
+    for (int i = 0; i < 100; i++) {
+      startNanos = timeNanos;
+      int helperBatches = limits.getBatchesLimit(MAX_BATCHES);
+      int otherHelperBatches = limits.getBatchesLimit(MAX_BATCHES / 2);
+      for (int j = 0; j < helperBatches; j++) {
+        limits.acquire(batches);
+      }
+      for (int j = 0; j < otherHelperBatches; j++) {
+        limits.acquire(otherBatches);
+      }
+      timeNanos += 160;
+      for (int j = 0; j < helperBatches; j++) {
+        limits.release(startNanos, timeNanos, batches, 16, false, MAX_REQUESTS_PER_BATCH);
+      }
+      for (int j = 0; j < otherHelperBatches; j++) {
+        limits.release(startNanos, timeNanos, otherBatches, 16, false, MAX_REQUESTS_PER_BATCH);
+      }
+      timeNanos++;
+    }
+
+    assertThat(limits.getBatchesLimit(MAX_BATCHES)).isEqualTo(MAX_BATCHES);
+    assertThat(limits.getBatchesLimit(MAX_BATCHES / 2)).isEqualTo(MAX_BATCHES / 2);
+  }
+
+  /** Executes concurrent batches that take 10 nanoseconds per request. */
+  private void executeBatches(int count, int batchSize, boolean throttled) throws Exception {
+    long startNanos = timeNanos;
+    for (int i = 0; i < count; i++) {
+      limits.acquire(batches);
+    }
+    timeNanos += 10L * batchSize;
+    for (int i = 0; i < count; i++) {
+      limits.release(startNanos, timeNanos, batches, batchSize, throttled, MAX_REQUESTS_PER_BATCH);
+    }
+    timeNanos++;
+  }
+}
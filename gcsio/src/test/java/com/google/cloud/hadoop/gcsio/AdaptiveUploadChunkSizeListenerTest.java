@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.api.client.googleapis.media.MediaHttpUploader.MINIMUM_CHUNK_SIZE;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.api.client.googleapis.media.MediaHttpUploader.UploadState;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link AdaptiveUploadChunkSizeListener}. */
+@RunWith(JUnit4.class)
+public class AdaptiveUploadChunkSizeListenerTest {
+
+  private static final int MIN_CHUNK_SIZE = MINIMUM_CHUNK_SIZE;
+  private static final int MAX_CHUNK_SIZE = 8 * MINIMUM_CHUNK_SIZE;
+
+  private AdaptiveUploadChunkSizeListener listener;
+
+  private long uploadedBytes;
+  private long timeNanos;
+
+  @Before
+  public void setUp() {
+    listener =
+        new AdaptiveUploadChunkSizeListener(/* delegate= */ null, MIN_CHUNK_SIZE, MAX_CHUNK_SIZE);
+    uploadedBytes = 0;
+    timeNanos = 1_000;
+    assertThat(
+            listener.nextChunkSize(
+                UploadState.INITIATION_COMPLETE, 0, MIN_CHUNK_SIZE, timeNanos, false))
+        .isEqualTo(MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void constructor_invalidChunkSizes_throwsException() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdaptiveUploadChunkSizeListener(null, MINIMUM_CHUNK_SIZE + 1, MAX_CHUNK_SIZE));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdaptiveUploadChunkSizeListener(null, MAX_CHUNK_SIZE, MIN_CHUNK_SIZE));
+  }
+
+  @Test
+  public void getInitialChunkSize_returnsMinChunkSize() {
+    assertThat(listener.getInitialChunkSize()).isEqualTo(MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void nextChunkSize_throughputImproves_growsUpToMaxChunkSize() {
+    int chunkSize = MIN_CHUNK_SIZE;
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(2 * MIN_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(4 * MIN_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(MAX_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(MAX_CHUNK_SIZE);
+  }
+
+  @Test
+  public void nextChunkSize_throughputDoesNotImprove_keepsChunkSize() {
+    int chunkSize = uploadChunk(MIN_CHUNK_SIZE, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(2 * MIN_CHUNK_SIZE);
+
+    // Twice bigger chunk took twice more time, throughput is the same.
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 2_000);
+    assertThat(chunkSize).isEqualTo(2 * MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void nextChunkSize_throughputDegrades_shrinksChunkSize() {
+    int chunkSize = uploadChunk(MIN_CHUNK_SIZE, /* chunkTimeNanos= */ 1_000);
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(4 * MIN_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 100_000);
+    assertThat(chunkSize).isEqualTo(2 * MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void nextChunkSize_chunkPartiallyPersisted_shrinksAfterNextChunk() {
+    int chunkSize = uploadChunk(MIN_CHUNK_SIZE, /* chunkTimeNanos= */ 1_000);
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(4 * MIN_CHUNK_SIZE);
+
+    // Server persisted only a part of the chunk, chunk size can not be changed yet.
+    uploadedBytes += chunkSize / 2;
+    timeNanos += 1_000;
+    chunkSize =
+        listener.nextChunkSize(
+            UploadState.MEDIA_IN_PROGRESS, uploadedBytes, chunkSize, timeNanos, false);
+    assertThat(chunkSize).isEqualTo(4 * MIN_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(2 * MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void nextChunkSize_lowMemory_shrinksDownToMinChunkSize() {
+    int chunkSize = uploadChunk(MIN_CHUNK_SIZE, /* chunkTimeNanos= */ 1_000);
+    assertThat(chunkSize).isEqualTo(2 * MIN_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1_000, /* lowMemory= */ true);
+    assertThat(chunkSize).isEqualTo(MIN_CHUNK_SIZE);
+
+    chunkSize = uploadChunk(chunkSize, /* chunkTimeNanos= */ 1, /* lowMemory= */ true);
+    assertThat(chunkSize).isEqualTo(MIN_CHUNK_SIZE);
+  }
+
+  @Test
+  public void nextChunkSize_otherUploadStates_keepsChunkSize() {
+    assertThat(
+            listener.nextChunkSize(
+                UploadState.MEDIA_COMPLETE, MIN_CHUNK_SIZE, MIN_CHUNK_SIZE, timeNanos + 1, true))
+        .isEqualTo(MIN_CHUNK_SIZE);
+    assertThat(
+            listener.nextChunkSize(
+                UploadState.INITIATION_STARTED, 0, MIN_CHUNK_SIZE, timeNanos + 1, true))
+        .isEqualTo(MIN_CHUNK_SIZE);
+  }
+
+  private int uploadChunk(int chunkSize, long chunkTimeNanos) {
+    return uploadChunk(chunkSize, chunkTimeNanos, /* lowMemory= */ false);
+  }
+
+  private int uploadChunk(int chunkSize, long chunkTimeNanos, boolean lowMemory) {
+    uploadedBytes += chunkSize;
+    timeNanos += chunkTimeNanos;
+    return listener.nextChunkSize(
+        UploadState.MEDIA_IN_PROGRESS, uploadedBytes, chunkSize, timeNanos, lowMemory);
+  }
+}
@@ -22,19 +22,34 @@ import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageTestUtils.HTTP_TRA
 import static com.google.cloud.hadoop.gcsio.GoogleCloudStorageTestUtils.OBJECT_NAME;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.batchRequestString;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.getRequestString;
+import static com.google.cloud.hadoop.util.testing.MockHttpTransportHelper.emptyResponse;
 import static com.google.cloud.hadoop.util.testing.MockHttpTransportHelper.jsonDataResponse;
+import static com.google.cloud.hadoop.util.testing.MockHttpTransportHelper.jsonErrorResponse;
 import static com.google.cloud.hadoop.util.testing.MockHttpTransportHelper.mockBatchTransport;
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThrows;
 
 import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
 import com.google.api.services.storage.Storage;
 import com.google.api.services.storage.model.StorageObject;
+import com.google.cloud.hadoop.util.testing.MockHttpTransportHelper.ErrorResponses;
+import com.google.common.io.CharStreams;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -146,21 +161,77 @@ public class BatchHelperTest {
     // 6. Queue 2nd GET request to BatchHelper
     batchHelper.queue(storage.objects().get(BUCKET_NAME, objectName2), assertCallback(object2));
 
-    // 7. Validate that 1 batch request consisting of 2 GET requests was sent
+    // 7. Call `flush` at the end to await completion of the batch that is executed in background
+    batchHelper.flush();
+
+    // 8. Validate that 1 batch request consisting of 2 GET requests was sent
     assertThat(httpRequestInitializer.getAllRequestStrings())
         .containsExactly(
             batchRequestString(),
             getRequestString(BUCKET_NAME, objectName1, /* fields= */ null),
             getRequestString(BUCKET_NAME, objectName2, /* fields= */ null));
+  }
+
+  @Test
+  public void batchesArePipelined_withZeroMaxThreads() throws IOException {
+    StorageObject object = newStorageObject(BUCKET_NAME, OBJECT_NAME);
+    // Each batch request waits until the other batch request is sent, so requests complete only if
+    // both batches are in flight at the same time.
+    CountDownLatch batchesInFlight = new CountDownLatch(2);
+    MockHttpTransport transport =
+        new MockHttpTransport() {
+          @Override
+          public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest() {
+              @Override
+              public LowLevelHttpResponse execute() throws IOException {
+                batchesInFlight.countDown();
+                try {
+                  if (!batchesInFlight.await(10, TimeUnit.SECONDS)) {
+                    return emptyResponse(HttpStatusCodes.STATUS_CODE_SERVICE_UNAVAILABLE);
+                  }
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new InterruptedIOException(e.getMessage());
+                }
+                return batchResponse(object, /* responsesInBatch= */ 2);
+              }
+            };
+          }
+        };
 
-    // 8. Reset httpRequestInitializer before validating `flush` method
-    httpRequestInitializer.reset();
+    Storage storage =
+        new Storage(transport, GsonFactory.getDefaultInstance(), httpRequestInitializer);
+    BatchHelper batchHelper =
+        batchFactory.newBatchHelper(
+            httpRequestInitializer,
+            storage,
+            /* maxRequestsPerBatch= */ 2,
+            /* totalRequests= */ 4,
+            /* maxThreads= */ 0,
+            /* traceContext= */ "");
 
-    // 9. Call `flush` at the end.
+    AtomicInteger concurrentCallbacks = new AtomicInteger();
+    AtomicInteger successfulCallbacks = new AtomicInteger();
+    JsonBatchCallback<StorageObject> callback =
+        new JsonBatchCallback<>() {
+          @Override
+          public void onSuccess(StorageObject storageObject, HttpHeaders responseHeaders) {
+            assertThat(concurrentCallbacks.incrementAndGet()).isEqualTo(1);
+            successfulCallbacks.incrementAndGet();
+            concurrentCallbacks.decrementAndGet();
+          }
+
+          @Override
+          public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {}
+        };
+    for (int i = 0; i < 4; i++) {
+      batchHelper.queue(storage.objects().get(BUCKET_NAME, OBJECT_NAME), callback);
+    }
     batchHelper.flush();
 
-    // 10. Validate that `flush` method call is noop if all requests were sent already
-    assertThat(httpRequestInitializer.getAllRequestStrings()).isEmpty();
+    assertThat(successfulCallbacks.get()).isEqualTo(4);
+    assertThat(batchesInFlight.getCount()).isEqualTo(0);
   }
 
   @Test
@@ -248,6 +319,66 @@ public class BatchHelperTest {
     assertThat(batchHelper.isEmpty()).isTrue();
   }
 
+  @Test
+  public void throttledRequest_decreasesAdaptiveLimits() throws IOException {
+    String objectName1 = OBJECT_NAME + "-01";
+    String objectName2 = OBJECT_NAME + "-02";
+    StorageObject object1 = newStorageObject(BUCKET_NAME, objectName1);
+
+    MockHttpTransport transport =
+        mockBatchTransport(
+            /* requestsPerBatch= */ 2,
+            jsonDataResponse(object1),
+            jsonErrorResponse(ErrorResponses.RATE_LIMITED));
+
+    AdaptiveBatchLimits adaptiveLimits = new AdaptiveBatchLimits();
+    Storage storage =
+        new Storage(transport, GsonFactory.getDefaultInstance(), httpRequestInitializer);
+    BatchHelper batchHelper =
+        new BatchHelper.Factory(adaptiveLimits)
+            .newBatchHelper(
+                httpRequestInitializer,
+                storage,
+                /* maxRequestsPerBatch= */ 2,
+                /* totalRequests= */ 2,
+                /* maxThreads= */ 1,
+                /* traceContext= */ "");
+
+    batchHelper.queue(storage.objects().get(BUCKET_NAME, objectName1), assertCallback(object1));
+    batchHelper.queue(storage.objects().get(BUCKET_NAME, objectName2), assertCallback(null));
+    batchHelper.flush();
+
+    assertThat(httpRequestInitializer.getAllRequestStrings())
+        .containsExactly(
+            batchRequestString(),
+            getRequestString(BUCKET_NAME, objectName1, /* fields= */ null),
+            getRequestString(BUCKET_NAME, objectName2, /* fields= */ null));
+    assertThat(adaptiveLimits.getRequestsPerBatchLimit(/* maxRequestsPerBatch= */ 2)).isEqualTo(1);
+    assertThat(adaptiveLimits.getBatchesLimit(/* maxBatches= */ 2)).isEqualTo(1);
+  }
+
+  private static MockLowLevelHttpResponse batchResponse(Object object, int responsesInBatch)
+      throws IOException {
+    String boundary = "batch_pK7JBAk73-E=_AA5eFwv4m2Q=";
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < responsesInBatch; i++) {
+      LowLevelHttpResponse response = jsonDataResponse(object);
+      content
+          .append(String.format("\n--%s\n", boundary))
+          .append("Content-Type: application/http\n")
+          .append(String.format("Content-ID: <response-%d>\n\n", i + 1))
+          .append(String.format("HTTP/1.1 %s OK\n", response.getStatusCode()))
+          .append(String.format("Content-Length: %s\n\n", response.getContentLength()))
+          .append(CharStreams.toString(new InputStreamReader(response.getContent(), UTF_8)))
+          .append('\n');
+    }
+    content.append(String.format("\n--%s--\n", boundary));
+    return new MockLowLevelHttpResponse()
+        .setStatusCode(HttpStatusCodes.STATUS_CODE_OK)
+        .setContentType("multipart/mixed; boundary=" + boundary)
+        .setContent(content.toString());
+  }
+
   private JsonBatchCallback<StorageObject> assertCallback(StorageObject expectedObject) {
     return new JsonBatchCallback<>() {
       @Override
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
+import com.google.common.collect.Sets;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CoalescingGoogleCloudStorageTest {
+
+  private static final String BUCKET_NAME = "test-bucket";
+  private static final StorageResourceId ITEM_ID = new StorageResourceId(BUCKET_NAME, "dir/obj");
+
+  private BlockingGoogleCloudStorage blockingGcs;
+  private CoalescingGoogleCloudStorage gcs;
+
+  @Before
+  public void setUp() throws IOException {
+    InMemoryGoogleCloudStorage inMemoryGcs = new InMemoryGoogleCloudStorage();
+    inMemoryGcs.createBucket(BUCKET_NAME);
+    inMemoryGcs.createEmptyObject(ITEM_ID);
+    blockingGcs = new BlockingGoogleCloudStorage(inMemoryGcs);
+    gcs = new CoalescingGoogleCloudStorage(blockingGcs);
+  }
+
+  @Test
+  public void getItemInfo_concurrentCallsShareRequest() throws Exception {
+    List<FutureTask<GoogleCloudStorageItemInfo>> calls =
+        startCalls(5, () -> gcs.getItemInfo(ITEM_ID));
+
+    blockingGcs.release();
+
+    for (FutureTask<GoogleCloudStorageItemInfo> call : calls) {
+      assertThat(call.get().getResourceId()).isEqualTo(ITEM_ID);
+    }
+    assertThat(blockingGcs.requests.get()).isEqualTo(1);
+    assertThat(gcs.inFlightRequestCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void getItemInfo_differentObjects_notCoalesced() throws Exception {
+    StorageResourceId otherId = new StorageResourceId(BUCKET_NAME, "dir/other");
+    List<FutureTask<GoogleCloudStorageItemInfo>> calls =
+        startCalls(1, () -> gcs.getItemInfo(ITEM_ID));
+    calls.addAll(startCalls(1, () -> gcs.getItemInfo(otherId)));
+
+    blockingGcs.release();
+
+    assertThat(calls.get(0).get().exists()).isTrue();
+    assertThat(calls.get(1).get().exists()).isFalse();
+    assertThat(blockingGcs.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void getItemInfo_sequentialCallsNotCoalesced() throws Exception {
+    blockingGcs.release();
+
+    gcs.getItemInfo(ITEM_ID);
+    gcs.getItemInfo(ITEM_ID);
+
+    assertThat(blockingGcs.requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void listObjectInfo_concurrentCallsShareRequest() throws Exception {
+    List<FutureTask<List<GoogleCloudStorageItemInfo>>> calls =
+        startCalls(3, () -> gcs.listObjectInfo(BUCKET_NAME, "dir/"));
+
+    blockingGcs.release();
+
+    List<GoogleCloudStorageItemInfo> first = calls.get(0).get();
+    assertThat(first).hasSize(1);
+    for (FutureTask<List<GoogleCloudStorageItemInfo>> call : calls) {
+      assertThat(call.get()).containsExactlyElementsIn(first);
+    }
+    // Each caller receives its own modifiable copy of the listing.
+    first.clear();
+    assertThat(calls.get(1).get()).hasSize(1);
+    assertThat(blockingGcs.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void isHnBucket_concurrentCallsShareRequest() throws Exception {
+    List<FutureTask<Boolean>> calls =
+        startCalls(
+            3, () -> gcs.isHnBucket(URI.create("gs://" + BUCKET_NAME + "/dir/" + Math.random())));
+
+    blockingGcs.release();
+
+    for (FutureTask<Boolean> call : calls) {
+      assertThat(call.get()).isFalse();
+    }
+    assertThat(blockingGcs.requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void failedRequest_exceptionPropagatedToAllCallers() throws Exception {
+    blockingGcs.failure = new FileNotFoundException("test failure");
+    List<FutureTask<GoogleCloudStorageItemInfo>> calls =
+        startCalls(3, () -> gcs.getItemInfo(ITEM_ID));
+
+    blockingGcs.release();
+
+    Set<Throwable> failures = Sets.newIdentityHashSet();
+    for (FutureTask<GoogleCloudStorageItemInfo> call : calls) {
+      ExecutionException e = assertThrows(ExecutionException.class, call::get);
+      Throwable failure = e.getCause();
+      assertThat(failure).isInstanceOf(FileNotFoundException.class);
+      assertThat(failure).hasMessageThat().isEqualTo("test failure");
+      if (failure != blockingGcs.failure) {
+        assertThat(failure).hasCauseThat().isSameInstanceAs(blockingGcs.failure);
+      }
+      failures.add(failure);
+    }
+    // Each caller receives its own exception.
+    assertThat(failures).hasSize(3);
+    assertThat(blockingGcs.requests.get()).isEqualTo(1);
+    assertThat(gcs.inFlightRequestCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void interruptedRequest_retriedByWaitingCallers() throws Exception {
+    blockingGcs.failure = new InterruptedIOException("test interruption");
+    blockingGcs.failOnce = true;
+    List<FutureTask<GoogleCloudStorageItemInfo>> calls =
+        startCalls(3, () -> gcs.getItemInfo(ITEM_ID));
+
+    blockingGcs.release();
+
+    int interruptedCalls = 0;
+    for (FutureTask<GoogleCloudStorageItemInfo> call : calls) {
+      try {
+        assertThat(call.get().exists()).isTrue();
+      } catch (ExecutionException e) {
+        assertThat(e).hasCauseThat().isInstanceOf(InterruptedIOException.class);
+        interruptedCalls++;
+      }
+    }
+    assertThat(interruptedCalls).isEqualTo(1);
+    assertThat(blockingGcs.requests.get()).isAtLeast(2);
+    assertThat(gcs.inFlightRequestCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void write_detachesInFlightRequests() throws Exception {
+    StorageResourceId newId = new StorageResourceId(BUCKET_NAME, "dir/new");
+    List<FutureTask<GoogleCloudStorageItemInfo>> calls =
+        startCalls(1, () -> gcs.getItemInfo(newId));
+
+    gcs.createEmptyObject(newId);
+    assertThat(gcs.inFlightRequestCount()).isEqualTo(0);
+
+    calls.addAll(startCalls(1, () -> gcs.getItemInfo(newId)));
+    blockingGcs.release();
+
+    assertThat(calls.get(1).get().exists()).isTrue();
+    assertThat(blockingGcs.requests.get()).isEqualTo(2);
+  }
+
+  /**
+   * Starts calls in separate threads and waits until all of them either joined an in-flight request
+   * or blocked in the delegate.
+   */
+  private static <T> List<FutureTask<T>> startCalls(int count, Callable<T> callable)
+      throws InterruptedException {
+    List<FutureTask<T>> calls = new ArrayList<>(count);
+    List<Thread> threads = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      FutureTask<T> call = new FutureTask<>(callable::call);
+      Thread thread = new Thread(call);
+      thread.start();
+      calls.add(call);
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      while (thread.getState() != Thread.State.WAITING && thread.isAlive()) {
+        TimeUnit.MILLISECONDS.sleep(1);
+      }
+    }
+    return calls;
+  }
+
+  private interface Callable<T> {
+    T call() throws IOException;
+  }
+
+  /** {@link GoogleCloudStorage} that blocks metadata requests until they are released. */
+  private static class BlockingGoogleCloudStorage extends ForwardingGoogleCloudStorage {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile IOException failure;
+    private volatile boolean failOnce;
+
+    BlockingGoogleCloudStorage(GoogleCloudStorage delegate) {
+      super(delegate);
+    }
+
+    void release() {
+      released.countDown();
+    }
+
+    @Override
+    public GoogleCloudStorageItemInfo getItemInfo(StorageResourceId resourceId) throws IOException {
+      await();
+      return super.getItemInfo(resourceId);
+    }
+
+    @Override
+    public List<GoogleCloudStorageItemInfo> listObjectInfo(
+        String bucketName, String objectNamePrefix, ListObjectOptions listOptions)
+        throws IOException {
+      await();
+      return super.listObjectInfo(bucketName, objectNamePrefix, listOptions);
+    }
+
+    @Override
+    public boolean isHnBucket(URI path) throws IOException {
+      await();
+      return super.isHnBucket(path);
+    }
+
+    private void await() throws IOException {
+      requests.incrementAndGet();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      IOException e = failure;
+      if (e != null) {
+        if (failOnce) {
+          failure = null;
+        }
+        throw e;
+      }
+    }
+  }
+}
@@ -68,4 +68,20 @@ public class CreateFileOptionsTest {
         .hasMessageThat()
         .isEqualTo("overwriteGenerationId is set to 0 but it can be set only in OVERWRITE mode");
   }
+
+  @Test
+  public void invalidOptions_append_gzipCompressionShouldNotBeEnabled() {
+    IllegalArgumentException thrown =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                CreateFileOptions.builder()
+                    .setWriteMode(CreateFileOptions.WriteMode.APPEND)
+                    .setGzipCompressionEnabled(true)
+                    .build());
+
+    assertThat(thrown)
+        .hasMessageThat()
+        .isEqualTo("gzip compression can not be enabled in APPEND mode");
+  }
 }
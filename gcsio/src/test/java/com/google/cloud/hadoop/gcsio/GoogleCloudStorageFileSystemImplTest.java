@@ -0,0 +1,584 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage.getInMemoryGoogleCloudStorageOptions;
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link GoogleCloudStorageFileSystemImpl} with in-memory GCS. */
+@RunWith(JUnit4.class)
+public class GoogleCloudStorageFileSystemImplTest {
+
+  @Test
+  public void testListFileInfoForPrefixInParallel() throws IOException {
+    String testBucketName = "bucket1";
+    URI dir = URI.create("gs://" + testBucketName + "/dir/");
+
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            InMemoryGoogleCloudStorage::new,
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(getInMemoryGoogleCloudStorageOptions())
+                .setListParallelism(3)
+                .build());
+    GoogleCloudStorage gcs = gcsfs.getGcs();
+    gcs.createBucket(testBucketName);
+    List<String> objectNames =
+        ImmutableList.of(
+            "dir/",
+            "dir/a/f1",
+            "dir/a/f2",
+            "dir/b",
+            "dir/c/",
+            "dir/c/d/f3",
+            "dir/e/f4",
+            "dir/f5",
+            "dir/g/f6");
+    for (String objectName : objectNames) {
+      gcs.createEmptyObject(new StorageResourceId(testBucketName, objectName));
+    }
+
+    List<FileInfo> fileInfos = gcsfs.listFileInfoForPrefix(dir, ListFileOptions.DEFAULT);
+
+    assertThat(fileInfos.stream().map(i -> i.getItemInfo().getObjectName()).collect(toList()))
+        .containsExactlyElementsIn(objectNames.subList(1, objectNames.size()));
+  }
+
+  @Test
+  public void testGetFileInfos_listsOnlyPathsNotFoundAsObjects() throws IOException {
+    String testBucketName = "bucket1";
+    GoogleCloudStorageOptions gcsOptions = getInMemoryGoogleCloudStorageOptions();
+    InMemoryGoogleCloudStorage inMemoryGcs = new InMemoryGoogleCloudStorage(gcsOptions);
+    inMemoryGcs.createBucket(testBucketName);
+    for (String objectName : ImmutableList.of("file", "dir/", "dir/f1", "implicit/f2")) {
+      inMemoryGcs.createEmptyObject(new StorageResourceId(testBucketName, objectName));
+    }
+    List<String> listedPrefixes = Collections.synchronizedList(new ArrayList<>());
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new ForwardingGoogleCloudStorage(inMemoryGcs) {
+                  @Override
+                  public List<GoogleCloudStorageItemInfo> listObjectInfo(
+                      String bucketName, String objectNamePrefix, ListObjectOptions listOptions)
+                      throws IOException {
+                    listedPrefixes.add(objectNamePrefix);
+                    return super.listObjectInfo(bucketName, objectNamePrefix, listOptions);
+                  }
+                },
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(gcsOptions)
+                .build());
+
+    List<FileInfo> fileInfos =
+        gcsfs.getFileInfos(
+            ImmutableList.of(
+                URI.create("gs://" + testBucketName + "/file"),
+                URI.create("gs://" + testBucketName + "/dir/"),
+                URI.create("gs://" + testBucketName + "/implicit"),
+                URI.create("gs://" + testBucketName + "/missing"),
+                URI.create("gs://" + testBucketName)));
+
+    assertThat(fileInfos.stream().map(FileInfo::getPath).collect(toList()))
+        .containsExactly(
+            URI.create("gs://" + testBucketName + "/file"),
+            URI.create("gs://" + testBucketName + "/dir/"),
+            URI.create("gs://" + testBucketName + "/implicit/"),
+            URI.create("gs://" + testBucketName + "/missing"),
+            URI.create("gs://" + testBucketName + "/"))
+        .inOrder();
+    assertThat(fileInfos.stream().map(FileInfo::exists).collect(toList()))
+        .containsExactly(true, true, true, false, true)
+        .inOrder();
+    assertThat(fileInfos.stream().map(FileInfo::isDirectory).collect(toList()))
+        .containsExactly(false, true, true, false, true)
+        .inOrder();
+    assertThat(fileInfos.get(2).isInferredDirectory()).isTrue();
+    // Only paths that were not found as objects are listed to infer implicit directories.
+    assertThat(listedPrefixes).containsExactly("implicit/", "missing/");
+  }
+
+  @Test
+  public void testRenameDirectoryPageByPage() throws IOException {
+    testRenameDirectoryPageByPage(/* moveOperationEnabled= */ false);
+  }
+
+  @Test
+  public void testRenameDirectoryPageByPage_moveOperation() throws IOException {
+    testRenameDirectoryPageByPage(/* moveOperationEnabled= */ true);
+  }
+
+  private void testRenameDirectoryPageByPage(boolean moveOperationEnabled) throws IOException {
+    String testBucketName = "bucket1";
+    List<String> objectNames =
+        ImmutableList.of(
+            "src/", "src/_SUCCESS", "src/a/", "src/a/f1", "src/a/f2", "src/b", "src/c");
+    List<String> writes = new ArrayList<>();
+
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new RecordingGoogleCloudStorage(new InMemoryGoogleCloudStorage(options), writes),
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(
+                    getInMemoryGoogleCloudStorageOptions().toBuilder()
+                        .setMaxListItemsPerCall(2)
+                        .setMoveOperationEnabled(moveOperationEnabled)
+                        .build())
+                .setMarkerFilePattern("_SUCCESS")
+                .build());
+    GoogleCloudStorage gcs = gcsfs.getGcs();
+    gcs.createBucket(testBucketName);
+    for (String objectName : objectNames) {
+      gcs.createEmptyObject(new StorageResourceId(testBucketName, objectName));
+    }
+    writes.clear();
+
+    gcsfs.rename(
+        URI.create("gs://" + testBucketName + "/src/"),
+        URI.create("gs://" + testBucketName + "/dst/"));
+
+    assertThat(
+            gcs
+                .listObjectInfo(
+                    testBucketName,
+                    /* objectNamePrefix= */ null,
+                    ListObjectOptions.DEFAULT_FLAT_LIST)
+                .stream()
+                .map(GoogleCloudStorageItemInfo::getObjectName)
+                .collect(toList()))
+        .containsExactly("dst/_SUCCESS", "dst/a/", "dst/a/f1", "dst/a/f2", "dst/b", "dst/c");
+    // Marker file is renamed after all other items.
+    String markerRename = (moveOperationEnabled ? "move " : "copy ") + "src/_SUCCESS";
+    assertThat(writes).contains(markerRename);
+    assertThat(writes.subList(0, writes.indexOf(markerRename)))
+        .containsAtLeast(
+            (moveOperationEnabled ? "move " : "copy ") + "src/a/f2",
+            (moveOperationEnabled ? "move " : "copy ") + "src/c");
+    if (!moveOperationEnabled) {
+      // Source marker file is deleted before other items.
+      int markerDelete = writes.indexOf("delete src/_SUCCESS");
+      assertThat(markerDelete).isGreaterThan(writes.indexOf(markerRename));
+      assertThat(
+              writes.subList(0, markerDelete).stream()
+                  .filter(w -> w.startsWith("delete "))
+                  .collect(toList()))
+          .isEmpty();
+      // Source directory objects are deleted after their children.
+      assertThat(writes.indexOf("delete src/a/")).isGreaterThan(writes.indexOf("delete src/a/f1"));
+    }
+  }
+
+  @Test
+  public void testRenameDirectory_failedDelete_doesNotDeleteItemsOfFollowingPages()
+      throws IOException {
+    String testBucketName = "bucket1";
+    List<String> objectNames =
+        ImmutableList.of("src/", "src/a/", "src/a/f1", "src/a/f2", "src/b", "src/c", "src/d");
+    List<String> writes = new ArrayList<>();
+    List<String> listedPageTokens = new ArrayList<>();
+    GoogleCloudStorageOptions gcsOptions =
+        getInMemoryGoogleCloudStorageOptions().toBuilder().setMaxListItemsPerCall(2).build();
+    GoogleCloudStorage inMemoryGcs = new InMemoryGoogleCloudStorage(gcsOptions);
+    inMemoryGcs.createBucket(testBucketName);
+    for (String objectName : objectNames) {
+      inMemoryGcs.createEmptyObject(new StorageResourceId(testBucketName, objectName));
+    }
+
+    // Fail rename when copied items of the page with "src/a/f2" and "src/b" items are deleted.
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new RecordingGoogleCloudStorage(inMemoryGcs, writes) {
+                  @Override
+                  public ListPage<GoogleCloudStorageItemInfo> listObjectInfoPage(
+                      String bucketName,
+                      String objectNamePrefix,
+                      ListObjectOptions listOptions,
+                      String pageToken)
+                      throws IOException {
+                    if (listOptions.getMaxResults() != 1) {
+                      synchronized (listedPageTokens) {
+                        listedPageTokens.add(String.valueOf(pageToken));
+                      }
+                    }
+                    return super.listObjectInfoPage(
+                        bucketName, objectNamePrefix, listOptions, pageToken);
+                  }
+
+                  @Override
+                  public void deleteObjects(List<StorageResourceId> fullObjectNames)
+                      throws IOException {
+                    if (fullObjectNames.contains(new StorageResourceId(testBucketName, "src/b"))) {
+                      throw new IOException("Injected failure");
+                    }
+                    super.deleteObjects(fullObjectNames);
+                  }
+                },
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(gcsOptions)
+                .build());
+
+    assertThrows(
+        IOException.class,
+        () ->
+            gcsfs.rename(
+                URI.create("gs://" + testBucketName + "/src/"),
+                URI.create("gs://" + testBucketName + "/dst/")));
+
+    // Files of each page are deleted right after they are copied.
+    assertThat(writes.indexOf("delete src/a/f1")).isLessThan(writes.indexOf("copy src/a/f2"));
+    // Items of the failed and following pages, and directory objects, are not deleted.
+    assertThat(
+            inMemoryGcs
+                .listObjectInfo(
+                    testBucketName,
+                    /* objectNamePrefix= */ null,
+                    ListObjectOptions.DEFAULT_FLAT_LIST)
+                .stream()
+                .map(GoogleCloudStorageItemInfo::getObjectName)
+                .filter(name -> name.startsWith("src/"))
+                .collect(toList()))
+        .containsExactly("src/", "src/a/", "src/a/f2", "src/b", "src/c", "src/d");
+    assertThat(writes).containsNoneOf("copy src/c", "copy src/d");
+    // Source directory is listed only once.
+    assertThat(listedPageTokens).containsNoDuplicates();
+  }
+
+  @Test
+  public void testRenameDirectory_resumesInterruptedRenameFromJournal() throws IOException {
+    String testBucketName = "bucket1";
+    List<String> objectNames =
+        ImmutableList.of(
+            "src/", "src/_SUCCESS", "src/a/", "src/a/f1", "src/a/f2", "src/b", "src/c");
+    GoogleCloudStorageOptions gcsOptions =
+        getInMemoryGoogleCloudStorageOptions().toBuilder().setMaxListItemsPerCall(2).build();
+    GoogleCloudStorageFileSystemOptions gcsFsOptions =
+        GoogleCloudStorageFileSystemOptions.builder()
+            .setCloudStorageOptions(gcsOptions)
+            .setMarkerFilePattern("_SUCCESS")
+            .setRenameJournalPath("gs://" + testBucketName + "/journals")
+            .build();
+    GoogleCloudStorage inMemoryGcs = new InMemoryGoogleCloudStorage(gcsOptions);
+    inMemoryGcs.createBucket(testBucketName);
+    for (String objectName : objectNames) {
+      inMemoryGcs.createEmptyObject(new StorageResourceId(testBucketName, objectName));
+    }
+    URI src = URI.create("gs://" + testBucketName + "/src/");
+    URI dst = URI.create("gs://" + testBucketName + "/dst/");
+
+    // Fail rename when the last page, with "src/b" and "src/c" items, is copied.
+    GoogleCloudStorageFileSystem failingGcsFs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new ForwardingGoogleCloudStorage(inMemoryGcs) {
+                  @Override
+                  public void copy(
+                      String srcBucketName,
+                      List<String> srcObjectNames,
+                      String dstBucketName,
+                      List<String> dstObjectNames)
+                      throws IOException {
+                    if (srcObjectNames.contains("src/c")) {
+                      throw new IOException("Injected failure");
+                    }
+                    super.copy(srcBucketName, srcObjectNames, dstBucketName, dstObjectNames);
+                  }
+                },
+            gcsFsOptions);
+    assertThrows(IOException.class, () -> failingGcsFs.rename(src, dst));
+
+    List<String> writes = new ArrayList<>();
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            options -> new RecordingGoogleCloudStorage(inMemoryGcs, writes), gcsFsOptions);
+    gcsfs.rename(src, dst);
+
+    assertThat(
+            inMemoryGcs
+                .listObjectInfo(
+                    testBucketName,
+                    /* objectNamePrefix= */ null,
+                    ListObjectOptions.DEFAULT_FLAT_LIST)
+                .stream()
+                .map(GoogleCloudStorageItemInfo::getObjectName)
+                .collect(toList()))
+        .containsExactly("dst/_SUCCESS", "dst/a/", "dst/a/f1", "dst/a/f2", "dst/b", "dst/c");
+    // Only items that were not copied before the failure are copied.
+    assertThat(writes.stream().filter(w -> w.startsWith("copy ")).collect(toList()))
+        .containsExactly("copy src/b", "copy src/c", "copy src/_SUCCESS");
+  }
+
+  @Test
+  public void testRenameDirectory_staleJournal_isNotResumedAndDeleted() throws IOException {
+    String testBucketName = "bucket1";
+    List<String> objectNames = ImmutableList.of("src/", "src/a", "src/b", "other-src/f");
+    GoogleCloudStorageOptions gcsOptions =
+        getInMemoryGoogleCloudStorageOptions().toBuilder().setMaxListItemsPerCall(1).build();
+    GoogleCloudStorageFileSystemOptions gcsFsOptions =
+        GoogleCloudStorageFileSystemOptions.builder()
+            .setCloudStorageOptions(gcsOptions)
+            .setRenameJournalPath("gs://" + testBucketName + "/journals")
+            .setRenameJournalMaxAge(Duration.ofHours(1))
+            .build();
+    // Journals of interrupted renames are written two hours ago.
+    AtomicLong clockOffsetMillis = new AtomicLong(-Duration.ofHours(2).toMillis());
+    GoogleCloudStorage inMemoryGcs =
+        new InMemoryGoogleCloudStorage(
+            gcsOptions, () -> System.currentTimeMillis() + clockOffsetMillis.get());
+    inMemoryGcs.createBucket(testBucketName);
+    for (String objectName : objectNames) {
+      inMemoryGcs.createEmptyObject(new StorageResourceId(testBucketName, objectName));
+    }
+    URI src = URI.create("gs://" + testBucketName + "/src/");
+    URI dst = URI.create("gs://" + testBucketName + "/dst/");
+
+    // Fail renames after their first pages are copied and recorded in journals.
+    GoogleCloudStorageFileSystem failingGcsFs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new ForwardingGoogleCloudStorage(inMemoryGcs) {
+                  @Override
+                  public void deleteObjects(List<StorageResourceId> fullObjectNames)
+                      throws IOException {
+                    throw new IOException("Injected failure");
+                  }
+                },
+            gcsFsOptions);
+    assertThrows(IOException.class, () -> failingGcsFs.rename(src, dst));
+    assertThrows(
+        IOException.class,
+        () ->
+            failingGcsFs.rename(
+                URI.create("gs://" + testBucketName + "/other-src/"),
+                URI.create("gs://" + testBucketName + "/other-dst/")));
+    assertThat(listObjectNames(inMemoryGcs, testBucketName, "journals/")).isNotEmpty();
+
+    clockOffsetMillis.set(0);
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(options -> inMemoryGcs, gcsFsOptions);
+    gcsfs.rename(src, dst);
+
+    // Source is renamed into the existing destination directory, because the journal is stale.
+    assertThat(listObjectNames(inMemoryGcs, testBucketName, "dst/"))
+        .containsExactly("dst/a", "dst/src/a", "dst/src/b");
+    // Stale journals of all renames are deleted.
+    assertThat(listObjectNames(inMemoryGcs, testBucketName, "journals/")).isEmpty();
+  }
+
+  @Test
+  public void testCompose_moreSourcesThanComposeLimit_composesTree() throws IOException {
+    String testBucketName = "bucket1";
+    int sourcesCount =
+        2 * GoogleCloudStorage.MAX_COMPOSE_OBJECTS * GoogleCloudStorage.MAX_COMPOSE_OBJECTS + 1;
+    List<String> writes = Collections.synchronizedList(new ArrayList<>());
+
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new RecordingGoogleCloudStorage(new InMemoryGoogleCloudStorage(options), writes),
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(getInMemoryGoogleCloudStorageOptions())
+                .build());
+    GoogleCloudStorage gcs = gcsfs.getGcs();
+    gcs.createBucket(testBucketName);
+    List<URI> sources = new ArrayList<>(sourcesCount);
+    StringBuilder expectedContent = new StringBuilder();
+    for (int i = 0; i < sourcesCount; i++) {
+      StorageResourceId sourceId = new StorageResourceId(testBucketName, "dir/src" + i);
+      try (WritableByteChannel channel = gcs.create(sourceId)) {
+        channel.write(ByteBuffer.wrap((i + ",").getBytes(UTF_8)));
+      }
+      sources.add(URI.create("gs://" + testBucketName + "/" + sourceId.getObjectName()));
+      expectedContent.append(i).append(',');
+    }
+    writes.clear();
+
+    gcsfs.compose(
+        sources, URI.create("gs://" + testBucketName + "/dir/dst"), "application/octet-stream");
+
+    try (InputStream in =
+        Channels.newInputStream(gcs.open(new StorageResourceId(testBucketName, "dir/dst")))) {
+      assertThat(new String(ByteStreams.toByteArray(in), UTF_8))
+          .isEqualTo(expectedContent.toString());
+    }
+    // 2049 sources are composed into 65 intermediates, then into 3 intermediates and destination.
+    assertThat(writes.stream().filter(w -> w.startsWith("compose ")).count()).isEqualTo(65 + 3 + 1);
+    assertThat(writes.stream().filter(w -> w.startsWith("delete ")).count()).isEqualTo(65 + 3);
+    assertThat(
+            gcs.listObjectInfo(testBucketName, "dir/", ListObjectOptions.DEFAULT_FLAT_LIST).stream()
+                .map(GoogleCloudStorageItemInfo::getObjectName)
+                .filter(
+                    name ->
+                        name.contains(GoogleCloudStorageFileSystemImpl.COMPOSE_INTERMEDIATE_PREFIX))
+                .collect(toList()))
+        .isEmpty();
+  }
+
+  @Test
+  public void testCompose_failedIntermediateCompose_deletesAllIntermediates() throws IOException {
+    String testBucketName = "bucket1";
+    int sourcesCount = 2 * GoogleCloudStorage.MAX_COMPOSE_OBJECTS + 1;
+    List<String> writes = Collections.synchronizedList(new ArrayList<>());
+
+    // Fail compose of the second of three intermediate objects.
+    GoogleCloudStorageFileSystem gcsfs =
+        new GoogleCloudStorageFileSystemImpl(
+            options ->
+                new RecordingGoogleCloudStorage(new InMemoryGoogleCloudStorage(options), writes) {
+                  @Override
+                  public void compose(
+                      String bucketName,
+                      List<String> sources,
+                      String destination,
+                      String contentType)
+                      throws IOException {
+                    super.compose(bucketName, sources, destination, contentType);
+                    if (destination.endsWith(".0.1")) {
+                      throw new IOException("Injected failure");
+                    }
+                  }
+                },
+            GoogleCloudStorageFileSystemOptions.builder()
+                .setCloudStorageOptions(
+                    getInMemoryGoogleCloudStorageOptions().toBuilder().setBatchThreads(3).build())
+                .build());
+    GoogleCloudStorage gcs = gcsfs.getGcs();
+    gcs.createBucket(testBucketName);
+    List<URI> sources = new ArrayList<>(sourcesCount);
+    for (int i = 0; i < sourcesCount; i++) {
+      StorageResourceId sourceId = new StorageResourceId(testBucketName, "dir/src" + i);
+      gcs.createEmptyObject(sourceId);
+      sources.add(URI.create("gs://" + testBucketName + "/" + sourceId.getObjectName()));
+    }
+    writes.clear();
+
+    assertThrows(
+        IOException.class,
+        () ->
+            gcsfs.compose(
+                sources,
+                URI.create("gs://" + testBucketName + "/dir/dst"),
+                "application/octet-stream"));
+
+    // All intermediate objects are deleted after all compose requests complete.
+    List<String> composed =
+        writes.stream()
+            .filter(w -> w.startsWith("compose "))
+            .map(w -> w.substring("compose ".length()))
+            .collect(toList());
+    List<String> deleted =
+        writes.stream()
+            .filter(w -> w.startsWith("delete "))
+            .map(w -> w.substring("delete ".length()))
+            .collect(toList());
+    assertThat(composed).doesNotContain("dir/dst");
+    assertThat(deleted).hasSize(3);
+    assertThat(deleted).containsAtLeastElementsIn(composed);
+    assertThat(writes.indexOf("delete " + deleted.get(0)))
+        .isGreaterThan(writes.indexOf("compose " + composed.get(composed.size() - 1)));
+    assertThat(
+            gcs.listObjectInfo(testBucketName, "dir/", ListObjectOptions.DEFAULT_FLAT_LIST).stream()
+                .map(GoogleCloudStorageItemInfo::getObjectName)
+                .filter(
+                    name ->
+                        name.contains(GoogleCloudStorageFileSystemImpl.COMPOSE_INTERMEDIATE_PREFIX)
+                            || name.equals("dir/dst"))
+                .collect(toList()))
+        .isEmpty();
+  }
+
+  private static List<String> listObjectNames(
+      GoogleCloudStorage gcs, String bucketName, String prefix) throws IOException {
+    return gcs
+        .listObjectInfo(
+            bucketName, /* objectNamePrefix= */ null, ListObjectOptions.DEFAULT_FLAT_LIST)
+        .stream()
+        .map(GoogleCloudStorageItemInfo::getObjectName)
+        .filter(name -> name.startsWith(prefix))
+        .collect(toList());
+  }
+
+  /**
+   * {@link GoogleCloudStorage} that records names of copied, moved, composed and deleted objects.
+   */
+  private static class RecordingGoogleCloudStorage extends ForwardingGoogleCloudStorage {
+
+    private final List<String> writes;
+
+    RecordingGoogleCloudStorage(GoogleCloudStorage delegate, List<String> writes) {
+      super(delegate);
+      this.writes = writes;
+    }
+
+    @Override
+    public void copy(
+        String srcBucketName,
+        List<String> srcObjectNames,
+        String dstBucketName,
+        List<String> dstObjectNames)
+        throws IOException {
+      srcObjectNames.forEach(name -> writes.add("copy " + name));
+      super.copy(srcBucketName, srcObjectNames, dstBucketName, dstObjectNames);
+    }
+
+    @Override
+    public void move(Map<StorageResourceId, StorageResourceId> sourceToDestinationObjectsMap)
+        throws IOException {
+      sourceToDestinationObjectsMap
+          .keySet()
+          .forEach(id -> writes.add("move " + id.getObjectName()));
+      super.move(sourceToDestinationObjectsMap);
+    }
+
+    @Override
+    public void compose(
+        String bucketName, List<String> sources, String destination, String contentType)
+        throws IOException {
+      writes.add("compose " + destination);
+      super.compose(bucketName, sources, destination, contentType);
+    }
+
+    @Override
+    public void deleteObjects(List<StorageResourceId> fullObjectNames) throws IOException {
+      fullObjectNames.forEach(id -> writes.add("delete " + id.getObjectName()));
+      super.deleteObjects(fullObjectNames);
+    }
+  }
+}
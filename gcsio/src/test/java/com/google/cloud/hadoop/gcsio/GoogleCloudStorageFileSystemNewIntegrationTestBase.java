@@ -479,6 +479,7 @@ public abstract class GoogleCloudStorageFileSystemNewIntegrationTestBase {
     if (isTracingSupported) {
       assertThat(gcsRequestsTracker.getAllRequestStrings())
           .containsExactly(
+              batchRequestString(),
               getRequestString(bucketName, dirObject + "/f1"),
               getRequestString(bucketName, dirObject + "/f2"),
               getRequestString(bucketName, dirObject + "/subdir/f3"))
@@ -515,21 +516,44 @@ public abstract class GoogleCloudStorageFileSystemNewIntegrationTestBase {
     if (isTracingSupported) {
       assertThat(gcsRequestsTracker.getAllRequestStrings())
           .containsExactly(
-              listRequestWithTrailingDelimiter(
-                  bucketName, dirObject + "/f1/", /* maxResults= */ 1, /* pageToken= */ null),
+              batchRequestString(),
               getRequestString(bucketName, dirObject + "/f1"),
-              listRequestWithTrailingDelimiter(
-                  bucketName, dirObject + "/f2/", /* maxResults= */ 1, /* pageToken= */ null),
               getRequestString(bucketName, dirObject + "/f2"),
-              listRequestWithTrailingDelimiter(
-                  bucketName,
-                  dirObject + "/subdir/f3/",
-                  /* maxResults= */ 1,
-                  /* pageToken= */ null),
               getRequestString(bucketName, dirObject + "/subdir/f3"));
     }
   }
 
+  @Test
+  public void getFileInfos_infersDirectoriesOnlyForMissingObjects() throws Exception {
+    gcsFs = newGcsFs(newGcsFsOptions().build());
+
+    String bucketName = gcsfsIHelper.sharedBucketName1;
+    URI bucketUri = new URI("gs://" + bucketName + "/");
+    String dirObject = getTestResource();
+
+    gcsfsIHelper.createObjectsWithSubdirs(bucketName, dirObject + "/f1", dirObject + "/subdir/f2");
+
+    List<FileInfo> fileInfos =
+        gcsFs.getFileInfos(
+            ImmutableList.of(
+                bucketUri.resolve(dirObject + "/f1"), bucketUri.resolve(dirObject + "/subdir")));
+
+    assertThat(fileInfos.stream().map(FileInfo::exists).collect(toList()))
+        .containsExactly(true, true);
+    assertThat(fileInfos.get(1).isDirectory()).isTrue();
+
+    if (isTracingSupported) {
+      assertThat(gcsRequestsTracker.getAllRequestStrings())
+          .containsExactly(
+              batchRequestString(),
+              getRequestString(bucketName, dirObject + "/f1"),
+              getRequestString(bucketName, dirObject + "/subdir"),
+              listRequestWithTrailingDelimiter(
+                  bucketName, dirObject + "/subdir/", /* maxResults= */ 1, /* pageToken= */ null))
+          .inOrder();
+    }
+  }
+
   @Test
   public void listFileInfo_file() throws Exception {
     gcsFs = newGcsFs(newGcsFsOptions().build());
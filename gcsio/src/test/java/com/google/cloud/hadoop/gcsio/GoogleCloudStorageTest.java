@@ -34,6 +34,7 @@ import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.getRe
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.listBucketsRequestString;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.listRequestWithTrailingDelimiter;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.moveRequestString;
+import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.multipartUploadRequestString;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.resumableUploadChunkRequestString;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.resumableUploadRequestString;
 import static com.google.cloud.hadoop.gcsio.TrackingHttpRequestInitializer.uploadRequestString;
@@ -47,6 +48,7 @@ import static com.google.cloud.hadoop.util.testing.MockHttpTransportHelper.mockT
 import static com.google.common.net.HttpHeaders.CONTENT_LENGTH;
 import static com.google.common.truth.Truth.assertThat;
 import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThrows;
 
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
@@ -75,7 +77,10 @@ import com.google.cloud.hadoop.util.testing.ThrowingInputStream;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Ints;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
@@ -274,6 +279,237 @@ public class GoogleCloudStorageTest {
     }
   }
 
+  /** Test that GoogleCloudStorage.create(2) uploads small objects in a single request. */
+  @Test
+  public void testCreateSmallObjectSingleRequestUpload() throws Exception {
+    byte[] testData = {0x01, 0x02, 0x03, 0x05, 0x08, 0x09};
+
+    MockHttpTransport transport =
+        mockTransport(
+            jsonErrorResponse(ErrorResponses.NOT_FOUND),
+            jsonDataResponse(
+                newStorageObject(BUCKET_NAME, OBJECT_NAME)
+                    .setSize(BigInteger.valueOf(testData.length))));
+
+    GoogleCloudStorage gcs =
+        mockedGcsImpl(
+            GCS_OPTIONS.toBuilder()
+                .setWriteChannelOptions(
+                    AsyncWriteChannelOptions.builder().setSmallObjectUploadThreshold(10).build())
+                .build(),
+            transport,
+            trackingRequestInitializerWithRetries);
+
+    try (WritableByteChannel writeChannel = gcs.create(RESOURCE_ID)) {
+      assertThat(writeChannel.isOpen()).isTrue();
+      writeChannel.write(ByteBuffer.wrap(testData));
+    }
+
+    assertThat(trackingRequestInitializerWithRetries.getAllRequestStrings())
+        .containsExactly(
+            getRequestString(BUCKET_NAME, OBJECT_NAME),
+            multipartUploadRequestString(BUCKET_NAME, OBJECT_NAME, /* generationId= */ 0))
+        .inOrder();
+
+    HttpRequest uploadRequest = trackingRequestInitializerWithRetries.getAllRequests().get(1);
+    try (ByteArrayOutputStream writtenData = new ByteArrayOutputStream()) {
+      uploadRequest.getContent().writeTo(writtenData);
+      assertThat(Bytes.indexOf(writtenData.toByteArray(), testData)).isAtLeast(0);
+    }
+  }
+
+  /**
+   * Test that GoogleCloudStorage.create(2) switches to resumable upload when written data exceeds
+   * small object upload threshold.
+   */
+  @Test
+  public void testCreateSmallObjectExceedsThresholdResumableUpload() throws Exception {
+    byte[] testData = {0x01, 0x02, 0x03, 0x05, 0x08, 0x09};
+
+    MockHttpTransport transport =
+        mockTransport(
+            jsonErrorResponse(ErrorResponses.NOT_FOUND),
+            resumableUploadResponse(BUCKET_NAME, OBJECT_NAME),
+            jsonDataResponse(
+                newStorageObject(BUCKET_NAME, OBJECT_NAME)
+                    .setSize(BigInteger.valueOf(2 * testData.length))));
+
+    GoogleCloudStorage gcs =
+        mockedGcsImpl(
+            GCS_OPTIONS.toBuilder()
+                .setWriteChannelOptions(
+                    AsyncWriteChannelOptions.builder().setSmallObjectUploadThreshold(10).build())
+                .build(),
+            transport,
+            trackingRequestInitializerWithRetries);
+
+    try (WritableByteChannel writeChannel = gcs.create(RESOURCE_ID)) {
+      writeChannel.write(ByteBuffer.wrap(testData));
+      writeChannel.write(ByteBuffer.wrap(testData));
+    }
+
+    assertThat(trackingRequestInitializerWithRetries.getAllRequestStrings())
+        .containsExactly(
+            getRequestString(BUCKET_NAME, OBJECT_NAME),
+            resumableUploadRequestString(
+                BUCKET_NAME, OBJECT_NAME, /* generationId= */ 0, /* replaceGenerationId= */ false),
+            resumableUploadChunkRequestString(BUCKET_NAME, OBJECT_NAME, /* uploadId= */ 1))
+        .inOrder();
+
+    HttpRequest chunkUploadRequest = trackingRequestInitializerWithRetries.getAllRequests().get(2);
+    try (ByteArrayOutputStream writtenData = new ByteArrayOutputStream()) {
+      chunkUploadRequest.getContent().writeTo(writtenData);
+      assertThat(writtenData.toByteArray()).isEqualTo(Bytes.concat(testData, testData));
+    }
+  }
+
+  /** Test that GoogleCloudStorage.create(2) sends CRC32C checksum in the final upload request. */
+  @Test
+  public void testCreateObjectWithCrc32c() throws Exception {
+    byte[] testData = {0x01, 0x02, 0x03, 0x05, 0x08, 0x09};
+    byte[] expectedCrc32c = Ints.toByteArray(Hashing.crc32c().hashBytes(testData).asInt());
+
+    MockHttpTransport transport =
+        mockTransport(
+            jsonErrorResponse(ErrorResponses.NOT_FOUND),
+            resumableUploadResponse(BUCKET_NAME, OBJECT_NAME),
+            jsonDataResponse(
+                newStorageObject(BUCKET_NAME, OBJECT_NAME)
+                    .setSize(BigInteger.valueOf(testData.length))
+                    .setCrc32c(BaseEncoding.base64().encode(expectedCrc32c))));
+
+    GoogleCloudStorage gcs =
+        mockedGcsImpl(
+            GCS_OPTIONS.toBuilder()
+                .setWriteChannelOptions(
+                    AsyncWriteChannelOptions.builder().setUploadCrc32cEnabled(true).build())
+                .build(),
+            transport,
+            trackingRequestInitializerWithRetries);
+
+    WritableByteChannel writeChannel = gcs.create(RESOURCE_ID);
+    writeChannel.write(ByteBuffer.wrap(testData));
+    writeChannel.close();
+
+    assertThat(trackingRequestInitializerWithRetries.getAllRequestStrings())
+        .containsExactly(
+            getRequestString(BUCKET_NAME, OBJECT_NAME),
+            resumableUploadRequestString(
+                BUCKET_NAME, OBJECT_NAME, /* generationId= */ 0, /* replaceGenerationId= */ false),
+            resumableUploadChunkRequestString(BUCKET_NAME, OBJECT_NAME, /* uploadId= */ 1))
+        .inOrder();
+
+    HttpRequest chunkUploadRequest = trackingRequestInitializerWithRetries.getAllRequests().get(2);
+    assertThat(chunkUploadRequest.getHeaders().get("X-Goog-Hash"))
+        .isEqualTo("crc32c=" + BaseEncoding.base64().encode(expectedCrc32c));
+
+    // Checksum returned by GCS is available without a metadata request.
+    GoogleCloudStorageItemInfo itemInfo =
+        ((GoogleCloudStorageItemInfo.Provider) writeChannel).getItemInfo();
+    assertThat(itemInfo.getVerificationAttributes().getCrc32c()).isEqualTo(expectedCrc32c);
+  }
+
+  /** Test that checksum computed on the client side is not reported as the object checksum. */
+  @Test
+  public void testCreateObjectWithCrc32c_responseWithoutCrc32c() throws Exception {
+    byte[] testData = {0x01, 0x02, 0x03, 0x05, 0x08, 0x09};
+
+    MockHttpTransport transport =
+        mockTransport(
+            jsonErrorResponse(ErrorResponses.NOT_FOUND),
+            resumableUploadResponse(BUCKET_NAME, OBJECT_NAME),
+            jsonDataResponse(
+                newStorageObject(BUCKET_NAME, OBJECT_NAME)
+                    .setSize(BigInteger.valueOf(testData.length))));
+
+    GoogleCloudStorage gcs =
+        mockedGcsImpl(
+            GCS_OPTIONS.toBuilder()
+                .setWriteChannelOptions(
+                    AsyncWriteChannelOptions.builder().setUploadCrc32cEnabled(true).build())
+                .build(),
+            transport,
+            trackingRequestInitializerWithRetries);
+
+    WritableByteChannel writeChannel = gcs.create(RESOURCE_ID);
+    writeChannel.write(ByteBuffer.wrap(testData));
+    writeChannel.close();
+
+    GoogleCloudStorageItemInfo itemInfo =
+        ((GoogleCloudStorageItemInfo.Provider) writeChannel).getItemInfo();
+    assertThat(itemInfo.getVerificationAttributes().getCrc32c()).isNull();
+  }
+
+  /** Test that GoogleCloudStorage.create(2) sends CRC32C checksum of small objects in metadata. */
+  @Test
+  public void testCreateSmallObjectWithCrc32c() throws Exception {
+    byte[] testData = {0x01, 0x02, 0x03, 0x05, 0x08, 0x09};
+    String expectedCrc32c =
+        BaseEncoding.base64()
+            .encode(Ints.toByteArray(Hashing.crc32c().hashBytes(testData).asInt()));
+
+    MockHttpTransport transport =
+        mockTransport(
+            jsonErrorResponse(ErrorResponses.NOT_FOUND),
+            jsonDataResponse(
+                newStorageObject(BUCKET_NAME, OBJECT_NAME)
+                    .setSize(BigInteger.valueOf(testData.length))
+                    .setCrc32c(expectedCrc32c)));
+
+    GoogleCloudStorage gcs =
+        mockedGcsImpl(
+            GCS_OPTIONS.toBuilder()
+                .setWriteChannelOptions(
+                    AsyncWriteChannelOptions.builder()
+                        .setSmallObjectUploadThreshold(10)
+                        .setUploadCrc32cEnabled(true)
+                        .build())
+                .build(),
+            transport,
+            trackingRequestInitializerWithRetries);
+
+    try (WritableByteChannel writeChannel = gcs.create(RESOURCE_ID)) {
+      writeChannel.write(ByteBuffer.wrap(testData));
+    }
+
+    HttpRequest uploadRequest = trackingRequestInitializerWithRetries.getAllRequests().get(1);
+    try (ByteArrayOutputStream writtenData = new ByteArrayOutputStream()) {
+      uploadRequest.getContent().writeTo(writtenData);
+      assertThat(writtenData.toString(UTF_8.name()))
+          .contains("\"crc32c\":\"" + expectedCrc32c + "\"");
+    }
+  }
+
+  /** Test that GoogleCloudStorage.create(2) fails when uploaded object checksum does not match. */
+  @Test
+  public void testCreateObjectCrc32cMismatch() throws Exception {
+    byte[] testData = {0x01, 0x02, 0x03, 0x05, 0x08, 0x09};
+
+    MockHttpTransport transport =
+        mockTransport(
+            jsonErrorResponse(ErrorResponses.NOT_FOUND),
+            resumableUploadResponse(BUCKET_NAME, OBJECT_NAME),
+            jsonDataResponse(
+                newStorageObject(BUCKET_NAME, OBJECT_NAME)
+                    .setSize(BigInteger.valueOf(testData.length))
+                    .setCrc32c("AAAAAA==")));
+
+    GoogleCloudStorage gcs =
+        mockedGcsImpl(
+            GCS_OPTIONS.toBuilder()
+                .setWriteChannelOptions(
+                    AsyncWriteChannelOptions.builder().setUploadCrc32cEnabled(true).build())
+                .build(),
+            transport,
+            trackingRequestInitializerWithRetries);
+
+    WritableByteChannel writeChannel = gcs.create(RESOURCE_ID);
+    writeChannel.write(ByteBuffer.wrap(testData));
+
+    IOException thrown = assertThrows(IOException.class, writeChannel::close);
+    assertThat(thrown).hasCauseThat().hasMessageThat().contains("CRC32C checksum mismatch");
+  }
+
   /**
    * Test handling of various types of exceptions thrown during JSON API call for
    * GoogleCloudStorage.create(2).
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.hadoop.util.AbstractGoogleAsyncWriteChannel;
+import com.google.cloud.hadoop.util.AsyncWriteChannelOptions;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link GzipCompressingWriteChannel}. */
+@RunWith(JUnit4.class)
+public class GzipCompressingWriteChannelTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void write_multipleBlocksInParallel_producesValidGzip() throws IOException {
+    byte[] data = new byte[10_000];
+    new Random().nextBytes(data);
+
+    try (GzipCompressingWriteChannel channel =
+        newChannel(/* blockSize= */ 1_024, /* compressionThreads= */ 3)) {
+      // Write in chunks that do not align with block boundaries.
+      for (int offset = 0; offset < data.length; offset += 700) {
+        channel.write(ByteBuffer.wrap(data, offset, Math.min(700, data.length - offset)));
+      }
+    }
+
+    assertThat(decompress(compressed.toByteArray())).isEqualTo(data);
+  }
+
+  @Test
+  public void write_compressibleData_isCompressed() throws IOException {
+    byte[] data = new byte[100_000];
+
+    try (GzipCompressingWriteChannel channel =
+        newChannel(/* blockSize= */ 16_384, /* compressionThreads= */ 1)) {
+      channel.write(ByteBuffer.wrap(data));
+    }
+
+    assertThat(compressed.size()).isLessThan(data.length / 10);
+    assertThat(decompress(compressed.toByteArray())).isEqualTo(data);
+  }
+
+  @Test
+  public void close_emptyData_producesValidGzip() throws IOException {
+    newChannel(/* blockSize= */ 1_024, /* compressionThreads= */ 1).close();
+
+    assertThat(compressed.size()).isGreaterThan(0);
+    assertThat(decompress(compressed.toByteArray())).isEmpty();
+  }
+
+  @Test
+  public void write_afterClose_throwsException() throws IOException {
+    GzipCompressingWriteChannel channel =
+        newChannel(/* blockSize= */ 1_024, /* compressionThreads= */ 1);
+    channel.close();
+
+    assertThat(channel.isOpen()).isFalse();
+    assertThrows(ClosedChannelException.class, () -> channel.write(ByteBuffer.allocate(1)));
+  }
+
+  @Test
+  public void close_failedDelegateWrite_doesNotCloseDelegate() throws IOException {
+    FailingWriteChannel delegate = new FailingWriteChannel();
+    GzipCompressingWriteChannel channel =
+        newChannel(delegate, /* blockSize= */ 1_024, /* compressionThreads= */ 1);
+    channel.write(ByteBuffer.allocate(100));
+
+    assertThrows(IOException.class, channel::close);
+
+    assertThat(channel.isOpen()).isFalse();
+    assertThat(delegate.isOpen()).isTrue();
+  }
+
+  @Test
+  public void close_afterFailedWrite_doesNotCloseDelegate() throws IOException {
+    FailingWriteChannel delegate = new FailingWriteChannel();
+    GzipCompressingWriteChannel channel =
+        newChannel(delegate, /* blockSize= */ 1_024, /* compressionThreads= */ 1);
+
+    // Blocks are written to the delegate when more than compressionThreads blocks are buffered.
+    assertThrows(IOException.class, () -> channel.write(ByteBuffer.allocate(3_000)));
+    assertThrows(IOException.class, () -> channel.write(ByteBuffer.allocate(1)));
+    assertThrows(IOException.class, channel::close);
+
+    assertThat(delegate.isOpen()).isTrue();
+  }
+
+  @Test
+  public void close_failedCompression_cancelsDelegateUpload() throws IOException {
+    UploadingWriteChannel delegate = new UploadingWriteChannel(executor);
+    delegate.initialize();
+    GzipCompressingWriteChannel channel =
+        new GzipCompressingWriteChannel(
+            delegate,
+            executor,
+            /* compressionLevel= */ 42,
+            /* blockSize= */ 1_024,
+            /* compressionThreads= */ 1);
+    channel.write(ByteBuffer.allocate(100));
+
+    assertThrows(IOException.class, channel::close);
+
+    assertThat(delegate.upload.isCancelled()).isTrue();
+    assertThat(delegate.isOpen()).isFalse();
+  }
+
+  private GzipCompressingWriteChannel newChannel(int blockSize, int compressionThreads) {
+    return newChannel(Channels.newChannel(compressed), blockSize, compressionThreads);
+  }
+
+  private GzipCompressingWriteChannel newChannel(
+      WritableByteChannel delegate, int blockSize, int compressionThreads) {
+    return new GzipCompressingWriteChannel(
+        delegate, executor, Deflater.BEST_SPEED, blockSize, compressionThreads);
+  }
+
+  /** {@link WritableByteChannel} that fails all writes. */
+  private static class FailingWriteChannel implements WritableByteChannel {
+
+    private boolean open = true;
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      throw new IOException("Injected failure");
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+  }
+
+  /** Abortable asynchronous write channel that uploads data by reading it until the end. */
+  private static class UploadingWriteChannel extends AbstractGoogleAsyncWriteChannel<Long>
+      implements AbortableWriteChannel {
+
+    private Future<Long> upload;
+
+    UploadingWriteChannel(ExecutorService executor) {
+      super(
+          executor,
+          AsyncWriteChannelOptions.builder()
+              .setSmallObjectUploadThreshold(0)
+              .setUploadCacheSize(0)
+              .build());
+    }
+
+    @Override
+    public void startUpload(InputStream pipeSource) {
+      upload = threadPool.submit(() -> ByteStreams.exhaust(pipeSource));
+      uploadOperation = upload;
+    }
+
+    @Override
+    protected String getResourceString() {
+      return "test-upload";
+    }
+  }
+
+  private static byte[] decompress(byte[] data) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.cloud.hadoop.gcsio.PerformanceCachingGoogleCloudStorageTest.createObjectItemInfo;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.hadoop.gcsio.GoogleCloudStorage.ListPage;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link ListingCache}. */
+@RunWith(JUnit4.class)
+public class ListingCacheTest {
+
+  private static final String BUCKET = "test-bucket";
+
+  private static final ListObjectOptions FLAT_LIST_OPTIONS = ListObjectOptions.DEFAULT_FLAT_LIST;
+
+  private static final List<GoogleCloudStorageItemInfo> ITEMS =
+      ImmutableList.of(createObjectItemInfo(BUCKET, "a/b/file"));
+
+  private TestTicker ticker;
+  private ListingCache cache;
+
+  @Before
+  public void setUp() {
+    ticker = new TestTicker();
+    cache = new ListingCache(ticker, Duration.ofMillis(10), /* maxItems= */ 2);
+  }
+
+  @Test
+  public void disabled_doesNotCacheListings() {
+    cache = new ListingCache(ticker, Duration.ZERO, /* maxItems= */ 0);
+
+    cache.putList(BUCKET, "a/", ListObjectOptions.DEFAULT, ITEMS, cache.getGeneration());
+
+    assertThat(cache.getList(BUCKET, "a/", ListObjectOptions.DEFAULT)).isNull();
+  }
+
+  @Test
+  public void putList_cachedPerListOptions() {
+    cache.putList(BUCKET, "a/", ListObjectOptions.DEFAULT, ITEMS, cache.getGeneration());
+
+    assertThat(cache.getList(BUCKET, "a/", ListObjectOptions.DEFAULT)).isEqualTo(ITEMS);
+    assertThat(cache.getList(BUCKET, "a/", FLAT_LIST_OPTIONS)).isNull();
+    assertThat(cache.getPage(BUCKET, "a/", ListObjectOptions.DEFAULT, null)).isNull();
+  }
+
+  @Test
+  public void putList_expires() {
+    cache.putList(BUCKET, "a/", ListObjectOptions.DEFAULT, ITEMS, cache.getGeneration());
+
+    ticker.setTimeMillis(11);
+
+    assertThat(cache.getList(BUCKET, "a/", ListObjectOptions.DEFAULT)).isNull();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void put_moreThanMaxItems_isNotCached() {
+    List<GoogleCloudStorageItemInfo> items =
+        ImmutableList.of(
+            createObjectItemInfo(BUCKET, "a/f1"),
+            createObjectItemInfo(BUCKET, "a/f2"),
+            createObjectItemInfo(BUCKET, "a/f3"));
+
+    cache.putList(BUCKET, "a/", ListObjectOptions.DEFAULT, items, cache.getGeneration());
+    cache.putPage(
+        BUCKET,
+        "a/",
+        ListObjectOptions.DEFAULT,
+        /* pageToken= */ null,
+        new ListPage<>(items, /* nextPageToken= */ null),
+        cache.getGeneration());
+
+    assertThat(cache.getList(BUCKET, "a/", ListObjectOptions.DEFAULT)).isNull();
+    assertThat(cache.getPage(BUCKET, "a/", ListObjectOptions.DEFAULT, null)).isNull();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void putPage_cachedPerPageToken() {
+    ListPage<GoogleCloudStorageItemInfo> firstPage = new ListPage<>(ITEMS, "token");
+    ListPage<GoogleCloudStorageItemInfo> lastPage = new ListPage<>(ImmutableList.of(), null);
+    cache.putPage(BUCKET, "a/", FLAT_LIST_OPTIONS, null, firstPage, cache.getGeneration());
+    cache.putPage(BUCKET, "a/", FLAT_LIST_OPTIONS, "token", lastPage, cache.getGeneration());
+
+    ListPage<GoogleCloudStorageItemInfo> cachedFirstPage =
+        cache.getPage(BUCKET, "a/", FLAT_LIST_OPTIONS, null);
+    assertThat(cachedFirstPage.getItems()).isEqualTo(ITEMS);
+    assertThat(cachedFirstPage.getNextPageToken()).isEqualTo("token");
+    assertThat(cache.getPage(BUCKET, "a/", FLAT_LIST_OPTIONS, "token").getItems()).isEmpty();
+    assertThat(cache.getList(BUCKET, "a/", FLAT_LIST_OPTIONS)).isNull();
+  }
+
+  @Test
+  public void invalidate_removesOnlyListingsOfObjectNamePrefixes() {
+    long generation = cache.getGeneration();
+    for (String prefix : ImmutableList.of("", "a", "a/", "a/b/", "a/b/f", "a/c/", "ab/", "b/")) {
+      cache.putList(BUCKET, prefix, FLAT_LIST_OPTIONS, ITEMS, generation);
+    }
+    cache.putList("other-bucket", "a/", FLAT_LIST_OPTIONS, ITEMS, generation);
+
+    cache.invalidate(new StorageResourceId(BUCKET, "a/b/file"));
+
+    for (String prefix : ImmutableList.of("", "a", "a/", "a/b/", "a/b/f")) {
+      assertThat(cache.getList(BUCKET, prefix, FLAT_LIST_OPTIONS)).isNull();
+    }
+    for (String prefix : ImmutableList.of("a/c/", "ab/", "b/")) {
+      assertThat(cache.getList(BUCKET, prefix, FLAT_LIST_OPTIONS)).isEqualTo(ITEMS);
+    }
+    assertThat(cache.getList("other-bucket", "a/", FLAT_LIST_OPTIONS)).isEqualTo(ITEMS);
+  }
+
+  @Test
+  public void put_afterConcurrentInvalidation_isIgnored() {
+    long generation = cache.getGeneration();
+
+    // Object was created while prefix was listed.
+    cache.invalidate(new StorageResourceId(BUCKET, "a/new-file"));
+    cache.putList(BUCKET, "a/", FLAT_LIST_OPTIONS, ITEMS, generation);
+
+    assertThat(cache.getList(BUCKET, "a/", FLAT_LIST_OPTIONS)).isNull();
+  }
+
+  @Test
+  public void invalidateBucket_removesOnlyBucketListings() {
+    cache.putList(BUCKET, "a/", FLAT_LIST_OPTIONS, ITEMS, cache.getGeneration());
+    cache.putList("other-bucket", "a/", FLAT_LIST_OPTIONS, ITEMS, cache.getGeneration());
+
+    cache.invalidateBucket(BUCKET);
+
+    assertThat(cache.getList(BUCKET, "a/", FLAT_LIST_OPTIONS)).isNull();
+    assertThat(cache.getList("other-bucket", "a/", FLAT_LIST_OPTIONS)).isEqualTo(ITEMS);
+  }
+
+  private static class TestTicker extends Ticker {
+
+    private long time;
+
+    @Override
+    public long read() {
+      return time;
+    }
+
+    public void setTimeMillis(long millis) {
+      time = TimeUnit.NANOSECONDS.convert(millis, TimeUnit.MILLISECONDS);
+    }
+  }
+}
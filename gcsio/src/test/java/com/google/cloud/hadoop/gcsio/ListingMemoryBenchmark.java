@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.storage.model.StorageObject;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark that measures the time to convert a synthetic flat listing of millions of objects
+ * into {@link FileInfo}s and the heap retained by the converted listing.
+ *
+ * <p>Listed objects are created page by page with new strings for each object, as they are parsed
+ * from JSON list responses, and only the converted listing is retained. Retained heap per object is
+ * printed after each iteration.
+ *
+ * <p>To run this benchmark execute {@link #main} from the test classpath, e.g.:
+ *
+ * <pre>{@code
+ * mvn -pl gcsio -am test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.google.cloud.hadoop.gcsio.ListingMemoryBenchmark
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+public class ListingMemoryBenchmark {
+
+  private static final String BUCKET = "benchmark-bucket";
+  private static final int PAGE_SIZE = 1_000;
+  private static final int FILES_PER_DIRECTORY = 1_000;
+
+  @Param("5000000")
+  public int objects;
+
+  private List<FileInfo> listing;
+  private long heapBefore;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    listing = null;
+    heapBefore = usedHeap();
+  }
+
+  @Benchmark
+  public List<FileInfo> list() {
+    listing = new ArrayList<>(objects);
+    for (int start = 0; start < objects; start += PAGE_SIZE) {
+      List<GoogleCloudStorageItemInfo> page = new ArrayList<>(PAGE_SIZE);
+      for (StorageObject object : listPage(start, Math.min(objects, start + PAGE_SIZE))) {
+        page.add(GoogleCloudStorageImpl.createItemInfoForStorageObject(object));
+      }
+      listing.addAll(FileInfo.fromItemInfos(page));
+    }
+    return listing;
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    long retained = usedHeap() - heapBefore;
+    System.out.printf(
+        "%nRetained heap: %d MiB, %d bytes per object%n",
+        retained >> 20, retained / listing.size());
+    listing = null;
+  }
+
+  /** Returns list response page of objects with names like {@code table/dt=000123/part-000456}. */
+  private static List<StorageObject> listPage(int start, int end) {
+    List<StorageObject> page = new ArrayList<>(end - start);
+    for (int i = start; i < end; i++) {
+      page.add(
+          new StorageObject()
+              // New strings for each object, as they are created by the JSON parser.
+              .setBucket(new String(BUCKET))
+              .setName(
+                  String.format(
+                      "table/dt=%06d/part-%06d", i / FILES_PER_DIRECTORY, i % FILES_PER_DIRECTORY))
+              .setContentType(new String("application/octet-stream"))
+              .setSize(BigInteger.valueOf(i))
+              .setTimeCreated(new DateTime(i))
+              .setUpdated(new DateTime(i))
+              .setGeneration((long) i)
+              .setMetageneration(1L)
+              .setCrc32c("AAAAAA=="));
+    }
+    return page;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ListingMemoryBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
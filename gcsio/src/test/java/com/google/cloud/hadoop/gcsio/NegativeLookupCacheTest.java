@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link NegativeLookupCache}. */
+@RunWith(JUnit4.class)
+public class NegativeLookupCacheTest {
+
+  private static final String BUCKET = "test-bucket";
+
+  private static final StorageResourceId FILE_ID = new StorageResourceId(BUCKET, "a/b/file");
+
+  private TestTicker ticker;
+  private NegativeLookupCache cache;
+
+  @Before
+  public void setUp() {
+    ticker = new TestTicker();
+    cache = new NegativeLookupCache(ticker, Duration.ofMillis(10));
+  }
+
+  @Test
+  public void disabled_doesNotCacheLookups() {
+    cache = new NegativeLookupCache(ticker, Duration.ZERO);
+
+    cache.putNotFound(FILE_ID, cache.getGeneration());
+    cache.putEmptyPrefix(BUCKET, "a/", cache.getGeneration());
+
+    assertThat(cache.isNotFound(FILE_ID)).isFalse();
+    assertThat(cache.isEmptyPrefix(BUCKET, "a/")).isFalse();
+  }
+
+  @Test
+  public void putNotFound_expires() {
+    cache.putNotFound(FILE_ID, cache.getGeneration());
+    assertThat(cache.isNotFound(FILE_ID)).isTrue();
+
+    ticker.setTimeMillis(11);
+
+    assertThat(cache.isNotFound(FILE_ID)).isFalse();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void putEmptyPrefix_onlyDirectoryPrefixesCached() {
+    cache.putEmptyPrefix(BUCKET, "a/", cache.getGeneration());
+    cache.putEmptyPrefix(BUCKET, "a/b", cache.getGeneration());
+    cache.putEmptyPrefix(BUCKET, "", cache.getGeneration());
+
+    assertThat(cache.isEmptyPrefix(BUCKET, "a/")).isTrue();
+    assertThat(cache.isEmptyPrefix(BUCKET, "a/b")).isFalse();
+    assertThat(cache.isEmptyPrefix(BUCKET, "")).isFalse();
+  }
+
+  @Test
+  public void invalidate_removesObjectAndParentPrefixes() {
+    StorageResourceId otherId = new StorageResourceId(BUCKET, "a/c/file");
+    long generation = cache.getGeneration();
+    cache.putNotFound(FILE_ID, generation);
+    cache.putNotFound(otherId, generation);
+    cache.putEmptyPrefix(BUCKET, "a/", generation);
+    cache.putEmptyPrefix(BUCKET, "a/b/", generation);
+    cache.putEmptyPrefix(BUCKET, "a/c/", generation);
+
+    cache.invalidate(FILE_ID);
+
+    assertThat(cache.isNotFound(FILE_ID)).isFalse();
+    assertThat(cache.isEmptyPrefix(BUCKET, "a/")).isFalse();
+    assertThat(cache.isEmptyPrefix(BUCKET, "a/b/")).isFalse();
+    assertThat(cache.isNotFound(otherId)).isTrue();
+    assertThat(cache.isEmptyPrefix(BUCKET, "a/c/")).isTrue();
+  }
+
+  @Test
+  public void put_afterConcurrentInvalidation_isIgnored() {
+    long generation = cache.getGeneration();
+
+    // Object was created while it was looked up.
+    cache.invalidate(FILE_ID);
+    cache.putNotFound(FILE_ID, generation);
+
+    assertThat(cache.isNotFound(FILE_ID)).isFalse();
+  }
+
+  @Test
+  public void put_sweepsExpiredEntries() {
+    cache.putNotFound(FILE_ID, cache.getGeneration());
+
+    ticker.setTimeMillis(21);
+    cache.putNotFound(new StorageResourceId(BUCKET, "other"), cache.getGeneration());
+
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void invalidateBucket_removesOnlyBucketEntries() {
+    StorageResourceId otherBucketId = new StorageResourceId("other-bucket", "file");
+    cache.putNotFound(FILE_ID, cache.getGeneration());
+    cache.putNotFound(otherBucketId, cache.getGeneration());
+
+    cache.invalidateBucket(BUCKET);
+
+    assertThat(cache.isNotFound(FILE_ID)).isFalse();
+    assertThat(cache.isNotFound(otherBucketId)).isTrue();
+  }
+
+  private static class TestTicker extends Ticker {
+
+    private long time;
+
+    @Override
+    public long read() {
+      return time;
+    }
+
+    public void setTimeMillis(long millis) {
+      time = TimeUnit.NANOSECONDS.convert(millis, TimeUnit.MILLISECONDS);
+    }
+  }
+}
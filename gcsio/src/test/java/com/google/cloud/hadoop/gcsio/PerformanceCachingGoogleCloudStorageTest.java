@@ -17,12 +17,16 @@
 package com.google.cloud.hadoop.gcsio;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.api.client.util.Clock;
+import com.google.cloud.hadoop.gcsio.GoogleCloudStorage.ListPage;
 import com.google.cloud.hadoop.gcsio.testing.GcsItemInfoTestBuilder;
 import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
 import com.google.common.base.Ticker;
@@ -32,7 +36,11 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
+import com.google.common.primitives.Ints;
+import com.google.common.testing.FakeTicker;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.time.Duration;
 import java.util.List;
 import org.junit.Before;
@@ -405,6 +413,148 @@ public class PerformanceCachingGoogleCloudStorageTest {
     assertThat(cache.getAllItemsRaw()).isEmpty();
   }
 
+  @Test
+  public void testCreateCachesItemInfoOnClose() throws IOException {
+    byte[] content = {0x01, 0x02, 0x03};
+
+    try (WritableByteChannel channel =
+        gcs.create(ITEM_A_B.getResourceId(), CREATE_OBJECT_OPTIONS)) {
+      channel.write(ByteBuffer.wrap(content));
+    }
+
+    // Verify the written object is cached with its checksum.
+    GoogleCloudStorageItemInfo cachedItem = cache.getItem(ITEM_A_B.getResourceId());
+    assertThat(cachedItem).isNotNull();
+    assertThat(cachedItem.getVerificationAttributes().getCrc32c())
+        .isEqualTo(Ints.toByteArray(Hashing.crc32c().hashBytes(content).asInt()));
+    assertThat(gcs.getItemInfo(ITEM_A_B.getResourceId())).isEqualTo(cachedItem);
+    verify(gcsDelegate, never()).getItemInfo(eq(ITEM_A_B.getResourceId()));
+  }
+
+  @Test
+  public void testGetItemInfoNotFoundCached() throws IOException {
+    gcs = createGcsWithNegativeCache();
+    StorageResourceId missingId = new StorageResourceId(BUCKET_A, "missing/_SUCCESS");
+
+    assertThat(gcs.getItemInfo(missingId).exists()).isFalse();
+    assertThat(gcs.getItemInfo(missingId).exists()).isFalse();
+    assertThat(gcs.getItemInfos(ImmutableList.of(missingId)).get(0).exists()).isFalse();
+
+    // Verify the delegate was called only once.
+    verify(gcsDelegate).getItemInfo(eq(missingId));
+    verify(gcsDelegate, never()).getItemInfos(any());
+  }
+
+  @Test
+  public void testListObjectInfoEmptyPrefixCached() throws IOException {
+    gcs = createGcsWithNegativeCache();
+    ListObjectOptions listOptions =
+        ListObjectOptions.DEFAULT.toBuilder().setIncludePrefix(true).setMaxResults(1).build();
+
+    assertThat(gcs.listObjectInfo(BUCKET_A, "missing/", listOptions)).isEmpty();
+    assertThat(gcs.listObjectInfo(BUCKET_A, "missing/", listOptions)).isEmpty();
+
+    // Verify the delegate was called only once.
+    verify(gcsDelegate).listObjectInfo(eq(BUCKET_A), eq("missing/"), any());
+  }
+
+  @Test
+  public void testNegativeCacheInvalidatedOnCreate() throws IOException {
+    gcs = createGcsWithNegativeCache();
+    StorageResourceId dirId = new StorageResourceId(BUCKET_A, "dir/");
+    StorageResourceId fileId = new StorageResourceId(BUCKET_A, "dir/file");
+    ListObjectOptions listOptions =
+        ListObjectOptions.DEFAULT.toBuilder().setIncludePrefix(true).setMaxResults(1).build();
+
+    assertThat(gcs.getItemInfo(fileId).exists()).isFalse();
+    assertThat(gcs.listObjectInfo(BUCKET_A, "dir/", listOptions)).isEmpty();
+
+    gcs.create(fileId, CREATE_OBJECT_OPTIONS).close();
+
+    assertThat(gcs.getItemInfo(fileId).exists()).isTrue();
+    assertThat(gcs.listObjectInfo(BUCKET_A, "dir/", listOptions)).isNotEmpty();
+
+    gcs.getItemInfo(dirId);
+    gcs.createEmptyObject(dirId);
+    assertThat(gcs.getItemInfo(dirId).exists()).isTrue();
+  }
+
+  @Test
+  public void testNegativeCacheInvalidatedOnCopy() throws IOException {
+    gcs = createGcsWithNegativeCache();
+    StorageResourceId dstId = new StorageResourceId(BUCKET_A, "copy/dst");
+
+    assertThat(gcs.getItemInfo(dstId).exists()).isFalse();
+
+    gcs.copy(
+        BUCKET_A,
+        ImmutableList.of(ITEM_A_A.getObjectName()),
+        BUCKET_A,
+        ImmutableList.of(dstId.getObjectName()));
+
+    assertThat(gcs.getItemInfo(dstId).exists()).isTrue();
+  }
+
+  @Test
+  public void testMoveRemovesSourceItems() throws IOException {
+    StorageResourceId dstId = new StorageResourceId(BUCKET_A, "moved/bar");
+
+    // Cache source items from listing.
+    assertThat(gcs.listObjectInfo(BUCKET_A, PREFIX_A, ListObjectOptions.DEFAULT_FLAT_LIST))
+        .contains(ITEM_A_A);
+    assertThat(cache.getAllItemsRaw()).contains(ITEM_A_A);
+
+    gcs.move(ImmutableMap.of(ITEM_A_A.getResourceId(), dstId));
+
+    assertThat(cache.getAllItemsRaw()).doesNotContain(ITEM_A_A);
+    assertThat(gcs.getItemInfo(ITEM_A_A.getResourceId()).exists()).isFalse();
+    assertThat(gcs.getItemInfo(dstId).exists()).isTrue();
+  }
+
+  @Test
+  public void testListObjectInfoListingCached() throws IOException {
+    gcs = createGcsWithListingCache();
+
+    List<GoogleCloudStorageItemInfo> result = gcs.listObjectInfo(BUCKET_A, "bar/");
+    assertThat(gcs.listObjectInfo(BUCKET_A, "bar/")).containsExactlyElementsIn(result);
+
+    // Verify the delegate was called only once.
+    verify(gcsDelegate).listObjectInfo(eq(BUCKET_A), eq("bar/"), any());
+  }
+
+  @Test
+  public void testListObjectInfoPageListingCached() throws IOException {
+    gcs = createGcsWithListingCache();
+
+    ListPage<GoogleCloudStorageItemInfo> result =
+        gcs.listObjectInfoPage(BUCKET_A, "bar/", /* pageToken= */ null);
+    ListPage<GoogleCloudStorageItemInfo> cachedResult =
+        gcs.listObjectInfoPage(BUCKET_A, "bar/", /* pageToken= */ null);
+
+    assertThat(cachedResult.getItems()).containsExactlyElementsIn(result.getItems());
+    // Verify the delegate was called only once.
+    verify(gcsDelegate).listObjectInfoPage(eq(BUCKET_A), eq("bar/"), any(), eq(null));
+  }
+
+  @Test
+  public void testListingCacheInvalidatedOnWrites() throws IOException {
+    gcs = createGcsWithListingCache();
+    StorageResourceId newId = new StorageResourceId(BUCKET_A, "bar/new");
+
+    assertThat(gcs.listObjectInfo(BUCKET_A, "bar/")).hasSize(2);
+    assertThat(gcs.listObjectInfo(BUCKET_A, "baz/")).isEmpty();
+
+    gcs.create(newId, CREATE_OBJECT_OPTIONS).close();
+    assertThat(gcs.listObjectInfo(BUCKET_A, "bar/")).hasSize(3);
+
+    gcs.deleteObjects(ImmutableList.of(newId));
+    assertThat(gcs.listObjectInfo(BUCKET_A, "bar/")).hasSize(2);
+
+    // Verify listing of not affected prefix is still cached.
+    assertThat(gcs.listObjectInfo(BUCKET_A, "baz/")).isEmpty();
+    verify(gcsDelegate).listObjectInfo(eq(BUCKET_A), eq("baz/"), any());
+  }
+
   @Test
   public void testComposeObjects() throws IOException {
     List<StorageResourceId> ids =
@@ -421,6 +571,49 @@ public class PerformanceCachingGoogleCloudStorageTest {
     assertThat(cache.getAllItemsRaw()).containsExactly(ITEM_A_AA);
   }
 
+  @Test
+  public void testGetItemInfoServesStaleItemWhileRevalidating() throws IOException {
+    FakeTicker ticker = new FakeTicker();
+    cache =
+        new PrefixMappedItemCache(
+            ticker, Duration.ofMillis(10), Duration.ofMillis(100), 0, /* maxSizeBytes= */ 0);
+    gcs =
+        new PerformanceCachingGoogleCloudStorage(
+            gcsDelegate,
+            cache,
+            new NegativeLookupCache(Duration.ZERO),
+            new ListingCache(Duration.ZERO, /* maxItems= */ 0),
+            /* sharedCache= */ false,
+            newDirectExecutorService());
+    GoogleCloudStorageItemInfo item = gcs.getItemInfo(ITEM_A_A.getResourceId());
+    // Update object bypassing the cache.
+    gcsDelegate.updateItems(
+        ImmutableList.of(
+            new UpdatableItemInfo(ITEM_A_A.getResourceId(), ImmutableMap.of("k", new byte[] {1}))));
+
+    ticker.advance(Duration.ofMillis(20));
+
+    // Stale item is served and revalidated by the direct executor.
+    assertThat(gcs.getItemInfo(ITEM_A_A.getResourceId())).isSameInstanceAs(item);
+    assertThat(gcs.getItemInfo(ITEM_A_A.getResourceId()).getMetaGeneration())
+        .isEqualTo(item.getMetaGeneration() + 1);
+    // Initial request, revalidation request and request made by the delegate updateItems method.
+    verify(gcsDelegate, times(3)).getItemInfo(eq(ITEM_A_A.getResourceId()));
+  }
+
+  private PerformanceCachingGoogleCloudStorage createGcsWithListingCache() {
+    return new PerformanceCachingGoogleCloudStorage(
+        gcsDelegate,
+        cache,
+        new NegativeLookupCache(Duration.ZERO),
+        new ListingCache(new TestTicker(), Duration.ofMillis(10), /* maxItems= */ 0));
+  }
+
+  private PerformanceCachingGoogleCloudStorage createGcsWithNegativeCache() {
+    return new PerformanceCachingGoogleCloudStorage(
+        gcsDelegate, cache, new NegativeLookupCache(new TestTicker(), Duration.ofMillis(10)));
+  }
+
   /**
    * Helper to generate GoogleCloudStorageItemInfo for a bucket entry.
    *
@@ -479,7 +672,7 @@ public class PerformanceCachingGoogleCloudStorageTest {
         new StorageResourceId(bucketName, objectName));
   }
 
-  private static GoogleCloudStorageItemInfo updateObjectItemInfo(
+  static GoogleCloudStorageItemInfo updateObjectItemInfo(
       GoogleCloudStorageItemInfo object, long metaGeneration) {
     return GoogleCloudStorageItemInfo.createObject(
         object.getResourceId(),
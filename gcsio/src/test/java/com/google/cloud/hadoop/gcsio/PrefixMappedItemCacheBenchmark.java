@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.cloud.hadoop.gcsio.PerformanceCachingGoogleCloudStorageTest.createObjectItemInfo;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark that measures throughput of the {@link PrefixMappedItemCache} under contention of
+ * many concurrent readers, writers and prefix invalidations, as it happens when many tasks share
+ * one file system instance with performance cache enabled.
+ *
+ * <p>To run this benchmark execute {@link #main} from the test classpath, e.g.:
+ *
+ * <pre>{@code
+ * mvn -pl gcsio -am test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.google.cloud.hadoop.gcsio.PrefixMappedItemCacheBenchmark
+ * }</pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixMappedItemCacheBenchmark {
+
+  private static final String BUCKET = "benchmark-bucket";
+  private static final int DIRECTORIES = 100;
+  private static final int FILES_PER_DIRECTORY = 100;
+
+  private PrefixMappedItemCache cache;
+  private GoogleCloudStorageItemInfo[] items;
+
+  @Setup
+  public void setUp() {
+    cache = new PrefixMappedItemCache(Duration.ofMinutes(10));
+    items = new GoogleCloudStorageItemInfo[DIRECTORIES * FILES_PER_DIRECTORY];
+    for (int d = 0; d < DIRECTORIES; d++) {
+      for (int f = 0; f < FILES_PER_DIRECTORY; f++) {
+        items[d * FILES_PER_DIRECTORY + f] =
+            createObjectItemInfo(BUCKET, String.format("dir-%d/file-%d", d, f));
+      }
+    }
+    for (GoogleCloudStorageItemInfo item : items) {
+      cache.putItem(item);
+    }
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(48)
+  public GoogleCloudStorageItemInfo getItem() {
+    return cache.getItem(randomItem().getResourceId());
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(14)
+  public GoogleCloudStorageItemInfo putItem() {
+    return cache.putItem(randomItem());
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(2)
+  public GoogleCloudStorageItemInfo removeDirectory() {
+    int directory = ThreadLocalRandom.current().nextInt(DIRECTORIES);
+    return cache.removeItem(new StorageResourceId(BUCKET, "dir-" + directory + "/"));
+  }
+
+  private GoogleCloudStorageItemInfo randomItem() {
+    return items[ThreadLocalRandom.current().nextInt(items.length)];
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(PrefixMappedItemCacheBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
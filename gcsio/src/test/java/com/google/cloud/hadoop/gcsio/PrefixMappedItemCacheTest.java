@@ -17,10 +17,16 @@
 package com.google.cloud.hadoop.gcsio;
 
 import static com.google.cloud.hadoop.gcsio.PerformanceCachingGoogleCloudStorageTest.createObjectItemInfo;
+import static com.google.cloud.hadoop.gcsio.PerformanceCachingGoogleCloudStorageTest.updateObjectItemInfo;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.base.Ticker;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
@@ -120,6 +126,283 @@ public class PrefixMappedItemCacheTest {
   }
 
   /** Ticker with a manual time value used for testing the cache. */
+  /** Test concurrent updates and directory invalidations do not corrupt the cache. */
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    int threads = 8;
+    int items = 1_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < items; i++) {
+                    GoogleCloudStorageItemInfo item =
+                        createObjectItemInfo(BUCKET_A, "dir-" + thread + "/obj-" + i);
+                    cache.putItem(item);
+                    assertThat(cache.getItem(item.getResourceId())).isEqualTo(item);
+                    if (i % 100 == 0) {
+                      cache.removeItem(new StorageResourceId(BUCKET_A, "dir-" + thread + "/"));
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Each thread invalidated its directory last time before putting the last 99 items.
+    assertThat(cache.getAllItemsRaw()).hasSize(threads * 99);
+  }
+
+  /** Test least recently used items are evicted when number of items exceeds the bound. */
+  @Test
+  public void testEvictionByMaxEntries() {
+    cache = new PrefixMappedItemCache(ticker, Duration.ofMillis(10), /* maxEntries= */ 3, 0);
+    GoogleCloudStorageItemInfo itemB = createObjectItemInfo(BUCKET_A, "b");
+    GoogleCloudStorageItemInfo itemC = createObjectItemInfo(BUCKET_A, "c");
+
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(1);
+    cache.putItem(ITEM_A_AA);
+    ticker.setTimeMillis(2);
+    cache.putItem(itemB);
+    ticker.setTimeMillis(3);
+    // Access the oldest item so it becomes the most recently used.
+    assertThat(cache.getItem(ITEM_A_A.getResourceId())).isEqualTo(ITEM_A_A);
+    ticker.setTimeMillis(4);
+    cache.putItem(itemC);
+
+    // Cache shrinks below the low watermark of the bound: 3 * 0.9 = 2.7 items.
+    assertThat(cache.getAllItemsRaw()).containsExactly(ITEM_A_A, itemC);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  /** Test items are evicted when estimated memory size of items exceeds the bound. */
+  @Test
+  public void testEvictionByMaxSize() {
+    GoogleCloudStorageItemInfo[] items = new GoogleCloudStorageItemInfo[4];
+    for (int i = 0; i < items.length; i++) {
+      items[i] = createObjectItemInfo(BUCKET_A, "obj-" + i);
+    }
+    long itemSize = PrefixMappedItemCache.estimateSizeBytes(items[0]);
+    cache =
+        new PrefixMappedItemCache(
+            ticker, Duration.ofMillis(10), /* maxEntries= */ 0, /* maxSizeBytes= */ 3 * itemSize);
+
+    for (int i = 0; i < items.length; i++) {
+      ticker.setTimeMillis(i);
+      cache.putItem(items[i]);
+    }
+
+    assertThat(cache.getAllItemsRaw()).containsExactly(items[2], items[3]);
+    assertThat(cache.sizeBytes()).isEqualTo(2 * itemSize);
+  }
+
+  /** Test expired items are evicted before the least recently used ones. */
+  @Test
+  public void testEvictionRemovesExpiredItemsFirst() {
+    cache = new PrefixMappedItemCache(ticker, Duration.ofMillis(10), /* maxEntries= */ 3, 0);
+    GoogleCloudStorageItemInfo itemB = createObjectItemInfo(BUCKET_A, "b");
+    GoogleCloudStorageItemInfo itemC = createObjectItemInfo(BUCKET_A, "c");
+
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(5);
+    cache.putItem(ITEM_A_AA);
+    ticker.setTimeMillis(8);
+    cache.putItem(itemB);
+    ticker.setTimeMillis(9);
+    cache.getItem(ITEM_A_A.getResourceId());
+    ticker.setTimeMillis(11);
+    cache.putItem(itemC);
+
+    // Recently accessed, but expired item is evicted, then the least recently used one.
+    assertThat(cache.getAllItemsRaw()).containsExactly(itemB, itemC);
+  }
+
+  /** Test size accounting of overwritten, removed and invalidated items. */
+  @Test
+  public void testSizeAccounting() {
+    cache.putItem(ITEM_A_A);
+    cache.putItem(ITEM_A_A);
+    cache.putItem(ITEM_A_AA);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.sizeBytes())
+        .isEqualTo(
+            PrefixMappedItemCache.estimateSizeBytes(ITEM_A_A)
+                + PrefixMappedItemCache.estimateSizeBytes(ITEM_A_AA));
+
+    cache.removeItem(ITEM_A_A.getResourceId());
+    assertThat(cache.size()).isEqualTo(1);
+
+    cache.invalidateBucket(BUCKET_A);
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.sizeBytes()).isEqualTo(0);
+  }
+
+  /** Test partitions do not see and invalidate items of each other. */
+  @Test
+  public void testPartitionsAreIsolated() {
+    PrefixMappedItemCache partition1 = cache.partition("1", Duration.ofMillis(10), Duration.ZERO);
+    PrefixMappedItemCache partition2 = cache.partition("2", Duration.ofMillis(10), Duration.ZERO);
+
+    partition1.putItem(ITEM_A_A);
+    partition2.putItem(ITEM_A_AA);
+
+    assertThat(partition1.getItem(ITEM_A_A.getResourceId())).isEqualTo(ITEM_A_A);
+    assertThat(partition1.getItem(ITEM_A_AA.getResourceId())).isNull();
+    assertThat(partition2.getItem(ITEM_A_A.getResourceId())).isNull();
+    assertThat(
+            cache
+                .partition("1", Duration.ofMillis(10), Duration.ZERO)
+                .getItem(ITEM_A_A.getResourceId()))
+        .isEqualTo(ITEM_A_A);
+
+    partition1.invalidateAll();
+
+    assertThat(partition1.getItem(ITEM_A_A.getResourceId())).isNull();
+    assertThat(partition2.getItem(ITEM_A_AA.getResourceId())).isEqualTo(ITEM_A_AA);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  /** Test partitions share bounds and use their own max entry age. */
+  @Test
+  public void testPartitionsShareBounds() {
+    cache = new PrefixMappedItemCache(ticker, Duration.ofMillis(10), /* maxEntries= */ 2, 0);
+    PrefixMappedItemCache partition1 = cache.partition("1", Duration.ofMillis(100), Duration.ZERO);
+    PrefixMappedItemCache partition2 = cache.partition("2", Duration.ofMillis(100), Duration.ZERO);
+
+    partition1.putItem(ITEM_A_A);
+    ticker.setTimeMillis(50);
+    assertThat(partition1.getItem(ITEM_A_A.getResourceId())).isEqualTo(ITEM_A_A);
+    partition2.putItem(ITEM_A_A);
+    ticker.setTimeMillis(51);
+    partition2.putItem(ITEM_A_AA);
+
+    // Least recently used item of all partitions is evicted.
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(partition2.getItem(ITEM_A_AA.getResourceId())).isEqualTo(ITEM_A_AA);
+  }
+
+  /** Test stale items are served only when allowed and are passed to the revalidator once. */
+  @Test
+  public void testGetItemAllowStale() {
+    cache = createCacheWithStaleAge();
+    List<GoogleCloudStorageItemInfo> revalidated = new ArrayList<>();
+    cache.putItem(ITEM_A_A);
+
+    ticker.setTimeMillis(5);
+    assertThat(cache.getItemAllowStale(ITEM_A_A.getResourceId(), revalidated::add))
+        .isEqualTo(ITEM_A_A);
+    assertThat(revalidated).isEmpty();
+
+    ticker.setTimeMillis(15);
+    assertThat(cache.getItem(ITEM_A_A.getResourceId())).isNull();
+    assertThat(cache.getItemAllowStale(ITEM_A_A.getResourceId(), revalidated::add))
+        .isEqualTo(ITEM_A_A);
+    assertThat(cache.getItemAllowStale(ITEM_A_A.getResourceId(), revalidated::add))
+        .isEqualTo(ITEM_A_A);
+    assertThat(revalidated).containsExactly(ITEM_A_A);
+
+    ticker.setTimeMillis(31);
+    assertThat(cache.getItemAllowStale(ITEM_A_A.getResourceId(), revalidated::add)).isNull();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  /** Test revalidation keeps the stale item if its generation and metageneration did not change. */
+  @Test
+  public void testRevalidateItemUnchanged() {
+    cache = createCacheWithStaleAge();
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(15);
+    GoogleCloudStorageItemInfo staleItem =
+        cache.getItemAllowStale(ITEM_A_A.getResourceId(), i -> {});
+
+    cache.revalidateItem(staleItem, createObjectItemInfo(BUCKET_A, PREFIX_A));
+
+    ticker.setTimeMillis(20);
+    assertThat(cache.getItem(ITEM_A_A.getResourceId())).isSameInstanceAs(staleItem);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  /** Test revalidation replaces the stale item if its metageneration changed. */
+  @Test
+  public void testRevalidateItemChanged() {
+    cache = createCacheWithStaleAge();
+    GoogleCloudStorageItemInfo updatedItem = updateObjectItemInfo(ITEM_A_A, 2);
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(15);
+    GoogleCloudStorageItemInfo staleItem =
+        cache.getItemAllowStale(ITEM_A_A.getResourceId(), i -> {});
+
+    cache.revalidateItem(staleItem, updatedItem);
+
+    assertThat(cache.getItem(ITEM_A_A.getResourceId())).isSameInstanceAs(updatedItem);
+  }
+
+  /** Test revalidation removes the stale item if the object was deleted. */
+  @Test
+  public void testRevalidateItemDeleted() {
+    cache = createCacheWithStaleAge();
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(15);
+    GoogleCloudStorageItemInfo staleItem =
+        cache.getItemAllowStale(ITEM_A_A.getResourceId(), i -> {});
+
+    cache.revalidateItem(
+        staleItem, GoogleCloudStorageItemInfo.createNotFound(ITEM_A_A.getResourceId()));
+
+    assertThat(cache.getItemAllowStale(ITEM_A_A.getResourceId(), i -> {})).isNull();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  /** Test revalidation does not overwrite the item that was updated during revalidation. */
+  @Test
+  public void testRevalidateItemUpdatedConcurrently() {
+    cache = createCacheWithStaleAge();
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(15);
+    GoogleCloudStorageItemInfo staleItem =
+        cache.getItemAllowStale(ITEM_A_A.getResourceId(), i -> {});
+    GoogleCloudStorageItemInfo updatedItem = updateObjectItemInfo(ITEM_A_A, 3);
+    cache.putItem(updatedItem);
+
+    cache.revalidateItem(staleItem, updateObjectItemInfo(ITEM_A_A, 2));
+
+    assertThat(cache.getItem(ITEM_A_A.getResourceId())).isSameInstanceAs(updatedItem);
+  }
+
+  /** Test stale item could be revalidated again after the failed revalidation. */
+  @Test
+  public void testRevalidationFailed() {
+    cache = createCacheWithStaleAge();
+    List<GoogleCloudStorageItemInfo> revalidated = new ArrayList<>();
+    cache.putItem(ITEM_A_A);
+    ticker.setTimeMillis(15);
+    cache.getItemAllowStale(ITEM_A_A.getResourceId(), revalidated::add);
+
+    cache.revalidationFailed(ITEM_A_A);
+    cache.getItemAllowStale(ITEM_A_A.getResourceId(), revalidated::add);
+
+    assertThat(revalidated).containsExactly(ITEM_A_A, ITEM_A_A);
+  }
+
+  private PrefixMappedItemCache createCacheWithStaleAge() {
+    return new PrefixMappedItemCache(
+        ticker,
+        Duration.ofMillis(10),
+        /* staleAge= */ Duration.ofMillis(20),
+        /* maxEntries= */ 0,
+        /* maxSizeBytes= */ 0);
+  }
+
   private static class TestTicker extends Ticker {
 
     private long time;
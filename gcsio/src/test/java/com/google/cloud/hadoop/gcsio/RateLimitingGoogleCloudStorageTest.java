@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.hadoop.gcsio.RateLimitingGoogleCloudStorage.OperationClass;
+import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.FakeTicker;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link RateLimitingGoogleCloudStorage}. */
+@RunWith(JUnit4.class)
+public class RateLimitingGoogleCloudStorageTest {
+
+  private static final String BUCKET_NAME = "test-bucket";
+  private static final String OTHER_BUCKET_NAME = "other-test-bucket";
+
+  private InMemoryGoogleCloudStorage inMemoryGcs;
+  private FakeTicker ticker;
+
+  @Before
+  public void setUp() throws Exception {
+    inMemoryGcs = new InMemoryGoogleCloudStorage();
+    inMemoryGcs.createBucket(BUCKET_NAME);
+    inMemoryGcs.createBucket(OTHER_BUCKET_NAME);
+    ticker = new FakeTicker();
+  }
+
+  @Test
+  public void rampUp_doublesRatesAfterEachInterval() {
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            inMemoryGcs,
+            RateLimitingGoogleCloudStorageOptions.builder()
+                .setWriteRequestsPerSecond(100)
+                .setListRequestsPerSecond(0)
+                .setRampUpInterval(Duration.ofMinutes(20))
+                .build(),
+            ticker);
+
+    assertThat(gcs.getRate(OperationClass.WRITE, BUCKET_NAME)).isEqualTo(100);
+
+    ticker.advance(19, TimeUnit.MINUTES);
+    assertThat(gcs.getRate(OperationClass.WRITE, BUCKET_NAME)).isEqualTo(100);
+
+    ticker.advance(1, TimeUnit.MINUTES);
+    assertThat(gcs.getRate(OperationClass.WRITE, BUCKET_NAME)).isEqualTo(200);
+
+    ticker.advance(40, TimeUnit.MINUTES);
+    assertThat(gcs.getRate(OperationClass.WRITE, BUCKET_NAME)).isEqualTo(800);
+    assertThat(gcs.getRate(OperationClass.LIST, BUCKET_NAME)).isEqualTo(0);
+  }
+
+  @Test
+  public void rampUp_startsOnFirstRequestToBucket() {
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            inMemoryGcs,
+            RateLimitingGoogleCloudStorageOptions.builder()
+                .setReadRequestsPerSecond(10)
+                .setRampUpInterval(Duration.ofMinutes(20))
+                .build(),
+            ticker);
+
+    assertThat(gcs.getRate(OperationClass.READ, BUCKET_NAME)).isEqualTo(10);
+    ticker.advance(20, TimeUnit.MINUTES);
+
+    assertThat(gcs.getRate(OperationClass.READ, BUCKET_NAME)).isEqualTo(20);
+    assertThat(gcs.getRate(OperationClass.READ, OTHER_BUCKET_NAME)).isEqualTo(10);
+  }
+
+  @Test
+  public void rampUp_zeroInterval_keepsRatesConstant() {
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            inMemoryGcs,
+            RateLimitingGoogleCloudStorageOptions.builder()
+                .setMetadataRequestsPerSecond(10)
+                .setRampUpInterval(Duration.ZERO)
+                .build(),
+            ticker);
+
+    assertThat(gcs.getRate(OperationClass.METADATA, BUCKET_NAME)).isEqualTo(10);
+    ticker.advance(1, TimeUnit.DAYS);
+
+    assertThat(gcs.getRate(OperationClass.METADATA, BUCKET_NAME)).isEqualTo(10);
+  }
+
+  @Test
+  public void writeRequests_areLimitedPerBucket() throws Exception {
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            inMemoryGcs,
+            RateLimitingGoogleCloudStorageOptions.builder().setWriteRequestsPerSecond(2).build());
+    // Warm up rate limiters, the first permits of a bucket are available without waiting.
+    gcs.createEmptyObject(new StorageResourceId(BUCKET_NAME, "obj0"));
+    gcs.createEmptyObject(new StorageResourceId(OTHER_BUCKET_NAME, "obj0"));
+
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    gcs.createEmptyObject(new StorageResourceId(BUCKET_NAME, "obj1"));
+    gcs.createEmptyObject(new StorageResourceId(OTHER_BUCKET_NAME, "obj1"));
+    gcs.createEmptyObject(new StorageResourceId(BUCKET_NAME, "obj2"));
+
+    assertThat(stopwatch.elapsed().toMillis()).isAtLeast(800);
+    assertThat(inMemoryGcs.getItemInfo(new StorageResourceId(BUCKET_NAME, "obj2")).exists())
+        .isTrue();
+  }
+
+  @Test
+  public void multiObjectRequests_acquirePermitPerObject() throws Exception {
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            inMemoryGcs,
+            RateLimitingGoogleCloudStorageOptions.builder().setWriteRequestsPerSecond(4).build());
+    List<StorageResourceId> objects =
+        ImmutableList.of(
+            new StorageResourceId(BUCKET_NAME, "obj1"),
+            new StorageResourceId(BUCKET_NAME, "obj2"),
+            new StorageResourceId(BUCKET_NAME, "obj3"),
+            new StorageResourceId(BUCKET_NAME, "obj4"));
+
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    gcs.createEmptyObjects(objects);
+    gcs.deleteObjects(objects);
+
+    assertThat(stopwatch.elapsed().toMillis()).isAtLeast(800);
+  }
+
+  @Test
+  public void multiObjectRequests_areSentInChunksAfterAcquiringTheirPermits() throws Exception {
+    InMemoryGoogleCloudStorage batchingGcs =
+        new InMemoryGoogleCloudStorage(
+            InMemoryGoogleCloudStorage.getInMemoryGoogleCloudStorageOptions().toBuilder()
+                .setMaxRequestsPerBatch(2)
+                .setBatchThreads(1)
+                .build());
+    batchingGcs.createBucket(BUCKET_NAME);
+    List<Integer> chunkSizes = new ArrayList<>();
+    List<Long> chunkStartMillis = new ArrayList<>();
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            new ForwardingGoogleCloudStorage(batchingGcs) {
+              @Override
+              public void deleteObjects(List<StorageResourceId> fullObjectNames)
+                  throws IOException {
+                chunkSizes.add(fullObjectNames.size());
+                chunkStartMillis.add(stopwatch.elapsed().toMillis());
+                super.deleteObjects(fullObjectNames);
+              }
+            },
+            RateLimitingGoogleCloudStorageOptions.builder().setWriteRequestsPerSecond(4).build());
+    List<StorageResourceId> objects =
+        ImmutableList.of(
+            new StorageResourceId(BUCKET_NAME, "obj1"),
+            new StorageResourceId(BUCKET_NAME, "obj2"),
+            new StorageResourceId(BUCKET_NAME, "obj3"),
+            new StorageResourceId(BUCKET_NAME, "obj4"),
+            new StorageResourceId(BUCKET_NAME, "obj5"));
+
+    gcs.deleteObjects(objects);
+
+    assertThat(chunkSizes).containsExactly(2, 2, 1).inOrder();
+    // Each chunk waits for permits of the previous chunk, that were acquired at 4 per second.
+    assertThat(chunkStartMillis.get(1) - chunkStartMillis.get(0)).isAtLeast(400);
+    assertThat(chunkStartMillis.get(2) - chunkStartMillis.get(1)).isAtLeast(400);
+  }
+
+  @Test
+  public void unlimitedOperationClass_doesNotWait() throws Exception {
+    RateLimitingGoogleCloudStorage gcs =
+        new RateLimitingGoogleCloudStorage(
+            inMemoryGcs,
+            RateLimitingGoogleCloudStorageOptions.builder()
+                .setWriteRequestsPerSecond(1)
+                .setMetadataRequestsPerSecond(0)
+                .build());
+    StorageResourceId objectId = new StorageResourceId(BUCKET_NAME, "obj");
+    gcs.createEmptyObject(objectId);
+
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    for (int i = 0; i < 100; i++) {
+      assertThat(gcs.getItemInfo(objectId).exists()).isTrue();
+    }
+
+    assertThat(stopwatch.elapsed().toMillis()).isLessThan(500);
+  }
+}
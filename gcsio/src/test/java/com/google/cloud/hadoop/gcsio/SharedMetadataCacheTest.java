@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.gcsio;
+
+import static com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage.getInMemoryGoogleCloudStorageOptions;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.auth.Credentials;
+import com.google.cloud.hadoop.gcsio.testing.InMemoryGoogleCloudStorage;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SharedMetadataCacheTest {
+
+  private static final String BUCKET_NAME = "test-bucket";
+  private static final StorageResourceId ITEM_ID = new StorageResourceId(BUCKET_NAME, "obj");
+
+  private static final PerformanceCachingGoogleCloudStorageOptions OPTIONS =
+      PerformanceCachingGoogleCloudStorageOptions.builder().setSharedCacheEnabled(true).build();
+
+  private GoogleCloudStorage inMemoryGcs;
+
+  @Before
+  public void setUp() throws IOException {
+    SharedMetadataCache.reset();
+    inMemoryGcs = new InMemoryGoogleCloudStorage(getInMemoryGoogleCloudStorageOptions());
+    inMemoryGcs.createBucket(BUCKET_NAME);
+    inMemoryGcs.createEmptyObject(ITEM_ID);
+  }
+
+  @After
+  public void tearDown() {
+    SharedMetadataCache.reset();
+  }
+
+  @Test
+  public void isShareable() {
+    assertThat(SharedMetadataCache.isShareable(null)).isTrue();
+    assertThat(SharedMetadataCache.isShareable(new ComparableCredentials("a"))).isTrue();
+    assertThat(SharedMetadataCache.isShareable(new TestCredentials())).isFalse();
+  }
+
+  @Test
+  public void getPartition_notComparableCredentials_throwsException() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SharedMetadataCache.getPartition(new TestCredentials(), OPTIONS));
+  }
+
+  @Test
+  public void sameCredentials_shareItems() throws IOException {
+    GoogleCloudStorage gcs1 =
+        PerformanceCachingGoogleCloudStorage.create(
+            inMemoryGcs, OPTIONS, new ComparableCredentials("a"));
+    GoogleCloudStorage gcs2 =
+        PerformanceCachingGoogleCloudStorage.create(
+            inMemoryGcs, OPTIONS, new ComparableCredentials("a"));
+
+    GoogleCloudStorageItemInfo item = gcs1.getItemInfo(ITEM_ID);
+    // Delete object bypassing caches, so it could be returned only from the shared cache.
+    inMemoryGcs.deleteObjects(List.of(ITEM_ID));
+
+    assertThat(gcs2.getItemInfo(ITEM_ID)).isEqualTo(item);
+  }
+
+  @Test
+  public void differentCredentials_doNotShareItems() throws IOException {
+    GoogleCloudStorage gcs1 =
+        PerformanceCachingGoogleCloudStorage.create(
+            inMemoryGcs, OPTIONS, new ComparableCredentials("a"));
+    GoogleCloudStorage gcs2 =
+        PerformanceCachingGoogleCloudStorage.create(
+            inMemoryGcs, OPTIONS, new ComparableCredentials("b"));
+
+    gcs1.getItemInfo(ITEM_ID);
+    inMemoryGcs.deleteObjects(List.of(ITEM_ID));
+
+    assertThat(gcs2.getItemInfo(ITEM_ID).exists()).isFalse();
+  }
+
+  @Test
+  public void notComparableCredentials_doNotShareItems() throws IOException {
+    TestCredentials credentials = new TestCredentials();
+    GoogleCloudStorage gcs1 =
+        PerformanceCachingGoogleCloudStorage.create(inMemoryGcs, OPTIONS, credentials);
+    GoogleCloudStorage gcs2 =
+        PerformanceCachingGoogleCloudStorage.create(inMemoryGcs, OPTIONS, credentials);
+
+    gcs1.getItemInfo(ITEM_ID);
+    inMemoryGcs.deleteObjects(List.of(ITEM_ID));
+
+    assertThat(gcs2.getItemInfo(ITEM_ID).exists()).isFalse();
+  }
+
+  @Test
+  public void close_doesNotInvalidateSharedItems() throws IOException {
+    GoogleCloudStorage gcs1 =
+        PerformanceCachingGoogleCloudStorage.create(inMemoryGcs, OPTIONS, /* credentials= */ null);
+    GoogleCloudStorage gcs2 =
+        PerformanceCachingGoogleCloudStorage.create(
+            new InMemoryGoogleCloudStorage(getInMemoryGoogleCloudStorageOptions()),
+            OPTIONS,
+            /* credentials= */ null);
+
+    GoogleCloudStorageItemInfo item = gcs1.getItemInfo(ITEM_ID);
+    gcs1.close();
+
+    assertThat(gcs2.getItemInfo(ITEM_ID)).isEqualTo(item);
+  }
+
+  @Test
+  public void write_invalidatesSharedItems() throws IOException {
+    GoogleCloudStorage gcs1 =
+        PerformanceCachingGoogleCloudStorage.create(
+            inMemoryGcs, OPTIONS, new ComparableCredentials("a"));
+    GoogleCloudStorage gcs2 =
+        PerformanceCachingGoogleCloudStorage.create(
+            inMemoryGcs, OPTIONS, new ComparableCredentials("a"));
+
+    gcs1.getItemInfo(ITEM_ID);
+    gcs2.deleteObjects(List.of(ITEM_ID));
+
+    assertThat(gcs1.getItemInfo(ITEM_ID).exists()).isFalse();
+  }
+
+  /** Credentials without identity, that could not be compared. */
+  private static class TestCredentials extends Credentials {
+
+    @Override
+    public String getAuthenticationType() {
+      return "test";
+    }
+
+    @Override
+    public Map<String, List<String>> getRequestMetadata(URI uri) {
+      return Map.of();
+    }
+
+    @Override
+    public boolean hasRequestMetadata() {
+      return false;
+    }
+
+    @Override
+    public boolean hasRequestMetadataOnly() {
+      return false;
+    }
+
+    @Override
+    public void refresh() {}
+  }
+
+  /** Credentials that are equal if they represent the same principal. */
+  private static class ComparableCredentials extends TestCredentials {
+
+    private final String principal;
+
+    ComparableCredentials(String principal) {
+      this.principal = principal;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof ComparableCredentials
+          && principal.equals(((ComparableCredentials) obj).principal);
+    }
+
+    @Override
+    public int hashCode() {
+      return principal.hashCode();
+    }
+  }
+}
@@ -67,6 +67,11 @@ public class TrackingHttpRequestInitializer implements HttpRequestInitializer {
           + GOOGLEAPIS_ENDPOINT
           + "/upload/storage/v1/b/%s/o?ifGenerationMatch=%s&uploadType=multipart:%s";
 
+  private static final String MULTIPART_UPLOAD_REQUEST_FORMAT =
+      "POST:"
+          + GOOGLEAPIS_ENDPOINT
+          + "/upload/storage/v1/b/%s/o?ifGenerationMatch=%s&name=%s&uploadType=multipart:%s";
+
   private static final String RESUMABLE_UPLOAD_REQUEST_FORMAT =
       "POST:"
           + GOOGLEAPIS_ENDPOINT
@@ -351,6 +356,11 @@ public class TrackingHttpRequestInitializer implements HttpRequestInitializer {
     return generationId == null ? request.replaceAll("ifGenerationMatch=[^&]+&", "") : request;
   }
 
+  public static String multipartUploadRequestString(
+      String bucketName, String object, Integer generationId) {
+    return String.format(MULTIPART_UPLOAD_REQUEST_FORMAT, bucketName, generationId, object, object);
+  }
+
   public static String resumableUploadRequestString(
       String bucketName, String object, Integer generationId, boolean replaceGenerationId) {
     String request =
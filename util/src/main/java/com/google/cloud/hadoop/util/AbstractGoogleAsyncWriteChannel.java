@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.flogger.GoogleLogger;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PipedInputStream;
@@ -60,6 +61,10 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
 
   private ByteBuffer uploadCache = null;
 
+  // Holds written data until close() or until it overflows, so that small objects could be
+  // uploaded in a single request without starting a resumable upload session.
+  private ByteBuffer smallObjectBuffer = null;
+
   /** Construct a new channel using the given ExecutorService to run background uploads. */
   public AbstractGoogleAsyncWriteChannel(
       ExecutorService threadPool, AsyncWriteChannelOptions channelOptions) {
@@ -105,6 +110,16 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
       throw new ClosedChannelException();
     }
 
+    if (smallObjectBuffer != null) {
+      if (smallObjectBuffer.remaining() >= buffer.remaining()) {
+        int bytesToWrite = buffer.remaining();
+        smallObjectBuffer.put(buffer);
+        return bytesToWrite;
+      }
+      // Object does not fit into a single request, switch to the resumable upload.
+      upgradeToPipeUpload();
+    }
+
     // No point in writing further if upload failed on another thread.
     if (uploadOperation.isDone()) {
       waitForCompletionAndThrowIfUploadFailed();
@@ -135,7 +150,7 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
    */
   @Override
   public boolean isOpen() {
-    return (pipeSink != null) && pipeSink.isOpen();
+    return smallObjectBuffer != null || (pipeSink != null && pipeSink.isOpen());
   }
 
   /**
@@ -152,6 +167,10 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
     if (!isOpen()) {
       return;
     }
+    if (smallObjectBuffer != null) {
+      closeSmallObjectUpload();
+      return;
+    }
     try {
       pipeSink.close();
       handleResponse(waitForCompletionAndThrowIfUploadFailed());
@@ -166,6 +185,16 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
     }
   }
 
+  /**
+   * Closes this channel without committing the object: cancels the upload operation and discards
+   * data that was not uploaded yet. Subsequent {@link #close} calls do nothing.
+   */
+  public synchronized void abort() {
+    logger.atFine().log("Aborting upload for '%s'", getResourceString());
+    closeInternal();
+    uploadCache = null;
+  }
+
   private void reuploadFromCache() throws IOException {
     closeInternal();
     initialized = false;
@@ -185,8 +214,31 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
     }
   }
 
+  private void closeSmallObjectUpload() throws IOException {
+    ByteBuffer content = smallObjectBuffer;
+    smallObjectBuffer = null;
+    content.flip();
+    try {
+      startSmallObjectUpload(content);
+      handleResponse(waitForCompletionAndThrowIfUploadFailed());
+    } finally {
+      closeInternal();
+    }
+  }
+
+  private void upgradeToPipeUpload() throws IOException {
+    ByteBuffer bufferedData = smallObjectBuffer;
+    smallObjectBuffer = null;
+
+    startPipeUpload();
+
+    bufferedData.flip();
+    write(bufferedData);
+  }
+
   private void closeInternal() {
     pipeSink = null;
+    smallObjectBuffer = null;
     if (uploadOperation != null && !uploadOperation.isDone()) {
       uploadOperation.cancel(/* mayInterruptIfRunning= */ true);
     }
@@ -195,9 +247,17 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
 
   /** Initialize this channel object for writing. */
   public void initialize() throws IOException {
+    if (channelOptions.getSmallObjectUploadThreshold() > 0) {
+      smallObjectBuffer = ByteBuffer.allocate(channelOptions.getSmallObjectUploadThreshold());
+    } else {
+      startPipeUpload();
+    }
+    initialized = true;
+  }
+
+  private void startPipeUpload() throws IOException {
     InputStream pipeSource = initializeUploadPipe();
     startUpload(pipeSource);
-    initialized = true;
   }
 
   // Create a pipe such that its one end is connected to the input stream used by
@@ -224,6 +284,19 @@ public abstract class AbstractGoogleAsyncWriteChannel<T> implements WritableByte
   /** Create a new thread which handles the upload. */
   public abstract void startUpload(InputStream pipeSource) throws IOException;
 
+  /**
+   * Create a new thread which handles the upload of an object whose whole content is available in
+   * the provided buffer.
+   *
+   * <p>Default implementation streams the content through {@link #startUpload}, subclasses could
+   * override it to upload the object in a single request.
+   */
+  protected void startSmallObjectUpload(ByteBuffer content) throws IOException {
+    startUpload(
+        new ByteArrayInputStream(
+            content.array(), content.arrayOffset() + content.position(), content.remaining()));
+  }
+
   protected abstract String getResourceString();
 
   /**
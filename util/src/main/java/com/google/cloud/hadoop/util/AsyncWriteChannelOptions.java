@@ -78,6 +78,7 @@ public abstract class AsyncWriteChannelOptions {
 
   public static Builder builder() {
     return new AutoValue_AsyncWriteChannelOptions.Builder()
+        .setAdaptiveUploadChunkSizeEnabled(false)
         .setBufferSize(8 * 1024 * 1024)
         .setDirectUploadEnabled(false)
         .setGrpcChecksumsEnabled(false)
@@ -86,8 +87,11 @@ public abstract class AsyncWriteChannelOptions {
         .setNumberOfBufferedRequests(20)
         .setPipeBufferSize(1024 * 1024)
         .setPipeType(PipeType.IO_STREAM_PIPE)
+        .setSmallObjectUploadThreshold(0)
         .setUploadCacheSize(0)
         .setUploadChunkSize(DEFAULT_UPLOAD_CHUNK_SIZE)
+        .setUploadCrc32cEnabled(false)
+        .setMinUploadChunkSize(4 * MediaHttpUploader.MINIMUM_CHUNK_SIZE)
         .setUploadType(UploadType.CHUNK_UPLOAD)
         .setTemporaryPaths(ImmutableSet.of())
         .setPCUBufferCount(PARALLEL_COMPOSITE_UPLOAD_BUFFER_COUNT)
@@ -106,8 +110,16 @@ public abstract class AsyncWriteChannelOptions {
 
   public abstract int getUploadChunkSize();
 
+  public abstract boolean isAdaptiveUploadChunkSizeEnabled();
+
+  public abstract int getMinUploadChunkSize();
+
   public abstract int getUploadCacheSize();
 
+  public abstract boolean isUploadCrc32cEnabled();
+
+  public abstract int getSmallObjectUploadThreshold();
+
   public abstract boolean isDirectUploadEnabled();
 
   public abstract boolean isGrpcChecksumsEnabled();
@@ -142,8 +154,32 @@ public abstract class AsyncWriteChannelOptions {
 
     public abstract Builder setUploadChunkSize(int uploadChunkSize);
 
+    /**
+     * Enables adaptive upload chunk sizing: resumable uploads start with the {@link
+     * #setMinUploadChunkSize min upload chunk size} that grows up to the {@link #setUploadChunkSize
+     * upload chunk size} while the observed throughput improves.
+     */
+    public abstract Builder setAdaptiveUploadChunkSizeEnabled(
+        boolean adaptiveUploadChunkSizeEnabled);
+
+    /** Initial and minimum upload chunk size when adaptive upload chunk sizing is enabled. */
+    public abstract Builder setMinUploadChunkSize(int minUploadChunkSize);
+
     public abstract Builder setUploadCacheSize(int uploadCacheSize);
 
+    /**
+     * Enables computation of the CRC32C checksum of the uploaded content on the upload thread. The
+     * checksum is sent to GCS as the expected checksum of the object, so corrupted uploads are
+     * rejected by GCS. Applies only to the JSON API, use {@link #setGrpcChecksumsEnabled} for gRPC.
+     */
+    public abstract Builder setUploadCrc32cEnabled(boolean uploadCrc32cEnabled);
+
+    /**
+     * Maximum size of the object that will be buffered in memory and uploaded in a single request
+     * instead of a resumable upload session. Disabled if not positive.
+     */
+    public abstract Builder setSmallObjectUploadThreshold(int smallObjectUploadThreshold);
+
     public abstract Builder setDirectUploadEnabled(boolean directUploadEnabled);
 
     public abstract Builder setGrpcWriteTimeout(Duration grpcWriteTimeout);
@@ -175,6 +211,12 @@ public abstract class AsyncWriteChannelOptions {
     public AsyncWriteChannelOptions build() {
       AsyncWriteChannelOptions options = autoBuild();
       checkUploadChunkSize(options.getUploadChunkSize());
+      checkArgument(
+          options.getMinUploadChunkSize() > 0
+              && options.getMinUploadChunkSize() % MediaHttpUploader.MINIMUM_CHUNK_SIZE == 0,
+          "Min upload chunk size must be a positive multiple of %s, but was %s",
+          MediaHttpUploader.MINIMUM_CHUNK_SIZE,
+          options.getMinUploadChunkSize());
       return options;
     }
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.hadoop.util;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * This an Event which is published in EventBus queue to update a statistic that is not derived from
+ * GCS request execution, e.g. a counter or a gauge maintained by the connector itself.
+ */
+public class GcsStatisticUpdateEvent {
+
+  /** How the statistic value should be updated. */
+  public enum UpdateType {
+    /** Add the value to the statistic. */
+    INCREMENT,
+    /** Replace the statistic value, used for gauges. */
+    SET
+  }
+
+  private final String symbol;
+  private final UpdateType updateType;
+  private final long value;
+
+  private GcsStatisticUpdateEvent(String symbol, UpdateType updateType, long value) {
+    this.symbol = symbol;
+    this.updateType = updateType;
+    this.value = value;
+  }
+
+  public static GcsStatisticUpdateEvent increment(String symbol, long value) {
+    return new GcsStatisticUpdateEvent(symbol, UpdateType.INCREMENT, value);
+  }
+
+  public static GcsStatisticUpdateEvent set(String symbol, long value) {
+    return new GcsStatisticUpdateEvent(symbol, UpdateType.SET, value);
+  }
+
+  /** Symbol of the statistic to update. */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public UpdateType getUpdateType() {
+    return updateType;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("symbol", symbol)
+        .add("updateType", updateType)
+        .add("value", value)
+        .toString();
+  }
+}
@@ -76,4 +76,13 @@ public class GoogleCloudStorageEventBus {
   public static void postGcsJsonApiEvent(IGcsJsonApiEvent gcsJsonApiEvent) {
     eventBus.post(gcsJsonApiEvent);
   }
+
+  /**
+   * Posting statistic update to invoke the corresponding Subscriber method.
+   *
+   * @param event update of the statistic
+   */
+  public static void postStatisticUpdate(GcsStatisticUpdateEvent event) {
+    eventBus.post(event);
+  }
 }